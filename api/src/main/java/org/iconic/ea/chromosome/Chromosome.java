@@ -18,6 +18,7 @@ package org.iconic.ea.chromosome;
 import lombok.extern.log4j.Log4j2;
 import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
 import org.iconic.ea.data.DataManager;
+import org.iconic.ea.operator.objective.FitnessVector;
 import org.iconic.ea.operator.primitive.Constant;
 import org.iconic.ea.operator.primitive.FunctionalPrimitive;
 
@@ -37,7 +38,10 @@ import java.util.regex.Pattern;
 public abstract class Chromosome<T> {
     private boolean changed;
     private double fitness;
+    private volatile FitnessVector fitnessVector;
     private final int numFeatures;
+    private SubexpressionCache subexpressionCache;
+    private int compileThreshold;
 
     /**
      * Constructs a new chromosome with the specified number of features.
@@ -64,6 +68,24 @@ public abstract class Chromosome<T> {
         return fitness;
     }
 
+    /**
+     * <p>Returns the fitness vector of this chromosome, or null if it hasn't been computed for the current genome.
+     * @return the fitness vector of the chromosome
+     * @see org.iconic.ea.operator.objective.MultiObjective#getFitnessVector(Chromosome)
+     */
+    public FitnessVector getFitnessVector() {
+        return fitnessVector;
+    }
+
+    /**
+     * <p>Sets the fitness vector of this chromosome to the specified value.
+     * <p>The vector is discarded whenever the chromosome is marked as changed.
+     * @param fitnessVector The new fitness vector of the chromosome
+     */
+    public void setFitnessVector(final FitnessVector fitnessVector) {
+        this.fitnessVector = fitnessVector;
+    }
+
     /**
      * <p>
      * Returns true if this chromosome has been changed.
@@ -88,6 +110,11 @@ public abstract class Chromosome<T> {
      */
     public void setChanged(boolean changed) {
         this.changed = changed;
+
+        // The fitness vector belongs to the previous version of the genome
+        if (changed) {
+            this.fitnessVector = null;
+        }
     }
 
     /**
@@ -99,6 +126,80 @@ public abstract class Chromosome<T> {
      */
     public abstract List<Map<Integer, T>> evaluate(final DataManager<T> input);
 
+    /**
+     * <p>Evaluates the specified input samples and writes the sum of each sample's outputs to the provided array.
+     * <p>This is intended for numeric chromosomes, implementations should override it when they can evaluate
+     * samples without boxing them. By default the results of {@link #evaluate(DataManager)} are summed.
+     * @param input The input samples to evaluate
+     * @param destination The array to write the results to, it must have room for every sample
+     * @return the destination array
+     */
+    public double[] evaluate(final DataManager<T> input, final double[] destination) {
+        final List<Map<Integer, T>> results = evaluate(input);
+
+        for (int i = 0; i < results.size(); ++i) {
+            double sum = 0;
+
+            for (T value : results.get(i).values()) {
+                sum += ((Number) value).doubleValue();
+            }
+
+            destination[i] = sum;
+        }
+
+        return destination;
+    }
+
+    /**
+     * <p>Returns a canonical key of the program expressed by this chromosome.
+     * <p>Chromosomes with equal keys produce the same outputs for any sample, which allows their fitness to be
+     * cached. By default no key is provided and the chromosome won't be cached.
+     * @return the phenotype key of the chromosome, or null if it has none
+     */
+    public PhenotypeKey getPhenotypeKey() {
+        return null;
+    }
+
+    /**
+     * <p>Returns the cache of subexpression outputs consulted when evaluating this chromosome.
+     * @return the subexpression cache used by the chromosome, or null if it doesn't use one
+     */
+    public SubexpressionCache getSubexpressionCache() {
+        return subexpressionCache;
+    }
+
+    /**
+     * <p>Sets the cache of subexpression outputs consulted when evaluating this chromosome.
+     * <p>The cache is usually shared by an entire population, so that chromosomes expressing the same
+     * subexpressions only compute them once. Implementations that can't make use of a cache ignore it.
+     * @param subexpressionCache The subexpression cache to use, or null to not use one
+     */
+    public void setSubexpressionCache(final SubexpressionCache subexpressionCache) {
+        this.subexpressionCache = subexpressionCache;
+    }
+
+    /**
+     * <p>Returns the number of times the program expressed by this chromosome is run before it's compiled to
+     * bytecode.
+     * @return the compile threshold of the chromosome, or zero if its program is never compiled
+     */
+    public int getCompileThreshold() {
+        return compileThreshold;
+    }
+
+    /**
+     * <p>Sets the number of times the program expressed by this chromosome is run before it's compiled to bytecode.
+     * <p>Compiling a program is far more expensive than running it, so only programs that are run many times, such
+     * as those of long-lived elites, benefit from it. The count is kept by the program, which is shared with clones
+     * of the chromosome until their genes are changed. Implementations that can't be compiled ignore it.
+     * @param compileThreshold The new compile threshold of the chromosome, or zero to never compile its program
+     */
+    public void setCompileThreshold(final int compileThreshold) {
+        assert (compileThreshold >= 0);
+
+        this.compileThreshold = compileThreshold;
+    }
+
     /**
      * Returns the number of features this chromosome can express.
      * @return the number of features the chromosome can express
@@ -16,6 +16,7 @@
 package org.iconic.ea.chromosome;
 
 import org.iconic.ea.operator.primitive.FunctionalPrimitive;
+import org.iconic.ea.random.RandomSource;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -32,6 +33,8 @@ public abstract class ChromosomeFactory<T extends Chromosome<R>, R> {
     protected final SortedMap<String, FunctionalPrimitive<R, R>> functionalPrimitives;
     private int maxArity;
     private AtomicInteger mapIndex = new AtomicInteger(0);
+    private SubexpressionCache subexpressionCache;
+    private int compileThreshold;
 
     protected ChromosomeFactory() {
         functionalPrimitives = new TreeMap<>();
@@ -39,11 +42,14 @@ public abstract class ChromosomeFactory<T extends Chromosome<R>, R> {
     }
 
     /**
-     * <p>Returns a new chromosome constructed according to the parameters of this factory
+     * <p>Returns a new chromosome constructed according to the parameters of this factory, using the provided
+     * source of random numbers. Factories are often shared, e.g. between islands, so the factory has no source of
+     * its own and each user of the factory draws from theirs.
      *
+     * @param random The source of random numbers to construct the chromosome with
      * @return a chromosome constructed by the factory
      */
-    public abstract T getChromosome();
+    public abstract T getChromosome(final RandomSource random);
 
     public List<FunctionalPrimitive<R, R>> getFunctionalPrimitives() {
         return new LinkedList<>(functionalPrimitives.values());
@@ -79,4 +85,44 @@ public abstract class ChromosomeFactory<T extends Chromosome<R>, R> {
     protected void setMaxArity(int maxArity) {
         this.maxArity = maxArity;
     }
+
+    /**
+     * <p>Returns the subexpression cache shared by chromosomes constructed by this factory
+     *
+     * @return the subexpression cache used by the factory's chromosomes, or null if they don't use one
+     */
+    public SubexpressionCache getSubexpressionCache() {
+        return subexpressionCache;
+    }
+
+    /**
+     * <p>Sets the subexpression cache shared by chromosomes constructed by this factory
+     *
+     * @param subexpressionCache The subexpression cache to share, or null to not use one
+     * @see Chromosome#setSubexpressionCache(SubexpressionCache)
+     */
+    public void setSubexpressionCache(SubexpressionCache subexpressionCache) {
+        this.subexpressionCache = subexpressionCache;
+    }
+
+    /**
+     * <p>Returns the number of times the programs of chromosomes constructed by this factory are run before they're
+     * compiled to bytecode
+     *
+     * @return the compile threshold of the factory's chromosomes, or zero if their programs are never compiled
+     */
+    public int getCompileThreshold() {
+        return compileThreshold;
+    }
+
+    /**
+     * <p>Sets the number of times the programs of chromosomes constructed by this factory are run before they're
+     * compiled to bytecode
+     *
+     * @param compileThreshold The new compile threshold, or zero to never compile the chromosomes' programs
+     * @see Chromosome#setCompileThreshold(int)
+     */
+    public void setCompileThreshold(int compileThreshold) {
+        this.compileThreshold = compileThreshold;
+    }
 }
@@ -0,0 +1,157 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.chromosome;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A canonical, immutable encoding of the program expressed by a chromosome.
+ *
+ * <p>Two chromosomes with equal keys compute the same function, regardless of any genes that aren't expressed. This
+ * allows the results of evaluating one chromosome to be reused for the other, e.g. after a neutral mutation.
+ *
+ * <p>A key consists of a sequence of integers describing the program's structure, along with the primitives it uses
+ * in the order they were first encountered. Primitives are compared by identity, as distinct instances of the same
+ * primitive may behave differently (e.g. constants).
+ */
+public final class PhenotypeKey {
+    private final Object[] primitives;
+    private final int[] code;
+    private final int hash;
+
+    /**
+     * <p>Constructs a new key from the provided primitives and code.
+     *
+     * @param primitives The distinct primitives used by the program, in order
+     * @param code       The encoded structure of the program
+     */
+    private PhenotypeKey(final Object[] primitives, final int[] code) {
+        this.primitives = primitives;
+        this.code = code;
+
+        int hash = Arrays.hashCode(code);
+        for (Object primitive : primitives) {
+            hash = 31 * hash + System.identityHashCode(primitive);
+        }
+        this.hash = hash;
+    }
+
+    /**
+     * <p>Returns the relative weight of this key, which is proportional to the length of the encoded program.
+     *
+     * @return the weight of the key
+     */
+    public int getWeight() {
+        return code.length + primitives.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        } else if (o instanceof PhenotypeKey) {
+            final PhenotypeKey other = (PhenotypeKey) o;
+
+            if (hash != other.hash || primitives.length != other.primitives.length) {
+                return false;
+            }
+
+            for (int i = 0; i < primitives.length; ++i) {
+                if (primitives[i] != other.primitives[i]) {
+                    return false;
+                }
+            }
+
+            return Arrays.equals(code, other.code);
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(code);
+    }
+
+    /**
+     * <p>Incrementally constructs a phenotype key.
+     */
+    public static final class Builder {
+        private final Map<Object, Integer> symbols = new IdentityHashMap<>();
+        private final List<Object> primitives = new ArrayList<>();
+        private int[] code = new int[16];
+        private int size = 0;
+
+        /**
+         * <p>Appends the provided value to the encoded program.
+         *
+         * @param value The value to append
+         * @return this builder
+         */
+        public Builder add(final int value) {
+            if (size == code.length) {
+                code = Arrays.copyOf(code, size * 2);
+            }
+
+            code[size++] = value;
+            return this;
+        }
+
+        /**
+         * <p>Appends a reference to the provided primitive to the encoded program.
+         *
+         * @param primitive The primitive to append
+         * @return this builder
+         */
+        public Builder addPrimitive(final Object primitive) {
+            Integer symbol = symbols.get(primitive);
+
+            if (symbol == null) {
+                symbol = primitives.size();
+                symbols.put(primitive, symbol);
+                primitives.add(primitive);
+            }
+
+            return add(symbol);
+        }
+
+        /**
+         * <p>Returns a key containing everything appended to this builder.
+         *
+         * @return the constructed key
+         */
+        public PhenotypeKey build() {
+            return new PhenotypeKey(primitives.toArray(), Arrays.copyOf(code, size));
+        }
+    }
+}
@@ -0,0 +1,408 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.chromosome;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A cache of the output columns of subexpressions, which may be shared by an entire population.
+ *
+ * <p>The same subexpressions, e.g. <code>ADD(x0, x1)</code> or <code>SIN(x2)</code>, tend to appear in many
+ * chromosomes of a population. Rather than each chromosome recomputing them over the whole dataset, the output of each
+ * subexpression is cached under a structural {@link Key key} of the subexpression, so any chromosome expressing the
+ * same subexpression can reuse its column.
+ *
+ * <p>The cache is bounded by the total number of bytes of its columns, with the least recently used columns evicted
+ * first.
+ *
+ * <p>Columns are cached under both their subexpression and the input columns they were computed from, which are
+ * compared by identity. A cache can therefore be shared by objectives that evaluate different samples of a dataset,
+ * e.g. the islands of a subsampled search, without their columns being mistaken for each other. Input columns are
+ * only weakly referenced, so the columns computed from a sample that's no longer used are never found again and are
+ * evicted as the cache fills. The dataset mustn't be modified in place while the cache is in use.
+ *
+ * <p>The cache is safe to use from multiple threads.
+ */
+public final class SubexpressionCache {
+    /**
+     * <p>The maximum number of bytes cached when no other bound is provided
+     */
+    public static final long DEFAULT_MAXIMUM_BYTES = 64L * 1024 * 1024;
+
+    // An estimate of the memory used by each entry in addition to its column
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final Cache<Slot, double[]> cache;
+    private final long maximumBytes;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    // The dataset each thread last evaluated, so that its identity isn't hashed again for every subexpression
+    private final ThreadLocal<Dataset> datasets;
+
+    /**
+     * <p>Constructs a new cache that stores up to {@value #DEFAULT_MAXIMUM_BYTES} bytes of columns.
+     */
+    public SubexpressionCache() {
+        this(DEFAULT_MAXIMUM_BYTES);
+    }
+
+    /**
+     * <p>Constructs a new cache that stores up to the specified number of bytes of columns.
+     *
+     * @param maximumBytes The maximum total size of the cached columns in bytes
+     */
+    public SubexpressionCache(final long maximumBytes) {
+        assert (maximumBytes >= 0);
+
+        this.maximumBytes = maximumBytes;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.datasets = new ThreadLocal<>();
+        // The weight limit is split between the segments of the cache, so a single segment is used to keep columns
+        // of up to the whole limit
+        this.cache = CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .maximumWeight(maximumBytes)
+                .weigher((Slot slot, double[] column) ->
+                        (int) Math.min(Integer.MAX_VALUE, (long) column.length * Double.BYTES + ENTRY_OVERHEAD)
+                )
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * <p>Returns the cached output of the provided subexpression.
+     *
+     * <p>The returned column may be shared with other chromosomes and mustn't be modified.
+     *
+     * @param key        The subexpression to find the output of
+     * @param inputs     The input columns the subexpression is evaluated over, indexed by feature
+     * @param numSamples The number of samples the subexpression is evaluated over
+     * @return the output of the subexpression for each sample, or null if it isn't cached
+     */
+    public double[] get(final Key key, final double[][] inputs, final int numSamples) {
+        final double[] column = cache.getIfPresent(new Slot(getDataset(inputs, numSamples), key));
+
+        if (column == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+
+        return column;
+    }
+
+    /**
+     * <p>Caches the output of the provided subexpression.
+     *
+     * <p>Columns are cached as is, so the column mustn't be modified afterwards.
+     *
+     * @param key        The subexpression that produced the column
+     * @param inputs     The input columns the subexpression was evaluated over, indexed by feature
+     * @param numSamples The number of samples the subexpression was evaluated over
+     * @param column     The output of the subexpression for each sample
+     */
+    public void put(final Key key, final double[][] inputs, final int numSamples, final double[] column) {
+        assert (column.length == numSamples);
+
+        cache.put(new Slot(getDataset(inputs, numSamples), key), column);
+    }
+
+    /**
+     * <p>Returns the dataset made up of the provided input columns.
+     *
+     * @param inputs     The input columns being evaluated
+     * @param numSamples The number of samples being evaluated
+     * @return the dataset of the input columns
+     */
+    private Dataset getDataset(final double[][] inputs, final int numSamples) {
+        final Dataset last = datasets.get();
+
+        if (last != null && last.matches(inputs, numSamples)) {
+            return last;
+        }
+
+        final Dataset dataset = new Dataset(inputs, numSamples);
+        datasets.set(dataset);
+
+        return dataset;
+    }
+
+    /**
+     * <p>Discards every cached column.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * <p>Returns the number of times the output of a subexpression was found in the cache.
+     *
+     * @return The number of cache hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * <p>Returns the number of times the output of a subexpression wasn't found in the cache.
+     *
+     * @return The number of cache misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * <p>Returns the ratio of requests that were found in the cache, or 1 if there haven't been any requests.
+     *
+     * @return The hit rate of the cache
+     */
+    public double getHitRate() {
+        final long hitCount = getHitCount();
+        final long requestCount = hitCount + getMissCount();
+
+        return (requestCount == 0) ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * <p>Returns the number of columns that have been evicted from the cache to stay within its bound.
+     *
+     * @return The number of cache evictions
+     */
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    /**
+     * <p>Returns the approximate number of columns currently cached.
+     *
+     * @return The number of cached columns
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * <p>Returns the maximum total size of the cached columns.
+     *
+     * @return the bound of the cache in bytes
+     */
+    public long getMaximumBytes() {
+        return maximumBytes;
+    }
+
+    /**
+     * <p>The subexpression and dataset a column was computed for.
+     */
+    private static final class Slot {
+        private final Dataset dataset;
+        private final Key key;
+        private final int hash;
+
+        private Slot(final Dataset dataset, final Key key) {
+            this.dataset = dataset;
+            this.key = key;
+            this.hash = 31 * dataset.hashCode() + key.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            } else if (o instanceof Slot) {
+                final Slot other = (Slot) o;
+
+                return hash == other.hash && key.equals(other.key) && dataset.equals(other.dataset);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * <p>The input columns that a column was computed from, which are compared by identity.
+     */
+    private static final class Dataset {
+        private final WeakReference<double[]>[] inputs;
+        private final int numSamples;
+        private final int hash;
+
+        @SuppressWarnings("unchecked")
+        private Dataset(final double[][] inputs, final int numSamples) {
+            int hash = numSamples;
+
+            this.inputs = new WeakReference[inputs.length];
+            this.numSamples = numSamples;
+
+            for (int i = 0; i < inputs.length; ++i) {
+                this.inputs[i] = new WeakReference<>(inputs[i]);
+                hash = 31 * hash + System.identityHashCode(inputs[i]);
+            }
+            this.hash = hash;
+        }
+
+        private boolean matches(final double[][] inputs, final int numSamples) {
+            if (this.numSamples != numSamples || this.inputs.length != inputs.length) {
+                return false;
+            }
+
+            for (int i = 0; i < inputs.length; ++i) {
+                if (this.inputs[i].get() != inputs[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            } else if (o instanceof Dataset) {
+                final Dataset other = (Dataset) o;
+
+                if (hash != other.hash || numSamples != other.numSamples || inputs.length != other.inputs.length) {
+                    return false;
+                }
+
+                for (int i = 0; i < inputs.length; ++i) {
+                    final double[] input = inputs[i].get();
+
+                    // Columns that have been collected can't be evaluated again, so they never match
+                    if (input == null || input != other.inputs[i].get()) {
+                        return false;
+                    }
+                }
+
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * <p>A structural key of a subexpression.
+     *
+     * <p>A key is either an input, or a primitive along with the keys of its arguments, so two keys are equal when
+     * they apply the same primitives to the same inputs in the same shape. As with {@link PhenotypeKey phenotype
+     * keys}, primitives are compared by identity.
+     *
+     * <p>The hash of a key is computed from the hashes of its arguments, so keys are built bottom-up in time
+     * proportional to the number of arguments.
+     */
+    public static final class Key {
+        private static final Key[] NO_ARGUMENTS = new Key[0];
+
+        private final Object primitive;
+        private final int feature;
+        private final Key[] arguments;
+        private final int hash;
+
+        private Key(final Object primitive, final int feature, final Key[] arguments) {
+            this.primitive = primitive;
+            this.feature = feature;
+            this.arguments = arguments;
+
+            int hash = (primitive == null) ? -1 - feature : System.identityHashCode(primitive);
+            for (Key argument : arguments) {
+                hash = 31 * hash + argument.hash;
+            }
+            this.hash = hash;
+        }
+
+        /**
+         * <p>Returns the key of the specified input.
+         *
+         * @param feature The index of the input's feature
+         * @return the key of the input
+         */
+        public static Key input(final int feature) {
+            return new Key(null, feature, NO_ARGUMENTS);
+        }
+
+        /**
+         * <p>Returns the key of the provided primitive applied to the provided arguments.
+         *
+         * @param primitive The primitive applied by the subexpression
+         * @param arguments The keys of the primitive's arguments, in order
+         * @return the key of the subexpression
+         */
+        public static Key of(final Object primitive, final Key... arguments) {
+            assert (primitive != null);
+
+            return new Key(primitive, -1, arguments.clone());
+        }
+
+        /**
+         * <p>Returns the key of the specified argument of this subexpression.
+         *
+         * @param i The position of the argument
+         * @return the key of the argument
+         */
+        public Key getArgument(final int i) {
+            return arguments[i];
+        }
+
+        /**
+         * <p>Returns true if this key is the key of an input.
+         *
+         * @return true if the subexpression is an input
+         */
+        public boolean isInput() {
+            return primitive == null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            } else if (o instanceof Key) {
+                final Key other = (Key) o;
+
+                return hash == other.hash && primitive == other.primitive && feature == other.feature
+                        && Arrays.equals(arguments, other.arguments);
+            }
+            return false;
+        }
+    }
+}
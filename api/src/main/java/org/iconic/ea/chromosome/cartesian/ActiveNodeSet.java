@@ -0,0 +1,251 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.chromosome.cartesian;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>The set of active nodes within a cartesian chromosome.
+ *
+ * <p>Every node keeps a count of the references made to it by the chromosome's outputs and by the connections
+ * used by other active nodes, and a node is active while that count is positive. As the graph is acyclic the count
+ * of a node only depends on the nodes after it, so a single mutation can be applied by only visiting the nodes that
+ * become active or inactive because of it, rather than rescanning the whole graph.
+ *
+ * <p>Nodes may only connect to preceding nodes, so ascending node order is also a topological order of the graph.
+ */
+final class ActiveNodeSet implements Cloneable {
+    private BitSet active;
+    private int[] references;
+    // The active nodes in ascending order, which is rebuilt when first requested after a change. Chromosomes sharing
+    // the set may request it from different threads, so it's only published once it's complete
+    private volatile int[] order;
+    // Nodes waiting for their connections to be visited while a reference is added or removed
+    private int[] pending;
+    // The number of chromosomes sharing this set, which may only be modified in place while it isn't shared
+    private AtomicInteger owners = new AtomicInteger(1);
+
+    /**
+     * <p>Finds the active nodes of the provided chromosome.
+     *
+     * @param chromosome The chromosome to find the active nodes of
+     */
+    ActiveNodeSet(final CartesianChromosome<?> chromosome) {
+        final int numInputs = chromosome.getInputs();
+        final int numNodes = numInputs + chromosome.getNumberOfNodes();
+
+        this.active = new BitSet(numNodes);
+        this.references = new int[numNodes];
+        this.pending = new int[16];
+
+        for (int k = 0; k < chromosome.getNumberOfOutputs(); ++k) {
+            references[chromosome.getOutput(k)]++;
+        }
+
+        // Visit the nodes in descending order so that every reference to a node is counted before it's visited
+        for (int node = numNodes - 1; node >= 0; --node) {
+            if (references[node] == 0) {
+                continue;
+            }
+
+            active.set(node);
+
+            if (node >= numInputs) {
+                final int arity = chromosome.getArity(node);
+
+                for (int k = 1; k <= arity; ++k) {
+                    references[chromosome.getConnectionGene(node, k)]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>Returns true if the specified node is active.
+     *
+     * @param node The node to check
+     * @return true if the node is active
+     */
+    boolean contains(final int node) {
+        return active.get(node);
+    }
+
+    /**
+     * <p>Returns the number of active nodes.
+     *
+     * @return the number of active nodes
+     */
+    int size() {
+        return active.cardinality();
+    }
+
+    /**
+     * <p>Returns the active nodes in ascending order, the returned array is shared and must not be modified.
+     *
+     * @return the active nodes in topological order
+     */
+    int[] order() {
+        if (order == null) {
+            final int[] nodes = new int[active.cardinality()];
+
+            for (int i = 0, node = active.nextSetBit(0); node >= 0; node = active.nextSetBit(node + 1)) {
+                nodes[i++] = node;
+            }
+
+            order = nodes;
+        }
+
+        return order;
+    }
+
+    /**
+     * <p>Marks this set as being shared by another chromosome.
+     */
+    void share() {
+        owners.incrementAndGet();
+    }
+
+    /**
+     * <p>Marks this set as no longer being used by one of the chromosomes sharing it.
+     */
+    void unshare() {
+        owners.decrementAndGet();
+    }
+
+    /**
+     * <p>Returns true if this set is shared by more than one chromosome, in which case it must be copied before it's
+     * modified.
+     *
+     * @return true if the set is shared
+     */
+    boolean isShared() {
+        return owners.get() > 1;
+    }
+
+    /**
+     * <p>Adds a reference to the specified node, which activates the node and any nodes it depends on that weren't
+     * already active.
+     *
+     * @param chromosome The chromosome the set belongs to
+     * @param node       The node being referenced
+     */
+    void retain(final CartesianChromosome<?> chromosome, final int node) {
+        update(chromosome, node, 1);
+    }
+
+    /**
+     * <p>Removes a reference to the specified node, which deactivates the node and any nodes that are no longer
+     * referenced because of it.
+     *
+     * @param chromosome The chromosome the set belongs to
+     * @param node       The node no longer being referenced
+     */
+    void release(final CartesianChromosome<?> chromosome, final int node) {
+        update(chromosome, node, -1);
+    }
+
+    /**
+     * <p>Adds a reference to, or removes a reference from, each connection from the first connection up to, and
+     * including, the last connection of the specified node.
+     *
+     * @param chromosome The chromosome the set belongs to
+     * @param node       The node whose connections are changing
+     * @param first      The first connection, starting from one
+     * @param last       The last connection
+     * @param delta      One to add a reference, or negative one to remove it
+     */
+    void updateConnections(final CartesianChromosome<?> chromosome, final int node,
+                           final int first, final int last, final int delta) {
+        for (int k = first; k <= last; ++k) {
+            update(chromosome, chromosome.getConnectionGene(node, k), delta);
+        }
+    }
+
+    /**
+     * <p>Changes the reference count of the specified node and propagates it to every node that becomes active or
+     * inactive as a result.
+     *
+     * @param chromosome The chromosome the set belongs to
+     * @param node       The node being referenced
+     * @param delta      One to add a reference, or negative one to remove it
+     */
+    private void update(final CartesianChromosome<?> chromosome, final int node, final int delta) {
+        final int numInputs = chromosome.getInputs();
+        int size = 0;
+
+        size = visit(node, delta, size);
+
+        while (size > 0) {
+            final int next = pending[--size];
+
+            if (next < numInputs) {
+                continue;
+            }
+
+            final int arity = chromosome.getArity(next);
+
+            for (int k = 1; k <= arity; ++k) {
+                size = visit(chromosome.getConnectionGene(next, k), delta, size);
+            }
+        }
+    }
+
+    /**
+     * <p>Changes the reference count of the specified node, queueing it if it was activated or deactivated.
+     *
+     * @return the new number of pending nodes
+     */
+    private int visit(final int node, final int delta, int size) {
+        final int count = references[node];
+        references[node] = count + delta;
+
+        assert (references[node] >= 0);
+
+        // Only a node that has just become active or inactive affects the nodes it's connected to
+        if ((delta > 0) ? count == 0 : count == 1) {
+            active.set(node, delta > 0);
+            order = null;
+
+            if (size == pending.length) {
+                pending = Arrays.copyOf(pending, size * 2);
+            }
+
+            pending[size++] = node;
+        }
+
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ActiveNodeSet clone() {
+        try {
+            final ActiveNodeSet clone = (ActiveNodeSet) super.clone();
+            clone.active = (BitSet) active.clone();
+            clone.references = references.clone();
+            clone.pending = new int[16];
+            clone.owners = new AtomicInteger(1);
+
+            return clone;
+        } catch (CloneNotSupportedException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+}
@@ -15,15 +15,19 @@
  */
 package org.iconic.ea.chromosome.cartesian;
 
+import com.google.common.primitives.Ints;
 import lombok.extern.log4j.Log4j2;
 import org.iconic.ea.chromosome.Chromosome;
 import org.iconic.ea.chromosome.LinearChromosome;
+import org.iconic.ea.chromosome.PhenotypeKey;
+import org.iconic.ea.chromosome.SubexpressionCache;
+import org.iconic.ea.chromosome.compiler.CompiledProgram;
 import org.iconic.ea.data.DataManager;
-import org.iconic.ea.data.FeatureClass;
 import org.iconic.ea.operator.objective.Objective;
 import org.iconic.ea.operator.primitive.FunctionalPrimitive;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -37,15 +41,30 @@ import java.util.stream.Collectors;
  */
 @Log4j2
 public class CartesianChromosome<T> extends Chromosome<T> implements LinearChromosome<Integer>, Cloneable {
+    // The genome is stored in blocks so that a clone only needs to copy the blocks that it writes to
+    private static final int BLOCK_SHIFT = 10;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
     private Map<Integer, String> featureLabels;
     private Map<Integer, List<Integer>> phenome;
-    private List<Integer> outputs;
-    private List<Integer> genome;
+    private int[] outputs;
+    private int[][] genome;
+    private int genomeLength;
+    // The number of chromosomes referring to each block of the genome, a block must be copied before it's written to
+    // unless this chromosome is the only one referring to it
+    private AtomicInteger[] blockReferences;
     private List<FunctionalPrimitive<T, T>> primitives;
     private final int rows;
     private final int columns;
     private final int levelsBack;
     private final int maxArity;
+    private CartesianProgram<T> program;
+    private ActiveNodeSet activeNodes;
+    // The node outputs of the chromosome this was cloned from, which are only held until this chromosome is evaluated
+    private NodeOutputs inheritedOutputs;
+    // Keeps the output of every active node when last evaluated, which clones start from when they're evaluated
+    private NodeOutputCache nodeOutputCache;
     List<Map<Integer, T>> results;
 
     /**
@@ -76,9 +95,8 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
 
         assert (outputs.size() > 0);
 
-        this.outputs = outputs;
-        this.phenome = new HashMap<>();
-        this.genome = genome;
+        this.outputs = Ints.toArray(outputs);
+        setGenome((genome != null) ? Ints.toArray(genome) : new int[0]);
         results = new ArrayList<>();
         // Create a comparator for calculating the maximum arity
         final Comparator<FunctionalPrimitive<T, T>> comparator =
@@ -96,13 +114,55 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
         }
     }
 
+    /**
+     * <p>Constructs a copy of the provided chromosome that shares its genome until either of them are changed.
+     *
+     * @param other The chromosome to copy
+     */
+    private CartesianChromosome(CartesianChromosome<T> other) {
+        super(other.getInputs());
+        this.primitives = other.primitives;
+        this.columns = other.columns;
+        this.rows = other.rows;
+        this.levelsBack = other.levelsBack;
+        this.maxArity = other.maxArity;
+        this.featureLabels = other.featureLabels;
+        this.outputs = other.outputs.clone();
+        this.genome = other.genome.clone();
+        this.blockReferences = other.blockReferences.clone();
+        this.genomeLength = other.genomeLength;
+        this.nodeOutputCache = other.nodeOutputCache;
+        this.inheritedOutputs = other.getNodeOutputs();
+        this.setSubexpressionCache(other.getSubexpressionCache());
+        this.setCompileThreshold(other.getCompileThreshold());
+        // The compiled phenome is immutable, so it's shared until either chromosome changes
+        this.program = other.program;
+        this.results = new ArrayList<>();
+
+        // Both chromosomes now refer to the same blocks, so neither of them may write to a block without copying it.
+        // Only the reference counts are changed, so several chromosomes may copy the same chromosome concurrently
+        for (AtomicInteger references : blockReferences) {
+            references.incrementAndGet();
+        }
+
+        final ActiveNodeSet activeNodes = other.activeNodes;
+
+        if (activeNodes != null) {
+            activeNodes.share();
+            this.activeNodes = activeNodes;
+        }
+
+        // The phenome is never modified once created, so it's shared until either chromosome changes
+        this.phenome = other.phenome;
+    }
+
     /**
      * <p>Returns the number of nodes in this chromosome's genome
      *
      * @return the number of nodes in the chromosome's genome
      */
     public int getNumberOfNodes() {
-        return (getGenome().size() - getInputs()) / (getMaxArity() + 1);
+        return (genomeLength - getInputs()) / (getMaxArity() + 1);
     }
 
     /**
@@ -118,76 +178,6 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
     }
 
 
-    /**
-     * <p>Generates the output of all active nodes in this chromosome
-     *
-     * @param activeNodes the active nodes in the chromosome to evaluate grouped by output node
-     * @param genome      the genome of the chromosome
-     * @param inputs      the number of inputs in the chromosome
-     * @param outputs     the outputs in the chromosome
-     * @param primitives  the primitives available to the chromosome
-     * @param samples     the samples to use for generating the output
-     * @return a result for every output based on the provided samples
-     */
-    protected Map<Integer, T> generateOutput(Map<Integer, List<Integer>> activeNodes, List<Integer> genome,
-                                             int inputs, List<Integer> outputs,
-                                             List<FunctionalPrimitive<T, T>> primitives,
-                                             List<T> samples) {
-
-        Map<Integer, T> results = new HashMap<>();
-        Map<Integer, T> allActiveNodes = new TreeMap<>();
-
-        // Flatten the map of active nodes as we no longer care what output, each node is associated with.
-        // Each key in the new map is the node's position and the value is its evaluated result
-        for (List<Integer> nodes : activeNodes.values()) {
-            for (Integer node : nodes) {
-                allActiveNodes.put(node, null);
-            }
-        }
-
-        // The chromosome will produce one result for every output
-        // all outputs will eventually (must) produce a result
-        for (Integer output : outputs) {
-            allActiveNodes.put(output, null);
-        }
-
-        // Preallocate the map with the input values
-        for (int i = 0; i < inputs; ++i) {
-            allActiveNodes.put(i, samples.get(i));
-        }
-
-        // For every active node calculate its output
-        for (Integer node : allActiveNodes.keySet()) {
-            final int index = nodeToIndex(node, inputs, getMaxArity());
-
-            // If the node isn't null, don't bother recalculating it
-            if (allActiveNodes.get(node) == null) {
-                final int functionGene = genome.get(index);
-                final FunctionalPrimitive<T, T> f = primitives.get(functionGene);
-                final List<T> params = new ArrayList<>(f.getArity());
-
-                // Add all of the node's required parameters
-                for (int j = 0; j < f.getArity(); ++j) {
-                    final int child = genome.get(index + j + 1);
-                    params.add(
-                            allActiveNodes.get(child)
-                    );
-                }
-
-                // Calculate the output - this works because we start from the inputs and work our
-                // way up to the outputs; the preceding nodes are always calculated first
-                allActiveNodes.put(node, f.apply(params));
-            }
-        }
-
-        // Store the final output in a single list
-        for (Integer output : outputs) {
-            results.put(output, allActiveNodes.get(output));
-        }
-
-        return results;
-    }
-
     /**
      * <p>Returns the active nodes for each output in the genome, a.k.a. the phenotype
      *
@@ -201,81 +191,272 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
                                                       List<FunctionalPrimitive<T, T>> primitives) {
         final int numNodes = getNumberOfNodes();
         final Map<Integer, List<Integer>> activeNodes = new HashMap<>();
+        // Create an array to track which nodes are active, it's reused for each output
+        final boolean[] isActive = new boolean[numNodes + inputs];
 
         // Find the active nodes for every output and store them in the map
         for (Integer output : outputs) {
-            // Create an array to track which nodes are active
-            List<Boolean> isActive = new ArrayList<>(numNodes + inputs);
-
             // Initialise all nodes as inactive
-            for (int i = 0; i < numNodes + inputs; ++i) {
-                isActive.add(false);
-            }
+            Arrays.fill(isActive, false);
 
             // Set the output node as active
-            isActive.set(output, true);
+            isActive[output] = true;
 
             // In descending order, go through each non-input node and activate all of its children
-            for (int i = (numNodes - 1) + inputs; i >= inputs; --i) {
-                // Find the index of the node within the genome
-                final int index = nodeToIndex(i, inputs, getMaxArity());
-
+            for (int i = output; i >= inputs; --i) {
                 // Only activate its children if the node is active
-                if (isActive.get(i)) {
+                if (isActive[i]) {
+                    // Find the index of the node within the genome
+                    final int index = nodeToIndex(i, inputs, getMaxArity());
                     final int functionGene = genome.get(index);
                     FunctionalPrimitive<T, T> function = primitives.get(functionGene);
 
                     // Only activate the number of children required by the function
                     for (int j = 1; j <= function.getArity(); ++j) {
                         final int connection = genome.get(index + j);
-                        isActive.set(connection, true);
+                        isActive[connection] = true;
                     }
                 }
             }
 
             // Add each active node to a list
-            activeNodes.put(output, new LinkedList<>());
+            final List<Integer> nodes = new ArrayList<>();
 
-            for (int i = 0; i < isActive.size(); ++i) {
-                if (isActive.get(i)) {
-                    activeNodes.get(output).add(i);
+            for (int i = 0; i <= output; ++i) {
+                if (isActive[i]) {
+                    nodes.add(i);
                 }
             }
+
+            activeNodes.put(output, nodes);
+        }
+
+        return activeNodes;
+    }
+
+    /**
+     * <p>Returns true if the specified node contributes to any of this chromosome's outputs.
+     *
+     * @param node The node to check
+     * @return true if the node is active
+     */
+    public boolean isActive(int node) {
+        return getActiveNodeSet().contains(node);
+    }
+
+    /**
+     * <p>Returns every active node in this chromosome, across all of its outputs.
+     *
+     * <p>Nodes can only connect to preceding nodes, so the nodes are returned in ascending order, which is also the
+     * order they must be evaluated in.
+     *
+     * @return the active nodes of the chromosome in topological order
+     */
+    public int[] getActiveNodes() {
+        final int[] order = getActiveNodeSet().order();
+        return Arrays.copyOf(order, order.length);
+    }
+
+    /**
+     * <p>Returns the set of active nodes in this chromosome, finding them first if they haven't been already.
+     *
+     * @return the active nodes of the chromosome
+     */
+    ActiveNodeSet getActiveNodeSet() {
+        if (activeNodes == null) {
+            activeNodes = new ActiveNodeSet(this);
         }
 
         return activeNodes;
     }
 
+    /**
+     * <p>Sets the gene at the specified index of this chromosome's genome to the provided value.
+     *
+     * <p>If the gene belongs to an active node the active nodes of the chromosome are updated to match, which only
+     * visits the nodes whose activity is changed by the gene. Otherwise the gene isn't expressed, so the chromosome
+     * isn't marked as changed and keeps its compiled phenome and fitness.
+     *
+     * @param index The index of the gene within the genome
+     * @param value The new value of the gene
+     */
+    public void setGene(int index, int value) {
+        assert (index >= getInputs());
+
+        final int node = indexToNode(index);
+        final int position = (index - getInputs()) % (getMaxArity() + 1);
+        final int previous = getGene(index);
+
+        if (previous == value) {
+            return;
+        }
+
+        // Connections beyond the arity of the node's function aren't expressed either
+        final boolean expressed = getActiveNodeSet().contains(node) && (position == 0 || position <= getArity(node));
+
+        writeGene(index, value);
+
+        if (!expressed) {
+            return;
+        }
+
+        setChanged(true);
+        phenome = null;
+
+        final ActiveNodeSet activeNodes = getModifiableActiveNodeSet();
+
+        if (position == 0) {
+            // Changing the function only changes which of the node's connections are used
+            final int previousArity = getPrimitives().get(previous).getArity();
+            final int arity = getArity(node);
+
+            if (arity > previousArity) {
+                activeNodes.updateConnections(this, node, previousArity + 1, arity, 1);
+            } else if (arity < previousArity) {
+                activeNodes.updateConnections(this, node, arity + 1, previousArity, -1);
+            }
+        } else {
+            // Reference the new connection first so that nodes shared by both aren't needlessly deactivated
+            activeNodes.retain(this, value);
+            activeNodes.release(this, previous);
+        }
+    }
+
+    /**
+     * <p>Connects the specified output of this chromosome to the provided node.
+     *
+     * <p>The active nodes of the chromosome are updated to match, which only visits the nodes whose activity is
+     * changed by the new connection.
+     *
+     * @param output The position of the output to change
+     * @param node   The node to connect the output to
+     */
+    public void setOutput(int output, int node) {
+        final int previous = outputs[output];
+
+        if (previous == node) {
+            return;
+        }
+
+        outputs[output] = node;
+        setChanged(true);
+        phenome = null;
+
+        if (activeNodes != null) {
+            final ActiveNodeSet activeNodes = getModifiableActiveNodeSet();
+            activeNodes.retain(this, node);
+            activeNodes.release(this, previous);
+        }
+    }
+
+    /**
+     * <p>Returns the active nodes of this chromosome, first copying them if they're shared with another chromosome.
+     *
+     * @return the active nodes of the chromosome
+     */
+    private ActiveNodeSet getModifiableActiveNodeSet() {
+        final ActiveNodeSet shared = getActiveNodeSet();
+
+        if (shared.isShared()) {
+            activeNodes = shared.clone();
+            shared.unshare();
+        }
+
+        return getActiveNodeSet();
+    }
+
+    /**
+     * <p>Returns the gene at the specified index of this chromosome's genome.
+     *
+     * @param index The index of the gene within the genome
+     * @return the value of the gene
+     */
+    public int getGene(int index) {
+        return genome[index >>> BLOCK_SHIFT][index & BLOCK_MASK];
+    }
+
+    /**
+     * <p>Writes a gene to this chromosome's genome, copying the block it belongs to if the block is shared.
+     *
+     * @param index The index of the gene within the genome
+     * @param value The new value of the gene
+     */
+    private void writeGene(int index, int value) {
+        final int block = index >>> BLOCK_SHIFT;
+
+        if (blockReferences[block].get() > 1) {
+            genome[block] = genome[block].clone();
+            blockReferences[block].decrementAndGet();
+            blockReferences[block] = new AtomicInteger(1);
+        }
+
+        genome[block][index & BLOCK_MASK] = value;
+    }
+
+    /**
+     * <p>Returns the function gene of the specified node, which is the index of the primitive used by the node.
+     *
+     * @param node The node to get the function gene of, which mustn't be an input
+     * @return the function gene of the node
+     */
+    public int getFunctionGene(int node) {
+        assert (node >= getInputs());
+
+        return getGene(nodeToIndex(node, getInputs(), getMaxArity()));
+    }
+
+    /**
+     * <p>Returns the specified connection gene of a node, which is the node that the connection is connected to.
+     *
+     * @param node       The node to get the connection gene of, which mustn't be an input
+     * @param connection The connection to get, starting from one
+     * @return the node that the connection is connected to
+     */
+    public int getConnectionGene(int node, int connection) {
+        assert (node >= getInputs() && connection >= 1 && connection <= getMaxArity());
+
+        return getGene(nodeToIndex(node, getInputs(), getMaxArity()) + connection);
+    }
+
+    /**
+     * <p>Returns the arity of the function used by the specified node.
+     *
+     * @param node The node to find the arity of
+     * @return the number of connections used by the node
+     */
+    int getArity(int node) {
+        return getPrimitives().get(getFunctionGene(node)).getArity();
+    }
+
+    /**
+     * <p>Converts an index within this chromosome's genome to the node that the gene belongs to.
+     *
+     * @param index The index of the gene
+     * @return the node that the gene belongs to
+     */
+    private int indexToNode(int index) {
+        return (index < getInputs()) ? index : (index - getInputs()) / (getMaxArity() + 1) + getInputs();
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
+    @SuppressWarnings("unchecked")
     public List<Map<Integer, T>> evaluate(final DataManager<T> dataManager) {
-        // Fetch all labels so we can access each sample by column later on
-        final List<String> headers = dataManager.getSampleHeaders();
         final int numSamples = dataManager.getSampleSize();
+        final int[] outputs = getDistinctOutputs();
+        final double[][] outputValues = run(dataManager);
         // Store the calculates values in a map, where each key is an output node
         final List<Map<Integer, T>> calculatedValues = new ArrayList<>(numSamples);
 
-        // For every sample put together a row and evaluate it
         for (int i = 0; i < numSamples; ++i) {
-            List<T> row = new LinkedList<>();
-
-            // Labels *must* be in order for this to work correctly
-            for (String header : headers) {
-                FeatureClass<Number> feature = dataManager.getDataset().get(header);
+            final Map<Integer, T> output = new HashMap<>();
 
-                //noinspection unchecked
-                row.add(
-                        (T) feature.getSampleValue(i)
-                );
+            for (int k = 0; k < outputs.length; ++k) {
+                output.put(outputs[k], (T) Double.valueOf(outputValues[k][i]));
             }
 
-            // Using the row as input, calculate the output it produces
-            final Map<Integer, T> output = generateOutput(
-                    getPhenome(), getGenome(), getInputs(), getOutputs(), getPrimitives(), row
-            );
-
             calculatedValues.add(output);
         }
         setChanged(false);
@@ -283,6 +464,216 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
         return calculatedValues;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The chromosome's compiled phenome is run over the samples without boxing any of the intermediate values.
+     * Once the phenome has been run as many times as the chromosome's compile threshold, it's compiled to bytecode
+     * and the compiled program is run instead.
+     */
+    @Override
+    public double[] evaluate(final DataManager<T> dataManager, final double[] destination) {
+        final int numSamples = dataManager.getSampleSize();
+        final CompiledProgram compiled = (getCompileThreshold() > 0)
+                ? getProgram().getCompiled(getCompileThreshold())
+                : null;
+
+        if (compiled != null) {
+            compiled.eval(getColumns(dataManager), destination, numSamples);
+            setChanged(false);
+
+            return destination;
+        }
+
+        final double[][] outputValues = run(dataManager);
+
+        for (int i = 0; i < numSamples; ++i) {
+            double sum = 0;
+
+            for (double[] output : outputValues) {
+                sum += output[i];
+            }
+
+            destination[i] = sum;
+        }
+        setChanged(false);
+
+        return destination;
+    }
+
+    /**
+     * <p>Runs this chromosome over every sample in the dataset.
+     *
+     * <p>If the chromosome has a node output cache that can hold the output of every active node, the outputs are
+     * kept and only the nodes that changed since the chromosome, or the chromosome it was cloned from, was last
+     * evaluated are recomputed. If the chromosome has a subexpression cache, the output of each node is looked up in the cache
+     * before it's computed. Otherwise the chromosome's compiled phenome is run a block at a time.
+     *
+     * @param dataManager the samples to use for generating the output
+     * @return the value of every distinct output node for each sample, in the order of {@link #getDistinctOutputs()}
+     */
+    private double[][] run(final DataManager<T> dataManager) {
+        final int numSamples = dataManager.getSampleSize();
+        final double[][] columns = getColumns(dataManager);
+        final SubexpressionCache cache = getSubexpressionCache();
+        final NodeOutputCache nodeOutputCache = getNodeOutputCache();
+        final boolean keep = nodeOutputCache != null && nodeOutputCache.fits(NodeOutputs.getSize(this, numSamples));
+
+        if (!keep && cache == null) {
+            discardNodeOutputs();
+            return runProgram(getProgram(), columns, numSamples);
+        }
+
+        final NodeOutputs computed = NodeOutputs.compute(this, getNodeOutputs(), columns, numSamples, cache);
+        final int[] outputs = getDistinctOutputs();
+        final double[][] outputValues = new double[outputs.length][];
+
+        if (keep) {
+            inheritedOutputs = null;
+            nodeOutputCache.put(this, computed);
+        } else {
+            discardNodeOutputs();
+        }
+
+        // The columns may be shared with other chromosomes, so they're only ever read from
+        for (int k = 0; k < outputs.length; ++k) {
+            outputValues[k] = computed.getColumn(outputs[k]);
+        }
+
+        return outputValues;
+    }
+
+    /**
+     * <p>Returns the column of every feature in the dataset
+     *
+     * @param dataManager the samples to use for generating the output
+     * @return the samples of the dataset, one array per feature
+     */
+    private double[][] getColumns(final DataManager<T> dataManager) {
+        final double[][] columns = new double[getInputs()][];
+
+        // Labels *must* be in order for this to work correctly
+        for (int i = 0; i < columns.length; ++i) {
+            columns[i] = dataManager.getColumnAsDoubles(i);
+        }
+
+        return columns;
+    }
+
+    /**
+     * <p>Runs the provided program over every sample in the dataset
+     *
+     * @param program    the compiled phenome to run
+     * @param columns    the samples to use for generating the output, one array per feature
+     * @param numSamples the number of samples to evaluate
+     * @return the value of every distinct output node for each sample, indexed by output
+     */
+    private double[][] runProgram(final CartesianProgram<T> program, final double[][] columns, final int numSamples) {
+        final double[][] outputValues = new double[program.getOutputs().length][numSamples];
+
+        program.run(columns, numSamples, outputValues);
+
+        return outputValues;
+    }
+
+    /**
+     * <p>Returns the nodes connected to this chromosome's outputs, without duplicates, in the order they're first
+     * connected to.
+     *
+     * @return the distinct output nodes of the chromosome
+     */
+    private int[] getDistinctOutputs() {
+        return Arrays.stream(outputs).distinct().toArray();
+    }
+
+    /**
+     * <p>Returns the outputs of this chromosome's active nodes from when it was last evaluated, or the outputs of the
+     * chromosome it was cloned from if it hasn't been evaluated since.
+     *
+     * @return the chromosome's node outputs, or null if they weren't kept
+     */
+    NodeOutputs getNodeOutputs() {
+        final NodeOutputs kept = (nodeOutputCache != null) ? nodeOutputCache.get(this) : null;
+
+        return (kept != null) ? kept : inheritedOutputs;
+    }
+
+    /**
+     * <p>Discards the node outputs of this chromosome, and any it inherited from the chromosome it was cloned from.
+     */
+    private void discardNodeOutputs() {
+        inheritedOutputs = null;
+
+        if (nodeOutputCache != null) {
+            nodeOutputCache.remove(this);
+        }
+    }
+
+    /**
+     * <p>Returns the cache this chromosome keeps the output of its active nodes in between evaluations.
+     *
+     * @return the node output cache of the chromosome, or null if the outputs aren't kept
+     */
+    public NodeOutputCache getNodeOutputCache() {
+        return nodeOutputCache;
+    }
+
+    /**
+     * <p>Sets the cache this chromosome keeps the output of its active nodes in between evaluations.
+     *
+     * <p>Clones of the chromosome start from the node outputs of the chromosome, so an offspring only needs to
+     * recompute the nodes affected by its mutations. The cache bounds the node outputs of every chromosome sharing
+     * it, although columns that weren't recomputed are shared with the chromosome they were cloned from. A null
+     * cache disables keeping the outputs.
+     *
+     * @param nodeOutputCache The new node output cache of the chromosome, which may be null
+     */
+    public void setNodeOutputCache(NodeOutputCache nodeOutputCache) {
+        discardNodeOutputs();
+
+        this.nodeOutputCache = nodeOutputCache;
+    }
+
+    /**
+     * <p>Returns the compiled form of this chromosome's phenome.
+     *
+     * <p>The program is only recompiled when the chromosome has been changed, otherwise the cached program is
+     * returned.
+     *
+     * @return the compiled phenome of the chromosome
+     */
+    CartesianProgram<T> getProgram() {
+        if (program == null) {
+            program = new CartesianProgram<>(this);
+        }
+
+        return program;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The key is derived from the chromosome's compiled phenome, so inactive genes don't contribute to it.
+     */
+    @Override
+    public PhenotypeKey getPhenotypeKey() {
+        return getProgram().getKey();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Changing the chromosome also discards its compiled phenome.
+     */
+    @Override
+    public void setChanged(boolean changed) {
+        super.setChanged(changed);
+
+        if (changed) {
+            program = null;
+        }
+    }
+
     public List<Map<Integer, T>> getResults() {
         return results;
     }
@@ -309,7 +700,7 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
 
         // Any other node is treated as a function node
         else {
-            final int functionGene = genome.get(index);
+            final int functionGene = getFunctionGene(node);
             final FunctionalPrimitive<?, ?> primitive = primitives.get(functionGene);
             final int arity = primitive.getArity();
             final String leftBracket = " ( ";
@@ -320,7 +711,7 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
             outputBuilder.append(symbol).append(leftBracket);
             // Only append the number of children that will actually be used
             for (int i = 1; i <= arity; ++i) {
-                final int connectionGene = genome.get(index + i);
+                final int connectionGene = getConnectionGene(node, i);
 
                 // Recursively append its children
                 outputBuilder.append(
@@ -347,19 +738,19 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
         StringBuilder outputBuilder = new StringBuilder();
 
         // For each output
-        getOutputs().forEach(output -> {
+        for (int output : outputs) {
             // Append its phenotype
             outputBuilder
                     .append(formatNode(output, getInputs(), getMaxArity(), getPrimitives()))
                     .append("\n");
-        });
+        }
 
         return outputBuilder.toString();
     }
 
     public String getExpression() {
         Map<Integer, List<Integer>> nodes = getPhenome();
-        String[] expressions = new String[genome.size() + getOutputs().size()];
+        String[] expressions = new String[genomeLength + outputs.length];
         Set<Integer> keysSet = nodes.keySet();
         Integer[] keys = keysSet.toArray(new Integer[0]);
         List<Integer> actualNodes = null;
@@ -373,15 +764,15 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
                 final int index = nodeToIndex(actualNodes.get(j), getInputs(), maxArity);
                 if (index < getInputs())
                     continue;
-                final int functionGene = genome.get(index);
+                final int functionGene = getGene(index);
                 final FunctionalPrimitive<?, ?> primitive = primitives.get(functionGene);
                 final int arity = primitive.getArity();
                 if (arity == 1) {
-                    final int connectionGene = genome.get(index + 1);
+                    final int connectionGene = getGene(index + 1);
                     expressions[index] = "(" + primitive.getSymbol() + "(" + expressions[nodeToIndex(connectionGene, getInputs(), maxArity)] + "))";
                 } else {
-                    final int fConnectionGene = genome.get(index + 1);
-                    final int sConnectionGene = genome.get(index + 2);
+                    final int fConnectionGene = getGene(index + 1);
+                    final int sConnectionGene = getGene(index + 2);
                     expressions[index] = "(" + expressions[nodeToIndex(fConnectionGene, getInputs(), maxArity)] + primitive.getSymbol() + expressions[nodeToIndex(sConnectionGene, getInputs(), maxArity)] + ")";
                 }
             }
@@ -394,21 +785,20 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
      *
      * @param genome The new genome of the chromosome
      */
-    private void setGenome(List<Integer> genome) {
-        this.genome = new LinkedList<>();
-        this.genome.addAll(genome);
-
-        setChanged(true);
-    }
-
-    /**
-     * <p>Sets the outputs of this chromosome to the specified value
-     *
-     * @param outputs The new outputs of the chromosome
-     */
-    private void setOutputs(List<Integer> outputs) {
-        this.outputs = new LinkedList<>();
-        this.outputs.addAll(outputs);
+    private void setGenome(int[] genome) {
+        final int numBlocks = (genome.length + BLOCK_MASK) >>> BLOCK_SHIFT;
+
+        this.genome = new int[numBlocks][];
+        this.genomeLength = genome.length;
+        this.blockReferences = new AtomicInteger[numBlocks];
+        this.activeNodes = null;
+        this.phenome = null;
+
+        for (int block = 0; block < numBlocks; ++block) {
+            final int from = block << BLOCK_SHIFT;
+            this.genome[block] = Arrays.copyOfRange(genome, from, Math.min(from + BLOCK_SIZE, genome.length));
+            this.blockReferences[block] = new AtomicInteger(1);
+        }
 
         setChanged(true);
     }
@@ -419,13 +809,14 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
      * @param phenome The new phenome of the chromosome
      */
     private void setPhenome(Map<Integer, List<Integer>> phenome) {
-        this.phenome = new LinkedHashMap<>();
+        final Map<Integer, List<Integer>> copy = new LinkedHashMap<>();
 
         for (Map.Entry<Integer, List<Integer>> output: phenome.entrySet()) {
-            List<Integer> genes = new LinkedList<>();
-            genes.addAll(output.getValue());
-            this.phenome.put(output.getKey(), genes);
+            copy.put(output.getKey(), Collections.unmodifiableList(new ArrayList<>(output.getValue())));
         }
+
+        // The phenome may be shared with clones of this chromosome, so it mustn't be modified
+        this.phenome = Collections.unmodifiableMap(copy);
     }
 
     /**
@@ -434,8 +825,8 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
      * @return the phenome of the chromosome
      */
     public Map<Integer, List<Integer>> getPhenome() {
-        // Ensure that the most up-to-date phenome is returned
-        if (isChanged()) {
+        // The phenome is discarded whenever the genome changes
+        if (phenome == null) {
             setPhenome(getActiveNodes(getInputs(), getGenome(), getOutputs(), getPrimitives()));
         }
 
@@ -444,10 +835,12 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
 
     /**
      * {@inheritDoc}
+     *
+     * <p>The genome is returned as a read-only view, genes should be changed through {@link #setGene(int, int)}.
      */
     @Override
     public List<Integer> getGenome() {
-        return genome;
+        return new GenomeView();
     }
 
     /**
@@ -466,7 +859,26 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
      * @return the number of outputs used by the chromosome
      */
     public List<Integer> getOutputs() {
-        return outputs;
+        return Collections.unmodifiableList(Ints.asList(outputs));
+    }
+
+    /**
+     * <p>Returns the node that the specified output of this chromosome is connected to
+     *
+     * @param output The position of the output
+     * @return the node connected to the output
+     */
+    public int getOutput(int output) {
+        return outputs[output];
+    }
+
+    /**
+     * <p>Returns the number of outputs in this chromosome
+     *
+     * @return the number of outputs in the chromosome
+     */
+    public int getNumberOfOutputs() {
+        return outputs.length;
     }
 
     /**
@@ -512,6 +924,7 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
      */
     public void setPrimitives(List<FunctionalPrimitive<T, T>> primitives) {
         this.primitives = primitives;
+        discardNodeOutputs();
     }
 
     /**
@@ -519,15 +932,13 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
      */
     @Override
     public CartesianChromosome<T> clone() {
-        CartesianChromosome<T> clone = new CartesianChromosome<>(
-                getPrimitives(), getInputs(), getColumns(), getRows(), getLevelsBack(), getOutputs(), null, getFeatureLabels()
-        );
+        CartesianChromosome<T> clone = new CartesianChromosome<>(this);
 
-        clone.setGenome(getGenome());
-        clone.setOutputs(getOutputs());
         clone.setFitness(getFitness());
-        clone.setPhenome(getPhenome());
         clone.setChanged(isChanged());
+        clone.setFitnessVector(getFitnessVector());
+        // Programs are immutable so the clone can share it until either of them are changed
+        clone.program = program;
 
         return clone;
     }
@@ -565,4 +976,23 @@ public class CartesianChromosome<T> extends Chromosome<T> implements LinearChrom
         }
         return false;
     }
-}
\ No newline at end of file
+
+    /**
+     * <p>A read-only view of the genome of a chromosome.
+     */
+    private class GenomeView extends AbstractList<Integer> implements RandomAccess {
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= genomeLength) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + genomeLength);
+            }
+
+            return getGene(index);
+        }
+
+        @Override
+        public int size() {
+            return genomeLength;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.chromosome.cartesian;
+
+import org.iconic.ea.operator.primitive.FunctionalPrimitive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Encodes cartesian chromosomes in a compact binary format, so that they can be sent to other processes.
+ *
+ * <p>Only the genes of a chromosome are encoded, each as a variable-length integer, so most genes take a single
+ * byte. The primitives, features, and dimensions of a chromosome are taken from the factory of the process that
+ * decodes it, so both processes must use identically configured factories. Their {@link #getFingerprint()
+ * fingerprints} can be compared to make sure that they do.
+ *
+ * @param <T> The type class of the data passed through the chromosomes
+ */
+public class CartesianChromosomeCodec<T> {
+    // Guards against allocating huge lists when decoding corrupt input
+    private static final int MAX_LENGTH = 1 << 24;
+
+    private final CartesianChromosomeFactory<T> factory;
+
+    /**
+     * <p>Constructs a new codec that decodes chromosomes using the provided factory.
+     *
+     * @param factory The factory to decode chromosomes with
+     */
+    public CartesianChromosomeCodec(final CartesianChromosomeFactory<T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * <p>Writes the genes of the provided chromosome.
+     *
+     * @param chromosome The chromosome to encode
+     * @param out        The output to write to
+     * @throws IOException if the chromosome couldn't be written
+     */
+    public void write(final CartesianChromosome<T> chromosome, final DataOutput out) throws IOException {
+        writeGenes(chromosome.getOutputs(), out);
+        writeGenes(chromosome.getGenome(), out);
+    }
+
+    /**
+     * <p>Reads a chromosome written by {@link #write(CartesianChromosome, DataOutput)}.
+     *
+     * @param in The input to read from
+     * @return a new chromosome with the genes that were read
+     * @throws IOException if the chromosome couldn't be read, or isn't valid for the codec's factory
+     */
+    public CartesianChromosome<T> read(final DataInput in) throws IOException {
+        final List<Integer> outputs = readGenes(in);
+        final List<Integer> genome = readGenes(in);
+
+        try {
+            return factory.getChromosome(outputs, genome);
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("Received an invalid chromosome: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * <p>Writes the number of provided chromosomes followed by each chromosome.
+     *
+     * @param chromosomes The chromosomes to encode
+     * @param out         The output to write to
+     * @throws IOException if the chromosomes couldn't be written
+     */
+    public void writeAll(final Collection<? extends CartesianChromosome<T>> chromosomes, final DataOutput out)
+            throws IOException {
+        writeVarInt(chromosomes.size(), out);
+
+        for (CartesianChromosome<T> chromosome : chromosomes) {
+            write(chromosome, out);
+        }
+    }
+
+    /**
+     * <p>Reads the chromosomes written by {@link #writeAll(Collection, DataOutput)}.
+     *
+     * @param in The input to read from
+     * @return the chromosomes that were read, in the order they were written
+     * @throws IOException if the chromosomes couldn't be read, or aren't valid for the codec's factory
+     */
+    public List<CartesianChromosome<T>> readAll(final DataInput in) throws IOException {
+        final int size = readLength(in);
+        final List<CartesianChromosome<T>> chromosomes = new ArrayList<>(size);
+
+        for (int i = 0; i < size; ++i) {
+            chromosomes.add(read(in));
+        }
+
+        return chromosomes;
+    }
+
+    /**
+     * <p>Returns a fingerprint of the configuration of the codec's factory. Codecs with different fingerprints
+     * can't decode each other's chromosomes.
+     *
+     * @return the fingerprint of the codec's factory
+     */
+    public long getFingerprint() {
+        long fingerprint = 17;
+
+        // Only the factory's settings are used, so that finding the fingerprint doesn't draw from its random source
+        fingerprint = 31 * fingerprint + factory.getNumInputs();
+        fingerprint = 31 * fingerprint + factory.getNumOutputs();
+        fingerprint = 31 * fingerprint + factory.getColumns();
+        fingerprint = 31 * fingerprint + factory.getRows();
+        fingerprint = 31 * fingerprint + factory.getLevelsBack();
+
+        for (FunctionalPrimitive<T, T> primitive : factory.getFunctionalPrimitives()) {
+            fingerprint = 31 * fingerprint + primitive.getSymbol().hashCode();
+            fingerprint = 31 * fingerprint + primitive.getArity();
+        }
+
+        for (Map.Entry<Integer, String> label : factory.getFeatureLabels().entrySet()) {
+            fingerprint = 31 * fingerprint + label.getKey();
+            fingerprint = 31 * fingerprint + label.getValue().hashCode();
+        }
+
+        return fingerprint;
+    }
+
+    /**
+     * <p>Writes a non-negative integer using as few bytes as possible, seven bits at a time.
+     *
+     * @param value The value to write
+     * @param out   The output to write to
+     * @throws IOException if the value couldn't be written
+     */
+    public static void writeVarInt(final int value, final DataOutput out) throws IOException {
+        assert (value >= 0);
+
+        int remaining = value;
+
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+
+        out.writeByte(remaining);
+    }
+
+    /**
+     * <p>Reads a non-negative integer written by {@link #writeVarInt(int, DataOutput)}.
+     *
+     * @param in The input to read from
+     * @return the value that was read
+     * @throws IOException if the value couldn't be read, or wasn't a valid integer
+     */
+    public static int readVarInt(final DataInput in) throws IOException {
+        int value = 0;
+
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int b = in.readUnsignedByte();
+
+            // The fifth byte may only hold the last three bits of a non-negative integer
+            if (shift == 28 && (b & ~0x07) != 0) {
+                break;
+            }
+
+            value |= (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Received a malformed integer.");
+    }
+
+    private static void writeGenes(final List<Integer> genes, final DataOutput out) throws IOException {
+        writeVarInt(genes.size(), out);
+
+        for (int gene : genes) {
+            writeVarInt(gene, out);
+        }
+    }
+
+    private static List<Integer> readGenes(final DataInput in) throws IOException {
+        final int size = readLength(in);
+        final List<Integer> genes = new ArrayList<>(size);
+
+        for (int i = 0; i < size; ++i) {
+            genes.add(readVarInt(in));
+        }
+
+        return genes;
+    }
+
+    private static int readLength(final DataInput in) throws IOException {
+        final int length = readVarInt(in);
+
+        if (length > MAX_LENGTH) {
+            throw new IOException("Received a length of " + length + ", which exceeds the maximum of " + MAX_LENGTH);
+        }
+
+        return length;
+    }
+}
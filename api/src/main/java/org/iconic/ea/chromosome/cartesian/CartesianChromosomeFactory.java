@@ -17,9 +17,9 @@ package org.iconic.ea.chromosome.cartesian;
 
 import org.iconic.ea.chromosome.ChromosomeFactory;
 import org.iconic.ea.operator.primitive.FunctionalPrimitive;
+import org.iconic.ea.random.RandomSource;
 
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * {@inheritDoc}
@@ -37,6 +37,7 @@ public class CartesianChromosomeFactory<T> extends ChromosomeFactory<CartesianCh
     private final int rows;
     private final int levelsBack;
     private final Map<Integer, String> featureLabels;
+    private NodeOutputCache nodeOutputCache = new NodeOutputCache();
 
     /**
      * <p>Constructs a new cartesian chromosome factory that constructs cartesian chromosomes with the provided
@@ -70,40 +71,136 @@ public class CartesianChromosomeFactory<T> extends ChromosomeFactory<CartesianCh
     /**
      * {@inheritDoc}
      */
-    public CartesianChromosome<T> getChromosome() {
+    @Override
+    public CartesianChromosome<T> getChromosome(final RandomSource random) {
         final int numPrimitives = getFunctionalPrimitives().size();
 
         assert (numPrimitives > 0);
 
-        return new CartesianChromosome<>(
+        return getChromosome(
+                encodeTail(random, getNumOutputs(), getNumInputs(), getColumns(), getRows()),
+                encodeBody(random, getNumInputs(), numPrimitives, getColumns(), getRows(), getLevelsBack())
+        );
+    }
+
+    /**
+     * <p>Returns a new chromosome with the provided genes, e.g. one that was encoded by another process with a
+     * factory configured identically to this one
+     *
+     * @param outputs The output genes of the chromosome
+     * @param genome  The genome of the chromosome, including its inputs
+     * @return a new chromosome with the provided genes
+     * @throws IllegalArgumentException if the genes aren't valid for chromosomes constructed by this factory
+     */
+    public CartesianChromosome<T> getChromosome(final List<Integer> outputs, final List<Integer> genome) {
+        validate(outputs, genome);
+
+        final CartesianChromosome<T> chromosome = new CartesianChromosome<>(
                 getFunctionalPrimitives(), getNumInputs(), getColumns(), getRows(), getLevelsBack(),
-                encodeTail(getNumOutputs(), getNumInputs(), getColumns(), getRows()),
-                encodeBody(getNumInputs(), numPrimitives, getColumns(), getRows(), getLevelsBack()),
-                getFeatureLabels()
+                new ArrayList<>(outputs), new ArrayList<>(genome), getFeatureLabels()
         );
+
+        chromosome.setNodeOutputCache(getNodeOutputCache());
+        chromosome.setSubexpressionCache(getSubexpressionCache());
+        chromosome.setCompileThreshold(getCompileThreshold());
+        return chromosome;
+    }
+
+    /**
+     * <p>Checks that the provided genes could belong to a chromosome constructed by this factory
+     *
+     * @param outputs The output genes to check
+     * @param genome  The genome to check
+     * @throws IllegalArgumentException if the genes aren't valid for chromosomes constructed by this factory
+     */
+    private void validate(final List<Integer> outputs, final List<Integer> genome) {
+        final int numInputs = getNumInputs();
+        final int upperBound = getAddressUpperBound(numInputs, getColumns(), getRows());
+        final int numGenes = CartesianChromosome.nodeToIndex(upperBound, numInputs, getMaxArity());
+
+        if (outputs.size() != getNumOutputs() || genome.size() != numGenes) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d outputs and %d genes, but %d and %d were given.",
+                    getNumOutputs(), numGenes, outputs.size(), genome.size()
+            ));
+        }
+
+        for (int output : outputs) {
+            if (output < 0 || output >= upperBound) {
+                throw new IllegalArgumentException("Output " + output + " isn't a node of the graph.");
+            }
+        }
+
+        for (int input = 0; input < numInputs; ++input) {
+            if (genome.get(input) < 0 || genome.get(input) >= numInputs) {
+                throw new IllegalArgumentException("Input " + input + " isn't a feature.");
+            }
+        }
+
+        for (int node = numInputs; node < upperBound; ++node) {
+            final int index = CartesianChromosome.nodeToIndex(node, numInputs, getMaxArity());
+            final int primitive = genome.get(index);
+
+            if (primitive < 0 || primitive >= getFunctionalPrimitives().size()) {
+                throw new IllegalArgumentException("Node " + node + " uses an unknown primitive " + primitive + ".");
+            }
+
+            // Nodes may only connect to nodes before them, otherwise the graph could contain cycles
+            for (int k = 1; k <= getMaxArity(); ++k) {
+                final int connection = genome.get(index + k);
+
+                if (connection < 0 || connection >= node) {
+                    throw new IllegalArgumentException(
+                            "Node " + node + " can't connect to node " + connection + "."
+                    );
+                }
+            }
+        }
     }
 
     public Map<Integer, String> getFeatureLabels() {
         return featureLabels;
     }
 
+    /**
+     * <p>Returns the node output cache shared by chromosomes constructed by this factory
+     *
+     * @return the cache the chromosomes keep the output of their active nodes in, or null if they aren't kept
+     */
+    public NodeOutputCache getNodeOutputCache() {
+        return nodeOutputCache;
+    }
+
+    /**
+     * <p>Sets the node output cache shared by chromosomes constructed by this factory
+     *
+     * <p>See {@link CartesianChromosome#setNodeOutputCache(NodeOutputCache)} for details, a null cache disables
+     * keeping the outputs.
+     *
+     * @param nodeOutputCache The cache the chromosomes keep the output of their active nodes in, which may be null
+     */
+    public void setNodeOutputCache(NodeOutputCache nodeOutputCache) {
+        this.nodeOutputCache = nodeOutputCache;
+    }
+
     /**
      * <p>Encodes the tail of the chromosome using the provided values
      *
      * <p>A cartesian chromosome's tail is a list of connection genes, one for each output. A connection gene
      * is an index to a node from within the chromosome's graph.
      *
+     * @param random     The source of random numbers to draw the genes from
      * @param numOutputs The number of outputs to encode
      * @param numInputs  The number of inputs to encode
      * @param numColumns The number of columns to encode
      * @param numRows    The number of rows to encode
      * @return the encoded tail of the chromosome
      */
-     private List<Integer> encodeTail(int numOutputs, int numInputs, int numColumns, int numRows) {
+     private List<Integer> encodeTail(RandomSource random, int numOutputs, int numInputs, int numColumns, int numRows) {
         List<Integer> outputs = new ArrayList<>(numOutputs);
 
         for (int i = 0; i < numOutputs; ++i) {
-            final int index = ThreadLocalRandom.current().nextInt(getAddressUpperBound(
+            final int index = random.nextInt(getAddressUpperBound(
                     numInputs, numColumns, numRows
             ) - 1);
             outputs.add(index);
@@ -141,6 +238,7 @@ public class CartesianChromosomeFactory<T> extends ChromosomeFactory<CartesianCh
      * <p>A cartesian chromosome's body is a list of input genes, followed by a list of function and connection
      * genes, where each gene is an integer.
      *
+     * @param random        The source of random numbers to draw the genes from
      * @param numInputs     The number of inputs to encode
      * @param numPrimitives The number of primitives that are available
      * @param numColumns    The number of columns to encode
@@ -148,7 +246,9 @@ public class CartesianChromosomeFactory<T> extends ChromosomeFactory<CartesianCh
      * @param levelsBack    The maximum levels back a node is permitted to connect to
      * @return the encoded body of the chromosome
      */
-    private List<Integer> encodeBody(int numInputs, int numPrimitives, int numColumns, int numRows, int levelsBack) {
+    private List<Integer> encodeBody(
+            RandomSource random, int numInputs, int numPrimitives, int numColumns, int numRows, int levelsBack
+    ) {
         // Use in-built math operations to prevent overflow/underflow
         final int numGenes =
                 Math.multiplyExact(
@@ -165,12 +265,12 @@ public class CartesianChromosomeFactory<T> extends ChromosomeFactory<CartesianCh
 
         // Add nodes
         for (int i = numInputs; i < getAddressUpperBound(numInputs, numColumns, numRows); ++i) {
-            final int primitiveGene = getRandomPrimitive(numPrimitives);
+            final int primitiveGene = getRandomPrimitive(random, numPrimitives);
             genome.add(primitiveGene);
 
             // Add connections within the node
             for (int j = 1; j <= getMaxArity(); ++j) {
-                final int connectionGene = getRandomConnection(i - numInputs, numRows, levelsBack, numInputs);
+                final int connectionGene = getRandomConnection(random, i - numInputs, numRows, levelsBack, numInputs);
                 genome.add(connectionGene);
             }
         }
@@ -204,35 +304,37 @@ public class CartesianChromosomeFactory<T> extends ChromosomeFactory<CartesianCh
     /**
      * <p>Returns the index to a randomly selected primitive from the provided number of options
      *
+     * @param random        The source of random numbers to draw the primitive from
      * @param numPrimitives The number of primitives available
      * @return the index of a random primitive
      */
-    private int getRandomPrimitive(int numPrimitives) {
+    private int getRandomPrimitive(RandomSource random, int numPrimitives) {
         assert (numPrimitives > 0);
-        return ThreadLocalRandom.current().nextInt(numPrimitives);
+        return random.nextInt(numPrimitives);
     }
 
     /**
      * <p>Returns the index to a randomly selected node within the connectivity restraints of the graph
      *
+     * @param random     The source of random numbers to draw the connection from
      * @param index      The index of the originating node
      * @param numRows    The number of rows in the graph
      * @param levelsBack The maximum levels back that the originating node is permitted to connect to
      * @param numInputs  The number of inputs
      * @return the index of a random primitive
      */
-    private int getRandomConnection(int index, int numRows, int levelsBack, int numInputs) {
+    private int getRandomConnection(RandomSource random, int index, int numRows, int levelsBack, int numInputs) {
         final int column = index / numRows;
         final int upperBound = Math.addExact(numInputs, Math.multiplyExact(column, numRows));
 
         if (column >= levelsBack) {
-            return ThreadLocalRandom.current().nextInt(
+            return random.nextInt(
                     Math.addExact(numInputs, Math.multiplyExact(Math.subtractExact(column, levelsBack), numRows)),
                     upperBound
             );
         }
 
-        return ThreadLocalRandom.current().nextInt(0, upperBound);
+        return random.nextInt(0, upperBound);
     }
 
     /**
@@ -242,7 +344,7 @@ public class CartesianChromosomeFactory<T> extends ChromosomeFactory<CartesianCh
      *
      * @return the number of outputs supported by chromosomes constructed by the factory
      */
-    private int getNumOutputs() {
+    int getNumOutputs() {
         return numOutputs;
     }
 
@@ -251,7 +353,7 @@ public class CartesianChromosomeFactory<T> extends ChromosomeFactory<CartesianCh
      *
      * @return the number of features that can be expressed by chromosomes constructed by the factory
      */
-    private int getNumInputs() {
+    int getNumInputs() {
         return numInputs;
     }
 
@@ -260,7 +362,7 @@ public class CartesianChromosomeFactory<T> extends ChromosomeFactory<CartesianCh
      *
      * @return the number of columns within chromosomes constructed by the factory
      */
-    private int getColumns() {
+    int getColumns() {
         return columns;
     }
 
@@ -269,7 +371,7 @@ public class CartesianChromosomeFactory<T> extends ChromosomeFactory<CartesianCh
      *
      * @return the number of rows within chromosomes constructed by the factory
      */
-    private int getRows() {
+    int getRows() {
         return rows;
     }
 
@@ -278,7 +380,7 @@ public class CartesianChromosomeFactory<T> extends ChromosomeFactory<CartesianCh
      *
      * @return the number of levels back adhered to by chromosomes constructed by the factory
      */
-    private int getLevelsBack() {
+    int getLevelsBack() {
         return levelsBack;
     }
 }
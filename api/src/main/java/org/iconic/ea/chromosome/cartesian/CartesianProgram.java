@@ -0,0 +1,275 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.chromosome.cartesian;
+
+import org.iconic.ea.chromosome.PhenotypeKey;
+import org.iconic.ea.chromosome.compiler.CompiledProgram;
+import org.iconic.ea.chromosome.compiler.ProgramCompiler;
+import org.iconic.ea.operator.primitive.FunctionalPrimitive;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>A compiled form of a cartesian chromosome's phenome.
+ *
+ * <p>Every active node is flattened into an instruction that reads its arguments from, and writes its result to, a
+ * column within a register file. Instructions are stored in ascending node order, so each node is always evaluated
+ * after the nodes it's connected to. Only active nodes are given a register, with active inputs occupying the
+ * first slots.
+ *
+ * <p>A program is immutable once compiled and may be shared between chromosomes with the same phenome.
+ *
+ * @param <T> The type class of the data to pass through the chromosome
+ */
+final class CartesianProgram<T> {
+    // Each instruction is laid out as: function gene, output slot, argument slots...
+    private static final int FUNCTION = 0;
+    private static final int OUTPUT = 1;
+    private static final int ARGUMENTS = 2;
+    // The number of samples held by each register while running
+    private static final int BLOCK_SIZE = 1024;
+
+    private final List<FunctionalPrimitive<T, T>> primitives;
+    private final int stride;
+    private final int[] instructions;
+    private final int[] inputs;
+    private final int[] outputs;
+    private final int[] outputSlots;
+    private final int numRegisters;
+    private volatile PhenotypeKey key;
+    private final AtomicInteger runs = new AtomicInteger();
+    private volatile CompiledProgram compiled;
+
+    /**
+     * <p>Compiles the current phenome of the provided chromosome
+     *
+     * @param chromosome The chromosome to compile
+     */
+    CartesianProgram(final CartesianChromosome<T> chromosome) {
+        final int numInputs = chromosome.getInputs();
+        final int maxArity = chromosome.getMaxArity();
+        // The active nodes are shared by every output, so we no longer care which output each node is associated with
+        final int[] active = chromosome.getActiveNodeSet().order();
+        final Set<Integer> distinctOutputs = new LinkedHashSet<>(chromosome.getOutputs());
+
+        // Assign every active node a register in ascending order, which places all active inputs first
+        final int[] slots = new int[numInputs + chromosome.getNumberOfNodes()];
+        int numActiveInputs = 0;
+
+        for (int slot = 0; slot < active.length; ++slot) {
+            slots[active[slot]] = slot;
+
+            if (active[slot] < numInputs) {
+                numActiveInputs++;
+            }
+        }
+
+        final int numInstructions = active.length - numActiveInputs;
+
+        this.primitives = chromosome.getPrimitives();
+        this.stride = ARGUMENTS + maxArity;
+        this.numRegisters = active.length;
+        this.inputs = new int[numActiveInputs];
+        this.instructions = new int[numInstructions * stride];
+
+        int pc = 0;
+        for (int node : active) {
+            if (node < numInputs) {
+                inputs[slots[node]] = node;
+            } else {
+                final int functionGene = chromosome.getFunctionGene(node);
+                final int arity = primitives.get(functionGene).getArity();
+
+                instructions[pc + FUNCTION] = functionGene;
+                instructions[pc + OUTPUT] = slots[node];
+
+                // Only the connections used by the function are compiled
+                for (int j = 0; j < arity; ++j) {
+                    instructions[pc + ARGUMENTS + j] = slots[chromosome.getConnectionGene(node, j + 1)];
+                }
+
+                pc += stride;
+            }
+        }
+
+        this.outputs = new int[distinctOutputs.size()];
+        this.outputSlots = new int[distinctOutputs.size()];
+
+        int i = 0;
+        for (Integer output : distinctOutputs) {
+            outputs[i] = output;
+            outputSlots[i] = slots[output];
+            i++;
+        }
+    }
+
+    /**
+     * <p>Runs this program over the provided samples.
+     *
+     * <p>The columns are indexed by feature and must contain every feature used as an input by the program.
+     * The value of each output for every sample is written to the corresponding array of results, where the outputs
+     * are in the order returned by {@link #getOutputs()}.
+     *
+     * <p>Samples are evaluated a block at a time, where each instruction applies its primitive to an entire column
+     * of the block before moving onto the next instruction.
+     *
+     * @param columns    The samples to evaluate, one array per feature
+     * @param numSamples The number of samples to evaluate
+     * @param results    The arrays to write the value of each output to
+     */
+    void run(final double[][] columns, final int numSamples, final double[][] results) {
+        final int blockSize = Math.max(1, Math.min(numSamples, BLOCK_SIZE));
+        final int numInstructions = instructions.length / stride;
+        final double[][] registers = new double[numRegisters][blockSize];
+        final double[][][] arguments = new double[numInstructions][][];
+
+        // Resolve the argument columns of every instruction once so that each block is evaluated without allocating
+        for (int p = 0, pc = 0; p < numInstructions; ++p, pc += stride) {
+            final int arity = primitives.get(instructions[pc + FUNCTION]).getArity();
+            arguments[p] = new double[arity][];
+
+            for (int j = 0; j < arity; ++j) {
+                arguments[p][j] = registers[instructions[pc + ARGUMENTS + j]];
+            }
+        }
+
+        for (int offset = 0; offset < numSamples; offset += blockSize) {
+            final int n = Math.min(blockSize, numSamples - offset);
+
+            for (int k = 0; k < inputs.length; ++k) {
+                System.arraycopy(columns[inputs[k]], offset, registers[k], 0, n);
+            }
+
+            for (int p = 0, pc = 0; p < numInstructions; ++p, pc += stride) {
+                final FunctionalPrimitive<T, T> f = primitives.get(instructions[pc + FUNCTION]);
+                f.apply(arguments[p], registers[instructions[pc + OUTPUT]], n);
+            }
+
+            for (int k = 0; k < outputSlots.length; ++k) {
+                System.arraycopy(registers[outputSlots[k]], 0, results[k], offset, n);
+            }
+        }
+    }
+
+    /**
+     * <p>Counts a run of this program and returns the program compiled to bytecode once it has been run the
+     * provided number of times.
+     *
+     * <p>The compiled program returns the sum of every output for each sample, as the outputs are summed in the
+     * same order as {@link CartesianChromosome#evaluate(org.iconic.ea.data.DataManager, double[])}.
+     *
+     * @param threshold The number of runs before the program is compiled
+     * @return the compiled program, or null if it hasn't been compiled or can't be compiled
+     */
+    CompiledProgram getCompiled(final int threshold) {
+        // Only the run that reaches the threshold compiles the program, even if the program can't be compiled
+        if (threshold > 0 && runs.get() < threshold && runs.incrementAndGet() == threshold) {
+            compiled = compile();
+        }
+
+        return compiled;
+    }
+
+    private CompiledProgram compile() {
+        final ProgramCompiler.Builder builder = ProgramCompiler.builder();
+        final int[] values = new int[numRegisters];
+
+        for (int k = 0; k < inputs.length; ++k) {
+            values[k] = builder.input(inputs[k]);
+        }
+
+        for (int pc = 0; pc < instructions.length; pc += stride) {
+            final FunctionalPrimitive<T, T> f = primitives.get(instructions[pc + FUNCTION]);
+            final int[] arguments = new int[f.getArity()];
+
+            for (int j = 0; j < arguments.length; ++j) {
+                arguments[j] = values[instructions[pc + ARGUMENTS + j]];
+            }
+
+            values[instructions[pc + OUTPUT]] = builder.apply(f, arguments);
+        }
+
+        final int[] results = new int[outputSlots.length];
+
+        for (int k = 0; k < results.length; ++k) {
+            results[k] = values[outputSlots[k]];
+        }
+
+        return builder.sum(results).compile();
+    }
+
+    /**
+     * <p>Returns the distinct output nodes of the compiled chromosome, in the order their results are written.
+     *
+     * @return the output nodes of the program
+     */
+    int[] getOutputs() {
+        return Arrays.copyOf(outputs, outputs.length);
+    }
+
+    /**
+     * <p>Returns a canonical key of this program.
+     *
+     * <p>Registers are assigned in ascending node order and inactive nodes are skipped, so programs that only
+     * differ in their inactive genes, or in where their active nodes are placed, produce equal keys.
+     *
+     * @return the phenotype key of the program
+     */
+    PhenotypeKey getKey() {
+        if (key == null) {
+            final PhenotypeKey.Builder builder = new PhenotypeKey.Builder();
+            final int numInstructions = instructions.length / stride;
+
+            builder.add(inputs.length);
+            for (int input : inputs) {
+                builder.add(input);
+            }
+
+            // An instruction's output register is implied by its position, so only its function and arguments matter
+            builder.add(numInstructions);
+            for (int pc = 0; pc < instructions.length; pc += stride) {
+                final FunctionalPrimitive<T, T> f = primitives.get(instructions[pc + FUNCTION]);
+                builder.addPrimitive(f);
+
+                for (int j = 0; j < f.getArity(); ++j) {
+                    builder.add(instructions[pc + ARGUMENTS + j]);
+                }
+            }
+
+            builder.add(outputSlots.length);
+            for (int slot : outputSlots) {
+                builder.add(slot);
+            }
+
+            key = builder.build();
+        }
+
+        return key;
+    }
+
+    /**
+     * <p>Returns the number of registers required to run this program
+     *
+     * @return the size of the program's register file
+     */
+    int getNumRegisters() {
+        return numRegisters;
+    }
+}
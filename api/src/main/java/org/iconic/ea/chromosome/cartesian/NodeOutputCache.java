@@ -0,0 +1,131 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.chromosome.cartesian;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * <p>The node outputs kept by cartesian chromosomes between evaluations, which may be shared by an entire population.
+ *
+ * <p>A chromosome keeps the output of its active nodes so that its offspring only need to recompute the nodes affected
+ * by their mutations. Every chromosome that's alive holds on to its outputs, including chromosomes that are only
+ * stored and never bred from again, so rather than bounding each chromosome the outputs of all of the chromosomes
+ * sharing this cache are bounded by their total number of bytes, with the outputs of the least recently evaluated or
+ * cloned chromosomes discarded first.
+ *
+ * <p>Chromosomes are only weakly referenced by the cache, so the outputs of a chromosome are discarded along with it.
+ * A chromosome whose outputs were discarded is still evaluated correctly, its offspring just have to evaluate every
+ * node again.
+ *
+ * <p>The cache is safe to use from multiple threads.
+ */
+public final class NodeOutputCache {
+    /**
+     * <p>The maximum number of bytes of node outputs kept when no other bound is provided
+     */
+    public static final long DEFAULT_MAXIMUM_BYTES = 64L * 1024 * 1024;
+
+    private final Cache<CartesianChromosome<?>, NodeOutputs> cache;
+    private final long maximumBytes;
+
+    /**
+     * <p>Constructs a new cache that keeps up to {@value #DEFAULT_MAXIMUM_BYTES} bytes of node outputs.
+     */
+    public NodeOutputCache() {
+        this(DEFAULT_MAXIMUM_BYTES);
+    }
+
+    /**
+     * <p>Constructs a new cache that keeps up to the specified number of bytes of node outputs.
+     *
+     * @param maximumBytes The maximum total size of the kept node outputs in bytes
+     */
+    public NodeOutputCache(final long maximumBytes) {
+        assert (maximumBytes >= 0);
+
+        this.maximumBytes = maximumBytes;
+        // Weak keys are compared by identity, as chromosomes with the same phenome are otherwise equal. The weight
+        // limit is split between the segments of the cache, so a single segment is used to keep outputs of up to the
+        // whole limit, at the cost of serialising writes
+        this.cache = CacheBuilder.newBuilder()
+                .weakKeys()
+                .concurrencyLevel(1)
+                .maximumWeight(maximumBytes)
+                .weigher((CartesianChromosome<?> chromosome, NodeOutputs outputs) ->
+                        (int) Math.min(Integer.MAX_VALUE, outputs.getSize())
+                )
+                .build();
+    }
+
+    /**
+     * <p>Returns the node outputs kept for the provided chromosome.
+     *
+     * @param chromosome The chromosome to find the node outputs of
+     * @return the node outputs of the chromosome, or null if they weren't kept
+     */
+    NodeOutputs get(final CartesianChromosome<?> chromosome) {
+        return cache.getIfPresent(chromosome);
+    }
+
+    /**
+     * <p>Keeps the node outputs of the provided chromosome, replacing any outputs previously kept for it.
+     *
+     * @param chromosome The chromosome the outputs were computed for
+     * @param outputs    The node outputs of the chromosome
+     */
+    void put(final CartesianChromosome<?> chromosome, final NodeOutputs outputs) {
+        cache.put(chromosome, outputs);
+    }
+
+    /**
+     * <p>Discards the node outputs kept for the provided chromosome.
+     *
+     * @param chromosome The chromosome to discard the node outputs of
+     */
+    void remove(final CartesianChromosome<?> chromosome) {
+        cache.invalidate(chromosome);
+    }
+
+    /**
+     * <p>Returns true if node outputs of the provided size could be kept by this cache.
+     *
+     * @param bytes The size of the node outputs in bytes
+     * @return true if the outputs are no larger than the cache
+     */
+    boolean fits(final long bytes) {
+        return bytes <= maximumBytes;
+    }
+
+    /**
+     * <p>Returns the approximate number of chromosomes whose node outputs are kept.
+     *
+     * @return the number of chromosomes with kept node outputs
+     */
+    public long size() {
+        cache.cleanUp();
+        return cache.size();
+    }
+
+    /**
+     * <p>Returns the maximum total size of the kept node outputs.
+     *
+     * @return the maximum number of bytes of node outputs
+     */
+    public long getMaximumBytes() {
+        return maximumBytes;
+    }
+}
@@ -0,0 +1,265 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.chromosome.cartesian;
+
+import org.iconic.ea.chromosome.SubexpressionCache;
+import org.iconic.ea.operator.primitive.FunctionalPrimitive;
+
+/**
+ * <p>The outputs of the active nodes of a cartesian chromosome, for every sample of a dataset.
+ *
+ * <p>Mutation usually only changes a handful of genes, so most of an offspring's active nodes compute exactly the
+ * same values as they did in its parent. By keeping the parent's node outputs, an offspring only needs to recompute
+ * the nodes whose genes were changed and the nodes that depend on them, while every other column is shared with the
+ * parent.
+ *
+ * <p>Each column is stored alongside the genes that produced it, so a column is only reused while its node still has
+ * the same function and connections. The outputs are only valid for the input columns they were computed from, which
+ * are compared by identity, so the dataset mustn't be modified in place while the outputs are in use.
+ *
+ * <p>Node outputs are never modified once computed and may be shared between chromosomes and threads.
+ */
+final class NodeOutputs {
+    private final double[][] inputs;
+    private final int numSamples;
+    private final int numInputs;
+    private final int stride;
+    // The output column of each node, or null if the node's output isn't known
+    private final double[][] columns;
+    // Set for every node whose genes are recorded, which are the nodes that were active
+    private final boolean[] recorded;
+    // The function and connection genes that produced each column, laid out in the same way as the genome
+    private final int[] genes;
+    // The number of nodes whose output had to be recomputed
+    private int numComputed;
+
+    private NodeOutputs(final CartesianChromosome<?> chromosome, final double[][] inputs, final int numSamples) {
+        this.inputs = inputs;
+        this.numSamples = numSamples;
+        this.numInputs = chromosome.getInputs();
+        this.stride = chromosome.getMaxArity() + 1;
+        this.columns = new double[numInputs + chromosome.getNumberOfNodes()][];
+        this.recorded = new boolean[columns.length];
+        this.genes = new int[chromosome.getNumberOfNodes() * stride];
+    }
+
+    /**
+     * <p>Computes the output of every active node of the provided chromosome.
+     *
+     * <p>If the outputs of another chromosome are provided, and they were computed from the same samples, then any
+     * node with the same genes as before, and which only depends on nodes whose genes also didn't change, reuses its
+     * previous column.
+     *
+     * <p>If a subexpression cache is provided, the output of each remaining node is looked up in the cache before
+     * it's computed, and the output of every computed node is added to it. The arguments of a node found in the
+     * cache aren't computed unless they're needed by another node, so some active nodes may be left without an
+     * output.
+     *
+     * @param chromosome The chromosome to compute the node outputs of
+     * @param previous   The outputs to reuse columns from, which may be null
+     * @param inputs     The samples to evaluate, one array per feature
+     * @param numSamples The number of samples to evaluate
+     * @param cache      The subexpression cache to consult, which may be null
+     * @param <T>        The type class of the data to pass through the chromosome
+     * @return the output of every active node in the chromosome
+     */
+    static <T> NodeOutputs compute(
+            final CartesianChromosome<T> chromosome, final NodeOutputs previous,
+            final double[][] inputs, final int numSamples, final SubexpressionCache cache
+    ) {
+        final NodeOutputs outputs = new NodeOutputs(chromosome, inputs, numSamples);
+        final NodeOutputs reusable = (previous != null && previous.isFor(chromosome, inputs, numSamples))
+                ? previous : null;
+        final int[] active = chromosome.getActiveNodeSet().order();
+        // Set for every node that computes something different to, or unknown by, the previous outputs
+        final boolean[] changed = new boolean[outputs.columns.length];
+        final SubexpressionCache.Key[] keys = (cache != null) ? new SubexpressionCache.Key[changed.length] : null;
+
+        // Find which nodes changed since the previous outputs, which only depends on the genes of each node
+        for (int node : active) {
+            outputs.recorded[node] = true;
+
+            if (node < outputs.numInputs) {
+                outputs.columns[node] = inputs[node];
+
+                if (keys != null) {
+                    keys[node] = SubexpressionCache.Key.input(node);
+                }
+                continue;
+            }
+
+            final int functionGene = chromosome.getFunctionGene(node);
+            final int arity = chromosome.getPrimitives().get(functionGene).getArity();
+            final int offset = (node - outputs.numInputs) * outputs.stride;
+            boolean dirty = reusable == null || !reusable.recorded[node] || reusable.genes[offset] != functionGene;
+
+            outputs.genes[offset] = functionGene;
+
+            for (int k = 1; k <= arity; ++k) {
+                final int connection = chromosome.getConnectionGene(node, k);
+
+                outputs.genes[offset + k] = connection;
+                dirty = dirty || changed[connection] || reusable.genes[offset + k] != connection;
+            }
+
+            changed[node] = dirty;
+
+            // Unchanged columns are carried over whether or not they're needed, so later offspring can use them
+            if (!dirty) {
+                outputs.columns[node] = reusable.columns[node];
+            }
+
+            if (keys != null) {
+                final SubexpressionCache.Key[] arguments = new SubexpressionCache.Key[arity];
+
+                for (int k = 0; k < arity; ++k) {
+                    arguments[k] = keys[outputs.genes[offset + k + 1]];
+                }
+                keys[node] = SubexpressionCache.Key.of(chromosome.getPrimitives().get(functionGene), arguments);
+            }
+        }
+
+        // Working back from the outputs, find the nodes that are needed and can't be found anywhere else
+        final boolean[] needed = new boolean[changed.length];
+        final boolean[] pending = new boolean[changed.length];
+
+        for (int k = 0; k < chromosome.getNumberOfOutputs(); ++k) {
+            needed[chromosome.getOutput(k)] = true;
+        }
+
+        for (int i = active.length - 1; i >= 0; --i) {
+            final int node = active[i];
+
+            if (!needed[node] || outputs.columns[node] != null) {
+                continue;
+            }
+
+            final double[] cached = (cache != null) ? cache.get(keys[node], inputs, numSamples) : null;
+
+            if (cached != null) {
+                outputs.columns[node] = cached;
+            } else {
+                final int offset = (node - outputs.numInputs) * outputs.stride;
+                final int arity = chromosome.getPrimitives().get(outputs.genes[offset]).getArity();
+
+                pending[node] = true;
+
+                for (int k = 1; k <= arity; ++k) {
+                    needed[outputs.genes[offset + k]] = true;
+                }
+            }
+        }
+
+        // Compute the remaining nodes in ascending order, so the arguments of each node are always known
+        for (int node : active) {
+            if (!pending[node]) {
+                continue;
+            }
+
+            final int offset = (node - outputs.numInputs) * outputs.stride;
+            final FunctionalPrimitive<T, T> f = chromosome.getPrimitives().get(outputs.genes[offset]);
+            final double[][] arguments = new double[f.getArity()][];
+            final double[] column = new double[numSamples];
+
+            for (int k = 0; k < arguments.length; ++k) {
+                arguments[k] = outputs.columns[outputs.genes[offset + k + 1]];
+            }
+
+            f.apply(arguments, column, numSamples);
+            outputs.columns[node] = column;
+            outputs.numComputed++;
+
+            if (cache != null) {
+                cache.put(keys[node], inputs, numSamples, column);
+            }
+        }
+
+        return outputs;
+    }
+
+    /**
+     * <p>Returns true if these outputs were computed from the provided samples for a chromosome with the same shape.
+     *
+     * @param chromosome The chromosome to check
+     * @param inputs     The samples to check
+     * @param numSamples The number of samples to check
+     * @return true if the outputs can be reused by the chromosome
+     */
+    private boolean isFor(final CartesianChromosome<?> chromosome, final double[][] inputs, final int numSamples) {
+        if (this.numSamples != numSamples || this.inputs.length != inputs.length
+                || this.numInputs != chromosome.getInputs() || this.stride != chromosome.getMaxArity() + 1
+                || this.columns.length != numInputs + chromosome.getNumberOfNodes()) {
+            return false;
+        }
+
+        for (int i = 0; i < inputs.length; ++i) {
+            if (this.inputs[i] != inputs[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * <p>Returns the output column of the specified node, which mustn't be modified.
+     *
+     * @param node The node to get the output of
+     * @return the output of the node for every sample, or null if the node's output isn't known
+     */
+    double[] getColumn(final int node) {
+        return columns[node];
+    }
+
+    /**
+     * <p>Returns the number of nodes that had to be recomputed rather than being reused.
+     *
+     * @return the number of recomputed nodes
+     */
+    int getNumComputed() {
+        return numComputed;
+    }
+
+    /**
+     * <p>Returns the number of bytes held by the output columns of these nodes, not counting the input columns.
+     *
+     * <p>Columns that were reused from another chromosome's outputs are counted by both.
+     *
+     * @return the size of the node outputs in bytes
+     */
+    long getSize() {
+        long numColumns = 0;
+
+        for (int node = numInputs; node < columns.length; ++node) {
+            if (columns[node] != null) {
+                numColumns++;
+            }
+        }
+
+        return numColumns * numSamples * Double.BYTES;
+    }
+
+    /**
+     * <p>Returns the number of bytes needed to hold the output of every active node of the provided chromosome.
+     *
+     * @param chromosome The chromosome to measure
+     * @param numSamples The number of samples each output holds
+     * @return the size of the chromosome's node outputs in bytes
+     */
+    static long getSize(final CartesianChromosome<?> chromosome, final int numSamples) {
+        return (long) chromosome.getActiveNodeSet().order().length * numSamples * Double.BYTES;
+    }
+}
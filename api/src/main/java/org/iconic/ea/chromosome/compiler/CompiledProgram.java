@@ -0,0 +1,41 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.chromosome.compiler;
+
+/**
+ * <p>A chromosome's program that has been compiled to bytecode by a {@link ProgramCompiler}.
+ *
+ * <p>Each compiled program is a class of its own, with every primitive applied in straight-line code, so the JIT
+ * compiler is free to inline each primitive at its call site.
+ */
+public interface CompiledProgram {
+    /**
+     * <p>Evaluates a single sample.
+     *
+     * @param row The values of the sample, indexed by feature
+     * @return the result of the program for the sample
+     */
+    double eval(final double[] row);
+
+    /**
+     * <p>Evaluates the first n samples of the provided feature columns and writes the result of each sample to out.
+     *
+     * @param columns The feature columns to evaluate, indexed by feature
+     * @param out     The column to write the results to
+     * @param n       The number of samples to evaluate
+     */
+    void eval(final double[][] columns, final double[] out, final int n);
+}
@@ -0,0 +1,658 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.chromosome.compiler;
+
+import lombok.extern.log4j.Log4j2;
+import org.iconic.ea.operator.primitive.FunctionalPrimitive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Compiles straight-line programs into classes that implement {@link CompiledProgram}.
+ *
+ * <p>A program is described through a {@link Builder}, where every value is either an input feature or the result
+ * of applying a primitive to earlier values. Each program is compiled into a class of its own, in which every
+ * primitive is applied through its own call site and every intermediate value is held in a local variable, so the
+ * JIT compiler is able to inline the primitives and keep the intermediate values in registers.
+ *
+ * <p>Every class is defined by a class loader of its own, which allows the class to be unloaded once its compiled
+ * program is no longer reachable.
+ */
+@Log4j2
+public final class ProgramCompiler {
+    /**
+     * <p>The largest method the compiler will generate, in bytes. HotSpot doesn't JIT compile methods larger than
+     * this, so programs that would exceed it are left to the interpreter instead.
+     */
+    public static final int MAX_METHOD_SIZE = 8000;
+
+    private static final String PACKAGE = "org/iconic/ea/chromosome/compiler/";
+    private static final String PROGRAM = PACKAGE + "CompiledProgram";
+    private static final String PRIMITIVE = "org/iconic/ea/operator/primitive/FunctionalPrimitive";
+    private static final String PRIMITIVES = "[L" + PRIMITIVE + ";";
+    private static final String[] APPLY_DESCRIPTORS = {"()D", "(D)D", "(DD)D", "(DDD)D"};
+    private static final AtomicLong CLASS_COUNT = new AtomicLong();
+
+    private ProgramCompiler() {
+    }
+
+    /**
+     * <p>Returns a builder for describing a program to compile.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * <p>Describes a straight-line program, where each value is identified by the integer returned when it's added.
+     */
+    public static final class Builder {
+        private final List<FunctionalPrimitive<?, ?>> functions = new ArrayList<>();
+        private final List<int[]> arguments = new ArrayList<>();
+        private int[] results;
+        private boolean sum;
+
+        private Builder() {
+        }
+
+        /**
+         * <p>Returns the value of an input feature.
+         *
+         * @param feature The index of the feature
+         * @return the value of the feature
+         */
+        public int input(final int feature) {
+            assert (feature >= 0);
+
+            return -1 - feature;
+        }
+
+        /**
+         * <p>Applies a primitive to values already added to the program.
+         *
+         * @param function  The primitive to apply
+         * @param arguments The values to apply the primitive to, one per argument of the primitive
+         * @return the result of the primitive
+         */
+        public int apply(final FunctionalPrimitive<?, ?> function, final int... arguments) {
+            assert (function.getArity() == arguments.length);
+
+            for (int argument : arguments) {
+                assert (argument < this.functions.size());
+            }
+
+            this.functions.add(function);
+            this.arguments.add(Arrays.copyOf(arguments, arguments.length));
+
+            return functions.size() - 1;
+        }
+
+        /**
+         * <p>Sets the result of the program to the provided value.
+         *
+         * @param value The value to return
+         * @return this builder
+         */
+        public Builder returns(final int value) {
+            this.results = new int[]{value};
+            this.sum = false;
+
+            return this;
+        }
+
+        /**
+         * <p>Sets the result of the program to the sum of the provided values, which are added in order starting
+         * from zero.
+         *
+         * @param values The values to sum
+         * @return this builder
+         */
+        public Builder sum(final int... values) {
+            this.results = Arrays.copyOf(values, values.length);
+            this.sum = true;
+
+            return this;
+        }
+
+        /**
+         * <p>Compiles the program.
+         *
+         * <p>Only primitives with at most three arguments can be compiled, and programs that would produce a
+         * method larger than {@link #MAX_METHOD_SIZE} aren't compiled.
+         *
+         * @return the compiled program, or null if the program can't be compiled
+         */
+        public CompiledProgram compile() {
+            assert (results != null);
+
+            for (FunctionalPrimitive<?, ?> function : functions) {
+                if (function.getArity() >= APPLY_DESCRIPTORS.length) {
+                    return null;
+                }
+            }
+
+            return new ClassGenerator(this).generate();
+        }
+    }
+
+    /**
+     * <p>Writes the class file of a single program and loads it.
+     */
+    private static final class ClassGenerator {
+        private final Builder program;
+        private final String className;
+        private final ConstantPool constants = new ConstantPool();
+        // Each distinct primitive is stored once in the program's primitive array
+        private final Map<FunctionalPrimitive<?, ?>, Integer> primitiveIndices = new IdentityHashMap<>();
+        private final List<FunctionalPrimitive<?, ?>> primitives = new ArrayList<>();
+        // The features read by the program, in the order their columns are loaded by the batch method
+        private final SortedSet<Integer> features = new TreeSet<>();
+
+        private ClassGenerator(final Builder program) {
+            this.program = program;
+            this.className = PACKAGE + "GeneratedProgram$" + CLASS_COUNT.incrementAndGet();
+
+            for (FunctionalPrimitive<?, ?> function : program.functions) {
+                if (!primitiveIndices.containsKey(function)) {
+                    primitiveIndices.put(function, primitives.size());
+                    primitives.add(function);
+                }
+            }
+
+            for (int[] arguments : program.arguments) {
+                for (int argument : arguments) {
+                    if (argument < 0) {
+                        features.add(-1 - argument);
+                    }
+                }
+            }
+
+            for (int result : program.results) {
+                if (result < 0) {
+                    features.add(-1 - result);
+                }
+            }
+        }
+
+        private CompiledProgram generate() {
+            final Code constructor = constructor();
+            final Code row = rowMethod();
+            final Code batch = batchMethod();
+
+            if (row.length > MAX_METHOD_SIZE || batch.length > MAX_METHOD_SIZE) {
+                return null;
+            }
+
+            final byte[] bytes;
+
+            try {
+                bytes = write(constructor, row, batch);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+
+            try {
+                final Class<?> type = new ProgramLoader(CompiledProgram.class.getClassLoader())
+                        .define(className.replace('/', '.'), bytes);
+                final Object[] values = primitives.toArray(new FunctionalPrimitive<?, ?>[0]);
+
+                return (CompiledProgram) type.getConstructor(FunctionalPrimitive[].class)
+                        .newInstance((Object) values);
+            } catch (ReflectiveOperationException | LinkageError ex) {
+                log.warn("Failed to load compiled program {}: {}", className, ex);
+                return null;
+            }
+        }
+
+        /**
+         * <p>Stores the array of primitives passed to the constructor.
+         */
+        private Code constructor() {
+            final Code code = new Code(2, 2);
+
+            code.u1(Opcodes.ALOAD_0);
+            code.u1(Opcodes.INVOKESPECIAL);
+            code.u2(constants.method("java/lang/Object", "<init>", "()V"));
+            code.u1(Opcodes.ALOAD_0);
+            code.u1(Opcodes.ALOAD_1);
+            code.u1(Opcodes.PUTFIELD);
+            code.u2(constants.field(className, "p", PRIMITIVES));
+            code.u1(Opcodes.RETURN);
+
+            return code;
+        }
+
+        /**
+         * <p>Generates {@link CompiledProgram#eval(double[])}, where the row is local one.
+         */
+        private Code rowMethod() {
+            final int primitiveBase = 2;
+            final int valueBase = primitiveBase + primitives.size();
+            final Code code = new Code(8, valueBase + 2 * program.functions.size());
+
+            loadPrimitives(code, primitiveBase);
+
+            final ValueLoader loader = value -> {
+                if (value < 0) {
+                    code.u1(Opcodes.ALOAD_1);
+                    code.push(constants, -1 - value);
+                    code.u1(Opcodes.DALOAD);
+                } else {
+                    code.local(Opcodes.DLOAD, valueBase + 2 * value);
+                }
+            };
+
+            applyPrimitives(code, primitiveBase, valueBase, loader);
+            loadResult(code, loader);
+            code.u1(Opcodes.DRETURN);
+
+            return code;
+        }
+
+        /**
+         * <p>Generates {@link CompiledProgram#eval(double[][], double[], int)}, where the columns, the output and
+         * the number of samples are locals one to three.
+         */
+        private Code batchMethod() {
+            final int columnBase = 4;
+            final int primitiveBase = columnBase + features.size();
+            final int sample = primitiveBase + primitives.size();
+            final int valueBase = sample + 1;
+            final Code code = new Code(8, valueBase + 2 * program.functions.size());
+            final Map<Integer, Integer> columns = new HashMap<>();
+
+            // Every column read by the program is loaded once before looping over the samples
+            for (int feature : features) {
+                columns.put(feature, columnBase + columns.size());
+                code.u1(Opcodes.ALOAD_1);
+                code.push(constants, feature);
+                code.u1(Opcodes.AALOAD);
+                code.local(Opcodes.ASTORE, columns.get(feature));
+            }
+
+            loadPrimitives(code, primitiveBase);
+
+            final ValueLoader loader = value -> {
+                if (value < 0) {
+                    code.local(Opcodes.ALOAD, columns.get(-1 - value));
+                    code.local(Opcodes.ILOAD, sample);
+                    code.u1(Opcodes.DALOAD);
+                } else {
+                    code.local(Opcodes.DLOAD, valueBase + 2 * value);
+                }
+            };
+
+            code.u1(Opcodes.ICONST_0);
+            code.local(Opcodes.ISTORE, sample);
+
+            final int loop = code.length;
+            code.local(Opcodes.ILOAD, sample);
+            code.u1(Opcodes.ILOAD_3);
+            final int exit = code.length;
+            code.u1(Opcodes.IF_ICMPGE);
+            code.u2(0);
+
+            applyPrimitives(code, primitiveBase, valueBase, loader);
+            code.u1(Opcodes.ALOAD_2);
+            code.local(Opcodes.ILOAD, sample);
+            loadResult(code, loader);
+            code.u1(Opcodes.DASTORE);
+            code.increment(sample);
+
+            final int jump = code.length;
+            code.u1(Opcodes.GOTO);
+            code.u2(loop - jump);
+            code.patch(exit + 1, code.length - exit);
+            code.u1(Opcodes.RETURN);
+
+            return code;
+        }
+
+        private void loadPrimitives(final Code code, final int primitiveBase) {
+            for (int k = 0; k < primitives.size(); ++k) {
+                code.u1(Opcodes.ALOAD_0);
+                code.u1(Opcodes.GETFIELD);
+                code.u2(constants.field(className, "p", PRIMITIVES));
+                code.push(constants, k);
+                code.u1(Opcodes.AALOAD);
+                code.local(Opcodes.ASTORE, primitiveBase + k);
+            }
+        }
+
+        private void applyPrimitives(
+                final Code code, final int primitiveBase, final int valueBase, final ValueLoader loader
+        ) {
+            for (int i = 0; i < program.functions.size(); ++i) {
+                final FunctionalPrimitive<?, ?> function = program.functions.get(i);
+                final int[] arguments = program.arguments.get(i);
+
+                code.local(Opcodes.ALOAD, primitiveBase + primitiveIndices.get(function));
+
+                for (int argument : arguments) {
+                    loader.load(argument);
+                }
+
+                code.u1(Opcodes.INVOKEVIRTUAL);
+                code.u2(constants.method(PRIMITIVE, "applyAsDouble", APPLY_DESCRIPTORS[arguments.length]));
+                code.local(Opcodes.DSTORE, valueBase + 2 * i);
+            }
+        }
+
+        private void loadResult(final Code code, final ValueLoader loader) {
+            if (program.sum) {
+                code.u1(Opcodes.DCONST_0);
+
+                for (int result : program.results) {
+                    loader.load(result);
+                    code.u1(Opcodes.DADD);
+                }
+            } else {
+                loader.load(program.results[0]);
+            }
+        }
+
+        private byte[] write(final Code constructor, final Code row, final Code batch) throws IOException {
+            // The constant pool has to be complete before it's written, so every constant is added up front
+            final int thisClass = constants.type(className);
+            final int superClass = constants.type("java/lang/Object");
+            final int programInterface = constants.type(PROGRAM);
+            final int fieldName = constants.utf8("p");
+            final int fieldType = constants.utf8(PRIMITIVES);
+            final int codeName = constants.utf8("Code");
+            final int[] constructorName = {constants.utf8("<init>"), constants.utf8("(" + PRIMITIVES + ")V")};
+            final int[] rowName = {constants.utf8("eval"), constants.utf8("([D)D")};
+            final int[] batchName = {constants.utf8("eval"), constants.utf8("([[D[DI)V")};
+
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeInt(0xCAFEBABE);
+            // Version 49 doesn't require stack map frames
+            out.writeShort(0);
+            out.writeShort(49);
+            constants.writeTo(out);
+            out.writeShort(Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(programInterface);
+
+            out.writeShort(1);
+            out.writeShort(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL);
+            out.writeShort(fieldName);
+            out.writeShort(fieldType);
+            out.writeShort(0);
+
+            out.writeShort(3);
+            writeMethod(out, codeName, constructorName, constructor);
+            writeMethod(out, codeName, rowName, row);
+            writeMethod(out, codeName, batchName, batch);
+            out.writeShort(0);
+
+            return bytes.toByteArray();
+        }
+
+        private void writeMethod(
+                final DataOutputStream out, final int codeName, final int[] name, final Code code
+        ) throws IOException {
+            out.writeShort(Opcodes.ACC_PUBLIC);
+            out.writeShort(name[0]);
+            out.writeShort(name[1]);
+            out.writeShort(1);
+            out.writeShort(codeName);
+            out.writeInt(12 + code.length);
+            out.writeShort(code.maxStack);
+            out.writeShort(code.maxLocals);
+            out.writeInt(code.length);
+            out.write(code.bytes, 0, code.length);
+            // No exception table or attributes
+            out.writeShort(0);
+            out.writeShort(0);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ValueLoader {
+        void load(final int value);
+    }
+
+    /**
+     * <p>The bytecode of a single method.
+     */
+    private static final class Code {
+        private final int maxStack;
+        private final int maxLocals;
+        private byte[] bytes = new byte[256];
+        private int length;
+
+        private Code(final int maxStack, final int maxLocals) {
+            this.maxStack = maxStack;
+            this.maxLocals = maxLocals;
+        }
+
+        private void u1(final int value) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+
+            bytes[length++] = (byte) value;
+        }
+
+        private void u2(final int value) {
+            u1(value >> 8);
+            u1(value);
+        }
+
+        private void patch(final int offset, final int value) {
+            bytes[offset] = (byte) (value >> 8);
+            bytes[offset + 1] = (byte) value;
+        }
+
+        /**
+         * <p>Emits an instruction that loads or stores a local variable, widening the instruction if required.
+         */
+        private void local(final int opcode, final int index) {
+            if (index > 0xFF) {
+                u1(Opcodes.WIDE);
+                u1(opcode);
+                u2(index);
+            } else {
+                u1(opcode);
+                u1(index);
+            }
+        }
+
+        private void increment(final int index) {
+            if (index > 0xFF) {
+                u1(Opcodes.WIDE);
+                u1(Opcodes.IINC);
+                u2(index);
+                u2(1);
+            } else {
+                u1(Opcodes.IINC);
+                u1(index);
+                u1(1);
+            }
+        }
+
+        private void push(final ConstantPool constants, final int value) {
+            if (value <= 5) {
+                u1(Opcodes.ICONST_0 + value);
+            } else if (value <= Byte.MAX_VALUE) {
+                u1(Opcodes.BIPUSH);
+                u1(value);
+            } else if (value <= Short.MAX_VALUE) {
+                u1(Opcodes.SIPUSH);
+                u2(value);
+            } else {
+                u1(Opcodes.LDC_W);
+                u2(constants.integer(value));
+            }
+        }
+    }
+
+    /**
+     * <p>The constant pool of a class file, where equal constants share an entry.
+     */
+    private static final class ConstantPool {
+        private final Map<String, Integer> indices = new HashMap<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private int count = 1;
+
+        private int utf8(final String value) {
+            return add("U" + value, o -> {
+                o.writeByte(1);
+                o.writeUTF(value);
+            });
+        }
+
+        private int integer(final int value) {
+            return add("I" + value, o -> {
+                o.writeByte(3);
+                o.writeInt(value);
+            });
+        }
+
+        private int type(final String name) {
+            final int nameIndex = utf8(name);
+
+            return add("C" + name, o -> {
+                o.writeByte(7);
+                o.writeShort(nameIndex);
+            });
+        }
+
+        private int nameAndType(final String name, final String descriptor) {
+            final int nameIndex = utf8(name);
+            final int descriptorIndex = utf8(descriptor);
+
+            return add("N" + name + ":" + descriptor, o -> {
+                o.writeByte(12);
+                o.writeShort(nameIndex);
+                o.writeShort(descriptorIndex);
+            });
+        }
+
+        private int field(final String owner, final String name, final String descriptor) {
+            return member(9, owner, name, descriptor);
+        }
+
+        private int method(final String owner, final String name, final String descriptor) {
+            return member(10, owner, name, descriptor);
+        }
+
+        private int member(final int tag, final String owner, final String name, final String descriptor) {
+            final int ownerIndex = type(owner);
+            final int nameAndTypeIndex = nameAndType(name, descriptor);
+
+            return add(tag + owner + "." + name + ":" + descriptor, o -> {
+                o.writeByte(tag);
+                o.writeShort(ownerIndex);
+                o.writeShort(nameAndTypeIndex);
+            });
+        }
+
+        private int add(final String key, final Entry entry) {
+            final Integer index = indices.get(key);
+
+            if (index != null) {
+                return index;
+            }
+
+            try {
+                entry.writeTo(out);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+
+            indices.put(key, count);
+            return count++;
+        }
+
+        private void writeTo(final DataOutputStream destination) throws IOException {
+            destination.writeShort(count);
+            destination.write(bytes.toByteArray());
+        }
+
+        @FunctionalInterface
+        private interface Entry {
+            void writeTo(final DataOutputStream out) throws IOException;
+        }
+    }
+
+    /**
+     * <p>Defines a single compiled program.
+     */
+    private static final class ProgramLoader extends ClassLoader {
+        private ProgramLoader(final ClassLoader parent) {
+            super(parent);
+        }
+
+        private Class<?> define(final String name, final byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+    /**
+     * <p>The subset of the JVM's opcodes and access flags used by the compiler.
+     */
+    private static final class Opcodes {
+        private static final int ACC_PUBLIC = 0x0001;
+        private static final int ACC_PRIVATE = 0x0002;
+        private static final int ACC_FINAL = 0x0010;
+        private static final int ACC_SUPER = 0x0020;
+
+        private static final int ICONST_0 = 0x03;
+        private static final int DCONST_0 = 0x0E;
+        private static final int BIPUSH = 0x10;
+        private static final int SIPUSH = 0x11;
+        private static final int LDC_W = 0x13;
+        private static final int ILOAD = 0x15;
+        private static final int DLOAD = 0x18;
+        private static final int ALOAD = 0x19;
+        private static final int ILOAD_3 = 0x1D;
+        private static final int ALOAD_0 = 0x2A;
+        private static final int ALOAD_1 = 0x2B;
+        private static final int ALOAD_2 = 0x2C;
+        private static final int DALOAD = 0x31;
+        private static final int AALOAD = 0x32;
+        private static final int ISTORE = 0x36;
+        private static final int DSTORE = 0x39;
+        private static final int ASTORE = 0x3A;
+        private static final int DASTORE = 0x52;
+        private static final int DADD = 0x63;
+        private static final int IINC = 0x84;
+        private static final int IF_ICMPGE = 0xA2;
+        private static final int GOTO = 0xA7;
+        private static final int DRETURN = 0xAF;
+        private static final int RETURN = 0xB1;
+        private static final int GETFIELD = 0xB4;
+        private static final int PUTFIELD = 0xB5;
+        private static final int INVOKEVIRTUAL = 0xB6;
+        private static final int INVOKESPECIAL = 0xB7;
+        private static final int WIDE = 0xC4;
+
+        private Opcodes() {
+        }
+    }
+}
@@ -18,8 +18,11 @@ package org.iconic.ea.chromosome.expression;
 import lombok.extern.log4j.Log4j2;
 import org.iconic.ea.chromosome.Chromosome;
 import org.iconic.ea.chromosome.LinearChromosome;
+import org.iconic.ea.chromosome.PhenotypeKey;
+import org.iconic.ea.chromosome.SubexpressionCache;
 import org.iconic.ea.chromosome.TreeChromosome;
 import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
+import org.iconic.ea.chromosome.compiler.CompiledProgram;
 import org.iconic.ea.chromosome.graph.Node;
 import org.iconic.ea.data.DataManager;
 import org.iconic.ea.data.FeatureClass;
@@ -34,11 +37,15 @@ import java.util.stream.Collectors;
 @Log4j2
 public class ExpressionChromosome<T> extends Chromosome<T> implements TreeChromosome<T>, LinearChromosome<Node<T>>, Cloneable {
     private List<Node<T>> genome;
-    private Node<T> root;
+    // A view of the expressed tree, which is only built when requested
+    private volatile Node<T> root;
+    private ExpressionProgram<T> program;
     private final int headLength;
     private final int tailLength;
     private int treeIndex;
     private Map<Integer, String> featureLabels;
+    // Set while the genome may be shared with another chromosome
+    private boolean sharedGenome;
 
     /**
      * <p>
@@ -59,50 +66,43 @@ public class ExpressionChromosome<T> extends Chromosome<T> implements TreeChromo
 
     /**
      * <p>
-     * Generates a phenotypic expression tree from the genotype.
+     * Compiles the expressed genes of the genotype into a program, and discards the view of the previous tree.
      *
      */
-    protected void generateTree() {
-        // Reset the tree index
-        setTreeIndex(0);
+    protected void compileProgram() {
+        program = new ExpressionProgram<>(getGenome());
+        root = null;
 
-        final int treeIndex = getTreeIndex();
-        final List<Node<T>> genome = getGenome();
-
-        // Remove all children from each node in the genome to make sure we're not left with any old connections
-        genome.forEach(Node::removeAllChildren);
-
-        // Start at the root and greedily fill the tree
-        setRoot(
-                recursivelyGenerateTree(genome.get(treeIndex))
-        );
+        // The tree index marks the end of the expressed genes
+        setTreeIndex(program.getLength());
     }
 
     /**
      * <p>
-     * A recursive helper function for {@link #generateTree()}, it fills the tree starting from the root.
+     * Builds a view of the expressed tree from the genotype.
+     *
+     * <p>
+     * The tree is made from copies of the genes, so that the genes themselves are never given any children and may
+     * be shared with other chromosomes.
      *
      *
-     * @param root The root of the tree
-     * @return the root with all of its child nodes populated
+     * @return the root of the expressed tree
      */
-    private Node<T> recursivelyGenerateTree(Node<T> root) {
-        final int treeIndex = getTreeIndex() + 1;
-        final List<Node<T>> genome = getGenome();
+    private Node<T> generateTree() {
+        final Deque<Node<T>> parents = new ArrayDeque<>();
+        final Node<T> root = getGenome().get(0).cloneWithoutChildren();
 
-        // Increment the tree index
-        setTreeIndex(treeIndex);
+        // Greedily fill the tree in the same order the program was compiled
+        parents.push(root);
+        for (int i = 1; i < getTreeIndex(); ++i) {
+            final Node<T> node = getGenome().get(i).cloneWithoutChildren();
 
-        // If the root has no children simply return it
-        if (root.getNumberOfChildren() < 1) {
-            return root;
-        }
+            while (parents.peek().getChildren().size() == parents.peek().getNumberOfChildren()) {
+                parents.pop();
+            }
 
-        // For each child that root needs, recursively fill its children
-        for (int i = 0; i < root.getNumberOfChildren(); ++i) {
-            root.addChild(
-                    recursivelyGenerateTree(genome.get(getTreeIndex()))
-            );
+            parents.peek().addChild(node);
+            parents.push(node);
         }
 
         return root;
@@ -112,33 +112,58 @@ public class ExpressionChromosome<T> extends Chromosome<T> implements TreeChromo
      * {@inheritDoc}
      */
     @Override
+    @SuppressWarnings("unchecked")
     public List<Map<Integer, T>> evaluate(final DataManager<T> dataManager) {
-        List<Map<Integer, T>> calculatedValues = new LinkedList<>();
-        List<String> headers = dataManager.getSampleHeaders();
         int numSamples = dataManager.getSampleSize();
+        List<Map<Integer, T>> calculatedValues = new ArrayList<>(numSamples);
+        double[] values = evaluate(dataManager, new double[numSamples]);
 
         for (int i = 0; i < numSamples; ++i) {
             Map<Integer, T> output = new HashMap<>();
+            output.put(i, (T) Double.valueOf(values[i]));
+            calculatedValues.add(output);
+        }
 
-            List<T> row = new LinkedList<>();
+        return calculatedValues;
+    }
 
-            for (String header : headers) {
-                FeatureClass<Number> feature = dataManager.getDataset().get(header);
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The chromosome's compiled program is run over a block of samples at a time, without building the
+     * expression tree. If the chromosome has a subexpression cache, any subtree whose output is cached isn't
+     * evaluated. Once the program has been run as many times as the chromosome's compile threshold, it's compiled
+     * to bytecode and the compiled program is run instead.
+     */
+    @Override
+    public double[] evaluate(final DataManager<T> dataManager, final double[] destination) {
+        List<String> headers = dataManager.getSampleHeaders();
+        List<double[]> columns = new ArrayList<>(headers.size());
+
+        for (String header : headers) {
+            FeatureClass<Number> feature = dataManager.getDataset().get(header);
 
-                // Add the values of the features specified in the formula
-                if(feature.isActive())
-                {
-                    row.add(
-                            (T) feature.getSampleValue(i)
-                    );
-                }
+            // Only use the values of the features specified in the formula
+            if(feature.isActive())
+            {
+                columns.add(dataManager.getColumnAsDoubles(header));
             }
+        }
 
-            output.put(i, getRoot().apply(row));
-            calculatedValues.add(output);
+        final double[][] inputs = columns.toArray(new double[0][]);
+        final SubexpressionCache cache = getSubexpressionCache();
+        final CompiledProgram compiled = program.getCompiled(getCompileThreshold());
+
+        if (compiled != null) {
+            compiled.eval(inputs, destination, dataManager.getSampleSize());
+        } else if (cache != null) {
+            program.run(inputs, dataManager.getSampleSize(), destination, cache);
+        } else {
+            program.run(inputs, dataManager.getSampleSize(), destination);
         }
+        setChanged(false);
 
-        return calculatedValues;
+        return destination;
     }
 
     /**
@@ -146,7 +171,7 @@ public class ExpressionChromosome<T> extends Chromosome<T> implements TreeChromo
      */
     @Override
     public String toString() {
-        return root.toString();
+        return getRoot().toString();
     }
 
     /**
@@ -173,10 +198,12 @@ public class ExpressionChromosome<T> extends Chromosome<T> implements TreeChromo
 
     /**
      * {@inheritDoc}
+     *
+     * <p>The genome is returned as a read-only view, as it may be shared with clones of this chromosome.
      */
     @Override
     public List<Node<T>> getGenome() {
-        return genome;
+        return Collections.unmodifiableList(genome);
     }
 
     /**
@@ -187,13 +214,42 @@ public class ExpressionChromosome<T> extends Chromosome<T> implements TreeChromo
      * @param genome The new genome of the chromosome
      */
     public void setGenome(List<Node<T>> genome) {
-        this.genome = new LinkedList<>();
+        // Only the genes are kept, the tree is built from copies of them when it's requested
+        this.genome = genome.stream().map(Node::cloneWithoutChildren).collect(Collectors.toList());
+        this.sharedGenome = false;
 
-        this.genome.addAll(
-                genome.stream().map(Node::clone).collect(Collectors.toList())
-        );
+        compileProgram();
+        setChanged(true);
+    }
 
-        generateTree();
+    /**
+     * <p>
+     * Sets the gene at the specified index of this chromosome's genome to the provided node.
+     *
+     * <p>
+     * If the gene isn't part of the expressed tree the chromosome keeps its program and fitness, and isn't marked as
+     * changed. Genes are never modified once they're part of a genome, so a genome shared with other chromosomes is
+     * copied without copying any of its genes.
+     *
+     *
+     * @param index The index of the gene within the genome
+     * @param gene  The new node, which becomes owned by this chromosome
+     */
+    public void setGene(final int index, final Node<T> gene) {
+        gene.removeAllChildren();
+
+        if (sharedGenome) {
+            genome = new ArrayList<>(genome);
+            sharedGenome = false;
+        }
+
+        genome.set(index, gene);
+
+        // The expressed tree is made from the genes before the tree index
+        if (index < getTreeIndex()) {
+            compileProgram();
+            setChanged(true);
+        }
     }
 
     /**
@@ -226,6 +282,13 @@ public class ExpressionChromosome<T> extends Chromosome<T> implements TreeChromo
      */
     @Override
     public Node<T> getRoot() {
+        Node<T> root = this.root;
+
+        if (root == null) {
+            root = generateTree();
+            this.root = root;
+        }
+
         return root;
     }
 
@@ -234,20 +297,41 @@ public class ExpressionChromosome<T> extends Chromosome<T> implements TreeChromo
      */
     @Override
     public void setRoot(final Node<T> root) {
+        // The tree is compiled as is, so it no longer needs to match the genome
+        this.program = ExpressionProgram.of(root);
         this.root = root;
     }
 
     /**
      * {@inheritDoc}
+     *
+     * <p>The key is derived from the chromosome's compiled program, so any genes that aren't part of the tree don't
+     * contribute to it.
      */
     @Override
-    public ExpressionChromosome<T> clone() {
-        List<Node<T>> genome = getGenome().stream()
-                .map(Node::clone)
-                .collect(Collectors.toList());
+    public PhenotypeKey getPhenotypeKey() {
+        return program.getKey();
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ExpressionChromosome<T> clone() {
         ExpressionChromosome<T> clone = new ExpressionChromosome<>(getHeadLength(), getTailLength(), getInputs(), getFeatureLabels());
-        clone.setGenome(genome);
+
+        // The clone shares the genome and tree of this chromosome until either of them are changed
+        sharedGenome = true;
+        clone.sharedGenome = true;
+        clone.genome = genome;
+        clone.root = root;
+        clone.program = program;
+        clone.treeIndex = treeIndex;
+        clone.setSubexpressionCache(getSubexpressionCache());
+        clone.setCompileThreshold(getCompileThreshold());
+        clone.setFitness(getFitness());
+        clone.setChanged(isChanged());
+        clone.setFitnessVector(getFitnessVector());
 
         return clone;
     }
@@ -259,7 +343,7 @@ public class ExpressionChromosome<T> extends Chromosome<T> implements TreeChromo
      * @return Returns the size of the chromosome.
      */
     public int getSize() {
-        return root.getSize();
+        return program.getLength();
     }
 
 
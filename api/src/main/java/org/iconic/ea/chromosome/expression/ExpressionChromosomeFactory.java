@@ -21,9 +21,9 @@ import org.iconic.ea.chromosome.graph.InputNode;
 import org.iconic.ea.chromosome.graph.Node;
 import org.iconic.ea.operator.primitive.Constant;
 import org.iconic.ea.operator.primitive.FunctionalPrimitive;
+import org.iconic.ea.random.RandomSource;
 
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * {@inheritDoc}
@@ -65,7 +65,8 @@ public class ExpressionChromosomeFactory<T> extends ChromosomeFactory<Expression
     /**
      * {@inheritDoc}
      */
-    public ExpressionChromosome<T> getChromosome() {
+    @Override
+    public ExpressionChromosome<T> getChromosome(final RandomSource random) {
         assert (getFunctionalPrimitives().size() > 0);
 
         ExpressionChromosome<T> chromosome = new ExpressionChromosome<>(
@@ -74,12 +75,15 @@ public class ExpressionChromosomeFactory<T> extends ChromosomeFactory<Expression
 
         chromosome.setGenome(
                 generateExpression(
+                        random,
                         getHeadLength(),
                         getTailLength(),
                         getNumFeatures(),
                         getFunctionalPrimitives().size()
                 )
         );
+        chromosome.setSubexpressionCache(getSubexpressionCache());
+        chromosome.setCompileThreshold(getCompileThreshold());
 
         return chromosome;
     }
@@ -149,16 +153,18 @@ public class ExpressionChromosomeFactory<T> extends ChromosomeFactory<Expression
 
     /**
      * <p>
+     * Generates a genetic expression using the provided source of random numbers.
      *
-     *
-     *
-     * @param headLength  The length of the expression's head
-     * @param tailLength  The length of the expression's tail
-     * @param numFeatures The number of features that may be expressed
+     * @param random       The source of random numbers to draw the expression from
+     * @param headLength   The length of the expression's head
+     * @param tailLength   The length of the expression's tail
+     * @param numFeatures  The number of features that may be expressed
      * @param numFunctions The number of functions that are available
      * @return a genetic expression
      */
-    public List<Node<T>> generateExpression(int headLength, int tailLength, int numFeatures, int numFunctions) {
+    public List<Node<T>> generateExpression(
+            RandomSource random, int headLength, int tailLength, int numFeatures, int numFunctions
+    ) {
         List<Node<T>> expression = new LinkedList<>();
 
         final double p = 0.5;
@@ -166,25 +172,25 @@ public class ExpressionChromosomeFactory<T> extends ChromosomeFactory<Expression
         assert (numFunctions > 0);
 
         for (int i = 0; i < headLength; i++) {
-            if (ThreadLocalRandom.current().nextDouble(0, 1) <= p) {
+            if (random.nextDouble() <= p) {
                 // Create a function
-                final int index = ThreadLocalRandom.current().nextInt(numFunctions);
+                final int index = random.nextInt(numFunctions);
                 FunctionalPrimitive<T, T> function = getFunction(index);
                 expression.add(new FunctionNode<>(function));
             } else {
                 // Feature Index
-                final int index = ThreadLocalRandom.current().nextInt(numFeatures);
+                final int index = random.nextInt(numFeatures);
                 expression.add(new InputNode<>(index, getFeatureLabels()));
             }
         }
 
         // Tail
         for (int i = 0; i < tailLength; i++) {
-            final int index = ThreadLocalRandom.current().nextInt(numFeatures);
-            if (Math.random() > p) {
+            final int index = random.nextInt(numFeatures);
+            if (random.nextDouble() > p) {
                 expression.add(new InputNode<>(index, getFeatureLabels()));
             } else {
-                final double constant = ThreadLocalRandom.current().nextInt(20000) / 100.0 - 100.0;
+                final double constant = random.nextInt(20000) / 100.0 - 100.0;
                 expression.add(new FunctionNode<>((Constant<T>) new Constant<>(constant)));
             }
         }
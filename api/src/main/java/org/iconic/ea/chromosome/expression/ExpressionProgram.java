@@ -0,0 +1,377 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.chromosome.expression;
+
+import org.iconic.ea.chromosome.PhenotypeKey;
+import org.iconic.ea.chromosome.SubexpressionCache;
+import org.iconic.ea.chromosome.compiler.CompiledProgram;
+import org.iconic.ea.chromosome.compiler.ProgramCompiler;
+import org.iconic.ea.chromosome.graph.FunctionNode;
+import org.iconic.ea.chromosome.graph.InputNode;
+import org.iconic.ea.chromosome.graph.Node;
+import org.iconic.ea.operator.primitive.FunctionalPrimitive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>A compiled form of the expression tree encoded by an expression chromosome.
+ *
+ * <p>The genes that make up the tree are flattened into an array of opcodes in the same order they're read from the
+ * genome, where each function is followed by the subtrees of its arguments. A non-negative opcode is the index of a
+ * primitive and a negative opcode is an input, encoded as <code>-1 - feature</code>.
+ *
+ * <p>The program is run by scanning the opcodes in reverse with a stack of columns, so that the arguments of every
+ * function are on top of the stack when it's reached. Each stack slot is assigned a fixed column, so a function
+ * writes its result over the column of its last argument rather than allocating a new one.
+ *
+ * <p>A program is immutable once compiled and may be shared between chromosomes with the same expressed genes.
+ *
+ * @param <T> The type class of the data to pass through the chromosome
+ */
+final class ExpressionProgram<T> {
+    // The number of samples held by each stack slot while running
+    private static final int BLOCK_SIZE = 1024;
+
+    private final List<FunctionalPrimitive<T, T>> primitives;
+    private final int[] code;
+    private final int[] arities;
+    // The exclusive end of the subtree rooted at each opcode
+    private final int[] ends;
+    private final int maxDepth;
+    private volatile PhenotypeKey key;
+    private volatile SubexpressionCache.Key[] subexpressionKeys;
+    private final AtomicInteger runs = new AtomicInteger();
+    private volatile CompiledProgram compiled;
+
+    /**
+     * <p>Compiles the tree encoded by the provided genes, which are read from the first gene until every function
+     * has been given its arguments.
+     *
+     * @param genes The genes to compile, starting with the root of the tree
+     */
+    ExpressionProgram(final List<Node<T>> genes) {
+        final Map<FunctionalPrimitive<T, T>, Integer> indices = new IdentityHashMap<>();
+        final List<FunctionalPrimitive<T, T>> primitives = new ArrayList<>();
+        int[] code = new int[16];
+        int[] arities = new int[16];
+        int length = 0;
+
+        // Each gene fills one argument and adds one for each of its own arguments, starting with the root
+        for (int remaining = 1; remaining > 0; --remaining) {
+            final Node<T> gene = genes.get(length);
+
+            if (length == code.length) {
+                code = Arrays.copyOf(code, length * 2);
+                arities = Arrays.copyOf(arities, length * 2);
+            }
+
+            if (gene instanceof FunctionNode) {
+                final FunctionalPrimitive<T, T> f = ((FunctionNode<T>) gene).getLambda();
+                Integer index = indices.get(f);
+
+                if (index == null) {
+                    index = primitives.size();
+                    indices.put(f, index);
+                    primitives.add(f);
+                }
+
+                code[length] = index;
+                arities[length] = f.getArity();
+            } else if (gene instanceof InputNode) {
+                code[length] = -1 - ((InputNode<T>) gene).getFeatureIndex();
+                arities[length] = 0;
+            } else {
+                throw new IllegalArgumentException("Unable to compile a gene of type " + gene.getClass().getName());
+            }
+
+            remaining += arities[length];
+            length++;
+        }
+
+        this.primitives = primitives;
+        this.code = Arrays.copyOf(code, length);
+        this.arities = Arrays.copyOf(arities, length);
+        this.ends = new int[length];
+
+        // Scan the opcodes in the order they're run to find the depth of the stack and the extent of each subtree
+        final int[] stack = new int[length];
+        int sp = 0;
+        int maxDepth = 0;
+
+        for (int pc = length - 1; pc >= 0; --pc) {
+            int end = pc + 1;
+
+            for (int j = 0; j < this.arities[pc]; ++j) {
+                // The last argument of a function is the last of its subtrees
+                end = stack[--sp];
+            }
+
+            ends[pc] = end;
+            stack[sp++] = end;
+            maxDepth = Math.max(maxDepth, sp);
+        }
+
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * <p>Compiles the provided tree.
+     *
+     * @param root The root of the tree to compile
+     * @param <T>  The type class of the data to pass through the tree
+     * @return the compiled tree
+     */
+    static <T> ExpressionProgram<T> of(final Node<T> root) {
+        final List<Node<T>> genes = new ArrayList<>();
+        final List<Node<T>> pending = new ArrayList<>();
+
+        // Flatten the tree in pre-order, which is the order its genes would be read from a genome
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            final Node<T> node = pending.remove(pending.size() - 1);
+            final List<Node<T>> children = node.getChildren();
+
+            genes.add(node);
+
+            for (int i = node.getNumberOfChildren() - 1; i >= 0; --i) {
+                pending.add(children.get(i));
+            }
+        }
+
+        return new ExpressionProgram<>(genes);
+    }
+
+    /**
+     * <p>Runs this program over the provided samples.
+     *
+     * <p>The columns are indexed by feature and must contain every feature used as an input by the program.
+     * Samples are evaluated a block at a time, where each opcode is applied to an entire column of the block before
+     * moving onto the next opcode.
+     *
+     * @param columns     The samples to evaluate, one array per feature
+     * @param numSamples  The number of samples to evaluate
+     * @param destination The array to write the result of each sample to
+     */
+    void run(final double[][] columns, final int numSamples, final double[] destination) {
+        final int blockSize = Math.max(1, Math.min(numSamples, BLOCK_SIZE));
+        final double[][] stack = new double[maxDepth][blockSize];
+        final double[][] outputs = new double[code.length][];
+        final double[][][] arguments = new double[code.length][][];
+
+        // Resolve the slot written to, and the slots read from, by every opcode so each block runs without allocating
+        for (int pc = code.length - 1, sp = 0; pc >= 0; --pc) {
+            arguments[pc] = new double[arities[pc]][];
+
+            for (int j = 0; j < arities[pc]; ++j) {
+                arguments[pc][j] = stack[sp - 1 - j];
+            }
+
+            sp -= arities[pc];
+            outputs[pc] = stack[sp++];
+        }
+
+        for (int offset = 0; offset < numSamples; offset += blockSize) {
+            final int n = Math.min(blockSize, numSamples - offset);
+
+            for (int pc = code.length - 1; pc >= 0; --pc) {
+                final int opcode = code[pc];
+
+                if (opcode < 0) {
+                    System.arraycopy(columns[-1 - opcode], offset, outputs[pc], 0, n);
+                } else {
+                    primitives.get(opcode).apply(arguments[pc], outputs[pc], n);
+                }
+            }
+
+            System.arraycopy(stack[0], 0, destination, offset, n);
+        }
+    }
+
+    /**
+     * <p>Counts a run of this program and returns the program compiled to bytecode once it has been run the
+     * provided number of times.
+     *
+     * @param threshold The number of runs before the program is compiled
+     * @return the compiled program, or null if it hasn't been compiled or can't be compiled
+     */
+    CompiledProgram getCompiled(final int threshold) {
+        // Only the run that reaches the threshold compiles the program, even if the program can't be compiled
+        if (threshold > 0 && runs.get() < threshold && runs.incrementAndGet() == threshold) {
+            compiled = compile();
+        }
+
+        return compiled;
+    }
+
+    private CompiledProgram compile() {
+        final ProgramCompiler.Builder builder = ProgramCompiler.builder();
+        final int[] stack = new int[maxDepth];
+        int sp = 0;
+
+        // Scan the opcodes in the order they're run, where the stack holds the value of each pending subtree
+        for (int pc = code.length - 1; pc >= 0; --pc) {
+            if (code[pc] < 0) {
+                stack[sp++] = builder.input(-1 - code[pc]);
+            } else {
+                final int[] arguments = new int[arities[pc]];
+
+                for (int j = 0; j < arguments.length; ++j) {
+                    arguments[j] = stack[sp - 1 - j];
+                }
+
+                sp -= arguments.length;
+                stack[sp++] = builder.apply(primitives.get(code[pc]), arguments);
+            }
+        }
+
+        return builder.returns(stack[0]).compile();
+    }
+
+    /**
+     * <p>Runs this program over the provided samples, reusing the output of any subexpression found in the provided
+     * cache and caching the output of any that aren't.
+     *
+     * <p>The opcodes are first visited from the root down, so that none of the opcodes of a cached subtree need to
+     * be run. Every sample is evaluated at once, as the cache holds entire columns.
+     *
+     * @param columns     The samples to evaluate, one array per feature
+     * @param numSamples  The number of samples to evaluate
+     * @param destination The array to write the result of each sample to
+     * @param cache       The cache of subexpression outputs to consult
+     */
+    void run(final double[][] columns, final int numSamples, final double[] destination,
+             final SubexpressionCache cache) {
+        final SubexpressionCache.Key[] keys = getSubexpressionKeys();
+        final double[][] cached = new double[code.length][];
+        final boolean[] skipped = new boolean[code.length];
+
+        for (int pc = 0; pc < code.length; ) {
+            // Inputs are always at hand, so there's nothing to be gained from caching them
+            if (code[pc] >= 0 && (cached[pc] = cache.get(keys[pc], columns, numSamples)) != null) {
+                Arrays.fill(skipped, pc + 1, ends[pc], true);
+                pc = ends[pc];
+            } else {
+                pc++;
+            }
+        }
+
+        final double[][] stack = new double[maxDepth][numSamples];
+        int sp = 0;
+
+        for (int pc = code.length - 1; pc >= 0; --pc) {
+            final int opcode = code[pc];
+
+            if (skipped[pc]) {
+                continue;
+            } else if (cached[pc] != null) {
+                System.arraycopy(cached[pc], 0, stack[sp++], 0, numSamples);
+            } else if (opcode < 0) {
+                System.arraycopy(columns[-1 - opcode], 0, stack[sp++], 0, numSamples);
+            } else {
+                final double[][] arguments = new double[arities[pc]][];
+
+                for (int j = 0; j < arguments.length; ++j) {
+                    arguments[j] = stack[sp - 1 - j];
+                }
+
+                sp -= arguments.length;
+                primitives.get(opcode).apply(arguments, stack[sp], numSamples);
+                // The slot is overwritten by the rest of the program, so the cache is given its own copy
+                cache.put(keys[pc], columns, numSamples, Arrays.copyOf(stack[sp], numSamples));
+                sp++;
+            }
+        }
+
+        System.arraycopy(stack[0], 0, destination, 0, numSamples);
+    }
+
+    /**
+     * <p>Returns the structural key of the subexpression rooted at each opcode.
+     *
+     * @return the subexpression keys of the program, indexed by opcode
+     */
+    private SubexpressionCache.Key[] getSubexpressionKeys() {
+        SubexpressionCache.Key[] keys = subexpressionKeys;
+
+        if (keys == null) {
+            final SubexpressionCache.Key[] stack = new SubexpressionCache.Key[maxDepth];
+            int sp = 0;
+
+            keys = new SubexpressionCache.Key[code.length];
+
+            for (int pc = code.length - 1; pc >= 0; --pc) {
+                if (code[pc] < 0) {
+                    keys[pc] = SubexpressionCache.Key.input(-1 - code[pc]);
+                } else {
+                    final SubexpressionCache.Key[] arguments = new SubexpressionCache.Key[arities[pc]];
+
+                    for (int j = 0; j < arguments.length; ++j) {
+                        arguments[j] = stack[--sp];
+                    }
+
+                    keys[pc] = SubexpressionCache.Key.of(primitives.get(code[pc]), arguments);
+                }
+
+                stack[sp++] = keys[pc];
+            }
+
+            subexpressionKeys = keys;
+        }
+
+        return keys;
+    }
+
+    /**
+     * <p>Returns a canonical key of this program.
+     *
+     * <p>The key encodes each opcode in order, along with the number of arguments of each function, so programs
+     * made from the same genes produce equal keys.
+     *
+     * @return the phenotype key of the program
+     */
+    PhenotypeKey getKey() {
+        if (key == null) {
+            final PhenotypeKey.Builder builder = new PhenotypeKey.Builder();
+
+            for (int pc = 0; pc < code.length; ++pc) {
+                if (code[pc] < 0) {
+                    // Inputs are encoded as negative values to distinguish them from primitives
+                    builder.add(code[pc]);
+                } else {
+                    builder.addPrimitive(primitives.get(code[pc])).add(arities[pc]);
+                }
+            }
+
+            key = builder.build();
+        }
+
+        return key;
+    }
+
+    /**
+     * <p>Returns the number of genes expressed by this program.
+     *
+     * @return the length of the program
+     */
+    int getLength() {
+        return code.length;
+    }
+}
@@ -14,6 +14,8 @@
  * limitations under the License.
  */
 package org.iconic.ea.chromosome.graph;
+
+import org.iconic.ea.chromosome.PhenotypeKey;
 import org.iconic.ea.operator.primitive.FunctionalPrimitive;
 
 import java.util.LinkedList;
@@ -41,6 +43,31 @@ public class FunctionNode<T> extends Node<T> {
                 return getLambda().apply(values);
     }
 
+    @Override
+    public void apply(final double[][] columns, final double[] out, final int n) {
+        final List<Node<T>> children = getChildren();
+        final double[][] arguments = new double[children.size()][];
+
+        for (int i = 0; i < children.size(); ++i) {
+            // Primitives may write over their arguments, so the first child is evaluated straight into the output
+            arguments[i] = (i == 0) ? out : new double[n];
+            children.get(i).apply(columns, arguments[i], n);
+        }
+
+        getLambda().apply(arguments, out, n);
+    }
+
+    @Override
+    public void appendTo(final PhenotypeKey.Builder builder) {
+        final List<Node<T>> children = getChildren();
+
+        builder.addPrimitive(getLambda()).add(children.size());
+
+        for (Node<T> child : children) {
+            child.appendTo(builder);
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder output = new StringBuilder();
@@ -70,13 +97,19 @@ public class FunctionNode<T> extends Node<T> {
         return getLambda().getArity();
     }
 
-    private FunctionalPrimitive<T, T> getLambda() {
+    /**
+     * <p>
+     * Returns the primitive applied by this node.
+     *
+     * @return the primitive of the node
+     */
+    public FunctionalPrimitive<T, T> getLambda() {
         return lambda;
     }
 
     @Override
     public Node<T> clone() {
-        Node<T> clone = new FunctionNode<>(getLambda());
+        Node<T> clone = cloneWithoutChildren();
 
         if (getChildren().size() < 1) {
             return clone;
@@ -86,4 +119,9 @@ public class FunctionNode<T> extends Node<T> {
 
         return clone;
     }
+
+    @Override
+    public Node<T> cloneWithoutChildren() {
+        return new FunctionNode<>(getLambda());
+    }
 }
@@ -15,6 +15,8 @@
  */
 package org.iconic.ea.chromosome.graph;
 
+import org.iconic.ea.chromosome.PhenotypeKey;
+
 import java.util.List;
 import java.util.Map;
 
@@ -37,7 +39,24 @@ public class InputNode<T> extends Node<T> {
         return sampleRowValues.get(featureIndex);
     }
 
-    private int getFeatureIndex() {
+    @Override
+    public void apply(final double[][] columns, final double[] out, final int n) {
+        System.arraycopy(columns[featureIndex], 0, out, 0, n);
+    }
+
+    @Override
+    public void appendTo(final PhenotypeKey.Builder builder) {
+        // Inputs are encoded as negative values to distinguish them from primitives
+        builder.add(-1 - featureIndex);
+    }
+
+    /**
+     * <p>
+     * Returns the index of the feature used by this node.
+     *
+     * @return the feature index of the node
+     */
+    public int getFeatureIndex() {
         return featureIndex;
     }
 
@@ -51,6 +70,11 @@ public class InputNode<T> extends Node<T> {
         return new InputNode<>(getFeatureIndex(), getFeatureLabels());
     }
 
+    @Override
+    public Node<T> cloneWithoutChildren() {
+        return clone();
+    }
+
     public int getNumberOfChildren() {
         return 0;
     }
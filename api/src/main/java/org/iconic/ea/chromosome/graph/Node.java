@@ -14,6 +14,8 @@
  * limitations under the License.
  */
 package org.iconic.ea.chromosome.graph;
+
+import org.iconic.ea.chromosome.PhenotypeKey;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -34,16 +36,48 @@ public abstract class Node<T> implements Cloneable {
 
     public void removeAllChildren() { children = new LinkedList<>(); }
 
-    protected List<Node<T>> getChildren() {
+    /**
+     * <p>
+     * Returns the children of this node, in the order they're passed to the node as arguments.
+     *
+     * @return the children of the node
+     */
+    public List<Node<T>> getChildren() {
         return children;
     }
 
     public abstract T apply(List<T> sampleRowValues);
 
+    /**
+     * <p>
+     * Evaluates the first n samples of the provided feature columns and writes the result of each sample to out.
+     *
+     * @param columns The feature columns to evaluate, indexed by feature
+     * @param out     The column to write the results to
+     * @param n       The number of samples to evaluate
+     */
+    public abstract void apply(final double[][] columns, final double[] out, final int n);
+
+    /**
+     * <p>
+     * Appends a canonical encoding of this node and its children, in pre-order, to the provided builder.
+     *
+     * @param builder The builder to append the encoding to
+     */
+    public abstract void appendTo(final PhenotypeKey.Builder builder);
+
     public abstract int getNumberOfChildren();
 
     public abstract Node<T> clone();
 
+    /**
+     * <p>
+     * Returns a copy of this node without any of its children.
+     *
+     * @return a childless copy of the node
+     */
+    public abstract Node<T> cloneWithoutChildren();
+
     /**
      * <p>
      * Recursively go through all children to determine the size of the Solution.
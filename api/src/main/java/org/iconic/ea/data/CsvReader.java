@@ -0,0 +1,410 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * <p>A streaming reader of comma-separated datasets.
+ *
+ * <p>The input is read through a large buffer a block at a time and samples are parsed straight from its bytes, so
+ * no strings are created for the values of a sample. Lines starting with a '#' and empty lines are skipped. Lines
+ * may be terminated by "\n", "\r\n" or "\r".
+ */
+final class CsvReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 22;
+    // Every power of ten that can be represented exactly by a double
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    // The number of significant digits that can always be held exactly by a double
+    private static final int MAX_SIGNIFICANT_DIGITS = 15;
+
+    private final ReadableByteChannel channel;
+    private final long totalBytes;
+    private final ImportProgressListener listener;
+    private byte[] buffer;
+    // The start of the next line to read
+    private int position;
+    // The end of the bytes that have been read into the buffer
+    private int limit;
+    // The start of the line last returned by nextLine
+    private int lineStart;
+    private long bytesRead;
+    private boolean endOfInput;
+    private boolean skipLineFeed;
+    // Set when the last field parsed was empty or not a number
+    private boolean missing;
+
+    /**
+     * <p>Constructs a new reader over the provided channel.
+     *
+     * @param channel    The channel to read from
+     * @param totalBytes The number of bytes in the channel, or -1 if it isn't known
+     * @param listener   The listener to notify as the channel is read
+     */
+    CsvReader(final ReadableByteChannel channel, final long totalBytes, final ImportProgressListener listener) {
+        this.channel = channel;
+        this.totalBytes = totalBytes;
+        this.listener = listener;
+        this.buffer = new byte[BUFFER_SIZE];
+        this.lineStart = -1;
+    }
+
+    /**
+     * <p>Opens a reader over the named resource on the classpath, or the named file if no such resource exists.
+     *
+     * @param fileName The name of the resource or file to read
+     * @param listener The listener to notify as the file is read
+     * @return a reader over the file
+     * @throws IOException if the file can't be opened
+     */
+    static CsvReader open(final String fileName, final ImportProgressListener listener) throws IOException {
+        final InputStream resource = Thread.currentThread()
+                .getContextClassLoader()
+                .getResourceAsStream(fileName);
+
+        if (resource != null) {
+            return new CsvReader(Channels.newChannel(resource), -1, listener);
+        }
+
+        final FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ);
+        return new CsvReader(channel, channel.size(), listener);
+    }
+
+    /**
+     * <p>Returns the next line of the input as a string, which is intended for header rows.
+     *
+     * @return the next line, or null if there are no lines remaining
+     * @throws IOException if the input can't be read
+     */
+    String nextLine() throws IOException {
+        while (true) {
+            final int end = beginLine();
+
+            if (end < 0) {
+                return null;
+            }
+
+            final int start = position;
+            advance(end);
+
+            if (!isSkipped(start, end)) {
+                lineStart = start;
+                return new String(buffer, start, end - start, StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    /**
+     * <p>Rewinds the reader so that the line last returned by {@link #nextLine()} is read again.
+     */
+    void pushBack() {
+        assert (lineStart >= 0);
+
+        position = lineStart;
+        lineStart = -1;
+        skipLineFeed = false;
+    }
+
+    /**
+     * <p>Reads the next line of the input and appends its values to the provided features.
+     *
+     * <p>Values are assigned to features in the order they appear. Fields that are empty or can't be parsed, as well
+     * as any features without a corresponding field, are appended as missing values. Fields beyond the last feature
+     * are ignored.
+     *
+     * @param features The features to append the values to
+     * @return true if a line was read, or false if there are no lines remaining
+     * @throws IOException if the input can't be read
+     */
+    boolean readRow(final NumericFeatureClass[] features) throws IOException {
+        while (true) {
+            final int end = beginLine();
+
+            if (end < 0) {
+                return false;
+            }
+
+            final int start = position;
+            advance(end);
+
+            if (isSkipped(start, end)) {
+                continue;
+            }
+
+            int feature = 0;
+            int fieldStart = start;
+
+            for (int i = start; i <= end && feature < features.length; ++i) {
+                if (i == end || buffer[i] == ',') {
+                    final double value = parseField(fieldStart, i);
+
+                    if (missing) {
+                        features[feature].addMissingValue();
+                    } else {
+                        features[feature].addSampleValue(value);
+                    }
+
+                    feature++;
+                    fieldStart = i + 1;
+                }
+            }
+
+            for (; feature < features.length; ++feature) {
+                features[feature].addMissingValue();
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * <p>Prepares the reader to read the line at the current position.
+     *
+     * @return the index of the end of the line, or -1 if there are no lines remaining
+     * @throws IOException if the input can't be read
+     */
+    private int beginLine() throws IOException {
+        // The previous line ended with a carriage return, which may be the first half of a "\r\n"
+        if (skipLineFeed) {
+            if (position == limit && !endOfInput) {
+                fill();
+            }
+
+            if (position < limit && buffer[position] == '\n') {
+                position++;
+            }
+
+            skipLineFeed = false;
+        }
+
+        int i = position;
+
+        while (true) {
+            for (; i < limit; ++i) {
+                if (buffer[i] == '\n' || buffer[i] == '\r') {
+                    return i;
+                }
+            }
+
+            if (endOfInput) {
+                return (position < limit) ? limit : -1;
+            }
+
+            // The line continues past the end of the buffer
+            final int scanned = i - position;
+            fill();
+            i = position + scanned;
+        }
+    }
+
+    /**
+     * <p>Moves the reader past the line ending at the specified index, including its terminator.
+     *
+     * @param end The index of the end of the line
+     */
+    private void advance(final int end) {
+        if (end < limit) {
+            skipLineFeed = buffer[end] == '\r';
+            position = end + 1;
+        } else {
+            position = end;
+        }
+    }
+
+    private boolean isSkipped(final int start, final int end) {
+        return start == end || buffer[start] == '#';
+    }
+
+    /**
+     * <p>Reads the next block of the input into the buffer, discarding everything before the current position.
+     *
+     * @throws IOException if the input can't be read
+     */
+    private void fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+            lineStart = -1;
+        }
+
+        // A single line fills the entire buffer
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        final ByteBuffer target = ByteBuffer.wrap(buffer, limit, buffer.length - limit);
+
+        while (target.hasRemaining()) {
+            final int read = channel.read(target);
+
+            if (read < 0) {
+                endOfInput = true;
+                break;
+            }
+
+            limit += read;
+            bytesRead += read;
+        }
+
+        if (listener != null) {
+            listener.onProgress(bytesRead, totalBytes);
+        }
+    }
+
+    /**
+     * <p>Parses the field between the specified indices as a double.
+     *
+     * <p>Decimal values with at most fifteen significant digits and a small exponent are converted exactly without
+     * leaving the buffer, as both their digits and the power of ten scaling them are exactly representable. Any
+     * other field is handed to {@link Double#parseDouble(String)}, so every field is parsed to the same value as
+     * it would be from a string.
+     *
+     * @param start The index of the first byte of the field
+     * @param end   The index after the last byte of the field
+     * @return the value of the field, or NaN if it's missing
+     */
+    private double parseField(int start, int end) {
+        // Ignore any surrounding whitespace
+        while (start < end && (buffer[start] & 0xff) <= ' ') {
+            start++;
+        }
+        while (end > start && (buffer[end - 1] & 0xff) <= ' ') {
+            end--;
+        }
+
+        missing = start == end;
+
+        if (missing) {
+            return Double.NaN;
+        }
+
+        int i = start;
+        final boolean negative = buffer[i] == '-';
+
+        if (negative || buffer[i] == '+') {
+            i++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean digits = false;
+
+        for (; i < end && isDigit(buffer[i]); ++i) {
+            digits = true;
+
+            if (mantissa != 0 || buffer[i] != '0') {
+                mantissa = mantissa * 10 + (buffer[i] - '0');
+                significantDigits++;
+            }
+        }
+
+        if (i < end && buffer[i] == '.') {
+            for (++i; i < end && isDigit(buffer[i]); ++i) {
+                digits = true;
+
+                if (mantissa != 0 || buffer[i] != '0') {
+                    mantissa = mantissa * 10 + (buffer[i] - '0');
+                    significantDigits++;
+                }
+
+                exponent--;
+            }
+        }
+
+        if (digits && i < end && (buffer[i] == 'e' || buffer[i] == 'E')) {
+            final boolean negativeExponent = ++i < end && buffer[i] == '-';
+
+            if (i < end && (negativeExponent || buffer[i] == '+')) {
+                i++;
+            }
+
+            final int exponentStart = i;
+            int value = 0;
+
+            // Any exponent with more than three digits is left to the slow path
+            for (; i < end && isDigit(buffer[i]) && i - exponentStart < 3; ++i) {
+                value = value * 10 + (buffer[i] - '0');
+            }
+
+            if (i == exponentStart) {
+                return parseSlowly(start, end);
+            }
+
+            exponent += negativeExponent ? -value : value;
+        }
+
+        if (!digits || i != end || significantDigits > MAX_SIGNIFICANT_DIGITS) {
+            return parseSlowly(start, end);
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+
+        if (exponent < -(POWERS_OF_TEN.length - 1) || exponent > POWERS_OF_TEN.length - 1) {
+            return parseSlowly(start, end);
+        }
+
+        final double value = (exponent < 0)
+                ? mantissa / POWERS_OF_TEN[-exponent]
+                : mantissa * POWERS_OF_TEN[exponent];
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * <p>Parses the field between the specified indices as a double using {@link Double#parseDouble(String)}.
+     *
+     * @param start The index of the first byte of the field
+     * @param end   The index after the last byte of the field
+     * @return the value of the field, or NaN if it isn't a number
+     */
+    private double parseSlowly(final int start, final int end) {
+        try {
+            return Double.parseDouble(new String(buffer, start, end - start, StandardCharsets.ISO_8859_1));
+        } catch (NumberFormatException ex) {
+            missing = true;
+            return Double.NaN;
+        }
+    }
+
+    private static boolean isDigit(final byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
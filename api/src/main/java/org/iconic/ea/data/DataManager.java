@@ -45,13 +45,24 @@ public class DataManager<T> {
     }
 
     public DataManager(String fileName) {
+        this(fileName, (bytesRead, totalBytes) -> {});
+    }
+
+    /**
+     * <p>Constructs a new data manager from the provided dataset, reporting the progress of the import to the
+     * provided listener.
+     *
+     * @param fileName The name of the resource or file containing the dataset
+     * @param listener The listener to notify as the dataset is read
+     */
+    public DataManager(String fileName, ImportProgressListener listener) {
         this.fileName = fileName;
         expectedOutputHeaders = new ArrayList<>();
         sampleHeaders = new ArrayList<>();
         sampleInfo = new ArrayList<>();
 
         try {
-            importData(this.fileName);
+            importData(this.fileName, listener);
         } catch (IOException ex) {
             log.error("Bad File: {}", () -> fileName);
             log.error("Exception: {}", ex);
@@ -103,42 +114,36 @@ public class DataManager<T> {
 
     }
 
-    private void importData(String fileName) throws IOException {
+    private void importData(String fileName, ImportProgressListener listener) throws IOException {
         this.fileName = fileName;
         sampleSize = 0;
         dataset = new LinkedHashMap<>();
 
         // Check if the file is on the classpath, otherwise check outside
-        InputStream resource = Thread.currentThread()
-                .getContextClassLoader()
-                .getResourceAsStream(fileName);
-
-        BufferedReader reader = (resource == null)
-                ? new BufferedReader(new FileReader(fileName))
-                : new BufferedReader(new InputStreamReader(resource));
-
+        try (CsvReader reader = CsvReader.open(fileName, listener)) {
+            importData(reader);
+        }
+        // log.info("Successfully Imported Dataset");
+    }
 
-        Scanner sc = new Scanner(reader);
+    private void importData(CsvReader reader) throws IOException {
+        // Get the first line from the datafile
+        String line = reader.nextLine();
 
         // Check the file isn't empty
-        if (!sc.hasNextLine()) {
+        if (line == null) {
             log.error("The input file is empty");
             return;
         }
 
-        // Get the first line from the datafile
-        String line = getNextLineFromDataFile(sc);
-
         //Feature size is set as number of commas as line.split(",")
         //does not account for trailing commas
         featureSize = 0;
-        if (line != null) {
-            for(int i = 0; i < line.length(); i++) {
-                if(line.charAt(i) == ',') featureSize++;
-            }
-            //Plus 1 for last value in line
-            featureSize++;
+        for(int i = 0; i < line.length(); i++) {
+            if(line.charAt(i) == ',') featureSize++;
         }
+        //Plus 1 for last value in line
+        featureSize++;
 
         // Assume the delimiter is a comma, and set feature size
         String[] split1 = line.split(",");
@@ -152,14 +157,14 @@ public class DataManager<T> {
                 if(!info.trim().isEmpty()) {
                     containsHeader = true;
                     // Read in the next line for later (needed because the `else` block already reads in the next line)
-                    line = getNextLineFromDataFile(sc);
+                    line = reader.nextLine();
                     break;
                 }
             }
         }
 
         // Assume the delimiter is a comma, and set feature size
-        String[] split2 = line.split(",");
+        String[] split2 = (line == null) ? new String[0] : line.split(",");
 
         // Try to determine if the datafile contains a header row
         for (String header : split2) {
@@ -170,7 +175,7 @@ public class DataManager<T> {
                 if(!header.trim().isEmpty()) {
                     containsInfo = true;
                     // Read in the next line for later (needed because the `else` block already reads in the next line)
-                    line = getNextLineFromDataFile(sc);
+                    line = reader.nextLine();
                     break;
                 }
             }
@@ -250,52 +255,26 @@ public class DataManager<T> {
         expectedOutputHeaders.add(sampleHeaders.get(featureSize - 1));
 
         // Create a list of all features
-        List<FeatureClass<Number>> featureClasses = new ArrayList<>(featureSize);
+        NumericFeatureClass[] featureClasses = new NumericFeatureClass[featureSize];
 
-        for (String aSampleHeader : sampleHeaders) {
-            if (expectedOutputHeaders.contains(aSampleHeader)) {
-                featureClasses.add(new NumericFeatureClass(true));
-            } else {
-                featureClasses.add(new NumericFeatureClass(false));
-            }
+        for (int i = 0; i < featureSize; i++) {
+            featureClasses[i] = new NumericFeatureClass(expectedOutputHeaders.contains(sampleHeaders.get(i)));
         }
 
-        // Scan through the input file one line a time
-        do {
-            if (line == null) {
-                break;
-            }
+        // The first sample has already been read while looking for headers, so read it again
+        if (line != null) {
+            reader.pushBack();
+        }
 
+        // Scan through the input file one line a time, parsing each value straight into its feature
+        while (reader.readRow(featureClasses)) {
             sampleSize++;
-
-            // Assume the delimiter is a comma
-            String[] values = line.split(",");
-            int i  = 0;
-            // Parse the string values to a double and add to FeatureClass
-            while(i < values.length) {
-                try {
-                    Double value = Double.parseDouble(values[i]);
-                    featureClasses.get(i).addSampleValue(value);
-                }catch (Exception e) {
-                    featureClasses.get(i).addSampleValue(null);
-                }
-                i++;
-            }
-            while(i < featureSize){
-                featureClasses.get(i).addSampleValue(null);
-                i++;
-            }
-
-            line = getNextLineFromDataFile(sc);
-        } while (line != null);
+        }
 
         // Add all the feature classes to the map
         for (int i = 0; i < featureSize; i++) {
-            dataset.put(sampleHeaders.get(i), featureClasses.get(i));
+            dataset.put(sampleHeaders.get(i), featureClasses[i]);
         }
-
-        sc.close();
-        // log.info("Successfully Imported Dataset");
     }
 
     public void addNewFeature(String info, String sampleHeader, List<Number> feature){
@@ -348,26 +327,6 @@ public class DataManager<T> {
         }
     }
 
-    private String getNextLineFromDataFile(Scanner sc) {
-        if (!sc.hasNextLine())
-            return null;
-
-        // Read in the next line of the file
-        String line = sc.nextLine();
-
-        // While there are comments or empty lines in the file, read next line
-        while(line.startsWith("#") || line.equals("")) {
-            if (sc.hasNextLine()) {
-                line = sc.nextLine();
-            } else {
-                // log.error("The data file is empty");
-                return null;
-            }
-        }
-
-        return line;
-    }
-
     // Takes an int value and converts it into the excel format for a header
     // Example (0 = A, 1 = B, 26 = AA, 27 = AB)
     public String intToHeader(int num) {
@@ -399,6 +358,23 @@ public class DataManager<T> {
         return samples;
     }
 
+    /**
+     * <p>Copies the values of every feature at the specified row into the provided array, in header order.
+     *
+     * <p>Missing values are represented by {@link Double#NaN}.
+     *
+     * @param row         The row to copy
+     * @param destination The array to copy the row into, it must have room for every feature
+     * @return the destination array
+     */
+    public double[] getRowInto(int row, double[] destination) {
+        for (int i = 0; i < sampleHeaders.size(); i++) {
+            destination[i] = getNumericFeature(sampleHeaders.get(i)).getSamples().getDouble(row);
+        }
+
+        return destination;
+    }
+
     public void addRow(List<Number> numbers) {
         sampleSize++;
         for(int i = 0; i < sampleHeaders.size(); i ++){
@@ -419,6 +395,47 @@ public class DataManager<T> {
         return featureClass.getSamples();
     }
 
+    /**
+     * <p>Replaces the value of a sample in the specified column, the original samples of the column are left
+     * untouched.
+     *
+     * @param column The index of the column
+     * @param row    The row of the sample
+     * @param value  The new value of the sample
+     */
+    public void setSampleValue(int column, int row, Number value) {
+        dataset.get(sampleHeaders.get(column)).setSampleValue(row, value);
+    }
+
+    /**
+     * <p>Returns the samples of the specified column as primitive doubles.
+     *
+     * <p>Missing values are represented by {@link Double#NaN}. The returned array is the column's own storage,
+     * so it must not be modified.
+     *
+     * @param column The index of the column
+     * @return the values of the column
+     */
+    public double[] getColumnAsDoubles(int column) {
+        return getColumnAsDoubles(sampleHeaders.get(column));
+    }
+
+    /**
+     * <p>Returns the samples of the specified column as primitive doubles.
+     *
+     * @param columnName The header of the column
+     * @return the values of the column
+     * @see #getColumnAsDoubles(int)
+     */
+    public double[] getColumnAsDoubles(String columnName) {
+        return getNumericFeature(columnName).getSamples().getDoubles();
+    }
+
+    private NumericFeatureClass getNumericFeature(String header) {
+        // Every feature created by the data manager is numeric
+        return (NumericFeatureClass) dataset.get(header);
+    }
+
     public Number getSampleVariable(String headerName, int row) {
         return dataset.get(headerName).getSampleValue(row);
     }
@@ -31,18 +31,28 @@ public abstract class FeatureClass<T> {
     // a preprocessor is disabled, it is removed from this list.
     private List<Preprocessor<T>> preprocessors;
 
-    protected FeatureClass(boolean output) {
+    /**
+     * Constructs a new feature that stores its samples in the provided list.
+     *
+     * @param output  Whether or not the feature is an output
+     * @param samples The empty list to store the original samples in
+     */
+    protected FeatureClass(boolean output, List<T> samples) {
         this.output = output;
         this.active = true;
-        this.originalSamples = new ArrayList<>();
-        this.modifiedSamples = new ArrayList<>();
+        this.originalSamples = samples;
+        // Until a preprocessor is applied or a sample is edited the modified samples are the original samples
+        this.modifiedSamples = originalSamples;
         this.preprocessors = new ArrayList<>();
         this.missingValues = false;
     }
 
     public void addSampleValue(T value) {
         originalSamples.add(value);
-        modifiedSamples.add(value);
+
+        if (modifiedSamples != originalSamples) {
+            modifiedSamples.add(value);
+        }
 
         if (value == null) {
             setMissingValues(true);
@@ -53,10 +63,54 @@ public abstract class FeatureClass<T> {
         return modifiedSamples.get(row);
     }
 
+    /**
+     * Returns the samples of the feature once its preprocessors have been applied. These may be the original
+     * samples, so they should only be changed through {@link #setSampleValue(int, Object)}.
+     *
+     * @return the modified samples of the feature
+     */
     public List<T> getSamples() {
         return modifiedSamples;
     }
 
+    /**
+     * Replaces a modified sample, leaving the original samples untouched. The edit is lost once the preprocessors
+     * are re-applied to the original samples.
+     *
+     * @param row   The row of the sample
+     * @param value The new value of the sample
+     */
+    public void setSampleValue(int row, T value) {
+        if (modifiedSamples == originalSamples) {
+            modifiedSamples = copySamples(originalSamples);
+        }
+
+        modifiedSamples.set(row, value);
+
+        if (value == null) {
+            setMissingValues(true);
+        } else if (isMissingValues()) {
+            setMissingValues(modifiedSamples.contains(null));
+        }
+    }
+
+    /**
+     * Returns the samples of the feature before any preprocessors were applied.
+     *
+     * @return the original samples of the feature
+     */
+    protected List<T> getOriginalSamples() {
+        return originalSamples;
+    }
+
+    /**
+     * Returns a copy of the provided samples using the storage preferred by this feature.
+     *
+     * @param samples The samples to copy
+     * @return a new list containing the provided samples
+     */
+    protected abstract List<T> copySamples(List<T> samples);
+
     public List<Preprocessor<T>> getPreprocessors() {
         return preprocessors;
     }
@@ -106,16 +160,18 @@ public abstract class FeatureClass<T> {
      * with these values.
      */
     private void applyPreprocessors() {
-        List<T> values = new ArrayList<>(originalSamples);
+        if (preprocessors.isEmpty()) {
+            modifiedSamples = originalSamples;
+        } else {
+            List<T> values = new ArrayList<>(originalSamples);
 
-        if (!preprocessors.isEmpty()) {
             // Apply each subsequent preprocessor
             for (int i=0; i < preprocessors.size(); i++) {
                 values = preprocessors.get(i).apply(values);
             }
-        }
 
-        modifiedSamples = values;
+            modifiedSamples = copySamples(values);
+        }
 
         // Check if the new modified samples contain a missing value or not.
         if (modifiedSamples.contains(null)) {
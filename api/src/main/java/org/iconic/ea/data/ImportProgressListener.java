@@ -0,0 +1,30 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.data;
+
+/**
+ * <p>Receives progress updates while a dataset is being imported.
+ */
+@FunctionalInterface
+public interface ImportProgressListener {
+    /**
+     * <p>Called each time another block of the dataset has been read.
+     *
+     * @param bytesRead  The number of bytes read so far
+     * @param totalBytes The total number of bytes in the dataset, or -1 if it isn't known
+     */
+    void onProgress(long bytesRead, long totalBytes);
+}
@@ -0,0 +1,210 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.data;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * A growable column of samples stored as a contiguous array of primitive doubles.
+ *
+ * <p>
+ * Missing values are tracked separately in a bitmap so that they don't need to be boxed. The column can still be
+ * used as a {@code List<Number>}, in which case a missing value is represented by {@code null}.
+ */
+public class NumericColumn extends AbstractList<Number> implements RandomAccess {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private double[] values;
+    private final BitSet missing;
+    private int size;
+
+    /**
+     * <p>Constructs a new empty column.
+     */
+    public NumericColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * <p>Constructs a new empty column with the specified initial capacity.
+     *
+     * @param capacity The number of samples the column can hold before it needs to grow
+     */
+    public NumericColumn(int capacity) {
+        this.values = new double[Math.max(capacity, 1)];
+        this.missing = new BitSet();
+        this.size = 0;
+    }
+
+    /**
+     * <p>Constructs a new column containing the provided samples, in order.
+     *
+     * @param samples The samples to copy into the column
+     */
+    public NumericColumn(Collection<? extends Number> samples) {
+        this(samples.size());
+
+        for (Number sample : samples) {
+            add(sample);
+        }
+    }
+
+    /**
+     * <p>Appends a primitive value to the end of this column.
+     *
+     * @param value The value to append
+     */
+    public void addDouble(double value) {
+        ensureCapacity(size + 1);
+        values[size++] = value;
+    }
+
+    /**
+     * <p>Appends a missing value to the end of this column.
+     */
+    public void addMissing() {
+        ensureCapacity(size + 1);
+        missing.set(size);
+        values[size++] = Double.NaN;
+    }
+
+    /**
+     * <p>Returns the value of the sample at the specified row as a primitive.
+     *
+     * <p>Missing values are returned as {@link Double#NaN}.
+     *
+     * @param row The row of the sample
+     * @return the value of the sample
+     */
+    public double getDouble(int row) {
+        checkIndex(row);
+        return values[row];
+    }
+
+    /**
+     * <p>Returns true if the sample at the specified row is missing.
+     *
+     * @param row The row of the sample
+     * @return true if the sample is missing
+     */
+    public boolean isMissing(int row) {
+        checkIndex(row);
+        return missing.get(row);
+    }
+
+    /**
+     * <p>Returns true if any sample in this column is missing.
+     *
+     * @return true if at least one sample is missing
+     */
+    public boolean hasMissing() {
+        return !missing.isEmpty();
+    }
+
+    /**
+     * <p>
+     * Returns the primitive values of this column, with missing values represented by {@link Double#NaN}.
+     *
+     * <p>
+     * The returned array is the column's own storage and its length is equal to the size of the column. It must be
+     * treated as read-only; appending to the column afterwards may move the column to a new array.
+     *
+     * @return the values of the column
+     */
+    public double[] getDoubles() {
+        if (values.length != size) {
+            values = Arrays.copyOf(values, size);
+        }
+
+        return values;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Number get(int index) {
+        checkIndex(index);
+        return missing.get(index) ? null : Double.valueOf(values[index]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Number set(int index, Number element) {
+        final Number previous = get(index);
+
+        if (element == null) {
+            missing.set(index);
+            values[index] = Double.NaN;
+        } else {
+            missing.clear(index);
+            values[index] = element.doubleValue();
+        }
+
+        return previous;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(Number element) {
+        if (element == null) {
+            addMissing();
+        } else {
+            addDouble(element.doubleValue());
+        }
+        modCount++;
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object o) {
+        // Avoid boxing every sample when checking for missing values
+        return (o == null) ? hasMissing() : super.contains(o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1)));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -18,10 +18,66 @@ package org.iconic.ea.data;
 import org.iconic.ea.data.preprocessing.Normalise;
 import org.iconic.ea.data.preprocessing.Offset;
 
+import java.util.List;
+
 public class NumericFeatureClass extends FeatureClass<Number> {
     public NumericFeatureClass(boolean output) {
-        super(output);
+        super(output, new NumericColumn());
         //getPreprocessors().add(new Normalise());
         //getPreprocessors().add(new Smooth());
     }
+
+    /**
+     * <p>Appends a sample to this feature without boxing it.
+     *
+     * @param value The value of the sample
+     */
+    public void addSampleValue(double value) {
+        final NumericColumn original = getOriginalSamples();
+        original.addDouble(value);
+
+        if (getSamples() != original) {
+            getSamples().addDouble(value);
+        }
+    }
+
+    /**
+     * <p>Appends a missing sample to this feature.
+     */
+    public void addMissingValue() {
+        final NumericColumn original = getOriginalSamples();
+        original.addMissing();
+
+        if (getSamples() != original) {
+            getSamples().addMissing();
+        }
+
+        setMissingValues(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NumericColumn getSamples() {
+        return (NumericColumn) super.getSamples();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected NumericColumn getOriginalSamples() {
+        return (NumericColumn) super.getOriginalSamples();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Numeric features store their samples as a {@link NumericColumn}.
+     */
+    @Override
+    protected List<Number> copySamples(List<Number> samples) {
+        return new NumericColumn(samples);
+    }
 }
\ No newline at end of file
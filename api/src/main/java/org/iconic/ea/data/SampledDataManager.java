@@ -0,0 +1,233 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.data;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>A view of a subset of the rows of another data manager.
+ *
+ * <p>Rows are renumbered in the order they're given, so row <code>i</code> of the view is row <code>rows[i]</code>
+ * of the underlying data manager. The columns of the view are gathered from the underlying data manager the first
+ * time they're requested and then kept, so the view should be discarded once the rows it covers are no longer
+ * needed.
+ *
+ * <p>The headers and features of the view are those of the underlying data manager, so the samples held by each
+ * {@link FeatureClass} aren't restricted to the view's rows. Samples should be read through the view's own
+ * accessors instead. The view is read-only.
+ *
+ * @param <T> The type of data held by the data manager
+ */
+public class SampledDataManager<T> extends DataManager<T> {
+    private final DataManager<T> source;
+    private final int[] rows;
+    private final Map<String, double[]> columns;
+
+    /**
+     * <p>Constructs a new view of the specified rows of the provided data manager.
+     *
+     * @param source The data manager to view
+     * @param rows   The rows of the data manager to include in the view
+     */
+    public SampledDataManager(final DataManager<T> source, final int[] rows) {
+        this.source = source;
+        this.rows = Arrays.copyOf(rows, rows.length);
+        this.columns = new ConcurrentHashMap<>();
+
+        for (int row : rows) {
+            assert (row >= 0 && row < source.getSampleSize());
+        }
+    }
+
+    /**
+     * <p>Returns the data manager viewed by this data manager.
+     *
+     * @return the underlying data manager
+     */
+    public DataManager<T> getSource() {
+        return source;
+    }
+
+    /**
+     * <p>Returns the rows of the underlying data manager included in this view.
+     *
+     * @return the rows of the view, in order
+     */
+    public int[] getRows() {
+        return Arrays.copyOf(rows, rows.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HashMap<String, FeatureClass<Number>> getDataset() {
+        return source.getDataset();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Number> getSampleRow(int row) {
+        return source.getSampleRow(rows[row]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double[] getRowInto(int row, double[] destination) {
+        return source.getRowInto(rows[row], destination);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addRow(List<Number> numbers) {
+        throw new UnsupportedOperationException("A sampled data manager can't be modified");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setSampleValue(int column, int row, Number value) {
+        throw new UnsupportedOperationException("A sampled data manager can't be modified");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Number> getSampleColumn(int column) {
+        return getSampleColumn(getSampleHeaders().get(column));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Number> getSampleColumn(String columnName) {
+        final double[] column = getColumnAsDoubles(columnName);
+        final List<Number> samples = new ArrayList<>(column.length);
+
+        for (double sample : column) {
+            samples.add(sample);
+        }
+
+        return samples;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double[] getColumnAsDoubles(int column) {
+        return getColumnAsDoubles(getSampleHeaders().get(column));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The column is gathered from the underlying data manager once and then shared by every caller.
+     */
+    @Override
+    public double[] getColumnAsDoubles(String columnName) {
+        return columns.computeIfAbsent(columnName, name -> {
+            final double[] samples = source.getColumnAsDoubles(name);
+            final double[] column = new double[rows.length];
+
+            for (int i = 0; i < rows.length; ++i) {
+                column[i] = samples[rows[i]];
+            }
+
+            return column;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Number getSampleVariable(String headerName, int row) {
+        return source.getSampleVariable(headerName, rows[row]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getFeatureSize() {
+        return source.getFeatureSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getSampleSize() {
+        return rows.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getSampleHeaders() {
+        return source.getSampleHeaders();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getSampleInfo() {
+        return source.getSampleInfo();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsHeader() {
+        return source.containsHeader();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsInfo() {
+        return source.containsInfo();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Number> getExpectedOutputValues() {
+        for (String header : getSampleHeaders()) {
+            if (getDataset().get(header).isOutput()) {
+                return getSampleColumn(header);
+            }
+        }
+
+        return null;
+    }
+}
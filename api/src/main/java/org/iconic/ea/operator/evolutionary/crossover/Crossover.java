@@ -16,8 +16,17 @@
 package org.iconic.ea.operator.evolutionary.crossover;
 
 import org.iconic.ea.chromosome.Chromosome;
+import org.iconic.ea.random.RandomSource;
 
 @FunctionalInterface
 public interface Crossover<T extends Chromosome<R>, R> {
-    T apply(final T c1, final T c2);
+    /**
+     * <p>Creates an offspring from the genes of both parents
+     *
+     * @param c1     The first parent
+     * @param c2     The second parent
+     * @param random The source of random numbers to draw the crossover from
+     * @return the offspring of the parents
+     */
+    T apply(final T c1, final T c2, final RandomSource random);
 }
@@ -17,6 +17,7 @@ package org.iconic.ea.operator.evolutionary.mutation;
 
 import org.iconic.ea.chromosome.Chromosome;
 import org.iconic.ea.operator.primitive.FunctionalPrimitive;
+import org.iconic.ea.random.RandomSource;
 
 import java.util.List;
 
@@ -27,7 +28,8 @@ public interface Mutator<T extends Chromosome<R>, R> {
      *
      * @param functionalPrimitives The list of functional primitives that this chromosome has available
      * @param chromosome           The parent chromosome which will be cloned then mutated to create the mutant
+     * @param random               The source of random numbers to draw the mutation from
      * @return a mutated copy of the parent chromosome
      */
-    T apply(final List<FunctionalPrimitive<R, R>> functionalPrimitives, final T chromosome);
+    T apply(final List<FunctionalPrimitive<R, R>> functionalPrimitives, final T chromosome, final RandomSource random);
 }
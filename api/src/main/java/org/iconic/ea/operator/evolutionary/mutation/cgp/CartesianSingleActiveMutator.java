@@ -15,14 +15,12 @@
  */
 package org.iconic.ea.operator.evolutionary.mutation.cgp;
 
-import org.apache.commons.math3.distribution.UniformIntegerDistribution;
 import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
 import org.iconic.ea.operator.evolutionary.mutation.Mutator;
 import org.iconic.ea.operator.primitive.FunctionalPrimitive;
+import org.iconic.ea.random.RandomSource;
 
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * {@inheritDoc}
@@ -30,7 +28,6 @@ import java.util.concurrent.ThreadLocalRandom;
  * When it has mutated an active gene, it stops mutating and returns the child
  */
 public class CartesianSingleActiveMutator<R> implements Mutator<CartesianChromosome<R>, R> {
-
     /**
      * {@inheritDoc}
      *
@@ -38,7 +35,8 @@ public class CartesianSingleActiveMutator<R> implements Mutator<CartesianChromos
      */
     @Override
     public CartesianChromosome<R> apply(final List<FunctionalPrimitive<R, R>> functionalPrimitives,
-                                        final CartesianChromosome<R> chromosome) {
+                                        final CartesianChromosome<R> chromosome,
+                                        final RandomSource random) {
         assert (chromosome.getGenome().size() > 0);
         //this creates the soon-to-be mutant from the genome of the parent
         final CartesianChromosome<R> mutant = chromosome.clone();
@@ -46,31 +44,24 @@ public class CartesianSingleActiveMutator<R> implements Mutator<CartesianChromos
         //getting the total number of nodes excluding inputs and outputs in the genome
         final int numNodes = mutant.getNumberOfNodes();
         //getting the total number of outputs
-        final int numOutputs = mutant.getOutputs().size();
+        final int numOutputs = mutant.getNumberOfOutputs();
         //this boolean is used to check if an active gene has been mutated or not
         boolean activeNodeMutated = false;
-        //probability distribution to select the node to mutate
-        UniformIntegerDistribution distribution = new UniformIntegerDistribution(
-                mutant.getInputs(), mutant.getInputs() + numNodes + numOutputs - 1
-        );
-
-        //ensure the mutant gets updated the next time it's evaluated
-        mutant.setChanged(true);
 
         //the main loop runs until an active gene is mutated
         while (!activeNodeMutated) {
             //picking the gene to mutate
-            final int mutateNodeIndex = distribution.sample();
+            final int mutateNodeIndex = random.nextInt(mutant.getInputs(), mutant.getInputs() + numNodes + numOutputs);
 
             //check if it's an output
             if (mutateNodeIndex >= numNodes + mutant.getInputs()) {
                 //if it's output we pick a random function node
-                final int outputToChange = ThreadLocalRandom.current().nextInt(numOutputs);
-                final int newConnection = ThreadLocalRandom.current().nextInt(
+                final int outputToChange = random.nextInt(numOutputs);
+                final int newConnection = random.nextInt(
                         (mutant.getInputs() + mutant.getColumns() * mutant.getRows()) - 1
                 );
 
-                mutant.getOutputs().set(outputToChange, newConnection);
+                mutant.setOutput(outputToChange, newConnection);
                 activeNodeMutated = true;
             } else {
                 //finding its index in the genome
@@ -79,23 +70,24 @@ public class CartesianSingleActiveMutator<R> implements Mutator<CartesianChromos
                 );
                 //deciding whether we're going to mutate the gene's function, one of its connections,
                 // or just mutate an output instead
-                final boolean mutateFunction = ThreadLocalRandom.current().nextInt(2) == 0;
+                final boolean mutateFunction = random.nextInt(2) == 0;
                 //0 for function 1 for connection
                 if (mutateFunction) {
                     //if it's function we just generate a random number within the number of functions
                     //the index of the gene will contain the function address
-                    final int newPrimitive = ThreadLocalRandom.current().nextInt(numFunctions);
-                    mutant.getGenome().set(index, newPrimitive);
+                    final int newPrimitive = random.nextInt(numFunctions);
+                    mutant.setGene(index, newPrimitive);
                 } else {
                     //if it's connection we pick a random number with the bound of the arity of this gene's function
                     // TODO: let unused connections be mutated as well
-                    final int connectionToChange = ThreadLocalRandom.current().nextInt(
+                    final int connectionToChange = random.nextInt(
                             functionalPrimitives.get(
-                                    mutant.getGenome().get(index)
+                                    mutant.getFunctionGene(mutateNodeIndex)
                             ).getArity()
                     ) + 1;
 
                     final int newConnection = getRandomConnection(
+                            random,
                             mutateNodeIndex - mutant.getInputs(),
                             mutant.getRows(),
                             mutant.getLevelsBack(),
@@ -106,63 +98,42 @@ public class CartesianSingleActiveMutator<R> implements Mutator<CartesianChromos
                     assert !(newConnection >= mutant.getNumberOfNodes() + mutant.getInputs());
 
                     //we then set that connection to a new randomConnection that fits in the constraints of CGP
-                    mutant.getGenome().set(index + connectionToChange, newConnection);
+                    mutant.setGene(index + connectionToChange, newConnection);
                 }
-                //then just check if the gene was active and set the boolean appropriately
-                activeNodeMutated = isActiveGene(mutant, index);
+                //then just check if the gene's node was active and set the boolean appropriately
+                activeNodeMutated = mutant.isActive(mutateNodeIndex);
             }
         }
 
-        //ensure the mutant gets updated the next time it's evaluated
-        mutant.setChanged(true);
-
+        //the mutant is only marked as changed if an expressed gene was changed, otherwise it keeps its parent's fitness
         return mutant;
     }
 
     /**
      * <p>Returns the index to a randomly selected node within the connectivity restraints of the graph
      *
+     * @param random     The source of random numbers to draw the node from
      * @param index      The index of the originating node
      * @param numRows    The number of rows in the graph
      * @param levelsBack The maximum levels back that the originating node is permitted to connect to
      * @param numInputs  The number of inputs
      * @return the index of a random primitive
      */
-    private int getRandomConnection(int index, int numRows, int levelsBack, int numInputs) {
+    private int getRandomConnection(RandomSource random, int index, int numRows, int levelsBack, int numInputs) {
         final int column = index / numRows;
         final int upperBound = numInputs + column * numRows;
 
         if (column >= levelsBack) {
-            return ThreadLocalRandom.current().nextInt(
+            return random.nextInt(
                     numInputs + (column - levelsBack) * numRows, upperBound
             );
         }
 
-        final int connection = ThreadLocalRandom.current().nextInt(0, upperBound);
+        final int connection = random.nextInt(0, upperBound);
 
         return connection;
     }
 
-    /**
-     * <p>Returns the index to a randomly selected node within the connectivity restraints of the graph
-     *
-     * @param mutant The chromosome being mutated
-     * @param index  The index of the gene being mutated
-     * @return boolean stating whether or not the gene was active
-     */
-    private boolean isActiveGene(CartesianChromosome<R> mutant, int index) {
-        //get the map of lists of active nodes
-        final Map<Integer, List<Integer>> activeNodes = mutant.getPhenome();
-        //loop through the map's lists
-        for (Integer output : mutant.getOutputs()) {
-            //if one of the lists contains the index for the gene then return true
-            if (activeNodes.get(output).contains(index)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     @Override
     public String toString() {
         return "Single Active Gene Mutation";
@@ -22,52 +22,50 @@ import org.iconic.ea.chromosome.graph.Node;
 import org.iconic.ea.operator.evolutionary.mutation.Mutator;
 import org.iconic.ea.operator.primitive.Constant;
 import org.iconic.ea.operator.primitive.FunctionalPrimitive;
+import org.iconic.ea.random.RandomSource;
 
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.Collectors;
 
 public class ExpressionMutator<R> implements Mutator<ExpressionChromosome<R>, R> {
-
     /**
      * {@inheritDoc}
      */
     @Override
     public ExpressionChromosome<R> apply(final List<FunctionalPrimitive<R, R>> functionalPrimitives,
-                                         final ExpressionChromosome<R> chromosome) {
+                                         final ExpressionChromosome<R> chromosome,
+                                         final RandomSource random) {
         assert (chromosome.getGenome().size() > 0);
 
         // Pick an index of the chromosome to mutate
         final ExpressionChromosome<R> mutant = chromosome.clone();
-        final int index = ThreadLocalRandom.current().nextInt(mutant.getGenome().size());
+        final int index = random.nextInt(mutant.getGenome().size());
         final int numFunctions = functionalPrimitives.size();
         final int numFeatures = mutant.getInputs();
         final double p = 0.5;
 
-        // Get the expression from the chromosome
-        List<Node<R>> expression = mutant.getGenome().stream().map(Node::clone)
-                .collect(Collectors.toList());
+        final Node<R> gene;
 
         // If the index is in the head, pick from a function or input variable
         if (index < mutant.getHeadLength()) {
             // Function and input variable
-            if (Math.random() > p) {
+            if (random.nextDouble() > p) {
                 // Create a function
-                final int functionIndex = ThreadLocalRandom.current().nextInt(numFunctions);
+                final int functionIndex = random.nextInt(numFunctions);
 
                 FunctionalPrimitive<R, R> function = functionalPrimitives.get(functionIndex);
-                expression.set(index, new FunctionNode<>(function));
+                gene = new FunctionNode<>(function);
             } else {
-                expression.set(index, generateFeatureOrConstant(numFeatures, p, chromosome.getFeatureLabels()));
+                gene = generateFeatureOrConstant(random, numFeatures, p, chromosome.getFeatureLabels());
             }
         }
         // Otherwise only pick an input variable or constant
         else {
-            expression.set(index, generateFeatureOrConstant(numFeatures, p, chromosome.getFeatureLabels()));
+            gene = generateFeatureOrConstant(random, numFeatures, p, chromosome.getFeatureLabels());
         }
 
-        mutant.setGenome(expression);
+        // The mutant shares its parent's genome, so this only copies what the new gene changes
+        mutant.setGene(index, gene);
 
         return mutant;
     }
@@ -77,15 +75,17 @@ public class ExpressionMutator<R> implements Mutator<ExpressionChromosome<R>, R>
      * Generates either an input variable node or a constant node.
      *
      *
+     * @param random      The source of random numbers to draw the node from
      * @param numFeatures The number of features that may be used as an input variable
      * @param p           The probability of picking an input variable versus a constant
      */
-    private Node<R> generateFeatureOrConstant(int numFeatures, double p, Map<Integer, String> featureLabels) {
-        if (Math.random() > p) {
-            final int index = ThreadLocalRandom.current().nextInt(numFeatures);
+    private Node<R> generateFeatureOrConstant(RandomSource random, int numFeatures, double p,
+                                              Map<Integer, String> featureLabels) {
+        if (random.nextDouble() > p) {
+            final int index = random.nextInt(numFeatures);
             return new InputNode<>(index, featureLabels);
         } else {
-            final double constant = ThreadLocalRandom.current().nextInt(20000) / 100.0 - 100.0;
+            final double constant = random.nextInt(20000) / 100.0 - 100.0;
             return new FunctionNode<>((Constant<R>) new Constant<>(constant));
         }
     }
@@ -15,17 +15,15 @@
  */
 package org.iconic.ea.operator.evolutionary.selection;
 
-import org.apache.commons.math3.distribution.UniformIntegerDistribution;
 import org.iconic.ea.chromosome.Chromosome;
+import org.iconic.ea.random.RandomSource;
 
 import java.util.List;
 
 public class RandomUniformSelector<T extends Chromosome<?>> implements Selector<T> {
     @Override
-    public T apply(final List<T> population) {
+    public T apply(final List<T> population, final RandomSource random) {
         assert (population.size() >= 1);
-        //probability distribution to select the node to mutate
-        UniformIntegerDistribution distribution = new UniformIntegerDistribution(0, population.size() - 1);
-        return population.get(distribution.sample());
+        return population.get(random.nextInt(population.size()));
     }
 }
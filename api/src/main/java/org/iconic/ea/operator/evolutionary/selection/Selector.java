@@ -16,10 +16,18 @@
 package org.iconic.ea.operator.evolutionary.selection;
 
 import org.iconic.ea.chromosome.Chromosome;
+import org.iconic.ea.random.RandomSource;
 
 import java.util.List;
 
 @FunctionalInterface
 public interface Selector<T extends Chromosome<?>> {
-    T apply(final List<T> population);
+    /**
+     * <p>Chooses a member of the provided population
+     *
+     * @param population The population to choose from
+     * @param random     The source of random numbers to draw any random choices from
+     * @return the chosen member of the population
+     */
+    T apply(final List<T> population, final RandomSource random);
 }
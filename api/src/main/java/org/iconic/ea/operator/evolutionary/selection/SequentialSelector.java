@@ -16,6 +16,7 @@
 package org.iconic.ea.operator.evolutionary.selection;
 
 import org.iconic.ea.chromosome.Chromosome;
+import org.iconic.ea.random.RandomSource;
 
 import java.util.List;
 
@@ -27,7 +28,7 @@ public class SequentialSelector<T extends Chromosome<?>> implements Selector<T>
     }
 
     @Override
-    public T apply(final List<T> population) {
+    public T apply(final List<T> population, final RandomSource random) {
         //probability distribution to select the node to mutate
         if (currentIndex >= population.size() - 1) {
             setCurrentIndex(-1);
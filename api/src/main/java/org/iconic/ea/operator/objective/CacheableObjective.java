@@ -15,68 +15,254 @@
  */
 package org.iconic.ea.operator.objective;
 
+import com.google.common.base.Throwables;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import lombok.extern.log4j.Log4j2;
 import org.iconic.ea.chromosome.Chromosome;
+import org.iconic.ea.chromosome.PhenotypeKey;
 
-import java.lang.annotation.ElementType;
-import java.lang.annotation.Retention;
-import java.lang.annotation.RetentionPolicy;
-import java.lang.annotation.Target;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutionException;
 
 /**
  * {@inheritDoc}
  * <p>
  * An objective that caches its results.
+ * <p>
+ * Results are keyed on the {@link PhenotypeKey phenotype} of each chromosome rather than the chromosome itself, so
+ * chromosomes that express the same program share a single result. This is common after neutral mutations, which
+ * only change genes that aren't expressed, and whenever a program is rediscovered. Chromosomes without a phenotype
+ * key are always evaluated.
+ * <p>
+ * The cache is bounded either by its number of entries or by the total weight of its keys, with the least recently
+ * used entries evicted first.
  */
 @Log4j2
-public class CacheableObjective<T extends Comparable<T>>  implements Objective<T> {
-    private final LoadingCache<Chromosome<T>, Double> cache;
+public class CacheableObjective<T extends Comparable<T>> implements Objective<T> {
+    /**
+     * The maximum number of results cached when no other bound is provided.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final Cache<PhenotypeKey, Double> cache;
     private final Objective<T> objective;
 
+    /**
+     * Constructs a new cacheable objective that caches up to {@value #DEFAULT_MAXIMUM_SIZE} results of the provided
+     * objective.
+     *
+     * @param objective The objective to cache the results of.
+     */
     public CacheableObjective(final Objective<T> objective) {
+        this(objective, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Constructs a new cacheable objective that caches up to the specified number of results of the provided
+     * objective.
+     *
+     * @param objective   The objective to cache the results of.
+     * @param maximumSize The maximum number of results to cache.
+     */
+    public CacheableObjective(final Objective<T> objective, final long maximumSize) {
+        this(objective, CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build());
+    }
+
+    /**
+     * Constructs a new cacheable objective that uses the provided cache to store its results.
+     *
+     * @param objective The objective to cache the results of.
+     * @param cache     The cache to store results in.
+     */
+    private CacheableObjective(final Objective<T> objective, final Cache<PhenotypeKey, Double> cache) {
         this.objective = objective;
-        this.cache = CacheBuilder.newBuilder()
-                .maximumSize(500)
-                .expireAfterWrite(5, TimeUnit.MINUTES)
-                .build(
-                        new CacheLoader<Chromosome<T>, Double>() {
-                            public Double load(Chromosome<T> key) {
-                                return getObjective().apply(key);
-                            }
-                        });
+        this.cache = cache;
+    }
+
+    /**
+     * Returns a new cacheable objective whose cache is bounded by the total weight of its keys, where a key's
+     * weight is proportional to the size of the program it encodes.
+     *
+     * @param objective     The objective to cache the results of.
+     * @param maximumWeight The maximum total weight of the cached keys.
+     * @param <T>           The type class of the data passed through the chromosomes.
+     * @return A cacheable objective bounded by weight.
+     */
+    public static <T extends Comparable<T>> CacheableObjective<T> withMaximumWeight(
+            final Objective<T> objective,
+            final long maximumWeight
+    ) {
+        return new CacheableObjective<>(objective, CacheBuilder.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((PhenotypeKey key, Double value) -> key.getWeight())
+                .recordStats()
+                .<PhenotypeKey, Double>build()
+        );
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * When a cached result is found the chromosome's fitness is set to it, as the underlying objective would.
      */
     @Override
     public double apply(final Chromosome<T> c) {
-        return getCache().getUnchecked(c);
+        final PhenotypeKey key = c.getPhenotypeKey();
+
+        if (key == null) {
+            return getObjective().apply(c);
+        }
+
+        final boolean[] loaded = {false};
+
+        try {
+            final double fitness = getCache().get(key, () -> {
+                loaded[0] = true;
+                return getObjective().apply(c);
+            });
+
+            if (!loaded[0]) {
+                c.setFitness(fitness);
+            }
+
+            return fitness;
+        } catch (ExecutionException | UncheckedExecutionException ex) {
+            Throwables.throwIfUnchecked(ex.getCause());
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Results that are worse than the bound are only known to be worse than it, so they aren't cached.
+     */
+    @Override
+    public double apply(final Chromosome<T> c, final double bound) {
+        final PhenotypeKey key = c.getPhenotypeKey();
+
+        if (key == null) {
+            return getObjective().apply(c, bound);
+        }
+
+        final Double cached = getCache().getIfPresent(key);
+
+        if (cached != null) {
+            c.setFitness(cached);
+            return cached;
+        }
+
+        final double fitness = getObjective().apply(c, bound);
+
+        if (isNotWorse(fitness, bound)) {
+            getCache().put(key, fitness);
+        }
+
+        return fitness;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getWorstValue() {
+        return getObjective().getWorstValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isNotWorse(double x, double y) {
+        return getObjective().isNotWorse(x, y);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEqual(double x, double y) {
+        return getObjective().isEqual(x, y);
+    }
+
+    /**
+     * Discards every cached result, e.g. after the dataset used by the underlying objective has changed.
+     */
+    public void invalidateAll() {
+        getCache().invalidateAll();
+    }
+
+    /**
+     * Returns the number of times a result was found in the cache.
+     *
+     * @return The number of cache hits.
+     */
+    public long getHitCount() {
+        return getStats().hitCount();
+    }
+
+    /**
+     * Returns the number of times a result had to be computed by the underlying objective.
+     *
+     * @return The number of cache misses.
+     */
+    public long getMissCount() {
+        return getStats().missCount();
+    }
+
+    /**
+     * Returns the number of results that have been evicted from the cache.
+     *
+     * @return The number of cache evictions.
+     */
+    public long getEvictionCount() {
+        return getStats().evictionCount();
+    }
+
+    /**
+     * Returns the ratio of requests that were found in the cache, or 1 if there haven't been any requests.
+     *
+     * @return The hit rate of the cache.
+     */
+    public double getHitRate() {
+        return getStats().hitRate();
+    }
+
+    /**
+     * Returns the approximate number of results currently cached.
+     *
+     * @return The number of cached results.
+     */
+    public long size() {
+        return getCache().size();
     }
 
     /**
      * Returns the underlying objective used by the decorator.
      *
-     * @return The underlying objective used by this deccrator.
+     * @return The underlying objective used by this decorator.
      */
     public Objective<T> getObjective() {
         return objective;
     }
 
+    /**
+     * Returns a snapshot of the cache's statistics.
+     *
+     * @return The statistics of the cache.
+     */
+    private CacheStats getStats() {
+        return getCache().stats();
+    }
+
     /**
      * Returns the cache of results that were previously computed by the objective.
      *
      * @return The cache of results that were previously computed by this objective.
      */
-    private LoadingCache<Chromosome<T>, Double> getCache() {
+    private Cache<PhenotypeKey, Double> getCache() {
         return cache;
     }
 }
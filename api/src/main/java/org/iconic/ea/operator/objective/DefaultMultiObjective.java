@@ -36,7 +36,7 @@ public class DefaultMultiObjective extends MultiObjective<Double> {
      */
     @Override
     public double apply(final Chromosome<Double> c) {
-        double fitness = getGoals().get(0).apply(c);
+        double fitness = getFitnessVector(c).get(0);
         c.setFitness(fitness);
         return fitness;
     }
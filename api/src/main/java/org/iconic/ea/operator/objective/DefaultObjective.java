@@ -18,54 +18,174 @@ package org.iconic.ea.operator.objective;
 import lombok.extern.log4j.Log4j2;
 import org.iconic.ea.chromosome.Chromosome;
 import org.iconic.ea.data.DataManager;
+import org.iconic.ea.data.SampledDataManager;
 import org.iconic.ea.operator.objective.error.ErrorBasedObjective;
 import org.iconic.ea.operator.objective.error.ErrorFunction;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * {@inheritDoc}
  * <p>
  * A default objective that uses a chromosome's error as the fitness.
- *
+ * <p>
+ * When applied with a bound, chromosomes are rejected as soon as their error is known to exceed it. If a chunked
+ * size is provided, datasets of at least that many rows are evaluated in chunks that double in size, starting from a
+ * sixteenth of the dataset, so a chromosome that's clearly worse than its bound is usually rejected after only
+ * evaluating the first chunk. Each chunk is a copy of its rows, so chunking doubles the memory used by the dataset,
+ * and chromosomes evaluated in chunks can't reuse the outputs of their parents or the subexpressions shared by the
+ * population. Chunking is therefore off by default, and chromosomes without a bound are always evaluated in one go.
  */
 @Log4j2
 public class DefaultObjective extends ErrorBasedObjective {
+    // The first chunk is this fraction of the dataset, with each chunk after it as large as every chunk before it
+    private static final int NUM_HALVINGS = 4;
+
+    // Each thread keeps its own buffer for the chromosome's outputs so that it's only allocated once
+    private final ThreadLocal<double[]> calculatedResults;
+    private final ThreadLocal<double[]> chunkResults;
+    private final List<DataManager<Double>> chunks;
+    private final LongAdder rejections;
 
     /**
-     * <p>Constructs a new DefaultObjective
+     * <p>Constructs a new DefaultObjective that evaluates the entire dataset in one go
      *
      * @param lambda      The error function to apply
      * @param dataManager The samples to use with the error function
      */
     public DefaultObjective(final ErrorFunction lambda, final DataManager<Double> dataManager) {
+        this(lambda, dataManager, 0);
+    }
+
+    /**
+     * <p>Constructs a new DefaultObjective that evaluates datasets with at least the provided number of rows in
+     * chunks
+     *
+     * @param lambda      The error function to apply
+     * @param dataManager The samples to use with the error function
+     * @param chunkedSize The smallest number of rows to evaluate in chunks, or zero to never evaluate in chunks
+     */
+    public DefaultObjective(final ErrorFunction lambda, final DataManager<Double> dataManager, final int chunkedSize) {
         super(lambda, dataManager);
+        this.calculatedResults = ThreadLocal.withInitial(() -> new double[0]);
+        this.chunkResults = ThreadLocal.withInitial(() -> new double[0]);
+        this.chunks = getChunks(dataManager, chunkedSize);
+        this.rejections = new LongAdder();
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Chromosomes with outputs that aren't a number are given the worst possible fitness.
      */
     @Override
     public double apply(final Chromosome<Double> c) {
-        List<Map<Integer, Double>> results = c.evaluate(getDataManager());
-        List<Double> summedResults = new ArrayList<>(results.size());
+        return apply(c, getWorstValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double apply(final Chromosome<Double> c, final double bound) {
+        final int numSamples = getDataManager().getSampleSize();
+        final double[] summedResults = getBuffer(calculatedResults, numSamples);
+
+        // Nothing is worse than the worst value, so there's no point in chunking the dataset
+        if (chunks.isEmpty() || bound == getWorstValue()) {
+            // Each sample's outputs are summed by the chromosome
+            c.evaluate(getDataManager(), summedResults);
+        } else {
+            int offset = 0;
+
+            for (DataManager<Double> chunk : chunks) {
+                final int n = chunk.getSampleSize();
+                final double[] results = getBuffer(chunkResults, n);
 
-        // Convert results into a list with each output summed
-        results.forEach(result -> summedResults.add(
-                result.values().stream().mapToDouble(i -> i).sum()
-        ));
+                // Only the final chunk is checked by the error function itself
+                if (offset > 0) {
+                    final double lowerBound = getLambda().getLowerBound(
+                            summedResults, getExpectedResults(), offset, numSamples
+                    );
 
-        double fitness = getLambda().apply(summedResults, getExpectedResults());
+                    if (Double.isNaN(lowerBound) || lowerBound > bound) {
+                        return reject(c);
+                    }
+                }
+
+                c.evaluate(chunk, results);
+                System.arraycopy(results, 0, summedResults, offset, n);
+                offset += n;
+            }
+        }
+
+        double fitness = getLambda().apply(summedResults, getExpectedResults(), numSamples, bound);
 
         // If an erroneous value is given replace it with the worst possible fitness
-        if (Double.isNaN(fitness)) {
-            fitness = getWorstValue();
+        if (Double.isNaN(fitness) || fitness > bound) {
+            return reject(c);
         }
 
         c.setFitness(fitness);
 
         return fitness;
     }
+
+    /**
+     * <p>Returns the number of chromosomes that were rejected, either for being worse than their bound or for
+     * producing outputs that aren't a number
+     *
+     * @return the number of rejected chromosomes
+     */
+    public long getRejectionCount() {
+        return rejections.sum();
+    }
+
+    private double reject(final Chromosome<Double> c) {
+        final double fitness = getWorstValue();
+
+        rejections.increment();
+        c.setFitness(fitness);
+
+        return fitness;
+    }
+
+    private static double[] getBuffer(final ThreadLocal<double[]> buffers, final int size) {
+        double[] buffer = buffers.get();
+
+        if (buffer.length < size) {
+            buffer = new double[size];
+            buffers.set(buffer);
+        }
+
+        return buffer;
+    }
+
+    private static List<DataManager<Double>> getChunks(final DataManager<Double> dataManager, final int chunkedSize) {
+        final int numSamples = dataManager.getSampleSize();
+
+        if (chunkedSize <= 0 || numSamples < chunkedSize || numSamples < (1 << NUM_HALVINGS)) {
+            return Collections.emptyList();
+        }
+
+        final List<DataManager<Double>> chunks = new ArrayList<>(NUM_HALVINGS + 1);
+        int from = 0;
+
+        for (int i = NUM_HALVINGS; i >= 0; --i) {
+            final int to = numSamples >> i;
+            final int[] rows = new int[to - from];
+
+            for (int j = 0; j < rows.length; ++j) {
+                rows[j] = from + j;
+            }
+
+            chunks.add(new SampledDataManager<>(dataManager, rows));
+            from = to;
+        }
+
+        return chunks;
+    }
 }
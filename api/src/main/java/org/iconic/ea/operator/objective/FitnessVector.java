@@ -0,0 +1,86 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.operator.objective;
+
+import java.util.Arrays;
+
+/**
+ * <p>An immutable vector of fitness values, one for each goal of the objective that produced it.
+ *
+ * <p>A fitness vector is computed once for each version of a chromosome's genome, so that comparisons between
+ * chromosomes can read their fitness values instead of re-evaluating them against the dataset.
+ */
+public final class FitnessVector {
+    private final Object source;
+    private final double[] values;
+
+    /**
+     * <p>Constructs a new fitness vector with the provided values.
+     *
+     * @param source A token identifying what produced the values, such as the objective
+     * @param values The fitness values, one for each goal of the objective
+     */
+    public FitnessVector(final Object source, final double[] values) {
+        this.source = source;
+        this.values = values.clone();
+    }
+
+    /**
+     * <p>Returns true if this vector was produced by the provided source.
+     *
+     * @param source The source to test
+     * @return true if the vector was produced by the source
+     */
+    public boolean isFrom(final Object source) {
+        return this.source == source;
+    }
+
+    /**
+     * <p>Returns the fitness value of the goal at the specified index.
+     *
+     * @param index The index of the goal
+     * @return the fitness value of the goal
+     */
+    public double get(final int index) {
+        return values[index];
+    }
+
+    /**
+     * <p>Returns the number of fitness values in this vector.
+     *
+     * @return the number of fitness values in the vector
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * <p>Returns a copy of the fitness values in this vector.
+     *
+     * @return the fitness values of the vector
+     */
+    public double[] toArray() {
+        return values.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+}
@@ -32,6 +32,7 @@ import java.util.stream.Collectors;
  */
 public abstract class MultiObjective<T extends Comparable<T>> implements Objective<T> {
     private final List<Objective<T>> goals;
+    private volatile Object generation = new Object();
 
     public MultiObjective(Collection<Objective<T>> goals) {
         this.goals = new LinkedList<>(goals);
@@ -41,15 +42,54 @@ public abstract class MultiObjective<T extends Comparable<T>> implements Objecti
         return goals;
     }
 
+    /**
+     * <p>Returns the fitness vector of the provided chromosome, which contains the fitness of each goal in order.
+     *
+     * <p>The vector is only computed when the chromosome doesn't already carry one from this objective, i.e.
+     * once for every version of its genome, or after the goals of this objective have changed.
+     *
+     * @param c The chromosome to retrieve the fitness vector of
+     * @return the fitness vector of the chromosome
+     */
+    public FitnessVector getFitnessVector(final Chromosome<T> c) {
+        final Object generation = this.generation;
+        FitnessVector vector = c.getFitnessVector();
+
+        if (vector == null || !vector.isFrom(generation)) {
+            final double[] values = new double[getGoals().size()];
+            int i = 0;
+
+            for (Objective<T> goal : getGoals()) {
+                values[i++] = goal.apply(c);
+            }
+
+            vector = new FitnessVector(generation, values);
+            c.setFitnessVector(vector);
+        }
+
+        return vector;
+    }
+
+    /**
+     * <p>Discards the fitness vectors previously computed by this objective, so that they're recomputed the next
+     * time they're requested, e.g. after the samples used by one of its goals have changed.
+     */
+    public void invalidateFitnessVectors() {
+        generation = new Object();
+    }
+
     public void addGoal(final MonoObjective<T> goal) {
         getGoals().add(goal);
+        invalidateFitnessVectors();
     }
 
     public void removeGoal(final MonoObjective<T> goal) {
         getGoals().remove(goal);
+        invalidateFitnessVectors();
     }
 
     public void removeGoal(int index) {
         getGoals().remove(index);
+        invalidateFitnessVectors();
     }
 }
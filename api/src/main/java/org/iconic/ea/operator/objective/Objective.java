@@ -36,6 +36,22 @@ public interface Objective<T extends Comparable<T>> {
      */
     double apply(final Chromosome<T> c);
 
+    /**
+     * Applies this objective to the given {@link org.iconic.ea.chromosome.Chromosome chromosome}, stopping as soon
+     * as the chromosome is known to be worse than the provided bound.
+     * <p>
+     * A chromosome that's worse than the bound is rejected, in which case its fitness is only known to be worse
+     * than the bound and the {@link #getWorstValue() worst value} is returned instead. By default the objective is
+     * always applied in full.
+     *
+     * @param c     The chromosome to apply this objective to
+     * @param bound The worst fitness of interest, e.g. the fitness of the chromosome's parent
+     * @return The fitness of the chromosome, or the worst value possible if the chromosome was rejected
+     */
+    default double apply(final Chromosome<T> c, final double bound) {
+        return apply(c);
+    }
+
     /**
      * Returns the worst fitness value possible for this objective.
      * By default if fitness values are ranked in ascending order negative infinity is returned,
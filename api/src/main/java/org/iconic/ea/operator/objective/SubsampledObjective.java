@@ -0,0 +1,380 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.operator.objective;
+
+import lombok.extern.log4j.Log4j2;
+import org.iconic.ea.chromosome.Chromosome;
+import org.iconic.ea.data.DataManager;
+import org.iconic.ea.data.FeatureClass;
+import org.iconic.ea.data.SampledDataManager;
+import org.iconic.ea.random.RandomSource;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * {@inheritDoc}
+ * <p>
+ * An objective that only applies an underlying objective to a subset of the rows of its dataset.
+ * <p>
+ * Early on in a search a small sample ranks candidates about as well as the entire dataset, at a fraction of the
+ * cost. The sample grows linearly with the generations, from an initial fraction of the dataset until it covers the
+ * entire dataset, and is only drawn again every few generations. Every so often the best candidates can be
+ * {@link #validate(Chromosome) validated} on the entire dataset, while the rest of the population stays on the
+ * sample.
+ * <p>
+ * Fitness values from different samples can't be compared, so whenever {@link #resample(int)} reports that the
+ * sample has changed the surviving chromosomes must be re-evaluated, e.g. through
+ * {@link org.iconic.ea.strategies.EvolutionaryAlgorithm#reevaluate(List)}, and any cached results discarded.
+ * The sample should only be changed while no chromosomes are being evaluated.
+ */
+@Log4j2
+public class SubsampledObjective implements Objective<Double> {
+    /**
+     * The number of generations a sample is kept for by default.
+     */
+    public static final int DEFAULT_RESAMPLE_INTERVAL = 10;
+
+    /**
+     * The ways in which the rows of a sample can be drawn from the dataset.
+     */
+    public enum Sampling {
+        /**
+         * A fresh uniformly random subset of rows is drawn for every sample.
+         */
+        RANDOM,
+        /**
+         * The rows are ordered by their expected output and split into as many equally sized strata as there are
+         * rows in the sample, with a fresh random row drawn from each stratum for every sample.
+         */
+        STRATIFIED,
+        /**
+         * The rows are shuffled once and every sample is a prefix of them, so a sample is only drawn again when
+         * its size changes, and larger samples contain every row of the smaller ones.
+         */
+        FIXED
+    }
+
+    private final DataManager<Double> dataManager;
+    private final Function<DataManager<Double>, Objective<Double>> objectiveFactory;
+    private final Objective<Double> fullObjective;
+    private final Sampling sampling;
+    private final double initialFraction;
+    private final int growthGenerations;
+    private final int validationInterval;
+    private final RandomSource random;
+    // The order rows are drawn in, which depends on the sampling used
+    private final int[] order;
+    private int resampleInterval;
+    private volatile Objective<Double> objective;
+    private volatile DataManager<Double> sample;
+
+    /**
+     * Constructs a new subsampled objective that draws a fresh random sample whenever it resamples.
+     *
+     * @param dataManager        The dataset to sample
+     * @param objectiveFactory   Creates the objective to apply to each sample of the dataset
+     * @param initialFraction    The fraction of the dataset sampled in the first generation
+     * @param growthGenerations  The number of generations until the entire dataset is used, or zero for the sample
+     *                           to never grow
+     * @param validationInterval The number of generations between validating candidates on the entire dataset, or
+     *                           zero to never validate candidates
+     */
+    public SubsampledObjective(
+            final DataManager<Double> dataManager,
+            final Function<DataManager<Double>, Objective<Double>> objectiveFactory,
+            final double initialFraction, final int growthGenerations, final int validationInterval
+    ) {
+        this(dataManager, objectiveFactory, initialFraction, growthGenerations, validationInterval,
+                Sampling.RANDOM, new RandomSource());
+    }
+
+    /**
+     * Constructs a new subsampled objective.
+     *
+     * @param dataManager        The dataset to sample
+     * @param objectiveFactory   Creates the objective to apply to each sample of the dataset
+     * @param initialFraction    The fraction of the dataset sampled in the first generation
+     * @param growthGenerations  The number of generations until the entire dataset is used, or zero for the sample
+     *                           to never grow
+     * @param validationInterval The number of generations between validating candidates on the entire dataset, or
+     *                           zero to never validate candidates
+     * @param sampling           How the rows of each sample are drawn
+     * @param random             The source of randomness used to draw samples
+     */
+    public SubsampledObjective(
+            final DataManager<Double> dataManager,
+            final Function<DataManager<Double>, Objective<Double>> objectiveFactory,
+            final double initialFraction, final int growthGenerations, final int validationInterval,
+            final Sampling sampling, final RandomSource random
+    ) {
+        assert (initialFraction > 0 && initialFraction <= 1);
+        assert (growthGenerations >= 0 && validationInterval >= 0);
+
+        this.dataManager = dataManager;
+        this.objectiveFactory = objectiveFactory;
+        this.fullObjective = objectiveFactory.apply(dataManager);
+        this.initialFraction = initialFraction;
+        this.growthGenerations = growthGenerations;
+        this.validationInterval = validationInterval;
+        this.sampling = sampling;
+        this.random = random;
+        this.order = getOrder();
+        this.resampleInterval = DEFAULT_RESAMPLE_INTERVAL;
+
+        resample(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The chromosome is evaluated on the current sample.
+     */
+    @Override
+    public double apply(final Chromosome<Double> c) {
+        return objective.apply(c);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double apply(final Chromosome<Double> c, final double bound) {
+        return objective.apply(c, bound);
+    }
+
+    /**
+     * Draws the sample for the provided generation, if it's time to draw a new one.
+     * <p>
+     * A sample is kept for {@link #getResampleInterval()} generations, as every chromosome that survives a change of
+     * sample has to be evaluated again.
+     *
+     * @param generation The generation about to be evaluated, starting from zero
+     * @return True if the sample changed, in which case existing fitness values are no longer comparable
+     */
+    public boolean resample(final int generation) {
+        if (generation % resampleInterval != 0) {
+            return false;
+        }
+
+        return setSample(getSampleSize(generation));
+    }
+
+    /**
+     * Returns true if the best candidates of the provided generation should be validated on the entire dataset.
+     *
+     * @param generation The generation, starting from zero
+     * @return True if the generation is a validation generation
+     */
+    public boolean isValidation(final int generation) {
+        return validationInterval > 0 && generation > 0 && generation % validationInterval == 0;
+    }
+
+    /**
+     * Evaluates the provided chromosome on the entire dataset, regardless of the current sample. The chromosome's
+     * fitness is left as is, so it stays comparable to that of the rest of the population.
+     *
+     * @param c The chromosome to validate
+     * @return The value of the underlying objective for the chromosome on the entire dataset
+     */
+    public double validate(final Chromosome<Double> c) {
+        return fullObjective.apply(c);
+    }
+
+    /**
+     * Evaluates chromosomes on the entire dataset from now on, e.g. to report the fitness of the final population.
+     *
+     * @return True if the sample changed, in which case existing fitness values are no longer comparable
+     */
+    public boolean useFullDataset() {
+        return setSample(dataManager.getSampleSize());
+    }
+
+    /**
+     * Returns the number of rows sampled for the provided generation.
+     *
+     * @param generation The generation, starting from zero
+     * @return The number of rows sampled for the generation
+     */
+    public int getSampleSize(final int generation) {
+        final int numRows = dataManager.getSampleSize();
+        final double fraction = (growthGenerations > 0)
+                ? initialFraction + (1 - initialFraction) * Math.min(1.0, generation / (double) growthGenerations)
+                : initialFraction;
+
+        return Math.max(1, Math.min(numRows, (int) Math.ceil(fraction * numRows)));
+    }
+
+    /**
+     * Returns the rows currently being evaluated.
+     *
+     * @return The current sample of the dataset
+     */
+    public DataManager<Double> getSample() {
+        return sample;
+    }
+
+    /**
+     * Returns true if chromosomes are currently evaluated on the entire dataset.
+     *
+     * @return True if the current sample is the entire dataset
+     */
+    public boolean isFullDataset() {
+        return sample == dataManager;
+    }
+
+    public int getResampleInterval() {
+        return resampleInterval;
+    }
+
+    /**
+     * Sets the number of generations that each sample is kept for.
+     *
+     * @param resampleInterval The number of generations between drawing samples
+     */
+    public void setResampleInterval(final int resampleInterval) {
+        if (resampleInterval < 1) {
+            throw new IllegalArgumentException(
+                    "The resample interval must be at least one, but " + resampleInterval + " was given."
+            );
+        }
+
+        this.resampleInterval = resampleInterval;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getWorstValue() {
+        return fullObjective.getWorstValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isNotWorse(double x, double y) {
+        return fullObjective.isNotWorse(x, y);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEqual(double x, double y) {
+        return fullObjective.isEqual(x, y);
+    }
+
+    private boolean setSample(final int size) {
+        final int numRows = dataManager.getSampleSize();
+
+        if (size >= numRows) {
+            if (isFullDataset()) {
+                return false;
+            }
+
+            sample = dataManager;
+            objective = fullObjective;
+        } else {
+            if (sampling == Sampling.FIXED && sample != null && sample.getSampleSize() == size && !isFullDataset()) {
+                return false;
+            }
+
+            sample = new SampledDataManager<>(dataManager, drawRows(size));
+            objective = objectiveFactory.apply(sample);
+        }
+
+        log.trace("Sampled {} of {} rows", sample::getSampleSize, () -> numRows);
+        return true;
+    }
+
+    private int[] drawRows(final int size) {
+        final int numRows = order.length;
+        final int[] rows;
+
+        switch (sampling) {
+            case STRATIFIED:
+                rows = new int[size];
+
+                for (int i = 0; i < size; ++i) {
+                    final int from = (int) ((long) i * numRows / size);
+                    final int to = (int) ((long) (i + 1) * numRows / size);
+
+                    rows[i] = order[from + random.nextInt(to - from)];
+                }
+                break;
+            case FIXED:
+                rows = Arrays.copyOf(order, size);
+                break;
+            default:
+                // Only the first rows of the order need to be shuffled
+                for (int i = 0; i < size; ++i) {
+                    final int j = i + random.nextInt(numRows - i);
+                    final int row = order[j];
+
+                    order[j] = order[i];
+                    order[i] = row;
+                }
+
+                rows = Arrays.copyOf(order, size);
+                break;
+        }
+
+        // Reading the rows in order keeps gathering the columns sequential
+        Arrays.sort(rows);
+        return rows;
+    }
+
+    private int[] getOrder() {
+        final int numRows = dataManager.getSampleSize();
+
+        switch (sampling) {
+            case STRATIFIED:
+                final double[] expected = getExpectedResults();
+
+                return IntStream.range(0, numRows).boxed()
+                        .sorted(Comparator.comparingDouble(row -> expected[row]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+            case FIXED:
+                final int[] order = IntStream.range(0, numRows).toArray();
+
+                for (int i = numRows - 1; i > 0; --i) {
+                    final int j = random.nextInt(i + 1);
+                    final int row = order[j];
+
+                    order[j] = order[i];
+                    order[i] = row;
+                }
+
+                return order;
+            default:
+                return IntStream.range(0, numRows).toArray();
+        }
+    }
+
+    private double[] getExpectedResults() {
+        for (Map.Entry<String, FeatureClass<Number>> feature : dataManager.getDataset().entrySet()) {
+            if (feature.getValue().isOutput()) {
+                return dataManager.getColumnAsDoubles(feature.getKey());
+            }
+        }
+
+        throw new IllegalArgumentException("Stratified sampling requires an output feature");
+    }
+}
@@ -36,7 +36,7 @@ import java.util.stream.Collectors;
 public abstract class ErrorBasedObjective extends MonoObjective<Double> {
     private final ErrorFunction lambda;
     private final DataManager<Double> dataManager;
-    private List<Double> expectedResults;
+    private final double[] expectedResults;
 
     /**
      * <p>
@@ -50,19 +50,20 @@ public abstract class ErrorBasedObjective extends MonoObjective<Double> {
         super();
         this.lambda = lambda;
         this.dataManager = dataManager;
-        this.expectedResults = new LinkedList<>();
 
         Map<String, FeatureClass<Number>> dataset = dataManager.getDataset();
 
-        // Collect the expected answers
-        List<FeatureClass<Number>> features = dataset.values().stream()
-                .filter(FeatureClass::isOutput)
+        // Collect the expected answers once, as every evaluation is compared against them
+        List<String> features = dataset.entrySet().stream()
+                .filter(feature -> feature.getValue().isOutput())
+                .map(Map.Entry::getKey)
                 .limit(1)
                 .collect(Collectors.toList());
 
-        expectedResults = features.get(0).getSamples().stream()
-                .mapToDouble(Number::doubleValue).boxed()
-                .collect(Collectors.toList());
+        // The samples are read through the data manager, which may only be a view of some of the feature's samples
+        expectedResults = Arrays.copyOf(
+                dataManager.getColumnAsDoubles(features.get(0)), dataManager.getSampleSize()
+        );
     }
 
     /**
@@ -94,7 +95,7 @@ public abstract class ErrorBasedObjective extends MonoObjective<Double> {
      *
      * @return the expected results for the samples used by this objective
      */
-    protected List<Double> getExpectedResults() {
+    protected double[] getExpectedResults() {
         return expectedResults;
     }
 }
@@ -15,7 +15,9 @@
  */
 package org.iconic.ea.operator.objective.error;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * <p>Defines a functional interface for an error function
@@ -34,4 +36,59 @@ public interface ErrorFunction {
      * @return the amount of error between the calculated and expected results
      */
     double apply(final List<Double> calculated, final List<Double> expected);
+
+    /**
+     * <p>Applies this error function to the first n values of the given results
+     *
+     * <p>By default the results are boxed and passed to {@link #apply(List, List)}, implementations should override
+     * this when they can work on the arrays directly.
+     *
+     * @param calculated The calculated results
+     * @param expected   The expected results
+     * @param n          The number of results to use
+     * @return the amount of error between the calculated and expected results
+     */
+    default double apply(final double[] calculated, final double[] expected, final int n) {
+        return apply(
+                Arrays.stream(calculated, 0, n).boxed().collect(Collectors.toList()),
+                Arrays.stream(expected, 0, n).boxed().collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * <p>Applies this error function to the first n values of the given results, stopping as soon as the error is
+     * known to exceed the provided bound
+     *
+     * <p>By default the error is computed in full and compared against the bound afterwards, implementations
+     * should override this when they can stop early.
+     *
+     * @param calculated The calculated results
+     * @param expected   The expected results
+     * @param n          The number of results to use
+     * @param bound      The largest error of interest
+     * @return the amount of error between the calculated and expected results, or positive infinity if the error
+     * exceeds the bound, or NaN if any of the results isn't a number
+     */
+    default double apply(final double[] calculated, final double[] expected, final int n, final double bound) {
+        final double error = apply(calculated, expected, n);
+
+        return (error > bound) ? Double.POSITIVE_INFINITY : error;
+    }
+
+    /**
+     * <p>Returns a lower bound of the error of n results, given only the first m of them
+     *
+     * <p>This allows a candidate to be rejected after only part of the samples have been evaluated. By default no
+     * bound is known and negative infinity is returned.
+     *
+     * @param calculated The calculated results, only the first m of which are used
+     * @param expected   The expected results
+     * @param m          The number of results calculated so far
+     * @param n          The total number of results
+     * @return a lower bound of the amount of error between all n results, or NaN if any of the first m results
+     * isn't a number
+     */
+    default double getLowerBound(final double[] calculated, final double[] expected, final int m, final int n) {
+        return Double.NEGATIVE_INFINITY;
+    }
 }
@@ -20,10 +20,14 @@ package org.iconic.ea.operator.objective.error;
 
 import lombok.extern.log4j.Log4j2;
 
+import java.util.Iterator;
 import java.util.List;
 
 @Log4j2
 public class MeanSquaredError implements ErrorFunction {
+    // The number of squared errors summed between comparisons against a bound
+    private static final int BLOCK_SIZE = 256;
+
     /**
      * {@inheritDoc}
      *
@@ -36,15 +40,88 @@ public class MeanSquaredError implements ErrorFunction {
         assert (calculated.size() == expected.size());
 
         final int numValues = calculated.size();
+        // Iterate rather than index so that linked lists don't make this quadratic
+        final Iterator<Double> calculatedValues = calculated.iterator();
+        final Iterator<Double> expectedValues = expected.iterator();
 
         double sum = 0;
 
         for (int i = 0; i < numValues; i++) {
-            final double error = (expected.get(i) - calculated.get(i));
+            final double error = (expectedValues.next() - calculatedValues.next());
             sum += error * error;
         }
 
         sum /= numValues;
         return sum;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double apply(final double[] calculated, final double[] expected, final int n) {
+        double sum = 0;
+
+        for (int i = 0; i < n; i++) {
+            final double error = (expected[i] - calculated[i]);
+            sum += error * error;
+        }
+
+        sum /= n;
+        return sum;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The squared errors are summed a block at a time, and the sum is compared against the bound after each block.
+     * As every squared error is positive, the sum never decreases, so the mean of a partial sum is already a lower
+     * bound of the result. Infinite and NaN results abort the sum as well.
+     *
+     */
+    @Override
+    public double apply(final double[] calculated, final double[] expected, final int n, final double bound) {
+        double sum = 0;
+
+        for (int from = 0; from < n; from += BLOCK_SIZE) {
+            final int to = Math.min(n, from + BLOCK_SIZE);
+
+            for (int i = from; i < to; i++) {
+                final double error = (expected[i] - calculated[i]);
+                sum += error * error;
+            }
+
+            if (Double.isNaN(sum)) {
+                return Double.NaN;
+            }
+
+            if (sum / n > bound || sum == Double.POSITIVE_INFINITY) {
+                return Double.POSITIVE_INFINITY;
+            }
+        }
+
+        sum /= n;
+        return sum;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The squared errors of the first m results are summed in the same order as the full sum, so the bound never
+     * exceeds the mean squared error of all n results.
+     *
+     */
+    @Override
+    public double getLowerBound(final double[] calculated, final double[] expected, final int m, final int n) {
+        double sum = 0;
+
+        for (int i = 0; i < m; i++) {
+            final double error = (expected[i] - calculated[i]);
+            sum += error * error;
+        }
+
+        return sum / n;
+    }
 }
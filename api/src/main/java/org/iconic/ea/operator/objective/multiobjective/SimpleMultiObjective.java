@@ -36,8 +36,7 @@ public class SimpleMultiObjective extends MultiObjective<Double> {
      */
     @Override
     public double apply(final Chromosome<Double> c) {
-        getGoals().forEach(goal -> goal.apply(c));
-        double fitness = getGoals().get(0).apply(c);
+        double fitness = getFitnessVector(c).get(0);
         c.setFitness(fitness);
         return fitness;
     }
@@ -22,4 +22,22 @@ public class AbsoluteValue extends ArithmeticPrimitive<Number> {
                 1, "ABS", "Returns the positive value of a."
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a) {
+        return Math.abs(a);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final double[] a, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i]);
+        }
+    }
 }
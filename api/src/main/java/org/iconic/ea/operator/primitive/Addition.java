@@ -18,8 +18,34 @@ package org.iconic.ea.operator.primitive;
 public class Addition extends ArithmeticPrimitive<Number> {
     public Addition() {
         super(
-                args -> args.stream().mapToDouble(Number::doubleValue).sum(),
+                args -> {
+                    double identity = args.get(0);
+
+                    for (int i = 1; i < args.size(); ++i) {
+                        identity += args.get(i);
+                    }
+
+                    return identity;
+                },
                 2, "ADD", "Returns a + b."
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a, final double b) {
+        return a + b;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final double[] a, final double[] b, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i], b[i]);
+        }
+    }
 }
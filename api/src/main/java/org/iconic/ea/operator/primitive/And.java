@@ -22,4 +22,22 @@ public class And extends ArithmeticPrimitive<Number> {
                 2, "AND", "Returns 1 if both a and b are greater than 0, 0 otherwise."
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a, final double b) {
+        return (a > 0 && b > 0) ? 1.d : 0.d;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final double[] a, final double[] b, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i], b[i]);
+        }
+    }
 }
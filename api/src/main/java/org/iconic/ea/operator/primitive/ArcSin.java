@@ -22,4 +22,22 @@ public class ArcSin extends ArithmeticPrimitive<Number> {
                 1, "ASIN", "Returns the inverse sine function of a."
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a) {
+        return Math.asin(a);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final double[] a, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i]);
+        }
+    }
 }
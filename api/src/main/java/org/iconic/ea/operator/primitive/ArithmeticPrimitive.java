@@ -18,6 +18,12 @@ package org.iconic.ea.operator.primitive;
 import java.util.List;
 import java.util.function.Function;
 
+/**
+ * <p>A functional primitive over doubles.
+ *
+ * <p>Subclasses implement the primitive-specialised method matching their arity, and override the column kernel of
+ * the same arity so that its loop only ever calls their own implementation, which lets the JIT inline it.
+ */
 public class ArithmeticPrimitive<T extends Number> extends FunctionalPrimitive<Double, Double> {
     public ArithmeticPrimitive(final Function<List<Double>, Double> lambda, final int arity, final String symbol, final String description, final Integer defaultComplexity) {
         super(lambda, arity, symbol, description, defaultComplexity);
@@ -26,4 +32,68 @@ public class ArithmeticPrimitive<T extends Number> extends FunctionalPrimitive<D
     public ArithmeticPrimitive(final Function<List<Double>, Double> lambda, final int arity, final String symbol, final String description) {
         super(lambda, arity, symbol, description);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Dispatches to the column kernel matching the arity of this primitive.
+     */
+    @Override
+    public void apply(final double[][] arguments, final double[] out, final int n) {
+        switch (getArity()) {
+            case 1:
+                apply(arguments[0], out, n);
+                break;
+            case 2:
+                apply(arguments[0], arguments[1], out, n);
+                break;
+            case 3:
+                apply(arguments[0], arguments[1], arguments[2], out, n);
+                break;
+            default:
+                super.apply(arguments, out, n);
+        }
+    }
+
+    /**
+     * <p>The column kernel of a unary primitive, out may be the same array as a.
+     *
+     * @param a   The first argument column
+     * @param out The column to write the results to
+     * @param n   The number of rows to apply the primitive to
+     */
+    public void apply(final double[] a, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i]);
+        }
+    }
+
+    /**
+     * <p>The column kernel of a binary primitive, out may be the same array as either argument.
+     *
+     * @param a   The first argument column
+     * @param b   The second argument column
+     * @param out The column to write the results to
+     * @param n   The number of rows to apply the primitive to
+     */
+    public void apply(final double[] a, final double[] b, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i], b[i]);
+        }
+    }
+
+    /**
+     * <p>The column kernel of a ternary primitive, out may be the same array as any argument.
+     *
+     * @param a   The first argument column
+     * @param b   The second argument column
+     * @param c   The third argument column
+     * @param out The column to write the results to
+     * @param n   The number of rows to apply the primitive to
+     */
+    public void apply(final double[] a, final double[] b, final double[] c, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i], b[i], c[i]);
+        }
+    }
 }
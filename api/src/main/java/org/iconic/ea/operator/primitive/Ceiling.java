@@ -22,4 +22,22 @@ public class Ceiling extends ArithmeticPrimitive<Number> {
                 1, "CEIL", "Returns the integer of a rounded up."
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a) {
+        return Math.ceil(a);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final double[] a, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i]);
+        }
+    }
 }
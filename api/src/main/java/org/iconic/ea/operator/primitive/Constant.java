@@ -15,8 +15,33 @@
  */
 package org.iconic.ea.operator.primitive;
 
+import java.util.Arrays;
+
 public class Constant<T> extends FunctionalPrimitive<T, T> {
+    private final T value;
+
     public Constant(final T value) {
         super(args -> value, 0, value.toString(), "A constant value.");
+        this.value = value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble() {
+        return (value instanceof Number) ? ((Number) value).doubleValue() : super.applyAsDouble();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final double[][] arguments, final double[] out, final int n) {
+        if (value instanceof Number) {
+            Arrays.fill(out, 0, n, ((Number) value).doubleValue());
+        } else {
+            super.apply(arguments, out, n);
+        }
     }
 }
@@ -35,4 +35,28 @@ public class Division extends ArithmeticPrimitive<Number> {
                 2, "DIV", "Returns the division of a / b."
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a, final double b) {
+        final double delta = 0.001;
+
+        if (b < delta + 0.d && b > 0.d - delta) {
+            return 1.d;
+        }
+
+        return a / b;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final double[] a, final double[] b, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i], b[i]);
+        }
+    }
 }
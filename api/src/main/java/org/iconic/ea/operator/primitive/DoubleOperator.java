@@ -0,0 +1,65 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.operator.primitive;
+
+/**
+ * <p>Defines a primitive-specialised form of a functional primitive, which applies it to unboxed doubles.
+ *
+ * <p>Only the method matching the arity of the primitive needs to be meaningful, callers should dispatch on
+ * {@link #getArity()} to pick the method to call.
+ */
+public interface DoubleOperator {
+    /**
+     * <p>Returns the number of arguments taken by this operator
+     *
+     * @return the arity of the operator
+     */
+    int getArity();
+
+    /**
+     * <p>Applies a nullary operator
+     *
+     * @return the result of the operator
+     */
+    double applyAsDouble();
+
+    /**
+     * <p>Applies a unary operator to the provided argument
+     *
+     * @param a The first argument
+     * @return the result of the operator
+     */
+    double applyAsDouble(final double a);
+
+    /**
+     * <p>Applies a binary operator to the provided arguments
+     *
+     * @param a The first argument
+     * @param b The second argument
+     * @return the result of the operator
+     */
+    double applyAsDouble(final double a, final double b);
+
+    /**
+     * <p>Applies a ternary operator to the provided arguments
+     *
+     * @param a The first argument
+     * @param b The second argument
+     * @param c The third argument
+     * @return the result of the operator
+     */
+    double applyAsDouble(final double a, final double b, final double c);
+}
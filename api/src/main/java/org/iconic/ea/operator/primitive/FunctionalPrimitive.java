@@ -18,7 +18,11 @@ package org.iconic.ea.operator.primitive;
 import javafx.beans.property.SimpleIntegerProperty;
 import lombok.extern.log4j.Log4j2;
 
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.function.Function;
 
 /**
@@ -26,7 +30,7 @@ import java.util.function.Function;
  * @param <R>
  */
 @Log4j2
-public class FunctionalPrimitive<T, R> implements UncheckedFunctionalPrimitive<T, R> {
+public class FunctionalPrimitive<T, R> implements UncheckedFunctionalPrimitive<T, R>, DoubleOperator {
     private final Function<List<T>, R> lambda;
     private final int arity;
     private final String symbol;
@@ -56,11 +60,117 @@ public class FunctionalPrimitive<T, R> implements UncheckedFunctionalPrimitive<T
     public R apply(List<T> args) {
         assert (args.size() >= getArity());
 
-        if (args.contains(null)) {
-            log.warn("Null argument found: {}", args);
+        try {
+            return lambda.apply(args);
+        } catch (NullPointerException ex) {
+            // Only look for the culprit once something has gone wrong, rather than scanning every call's arguments
+            if (args.contains(null)) {
+                log.warn("Null argument found: {}", args);
+            }
+
+            throw ex;
         }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The default implementation boxes the arguments and applies the primitive's lambda, so it only supports
+     * primitives over numbers. The same is true of the unary, binary, and ternary forms.
+     */
+    @Override
+    public double applyAsDouble() {
+        return applyBoxed(Collections.emptyList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a) {
+        return applyBoxed(Collections.singletonList(a));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a, final double b) {
+        return applyBoxed(Arrays.asList(a, b));
+    }
 
-        return lambda.apply(args);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a, final double b, final double c) {
+        return applyBoxed(Arrays.asList(a, b, c));
+    }
+
+    /**
+     * <p>Applies this primitive to the first n rows of the provided argument columns and writes each result to the
+     * corresponding row of out.
+     *
+     * <p>The output array may be the same array as one of the arguments. The default implementation dispatches on
+     * arity to the matching primitive-specialised method for each row in turn, primitives with a numerical definition
+     * should override it with a column kernel.
+     *
+     * @param arguments The argument columns, one for each argument of the primitive
+     * @param out       The column to write the results to
+     * @param n         The number of rows to apply the primitive to
+     */
+    @SuppressWarnings("unchecked")
+    public void apply(final double[][] arguments, final double[] out, final int n) {
+        switch (getArity()) {
+            case 0:
+                for (int i = 0; i < n; ++i) {
+                    out[i] = applyAsDouble();
+                }
+                break;
+            case 1:
+                for (int i = 0; i < n; ++i) {
+                    out[i] = applyAsDouble(arguments[0][i]);
+                }
+                break;
+            case 2:
+                for (int i = 0; i < n; ++i) {
+                    out[i] = applyAsDouble(arguments[0][i], arguments[1][i]);
+                }
+                break;
+            case 3:
+                for (int i = 0; i < n; ++i) {
+                    out[i] = applyAsDouble(arguments[0][i], arguments[1][i], arguments[2][i]);
+                }
+                break;
+            default:
+                final Row row = new Row(arguments, getArity());
+
+                for (int i = 0; i < n; ++i) {
+                    row.point(i);
+                    out[i] = toDouble(lambda.apply((List<T>) row));
+                }
+        }
+    }
+
+    /**
+     * <p>Applies the lambda of this primitive to the provided boxed arguments
+     *
+     * @param args The arguments to apply the primitive to
+     * @return the result of the primitive as a double
+     */
+    @SuppressWarnings("unchecked")
+    private double applyBoxed(final List<Double> args) {
+        return toDouble(lambda.apply((List<T>) (List<?>) args));
+    }
+
+    /**
+     * <p>Converts a result of this primitive's lambda to a double, where null is treated as NaN
+     *
+     * @param value The result to convert
+     * @return the result as a double
+     */
+    private double toDouble(final R value) {
+        return (value == null) ? Double.NaN : ((Number) value).doubleValue();
     }
 
     public int getArity() {
@@ -100,4 +210,37 @@ public class FunctionalPrimitive<T, R> implements UncheckedFunctionalPrimitive<T
     public SimpleIntegerProperty getComplexity() {
         return complexity;
     }
+
+    /**
+     * <p>A read-only view of a single row of argument columns, which lets the lambda of a primitive be applied to
+     * columns without allocating a list for every row.
+     */
+    private static final class Row extends AbstractList<Double> implements RandomAccess {
+        private final double[][] columns;
+        private final int size;
+        private int row;
+
+        private Row(final double[][] columns, final int size) {
+            this.columns = columns;
+            this.size = size;
+        }
+
+        private void point(final int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Double get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+
+            return columns[index][row];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
 }
@@ -24,4 +24,22 @@ public class GaussianFunction extends ArithmeticPrimitive<Number> {
                 1, "GAUSS", "Returns exp(-x^2), providing a normal distribution."
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a) {
+        return Math.exp(-(a * a));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final double[] a, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i]);
+        }
+    }
 }
@@ -22,4 +22,22 @@ public class GreaterThanOrEqual extends ArithmeticPrimitive<Number> {
                 2, "GREATER_EQUAL", "Returns 1 if a >= b, 0 otherwise."
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a, final double b) {
+        return a >= b ? 1.d : 0.d;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final double[] a, final double[] b, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i], b[i]);
+        }
+    }
 }
@@ -22,4 +22,22 @@ public class IfThenElse extends ArithmeticPrimitive<Number> {
                 3, "IF", "Returns returns b if a > 0, c otherwise."
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a, final double b, final double c) {
+        return a > 0 ? b : c;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final double[] a, final double[] b, final double[] c, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i], b[i], c[i]);
+        }
+    }
 }
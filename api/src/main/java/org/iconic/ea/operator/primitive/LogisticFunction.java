@@ -24,4 +24,22 @@ public class LogisticFunction extends ArithmeticPrimitive<Number> {
                 1, "LOGISTIC", "Returns (1 / 1 + exp(-a)).\nThis is a common sigmoid squashing function."
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a) {
+        return 1 / (1 + Math.exp(a));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final double[] a, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i]);
+        }
+    }
 }
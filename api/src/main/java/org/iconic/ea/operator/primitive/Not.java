@@ -22,4 +22,22 @@ public class Not extends ArithmeticPrimitive<Number> {
                 1, "NOT", "Returns 0 if a is greater than 0, 1 otherwise."
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a) {
+        return (a > 0) ? 0.d : 1.d;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final double[] a, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i]);
+        }
+    }
 }
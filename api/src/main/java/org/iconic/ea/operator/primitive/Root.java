@@ -34,4 +34,32 @@ public class Root extends ArithmeticPrimitive<Number> {
                 2, "ROOT", "Returns the b-th root of a if a is greater than 0, NaN otherwise."
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a, final double b) {
+        final double delta = 0.001;
+
+        if (a >= 0 + delta && a >= 0 - delta) {
+            return Math.pow(a, 1 / b);
+        } else if (a < 0 - delta) {
+            final double result = Math.pow(abs(a), 1 / b);
+
+            return (b % 2 == 0) ? result : -result;
+        }
+
+        return Double.NaN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final double[] a, final double[] b, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i], b[i]);
+        }
+    }
 }
@@ -24,4 +24,22 @@ public class Tanh extends ArithmeticPrimitive<Number> {
                 1, "TANH","Returns the hyperbolic tangent of a.\nThis is a common squashing function returning a value between -1 and 1."
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a) {
+        return Math.tanh(a);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final double[] a, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i]);
+        }
+    }
 }
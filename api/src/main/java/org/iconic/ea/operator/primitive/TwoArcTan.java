@@ -22,4 +22,22 @@ public class TwoArcTan extends ArithmeticPrimitive<Number> {
                 2, "ATAN2","Returns the two argument inverse tangent function."
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a, final double b) {
+        return Math.atan2(a, b);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final double[] a, final double[] b, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i], b[i]);
+        }
+    }
 }
@@ -22,4 +22,22 @@ public class Xor extends ArithmeticPrimitive<Number> {
                 2, "XOR","Returns 1 if (a <= 0 and b > 0) or (a > 0 and b <= 0), 0 otherwise."
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double applyAsDouble(final double a, final double b) {
+        return (a > 0 ^ b > 0) ? 1.d : 0.d;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void apply(final double[] a, final double[] b, final double[] out, final int n) {
+        for (int i = 0; i < n; ++i) {
+            out[i] = applyAsDouble(a[i], b[i]);
+        }
+    }
 }
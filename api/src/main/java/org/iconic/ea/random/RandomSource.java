@@ -0,0 +1,197 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.random;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>A seedable source of random numbers shared by the operators of a run. Two sources constructed with the same
+ * seed produce the same sequence, so a run that draws every random decision from sources split off of a single
+ * seeded source can be replayed exactly.
+ *
+ * <p>The numbers are generated by the SplitMix64 algorithm used by {@link java.util.SplittableRandom}, whose state
+ * is a single counter. Unlike {@code SplittableRandom} the counter is advanced atomically, so a source is
+ * thread-safe and never blocks, but threads drawing from the same source concurrently receive its numbers in an
+ * arbitrary order. Each worker should therefore be given a source of its own through {@link #split()}.
+ *
+ * <p>Unlike {@link java.util.Random} and commons-math distributions, drawing a number never allocates.
+ */
+public final class RandomSource {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private final long seed;
+    private final long gamma;
+    private final AtomicLong state;
+
+    /**
+     * <p>Constructs a new source with an arbitrary seed.
+     */
+    public RandomSource() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * <p>Constructs a new source with the provided seed.
+     *
+     * @param seed The seed of the source
+     */
+    public RandomSource(final long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private RandomSource(final long seed, final long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+        this.state = new AtomicLong(seed);
+    }
+
+    /**
+     * <p>Returns a new source whose sequence is independent of this source's, and which is itself determined by
+     * this source's seed and the numbers drawn from it so far.
+     *
+     * @return a new source split off of this source
+     */
+    public RandomSource split() {
+        return new RandomSource(nextLong(), mixGamma(nextSeed()));
+    }
+
+    /**
+     * <p>Returns the seed this source was constructed with.
+     *
+     * @return the seed of the source
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    /**
+     * <p>Returns a uniformly distributed integer between zero (inclusive) and the provided bound (exclusive).
+     *
+     * @param bound The upper bound of the integer, which must be positive
+     * @return a random integer within the bound
+     */
+    public int nextInt(final int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("The bound must be positive, but " + bound + " was given.");
+        }
+
+        int r = nextInt();
+        final int m = bound - 1;
+
+        if ((bound & m) == 0) {
+            return r & m;
+        }
+
+        // Reject the values that would make the lower numbers more likely than the higher ones
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextInt() >>> 1) {
+            // Keep drawing until an unbiased value is found
+        }
+
+        return r;
+    }
+
+    /**
+     * <p>Returns a uniformly distributed integer between the provided origin (inclusive) and bound (exclusive).
+     *
+     * @param origin The lower bound of the integer
+     * @param bound  The upper bound of the integer, which must be greater than the origin
+     * @return a random integer within the bounds
+     */
+    public int nextInt(final int origin, final int bound) {
+        if (origin >= bound) {
+            throw new IllegalArgumentException(
+                    "The bound must be greater than the origin, but " + origin + " and " + bound + " were given."
+            );
+        }
+
+        final int range = bound - origin;
+
+        if (range > 0) {
+            return origin + nextInt(range);
+        }
+
+        // The range can't be represented as an integer, so draw from every integer until one is within it
+        int r = nextInt();
+
+        while (r < origin || r >= bound) {
+            r = nextInt();
+        }
+
+        return r;
+    }
+
+    /**
+     * <p>Returns a uniformly distributed double between zero (inclusive) and one (exclusive).
+     *
+     * @return a random double
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    public boolean nextBoolean() {
+        return nextInt() < 0;
+    }
+
+    /**
+     * <p>Randomly permutes the provided list, with every permutation being equally likely.
+     *
+     * @param list The list to shuffle
+     */
+    public void shuffle(final List<?> list) {
+        for (int i = list.size() - 1; i > 0; --i) {
+            Collections.swap(list, i, nextInt(i + 1));
+        }
+    }
+
+    private long nextSeed() {
+        return state.addAndGet(gamma);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    /**
+     * <p>Returns an odd gamma with enough bits set for the sequence of a split source to look random.
+     */
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+
+        return (Long.bitCount(z ^ (z >>> 1)) < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
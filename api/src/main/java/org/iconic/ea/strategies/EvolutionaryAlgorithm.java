@@ -21,12 +21,19 @@ import org.iconic.ea.chromosome.ChromosomeFactory;
 import org.iconic.ea.operator.evolutionary.crossover.Crossover;
 import org.iconic.ea.operator.evolutionary.mutation.Mutator;
 import org.iconic.ea.operator.evolutionary.selection.Selector;
-import org.iconic.ea.operator.objective.CacheableObjective;
 import org.iconic.ea.operator.objective.Objective;
+import org.iconic.ea.random.RandomSource;
+import org.iconic.ea.strategies.evaluation.EvaluationExecutor;
+import org.iconic.ea.strategies.evaluation.SerialEvaluationExecutor;
 
-import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Log4j2
 public abstract class EvolutionaryAlgorithm<T extends Chromosome<R>, R extends Comparable<R>> {
@@ -38,6 +45,8 @@ public abstract class EvolutionaryAlgorithm<T extends Chromosome<R>, R extends C
     private double mutationProbability;
     private Objective<R> objective;
     private List<T> chromosomes;
+    private EvaluationExecutor evaluationExecutor;
+    private RandomSource random;
 
     protected EvolutionaryAlgorithm(ChromosomeFactory<T, R> chromosomeFactory) {
         this.chromosomeFactory = chromosomeFactory;
@@ -48,6 +57,9 @@ public abstract class EvolutionaryAlgorithm<T extends Chromosome<R>, R extends C
         this.crossoverProbability = 0.2;
         this.mutationProbability = 0.1;
         this.objective = null;
+        this.evaluationExecutor = new SerialEvaluationExecutor();
+        // Every other component of a run draws from a source it's given, so this is the only unseeded source
+        this.random = new RandomSource();
     }
 
     public abstract void initialisePopulation(int populationSize);
@@ -65,6 +77,226 @@ public abstract class EvolutionaryAlgorithm<T extends Chromosome<R>, R extends C
         return new LinkedList<>(population);
     }
 
+    /**
+     * Evaluates the provided batch of chromosomes against the algorithm's objective using its evaluation executor.
+     * All chromosomes should be generated before the batch is evaluated, so that every random decision is made by the
+     * calling thread regardless of the executor used.
+     *
+     * @param chromosomes The chromosomes to evaluate.
+     * @return The fitness of each chromosome, in the same order as the batch.
+     */
+    protected double[] evaluate(final List<? extends T> chromosomes) {
+        return getEvaluationExecutor().evaluate(getObjective(), chromosomes);
+    }
+
+    /**
+     * Evaluates the provided batch of chromosomes, rejecting each chromosome as soon as it's known to be worse than
+     * its bound. Rejected chromosomes are given the objective's worst value.
+     *
+     * @param chromosomes The chromosomes to evaluate.
+     * @param bounds      The worst fitness of interest for each chromosome, in the same order as the batch.
+     * @return The fitness of each chromosome, in the same order as the batch.
+     */
+    protected double[] evaluate(final List<? extends T> chromosomes, final double[] bounds) {
+        return getEvaluationExecutor().evaluate(getObjective(), chromosomes, bounds);
+    }
+
+    /**
+     * Evaluates the chromosomes in the provided batch that have changed since they were last evaluated. Chromosomes
+     * that haven't changed, such as offspring that only differ from their parent in unexpressed genes, keep their
+     * current fitness.
+     *
+     * @param chromosomes The chromosomes to evaluate.
+     * @return The fitness of each chromosome, in the same order as the batch.
+     */
+    protected double[] evaluateChanged(final List<? extends T> chromosomes) {
+        return evaluateChanged(chromosomes, null);
+    }
+
+    /**
+     * Evaluates the chromosomes in the provided batch that have changed since they were last evaluated, rejecting
+     * each chromosome as soon as it's known to be worse than its bound. Chromosomes that haven't changed keep their
+     * current fitness.
+     *
+     * @param chromosomes The chromosomes to evaluate.
+     * @param bounds      The worst fitness of interest for each chromosome, in the same order as the batch, or null
+     *                    to evaluate every changed chromosome in full.
+     * @return The fitness of each chromosome, in the same order as the batch.
+     */
+    protected double[] evaluateChanged(final List<? extends T> chromosomes, final double[] bounds) {
+        final List<T> changed = new ArrayList<>(chromosomes.size());
+        final double[] changedBounds = new double[chromosomes.size()];
+
+        for (int i = 0; i < chromosomes.size(); ++i) {
+            final T chromosome = chromosomes.get(i);
+
+            if (chromosome.isChanged()) {
+                if (bounds != null) {
+                    changedBounds[changed.size()] = bounds[i];
+                }
+
+                changed.add(chromosome);
+            }
+        }
+
+        final double[] fitnesses = (bounds == null)
+                ? evaluate(changed)
+                : evaluate(changed, Arrays.copyOf(changedBounds, changed.size()));
+
+        for (int i = 0; i < fitnesses.length; ++i) {
+            changed.get(i).setFitness(fitnesses[i]);
+        }
+
+        final double[] results = new double[chromosomes.size()];
+
+        for (int i = 0; i < results.length; ++i) {
+            results[i] = chromosomes.get(i).getFitness();
+        }
+
+        return results;
+    }
+
+    /**
+     * Re-evaluates every chromosome in the provided population, whether or not it has changed. This is required
+     * whenever the fitness of an unchanged chromosome may no longer be comparable to that of a new chromosome, such
+     * as after the samples used by the objective have changed.
+     *
+     * @param population The chromosomes to re-evaluate.
+     */
+    public void reevaluate(final List<? extends T> population) {
+        final double[] fitnesses = evaluate(population);
+
+        for (int i = 0; i < fitnesses.length; ++i) {
+            population.get(i).setFitness(fitnesses[i]);
+        }
+    }
+
+    /**
+     * Returns copies of up to the provided number of the fittest chromosomes in the population, to be sent to
+     * another population, e.g. by an {@link org.iconic.ea.strategies.island.IslandModel island model}.
+     *
+     * @param population   The population to choose the emigrants from.
+     * @param numEmigrants The maximum number of emigrants to choose.
+     * @return Copies of the chosen emigrants, fittest first.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> getEmigrants(final List<T> population, final int numEmigrants) {
+        return population.stream()
+                .sorted(Comparator.comparing(Chromosome::getFitness))
+                .limit(numEmigrants)
+                .map(chromosome -> (T) chromosome.clone())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Evaluates the provided immigrants against the algorithm's objective and lets them into the population.
+     * Each immigrant replaces the least fit member of the population, given that it's not worse than that member.
+     *
+     * @param population The population to let the immigrants into.
+     * @param immigrants The chromosomes received from another population, these shouldn't be shared with it.
+     * @return The population after the immigrants have been let in.
+     */
+    public List<T> immigrate(final List<T> population, final List<T> immigrants) {
+        reevaluate(immigrants);
+
+        for (T immigrant : immigrants) {
+            int worst = -1;
+
+            for (int i = 0; i < population.size(); ++i) {
+                if (worst < 0 || population.get(i).getFitness() > population.get(worst).getFitness()) {
+                    worst = i;
+                }
+            }
+
+            if (worst > -1 && getObjective().isNotWorse(immigrant.getFitness(), population.get(worst).getFitness())) {
+                population.set(worst, immigrant);
+            }
+        }
+
+        return population;
+    }
+
+    /**
+     * Chooses the parents of a single offspring for steady-state evolution, e.g. by a
+     * {@link org.iconic.ea.strategies.steadystate.SteadyStateEvolution steady-state driver}. The parent is chosen by
+     * the algorithm's first selector, or uniformly at random if it has none.
+     * <p>
+     * This is called with exclusive access to the population, so selectors needn't be thread-safe.
+     *
+     * @param population The population to choose the parents from.
+     * @param random     The source of random numbers of the calling worker.
+     * @return The chosen parents, these must be members of the population.
+     */
+    public List<T> selectParents(final List<T> population, final RandomSource random) {
+        final T parent = getSelectors().isEmpty()
+                ? population.get(random.nextInt(population.size()))
+                : getSelector(0).apply(population, random);
+
+        return Collections.singletonList(parent);
+    }
+
+    /**
+     * Produces a single offspring from the provided parents for steady-state evolution, by mutating the first parent.
+     * The offspring isn't evaluated.
+     * <p>
+     * This may be called concurrently with every other steady-state method, so the parents mustn't be modified.
+     *
+     * @param parents The parents chosen by {@link #selectParents(List, RandomSource)}.
+     * @param random  The source of random numbers of the calling worker.
+     * @return A new offspring.
+     */
+    public T breed(final List<T> parents, final RandomSource random) {
+        assert (getMutators().size() > 0);
+
+        return getMutator(0).apply(getChromosomeFactory().getFunctionalPrimitives(), parents.get(0), random);
+    }
+
+    /**
+     * Evaluates an offspring produced by {@link #breed(List, RandomSource)} against the algorithm's objective. As the
+     * offspring only replaces its parent if it's not worse, it's rejected as soon as it's known to be worse than its
+     * parent.
+     * <p>
+     * This may be called concurrently with every other steady-state method, so it doesn't use the algorithm's
+     * evaluation executor.
+     *
+     * @param offspring The offspring to evaluate.
+     * @param parents   The parents of the offspring.
+     */
+    public void evaluateOffspring(final T offspring, final List<T> parents) {
+        if (offspring.isChanged()) {
+            offspring.setFitness(getObjective().apply(offspring, parents.get(0).getFitness()));
+        }
+    }
+
+    /**
+     * Lets an evaluated offspring into the population according to the algorithm's replacement rule. The offspring
+     * replaces its parent, given that it's not worse than its parent and its parent is still a member of the
+     * population.
+     * <p>
+     * This is called with exclusive access to the population.
+     *
+     * @param population The population to let the offspring into.
+     * @param parents    The parents of the offspring, which may have been replaced since they were chosen.
+     * @param offspring  The evaluated offspring.
+     * @return True if the offspring was let into the population.
+     */
+    public boolean replace(final List<T> population, final List<T> parents, final T offspring) {
+        final T parent = parents.get(0);
+
+        for (int i = 0; i < population.size(); ++i) {
+            if (population.get(i) == parent) {
+                if (getObjective().isNotWorse(offspring.getFitness(), parent.getFitness())) {
+                    population.set(i, offspring);
+                    return true;
+                }
+
+                return false;
+            }
+        }
+
+        return false;
+    }
+
     protected List<Crossover<T, R>> getCrossovers() {
         return crossovers;
     }
@@ -77,13 +309,7 @@ public abstract class EvolutionaryAlgorithm<T extends Chromosome<R>, R extends C
         return selectors;
     }
 
-    @SuppressWarnings("unchecked cast")
     public Objective<R> getObjective() {
-        if (isCached(objective)) {
-            CacheableObjective<R> cacheableObjective = (CacheableObjective<R>) getObjective();
-            return cacheableObjective.getObjective();
-        }
-
         return objective;
     }
 
@@ -111,23 +337,8 @@ public abstract class EvolutionaryAlgorithm<T extends Chromosome<R>, R extends C
         getSelectors().add(selector);
     }
 
-    @SuppressWarnings("unchecked cast")
     public void setObjective(final Objective<R> objective) {
-        if (isCached(objective)) {
-            this.objective = new CacheableObjective<R>(objective);
-        } else {
-            this.objective = objective;
-        }
-    }
-
-    private static boolean isCached(final Objective<?> objective) {
-        try {
-            Method m = EvolutionaryAlgorithm.class.getDeclaredMethod("setObjective", Objective.class);
-            return false;
-        } catch (NoSuchMethodException ex) {
-            log.warn("Method setObjective(Objective) not found");
-        }
-        return false;
+        this.objective = objective;
     }
 
     public List<T> getChromosomes() { return chromosomes; }
@@ -155,4 +366,31 @@ public abstract class EvolutionaryAlgorithm<T extends Chromosome<R>, R extends C
     public ChromosomeFactory<T, R> getChromosomeFactory() {
         return chromosomeFactory;
     }
+
+    public EvaluationExecutor getEvaluationExecutor() {
+        return evaluationExecutor;
+    }
+
+    /**
+     * Sets the executor used to evaluate batches of chromosomes. The previous executor isn't closed.
+     *
+     * @param evaluationExecutor The executor to evaluate chromosomes with.
+     */
+    public void setEvaluationExecutor(final EvaluationExecutor evaluationExecutor) {
+        this.evaluationExecutor = Objects.requireNonNull(evaluationExecutor, "An evaluation executor is required");
+    }
+
+    public RandomSource getRandom() {
+        return random;
+    }
+
+    /**
+     * Sets the source of random numbers the algorithm draws its decisions from, including the chromosomes of its
+     * initial population and the decisions of its operators. Steady-state workers draw from sources of their own.
+     *
+     * @param random The source of random numbers to draw from.
+     */
+    public void setRandom(final RandomSource random) {
+        this.random = Objects.requireNonNull(random, "A source of random numbers is required");
+    }
 }
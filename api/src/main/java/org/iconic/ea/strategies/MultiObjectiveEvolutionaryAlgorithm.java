@@ -21,8 +21,13 @@ import org.iconic.ea.chromosome.ChromosomeFactory;
 import org.iconic.ea.operator.evolutionary.selection.RandomUniformSelector;
 import org.iconic.ea.operator.evolutionary.selection.Selector;
 import org.iconic.ea.operator.evolutionary.selection.SequentialSelector;
+import org.iconic.ea.operator.objective.FitnessVector;
 import org.iconic.ea.operator.objective.MultiObjective;
 import org.iconic.ea.operator.objective.Objective;
+import org.iconic.ea.random.RandomSource;
+import org.iconic.ea.strategies.pareto.NonDominatedSorting;
+import org.iconic.ea.strategies.pareto.ParetoArchive;
+import org.iconic.ea.strategies.pareto.ParetoFront;
 
 import java.util.*;
 
@@ -38,7 +43,7 @@ import java.util.*;
 @Log4j2
 public abstract class MultiObjectiveEvolutionaryAlgorithm<R extends Chromosome<T>, T extends Comparable<T>>
         extends EvolutionaryAlgorithm<R, T> {
-    private final Set<R> archive;
+    private ParetoArchive<R> archive;
     private final Map<Objective<T>, Double> globals;
     private final Map<Objective<T>, R> globalChromosomes;
     private final Selector<R> defaultPrimarySelector;
@@ -85,7 +90,7 @@ public abstract class MultiObjectiveEvolutionaryAlgorithm<R extends Chromosome<T
             final Selector<R> primarySelector, final Selector<R> secondarySelector
     ) {
         super(chromosomeFactory);
-        this.archive = new LinkedHashSet<>();
+        this.archive = new ParetoArchive<>();
         this.globals = new LinkedHashMap<>();
         this.globalChromosomes = new LinkedHashMap<>();
         this.defaultPrimarySelector = primarySelector;
@@ -106,16 +111,171 @@ public abstract class MultiObjectiveEvolutionaryAlgorithm<R extends Chromosome<T
         getGlobalChromosomes().clear();
         getChromosomes().clear();
 
+        final List<R> chromosomes = new ArrayList<>(populationSize);
+
         for (int i = 0; i < populationSize; i++) {
-            final MultiObjective<T> objective = (MultiObjective<T>) getObjective();
-            final R chromosome = getChromosomeFactory().getChromosome();
-            getChromosomes().add(chromosome);
+            chromosomes.add(getChromosomeFactory().getChromosome(getRandom()));
+        }
 
-            objective.getGoals().forEach(goal ->
-                    addGlobal(getGlobals(), chromosome, goal)
-            );
-            getObjective().apply(chromosome);
+        getChromosomes().addAll(chromosomes);
+        evaluateGoals(chromosomes);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The fitness vectors computed by the objective are discarded and the global bests and archive are rebuilt from
+     * the provided population and the chromosomes that were archived, which are re-evaluated along with it rather
+     * than forgotten.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void reevaluate(final List<? extends R> population) {
+        assert (getObjective() instanceof MultiObjective);
+
+        final List<R> chromosomes = new ArrayList<>(population);
+        // Chromosomes are compared by identity, as distinct chromosomes with the same genome are otherwise equal
+        final Set<R> evaluated = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        evaluated.addAll(population);
+        for (final R chromosome : getArchive().snapshot()) {
+            if (evaluated.add(chromosome)) {
+                chromosomes.add(chromosome);
+            }
         }
+
+        ((MultiObjective<T>) getObjective()).invalidateFitnessVectors();
+        getGlobals().clear();
+        getGlobalChromosomes().clear();
+        getArchive().clear();
+        evaluateGoals(chromosomes);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The emigrants are chosen at random from the non-dominated chromosomes of the population.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<R> getEmigrants(final List<R> population, final int numEmigrants) {
+        final List<R> candidates = new ArrayList<>(getNonDominatedChromosomes(population));
+        final List<R> emigrants = new ArrayList<>(Math.min(numEmigrants, candidates.size()));
+
+        getRandom().shuffle(candidates);
+
+        for (int i = 0; i < candidates.size() && i < numEmigrants; ++i) {
+            emigrants.add((R) candidates.get(i).clone());
+        }
+
+        return emigrants;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each immigrant that isn't dominated by any member of the population replaces a member that it dominates, if
+     * there is one.
+     */
+    @Override
+    public List<R> immigrate(final List<R> population, final List<R> immigrants) {
+        evaluateGoals(immigrants);
+
+        for (final R immigrant : immigrants) {
+            if (isDominated(immigrant, population)) {
+                continue;
+            }
+
+            for (int i = 0; i < population.size(); ++i) {
+                if (isDominatedBy(getObjective(), population.get(i), immigrant)) {
+                    population.set(i, immigrant);
+                    break;
+                }
+            }
+        }
+
+        return population;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The first parent is chosen by the primary selector. If the algorithm has a crossover operator, a second parent
+     * is chosen by the secondary selector.
+     */
+    @Override
+    public List<R> selectParents(final List<R> population, final RandomSource random) {
+        if (getCrossovers().isEmpty()) {
+            return Collections.singletonList(getSelector(0).apply(population, random));
+        }
+
+        return Arrays.asList(getSelector(0).apply(population, random), getSelector(1).apply(population, random));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If two parents were chosen they're crossed over before the offspring is mutated.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public R breed(final List<R> parents, final RandomSource random) {
+        assert (getMutators().size() > 0);
+
+        final R offspring = (parents.size() > 1)
+                ? getCrossover(0).apply((R) parents.get(0).clone(), (R) parents.get(1).clone(), random)
+                : parents.get(0);
+
+        return getMutator(0).apply(getChromosomeFactory().getFunctionalPrimitives(), offspring, random);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The offspring's fitness vector is computed in full, as there's no single fitness it can be rejected by.
+     */
+    @Override
+    public void evaluateOffspring(final R offspring, final List<R> parents) {
+        assert (getObjective() instanceof MultiObjective);
+
+        getObjective().apply(offspring);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The offspring replaces the first parent it dominates. Otherwise it replaces the first parent that isn't a
+     * global best, given that the offspring is a new global best.
+     */
+    @Override
+    public boolean replace(final List<R> population, final List<R> parents, final R offspring) {
+        for (final R parent : parents) {
+            final boolean shouldReplace = isDominatedBy(getObjective(), parent, offspring)
+                    || (shouldReplace(getGlobals(), getObjective(), population, offspring) && !isGlobalBest(parent));
+
+            if (shouldReplace && replaceParent(getObjective(), population, parent, offspring)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns true if the provided chromosome is dominated by any member of the population.
+     *
+     * @param chromosome The chromosome to test.
+     * @param population The population to test against.
+     * @return True if the chromosome is dominated by a member of the population.
+     */
+    protected boolean isDominated(final R chromosome, final List<R> population) {
+        for (final R candidate : population) {
+            if (isDominatedBy(getObjective(), chromosome, candidate)) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     /**
@@ -136,14 +296,11 @@ public abstract class MultiObjectiveEvolutionaryAlgorithm<R extends Chromosome<T
     ) {
         assert (objective instanceof MultiObjective);
 
-        final MultiObjective<T> multiObjective = (MultiObjective<T>) objective;
         int i = population.indexOf(parent);
 
         if (i > -1) {
             population.set(i, offspring);
-            multiObjective.getGoals().parallelStream()
-                    .forEach(goal -> addGlobal(getGlobals(), offspring, goal));
-            multiObjective.apply(offspring);
+            evaluateGoals(Collections.singletonList(offspring));
 
             return true;
         }
@@ -174,14 +331,16 @@ public abstract class MultiObjectiveEvolutionaryAlgorithm<R extends Chromosome<T
         assert (objective instanceof MultiObjective);
 
         MultiObjective<T> multiObjective = (MultiObjective<T>) objective;
+        final FitnessVector fitC1 = multiObjective.getFitnessVector(c1);
+        final FitnessVector fitC2 = multiObjective.getFitnessVector(c2);
+        int i = 0;
 
         // If c2 performs worse for any goal it cannot dominate c1
         for (final Objective<T> goal : multiObjective.getGoals()) {
-            double fitC1 = goal.apply(c1);
-            double fitC2 = goal.apply(c2);
-            if (!goal.isNotWorse(fitC2, fitC1)) {
+            if (!goal.isNotWorse(fitC2.get(i), fitC1.get(i))) {
                 return false;
             }
+            ++i;
         }
         // Reaching here means that c2 must dominate c1
         return true;
@@ -209,13 +368,17 @@ public abstract class MultiObjectiveEvolutionaryAlgorithm<R extends Chromosome<T
         }
 
         final MultiObjective<T> multiObjective = (MultiObjective<T>) objective;
+        final FitnessVector fitness = multiObjective.getFitnessVector(chromosome);
+        int i = 0;
 
         // Check if the chromosome is a new global best
-        return multiObjective.getGoals().stream().map(goal ->
-                goal.isNotWorse(
-                        goal.apply(chromosome), globals.get(goal)
-                )
-        ).reduce(true, (x, y) -> x && y);
+        for (final Objective<T> goal : multiObjective.getGoals()) {
+            if (!goal.isNotWorse(fitness.get(i++), globals.get(goal))) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -229,7 +392,7 @@ public abstract class MultiObjectiveEvolutionaryAlgorithm<R extends Chromosome<T
             return c1;
         }
 
-        R child = getCrossover(0).apply(c1, c2);
+        R child = getCrossover(0).apply(c1, c2, getRandom());
         getObjective().apply(child);
 
         return child;
@@ -254,12 +417,15 @@ public abstract class MultiObjectiveEvolutionaryAlgorithm<R extends Chromosome<T
         for (int i = 0; i < getLambda(); ++i) {
             R child = getMutator(0).apply(
                     getChromosomeFactory().getFunctionalPrimitives(),
-                    chromosome
+                    chromosome,
+                    getRandom()
             );
-            getObjective().apply(child);
             children.add(child);
         }
 
+        // Evaluate all of the mutants as a single batch
+        evaluate(children);
+
         // Select the fittest mutant
         R bestChild = children.stream().reduce(children.get(0), (c1, c2) ->
                 isDominatedBy(getObjective(), c1, c2) ? c2 : c1
@@ -275,6 +441,33 @@ public abstract class MultiObjectiveEvolutionaryAlgorithm<R extends Chromosome<T
         return globals;
     }
 
+    /**
+     * Evaluates every goal of the algorithm's objective for each of the provided chromosomes, and then applies the
+     * objective itself. The chromosomes are evaluated as a single batch by the evaluation executor, after which
+     * the global bests and archive are updated in the order the chromosomes were provided.
+     *
+     * @param chromosomes The chromosomes to evaluate.
+     */
+    protected void evaluateGoals(final List<R> chromosomes) {
+        assert (getObjective() instanceof MultiObjective);
+
+        final MultiObjective<T> multiObjective = (MultiObjective<T>) getObjective();
+
+        // Applying the objective computes each chromosome's fitness vector
+        getEvaluationExecutor().forEach(chromosomes, multiObjective::apply);
+
+        for (final R chromosome : chromosomes) {
+            final FitnessVector fitness = multiObjective.getFitnessVector(chromosome);
+            int i = 0;
+
+            for (final Objective<T> goal : multiObjective.getGoals()) {
+                addGlobal(getGlobals(), chromosome, goal, fitness.get(i++));
+            }
+
+            getArchive().add(chromosome, getParetoPoint(chromosome));
+        }
+    }
+
     /**
      * Adds the provided fitness to the specified goal as a global best, given that it meets
      * all the criteria for being one.
@@ -287,9 +480,33 @@ public abstract class MultiObjectiveEvolutionaryAlgorithm<R extends Chromosome<T
             final R chromosome,
             final Objective<T> goal
     ) {
-        Double fitness = goal.apply(chromosome);
+        final MultiObjective<T> multiObjective = (MultiObjective<T>) getObjective();
+        final int i = multiObjective.getGoals().indexOf(goal);
+
+        // Prefer the chromosome's fitness vector over re-evaluating the goal
+        final double fitness = (i > -1)
+                ? multiObjective.getFitnessVector(chromosome).get(i)
+                : goal.apply(chromosome);
+
+        addGlobal(globals, chromosome, goal, fitness);
+    }
 
-        if (fitness.isNaN()) {
+    /**
+     * Adds the provided fitness to the specified goal as a global best, given that it meets
+     * all the criteria for being one.
+     *
+     * @param globals    The map of globals to which the goal belongs to.
+     * @param chromosome The chromosome the fitness belongs to.
+     * @param goal       The goal being tested against.
+     * @param fitness    The fitness of the chromosome according to the goal.
+     */
+    protected void addGlobal(
+            final Map<Objective<T>, Double> globals,
+            final R chromosome,
+            final Objective<T> goal,
+            final double fitness
+    ) {
+        if (Double.isNaN(fitness)) {
             log.warn("Attempting to add NaN to a global best");
             return;
         }
@@ -300,7 +517,6 @@ public abstract class MultiObjectiveEvolutionaryAlgorithm<R extends Chromosome<T
         ) {
             globals.put(goal, fitness);
             globalChromosomes.put(goal, chromosome);
-            archive.add(chromosome);
         }
     }
 
@@ -308,13 +524,13 @@ public abstract class MultiObjectiveEvolutionaryAlgorithm<R extends Chromosome<T
     public Selector<R> getSelector(int i) {
         switch (i) {
             case 0:
-                return (getSelectors().size() <= i || getSelector(i) == null)
+                return (getSelectors().size() <= i || getSelectors().get(i) == null)
                         ? defaultPrimarySelector
-                        : getSelector(i);
+                        : getSelectors().get(i);
             default:
-                return (getSelectors().size() <= i || getSelector(i) == null)
+                return (getSelectors().size() <= i || getSelectors().get(i) == null)
                         ? defaultSecondarySelector
-                        : getSelector(i);
+                        : getSelectors().get(i);
         }
     }
 
@@ -338,36 +554,89 @@ public abstract class MultiObjectiveEvolutionaryAlgorithm<R extends Chromosome<T
         this.lambda = (lambda < 1) ? 1 : lambda;
     }
 
-
-    public Set<R> getArchive() {
+    /**
+     * Returns the archive of the non-dominated chromosomes that the algorithm has evaluated since its population
+     * was last initialised.
+     *
+     * @return The algorithm's archive.
+     */
+    public ParetoArchive<R> getArchive() {
         return archive;
     }
 
+    /**
+     * Sets the archive that the algorithm adds the chromosomes it evaluates to, e.g. to change its capacity.
+     *
+     * @param archive The archive to use.
+     */
+    public void setArchive(final ParetoArchive<R> archive) {
+        this.archive = Objects.requireNonNull(archive);
+    }
+
     public Map<Objective<T>, R> getGlobalChromosomes() {
         return globalChromosomes;
     }
 
     /**
+     * Returns the chromosomes of the provided population that aren't dominated by any other member of it, in the
+     * order they appear in the population. Chromosomes with equal fitness vectors don't dominate each other.
      *
-     * @param population
-     * @return
+     * @param population The population to search.
+     * @return The non-dominated chromosomes of the population.
      */
     public Set<R> getNonDominatedChromosomes(List<R> population) {
-        Set<R> nonDominated = new LinkedHashSet<>();
+        if (population.isEmpty()) {
+            return new LinkedHashSet<>();
+        }
 
-        isDominated:
-        for (final R candidate : population) {
-            for (final R other : population) {
-                if (candidate.equals(other)) {
-                    continue;
-                }
-                if (isDominatedBy(getObjective(), candidate, other)) {
-                    continue isDominated;
-                }
+        return new LinkedHashSet<>(NonDominatedSorting.sort(population, this::getParetoPoint).get(0));
+    }
+
+    /**
+     * Returns the point of the provided chromosome in objective space, where every goal of the algorithm's objective
+     * is minimised. Goals that are maximised are negated, and NaN is treated as the worst value possible.
+     *
+     * @param chromosome The chromosome to locate.
+     * @return The point of the chromosome, with a value for each goal.
+     */
+    public double[] getParetoPoint(final R chromosome) {
+        assert (getObjective() instanceof MultiObjective);
+
+        final MultiObjective<T> multiObjective = (MultiObjective<T>) getObjective();
+        final FitnessVector fitness = multiObjective.getFitnessVector(chromosome);
+        final double[] point = new double[fitness.size()];
+
+        for (int i = 0; i < point.length; ++i) {
+            final double value = fitness.get(i);
+
+            if (Double.isNaN(value)) {
+                point[i] = Double.POSITIVE_INFINITY;
+            } else {
+                point[i] = multiObjective.getGoals().get(i).isNotWorse(0, 1) ? value : -value;
             }
-            nonDominated.add(candidate);
         }
 
-        return nonDominated;
+        return point;
+    }
+
+    /**
+     * Returns a new Pareto front containing the chromosomes of the provided population that aren't dominated by any
+     * other member of it. Of the chromosomes with equal fitness vectors, only the first is kept.
+     *
+     * @param population The population to build the front from.
+     * @return A Pareto front of the population.
+     */
+    protected ParetoFront<R> getParetoFront(final List<R> population) {
+        assert (getObjective() instanceof MultiObjective);
+
+        final ParetoFront<R> front = ParetoFront.forObjectives(
+                ((MultiObjective<T>) getObjective()).getGoals().size()
+        );
+
+        for (final R chromosome : population) {
+            front.add(chromosome, getParetoPoint(chromosome));
+        }
+
+        return front;
     }
 }
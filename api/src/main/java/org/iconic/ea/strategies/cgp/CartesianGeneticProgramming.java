@@ -21,6 +21,7 @@ import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
 import org.iconic.ea.chromosome.cartesian.CartesianChromosomeFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -33,11 +34,14 @@ public class CartesianGeneticProgramming<T extends Comparable<T>>
 
 	@Override
 	public void initialisePopulation(int populationSize){
+		List<CartesianChromosome<T>> chromosomes = new ArrayList<>(populationSize);
+
 		for (int i = 0; i < populationSize; i++) {
-			CartesianChromosome<T> chromosome = getChromosomeFactory().getChromosome();
-			getObjective().apply(chromosome);
-			getChromosomes().add(chromosome);
+			chromosomes.add(getChromosomeFactory().getChromosome(getRandom()));
 		}
+
+		evaluate(chromosomes);
+		getChromosomes().addAll(chromosomes);
 	}
 
 	@Override
@@ -45,21 +49,35 @@ public class CartesianGeneticProgramming<T extends Comparable<T>>
 		final Comparator<Chromosome<T>> comparator = Comparator.comparing(Chromosome::getFitness);
 		final CartesianChromosome<T> bestCandidate = population
 				.stream().min(comparator).get();
+		final List<List<CartesianChromosome<T>>> pools = new ArrayList<>(population.size());
+		final List<CartesianChromosome<T>> mutants = new ArrayList<>();
 
 		population.set(0, bestCandidate);
 
+		// Generate every pool of mutants up front so that they can be evaluated as a single batch
+		for(int populationIndex = 1; populationIndex < population.size(); populationIndex++){
+			List<CartesianChromosome<T>> children = mutate(bestCandidate);
+			pools.add(children);
+			mutants.addAll(children);
+		}
+
+		// Mutants that only changed unexpressed genes keep their parent's fitness, so they don't need evaluating
+		// Mutants are only kept if they're at least as fit as their parent, so they're rejected once they're worse
+		final double[] bounds = new double[mutants.size()];
+		Arrays.fill(bounds, bestCandidate.getFitness());
+		evaluateChanged(mutants, bounds);
+
 		for(int populationIndex = 1; populationIndex < population.size(); populationIndex++){
-			population.set(populationIndex, mutate(bestCandidate));
+			population.set(populationIndex, select(bestCandidate, pools.get(populationIndex - 1)));
 		}
 		return population;
 	}
 
-	private CartesianChromosome<T> mutate(CartesianChromosome<T> chromosome){
+	private List<CartesianChromosome<T>> mutate(CartesianChromosome<T> chromosome){
 		assert (getMutators().size() > 0);
 		Objects.requireNonNull(getObjective(), "An objective is required");
 
 		final int lambda = 4;
-        final Comparator<Chromosome<T>> comparator = Comparator.comparing(Chromosome::getFitness);
 
         // Generate a pool of mutants
 		List<CartesianChromosome<T>> children = new ArrayList<>(lambda);
@@ -67,12 +85,18 @@ public class CartesianGeneticProgramming<T extends Comparable<T>>
 		for (int i = 0; i < lambda; ++i) {
 			CartesianChromosome<T> child = getMutator(0).apply(
 					getChromosomeFactory().getFunctionalPrimitives(),
-					chromosome
+					chromosome,
+					getRandom()
 			);
-			getObjective().apply(child);
 			children.add(child);
 		}
 
+		return children;
+	}
+
+	private CartesianChromosome<T> select(CartesianChromosome<T> chromosome, List<CartesianChromosome<T>> children){
+        final Comparator<Chromosome<T>> comparator = Comparator.comparing(Chromosome::getFitness);
+
 		// Select the best mutant
         CartesianChromosome<T> bestChild = children
                 .stream().min(comparator).get();
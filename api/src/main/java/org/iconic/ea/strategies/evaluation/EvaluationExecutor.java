@@ -0,0 +1,144 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.evaluation;
+
+import org.iconic.ea.chromosome.Chromosome;
+import org.iconic.ea.operator.objective.Objective;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * <p>Defines how batches of chromosomes are evaluated by an evolutionary algorithm.
+ *
+ * <p>An executor may evaluate the chromosomes of a batch concurrently, but every method only returns once the whole
+ * batch has been evaluated and results are always returned in the order the chromosomes were submitted. As long as
+ * the objective being applied is deterministic the results are the same regardless of the executor used, so runs
+ * remain reproducible under a seed provided that all random decisions are made by the submitting thread.
+ *
+ * <p>A chromosome that appears more than once within a batch is only evaluated once, so that the same chromosome
+ * is never evaluated by two threads at the same time.
+ */
+public interface EvaluationExecutor extends AutoCloseable {
+    /**
+     * <p>Runs the provided task once for every index from zero up to, but excluding, the number of tasks and returns
+     * once every task has finished.
+     *
+     * <p>Tasks may run concurrently, so each task should only write to state owned by its index. Any exception
+     * thrown by a task is rethrown to the caller.
+     *
+     * @param numTasks The number of tasks to run
+     * @param task     The task to run for each index
+     */
+    void execute(final int numTasks, final IntConsumer task);
+
+    /**
+     * <p>Applies the provided objective to every chromosome in the batch.
+     *
+     * @param objective   The objective to apply
+     * @param chromosomes The chromosomes to evaluate
+     * @param <T>         The type of data used by the chromosomes
+     * @return the fitness of each chromosome, in the same order as the batch
+     */
+    default <T extends Comparable<T>> double[] evaluate(
+            final Objective<T> objective, final List<? extends Chromosome<T>> chromosomes
+    ) {
+        return evaluate(objective, chromosomes, null);
+    }
+
+    /**
+     * <p>Applies the provided objective to every chromosome in the batch, rejecting each chromosome as soon as it's
+     * known to be worse than its bound.
+     *
+     * <p>A chromosome that appears more than once within the batch is evaluated against the loosest of its bounds.
+     *
+     * @param objective   The objective to apply
+     * @param chromosomes The chromosomes to evaluate
+     * @param bounds      The worst fitness of interest for each chromosome, or null to evaluate every chromosome
+     *                    in full
+     * @param <T>         The type of data used by the chromosomes
+     * @return the fitness of each chromosome, in the same order as the batch
+     * @see Objective#apply(Chromosome, double)
+     */
+    default <T extends Comparable<T>> double[] evaluate(
+            final Objective<T> objective, final List<? extends Chromosome<T>> chromosomes, final double[] bounds
+    ) {
+        assert (bounds == null || bounds.length == chromosomes.size());
+
+        // Each chromosome is mapped to its fitness followed by its bound
+        final Map<Chromosome<T>, double[]> fitnesses = new IdentityHashMap<>(chromosomes.size());
+        final List<Chromosome<T>> distinct = new ArrayList<>(chromosomes.size());
+
+        for (int i = 0; i < chromosomes.size(); ++i) {
+            final Chromosome<T> chromosome = chromosomes.get(i);
+            final double bound = (bounds == null) ? objective.getWorstValue() : bounds[i];
+            final double[] entry = fitnesses.get(chromosome);
+
+            if (entry == null) {
+                fitnesses.put(chromosome, new double[]{0, bound});
+                distinct.add(chromosome);
+            } else if (objective.isNotWorse(entry[1], bound)) {
+                entry[1] = bound;
+            }
+        }
+
+        execute(distinct.size(), i -> {
+            final double[] entry = fitnesses.get(distinct.get(i));
+            entry[0] = (bounds == null)
+                    ? objective.apply(distinct.get(i))
+                    : objective.apply(distinct.get(i), entry[1]);
+        });
+
+        final double[] results = new double[chromosomes.size()];
+
+        for (int i = 0; i < results.length; ++i) {
+            results[i] = fitnesses.get(chromosomes.get(i))[0];
+        }
+
+        return results;
+    }
+
+    /**
+     * <p>Performs the provided action once for every distinct item in the batch.
+     *
+     * @param items  The items to perform the action on
+     * @param action The action to perform
+     * @param <C>    The type of the items
+     */
+    default <C> void forEach(final List<? extends C> items, final Consumer<? super C> action) {
+        final Map<C, Boolean> seen = new IdentityHashMap<>(items.size());
+        final List<C> distinct = new ArrayList<>(items.size());
+
+        for (C item : items) {
+            if (seen.put(item, Boolean.TRUE) == null) {
+                distinct.add(item);
+            }
+        }
+
+        execute(distinct.size(), i -> action.accept(distinct.get(i)));
+    }
+
+    /**
+     * <p>Releases any threads held by this executor, the executor shouldn't be used afterwards.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.evaluation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * {@inheritDoc}
+ * <p>
+ * An evaluation executor that shares each batch between a fixed number of threads. The submitting thread takes
+ * part in evaluating the batch, so a pool of n threads evaluates up to n + 1 chromosomes at once.
+ */
+public class FixedPoolEvaluationExecutor implements EvaluationExecutor {
+    private final ExecutorService pool;
+    private final int numThreads;
+
+    /**
+     * <p>Constructs a new evaluation executor backed by the provided number of threads.
+     *
+     * @param numThreads The number of threads in the pool
+     */
+    public FixedPoolEvaluationExecutor(final int numThreads) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("At least one thread is required, but " + numThreads + " were given.");
+        }
+
+        final AtomicInteger threadCount = new AtomicInteger();
+
+        this.numThreads = numThreads;
+        this.pool = Executors.newFixedThreadPool(numThreads, runnable -> {
+            final Thread thread = new Thread(runnable, "evaluation-" + threadCount.incrementAndGet());
+            // Don't keep the JVM alive just because the executor wasn't closed
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(final int numTasks, final IntConsumer task) {
+        if (numTasks < 1) {
+            return;
+        }
+
+        // Each worker claims the next unevaluated task until the batch is exhausted, a failure exhausts the batch
+        final AtomicInteger next = new AtomicInteger();
+        final Runnable worker = () -> {
+            try {
+                for (int i = next.getAndIncrement(); i < numTasks; i = next.getAndIncrement()) {
+                    task.accept(i);
+                }
+            } catch (RuntimeException | Error ex) {
+                next.set(numTasks);
+                throw ex;
+            }
+        };
+
+        final int numWorkers = Math.min(numThreads, numTasks - 1);
+        final List<Future<?>> futures = new ArrayList<>(numWorkers);
+
+        for (int i = 0; i < numWorkers; ++i) {
+            futures.add(pool.submit(worker));
+        }
+
+        try {
+            worker.run();
+        } catch (RuntimeException | Error ex) {
+            // The batch mustn't be in use by the pool once control is returned to the caller
+            awaitAll(futures, ex);
+            throw ex;
+        }
+
+        awaitAll(futures, null);
+    }
+
+    /**
+     * <p>Waits for every provided future to complete. If no failure has occurred yet, the first failure of a future
+     * is rethrown once all of them have completed.
+     *
+     * @param futures The futures to wait on
+     * @param failure The failure that has already occurred, or null
+     */
+    private static void awaitAll(final List<Future<?>> futures, final Throwable failure) {
+        Throwable first = failure;
+        boolean interrupted = false;
+
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                } catch (ExecutionException ex) {
+                    first = (first != null) ? first : ex.getCause();
+                    break;
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (failure == null && first != null) {
+            if (first instanceof Error) {
+                throw (Error) first;
+            }
+
+            throw (first instanceof RuntimeException)
+                    ? (RuntimeException) first
+                    : new IllegalStateException(first);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
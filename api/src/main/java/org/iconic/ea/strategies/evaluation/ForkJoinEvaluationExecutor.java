@@ -0,0 +1,101 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.evaluation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * {@inheritDoc}
+ * <p>
+ * An evaluation executor that splits each batch across a fork-join pool.
+ */
+public class ForkJoinEvaluationExecutor implements EvaluationExecutor {
+    private final ForkJoinPool pool;
+    private final boolean shared;
+
+    /**
+     * <p>Constructs a new fork-join evaluation executor that uses the common pool.
+     */
+    public ForkJoinEvaluationExecutor() {
+        this.pool = ForkJoinPool.commonPool();
+        this.shared = true;
+    }
+
+    /**
+     * <p>Constructs a new fork-join evaluation executor with its own pool of the provided parallelism.
+     *
+     * @param parallelism The number of threads to evaluate chromosomes with
+     */
+    public ForkJoinEvaluationExecutor(final int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.shared = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(final int numTasks, final IntConsumer task) {
+        // Don't bother handing a single task off to another thread
+        if (numTasks == 1) {
+            task.accept(0);
+        } else if (numTasks > 1) {
+            pool.invoke(new EvaluationTask(task, 0, numTasks));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The common pool is never shut down.
+     */
+    @Override
+    public void close() {
+        if (!shared) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * <p>Recursively halves a range of tasks until each task can be run on its own, as every evaluation
+     * is expensive enough to be worth stealing.
+     */
+    private static final class EvaluationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IntConsumer task;
+        private final int from;
+        private final int to;
+
+        private EvaluationTask(final IntConsumer task, final int from, final int to) {
+            this.task = task;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                task.accept(from);
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new EvaluationTask(task, from, middle), new EvaluationTask(task, middle, to));
+            }
+        }
+    }
+}
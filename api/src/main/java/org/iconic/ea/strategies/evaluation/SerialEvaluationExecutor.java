@@ -0,0 +1,35 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.evaluation;
+
+import java.util.function.IntConsumer;
+
+/**
+ * {@inheritDoc}
+ * <p>
+ * An evaluation executor that evaluates every chromosome on the calling thread, one after another.
+ */
+public class SerialEvaluationExecutor implements EvaluationExecutor {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(final int numTasks, final IntConsumer task) {
+        for (int i = 0; i < numTasks; ++i) {
+            task.accept(i);
+        }
+    }
+}
@@ -21,10 +21,10 @@ import org.iconic.ea.chromosome.Chromosome;
 import org.iconic.ea.chromosome.expression.ExpressionChromosome;
 import org.iconic.ea.chromosome.expression.ExpressionChromosomeFactory;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ThreadLocalRandom;
 
 @Log4j2
 public class GeneExpressionProgramming<T extends Comparable<T>>
@@ -34,11 +34,14 @@ public class GeneExpressionProgramming<T extends Comparable<T>>
     }
 
     public void initialisePopulation(int populationSize) {
+        List<ExpressionChromosome<T>> chromosomes = new ArrayList<>(populationSize);
+
         for (int i = 0; i < populationSize; i++) {
-            ExpressionChromosome<T> chromosome = getChromosomeFactory().getChromosome();
-            getObjective().apply(chromosome);
-            getChromosomes().add(chromosome);
+            chromosomes.add(getChromosomeFactory().getChromosome(getRandom()));
         }
+
+        evaluate(chromosomes);
+        getChromosomes().addAll(chromosomes);
     }
 
     @Override
@@ -50,18 +53,61 @@ public class GeneExpressionProgramming<T extends Comparable<T>>
         final ExpressionChromosome<T> bestCandidate = population
                 .stream().min(comparator).get();
 
-        for (int i = 0, populationSize = population.size(); i < populationSize; i++) {
+        final int populationSize = population.size();
+        final List<ExpressionChromosome<T>> batch = new ArrayList<>();
+        // The worst fitness of interest for each chromosome in the batch
+        final List<Double> bounds = new ArrayList<>();
+        // The position within the batch of each member's offspring, or -1 if it has none
+        final int[] offspring = new int[populationSize];
+        final int[] parents = new int[populationSize];
+
+        // Generate all of the offspring first so they can be evaluated as a single batch
+        for (int i = 0; i < populationSize; i++) {
             ExpressionChromosome<T> c = population.get(i);
+            offspring[i] = -1;
+            parents[i] = -1;
+
             // Perform crossover
-            if (ThreadLocalRandom.current().nextDouble(0, 1) <= crossoverChance) {
+            if (getRandom().nextDouble() <= crossoverChance) {
                 if (!c.equals(bestCandidate)) {
-                    population.set(i, crossover(bestCandidate, c));
+                    offspring[i] = batch.size();
+                    batch.add(crossover(bestCandidate, c));
+                    bounds.add(getObjective().getWorstValue());
                 }
             }
 
-            // Perform mutation
-            if (ThreadLocalRandom.current().nextDouble(0, 1) <= mutationChance) {
-                population.set(i, mutate(c));
+            // Perform mutation, the mutant takes the place of any crossover offspring
+            if (getRandom().nextDouble() <= mutationChance) {
+                if (offspring[i] > -1) {
+                    batch.remove(offspring[i]);
+                    bounds.remove(offspring[i]);
+                }
+
+                // A mutant is only kept if it's at least as fit as its parent, so it's rejected once it's worse
+                offspring[i] = batch.size();
+                batch.add(mutate(c));
+                bounds.add(c.getFitness());
+                parents[i] = batch.size();
+                batch.add(c);
+                bounds.add(getObjective().getWorstValue());
+            }
+        }
+
+        // Parents and neutral mutants haven't changed since they were last evaluated, so they keep their fitness
+        final double[] fitnesses = evaluateChanged(
+                batch, bounds.stream().mapToDouble(Double::doubleValue).toArray()
+        );
+
+        for (int i = 0; i < populationSize; i++) {
+            if (offspring[i] < 0) {
+                continue;
+            }
+
+            final ExpressionChromosome<T> child = batch.get(offspring[i]);
+
+            // A mutant only replaces its parent if it's objectively better or equivalent to its parent
+            if (parents[i] < 0 || fitnesses[offspring[i]] <= fitnesses[parents[i]]) {
+                population.set(i, child);
             }
         }
 
@@ -71,30 +117,17 @@ public class GeneExpressionProgramming<T extends Comparable<T>>
     private ExpressionChromosome<T> crossover(ExpressionChromosome<T> c1, ExpressionChromosome<T> c2) {
         assert (getCrossovers().size() > 0);
 
-        ExpressionChromosome<T> child = getCrossover(0).apply(c1, c2);
-        getObjective().apply(child);
-
-        return child;
+        return getCrossover(0).apply(c1, c2, getRandom());
     }
 
     private ExpressionChromosome<T> mutate(ExpressionChromosome<T> chromosome) {
         assert (getMutators().size() > 0);
         Objects.requireNonNull(getObjective(), "An objective is required");
 
-        ExpressionChromosome<T> child = getMutator(0).apply(
+        return getMutator(0).apply(
                 getChromosomeFactory().getFunctionalPrimitives(),
-                chromosome
+                chromosome,
+                getRandom()
         );
-
-        // Evaluate the fitness of both chromosomes
-        double parentFitness = getObjective().apply(chromosome);
-        double childFitness = getObjective().apply(child);
-
-        // Return the new chromosome if it's objectively better or equivalent to its parent
-        if (childFitness <= parentFitness) {
-            return child;
-        }
-
-        return chromosome;
     }
 }
@@ -25,10 +25,10 @@ import org.iconic.ea.operator.evolutionary.selection.SequentialSelector;
 import org.iconic.ea.operator.objective.MultiObjective;
 import org.iconic.ea.operator.objective.Objective;
 import org.iconic.ea.strategies.MultiObjectiveEvolutionaryAlgorithm;
+import org.iconic.ea.random.RandomSource;
+import org.iconic.ea.strategies.pareto.ParetoFront;
 
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.Collectors;
 
 /**
  * {@inheritDoc}
@@ -44,6 +44,9 @@ import java.util.stream.Collectors;
 @Log4j2
 public class GSEMO<R extends Chromosome<T>, T extends Comparable<T>>
         extends MultiObjectiveEvolutionaryAlgorithm<R, T> {
+    private ParetoFront<R> front;
+    // The members of the population the front was last kept of, in the population's order
+    private List<R> frontMembers;
 
     /**
      * {@inheritDoc}
@@ -65,10 +68,10 @@ public class GSEMO<R extends Chromosome<T>, T extends Comparable<T>>
     @Override
     @SuppressWarnings("unchecked")
     public List<R> evolve(List<R> population) {
-        List<R> newPopulation = elitism(population);
+        final ParetoFront<R> front = getFront(population);
         // Select a parent using the selector
         // Exactly one parent is required
-        final R parent = getSelector(0).apply(newPopulation);
+        final R parent = getSelector(0).apply(front.getElements(), getRandom());
 
         // Create a single offspring by performing crossover and mutation on the parent
         R offspring = mutate((R) parent.clone());
@@ -76,39 +79,112 @@ public class GSEMO<R extends Chromosome<T>, T extends Comparable<T>>
         // Continue evolving the offspring based on its parent's length
         // reducing the probability of evolution with each attempt
         for (int j = 2; j <= parent.getSize(); ++j) {
-            if ((1. / (double) j) >= ThreadLocalRandom.current().nextDouble()) {
+            if ((1. / (double) j) >= getRandom().nextDouble()) {
                 offspring = mutate(offspring);
             }
         }
-        // Check if the offspring is dominated by any existing members in the population
-        for (final R candidate : newPopulation) {
-            // If so, return the old population
-            if (isDominatedBy(getObjective(), offspring, candidate)) {
-                return newPopulation;
-            }
+
+        // Add the offspring unless it's dominated by any existing member of the population,
+        // removing all of the members it dominates
+        if (front.add(offspring, getParetoPoint(offspring))) {
+            // Update objective vector with the offspring
+            evaluateGoals(Collections.singletonList(offspring));
         }
 
-        final R bestCandidate = offspring;
+        return setFront(front.getElements());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As the population only contains non-dominated solutions, every immigrant that isn't dominated by any member
+     * of the population is added to it and replaces all of the members it dominates.
+     */
+    @Override
+    public List<R> immigrate(final List<R> population, final List<R> immigrants) {
+        evaluateGoals(immigrants);
+
+        final ParetoFront<R> front = getFront(population);
 
-        // Remove all dominated solutions from the population
-        newPopulation = newPopulation.stream()
-                .filter(candidate -> ! isDominatedBy(getObjective(), candidate, bestCandidate))
-                .collect(Collectors.toList());
-        // Add the new non-dominated offspring
-        if (!newPopulation.contains(bestCandidate)) {
-            newPopulation.add(bestCandidate);
+        for (final R immigrant : immigrants) {
+            front.add(immigrant, getParetoPoint(immigrant));
         }
 
-        // Update objective vector with the offspring
-        MultiObjective<T> multiObjective = (MultiObjective<T>) getObjective();
-        multiObjective.getGoals().parallelStream()
-                .forEach(goal -> addGlobal(getGlobals(), bestCandidate, goal));
-        multiObjective.apply(bestCandidate);
+        return setFront(front.getElements());
+    }
 
-        setChromosomes(newPopulation);
-        return newPopulation;
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void initialisePopulation(int populationSize) {
+        super.initialisePopulation(populationSize);
+        front = null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The Pareto front kept of the population is rebuilt, as the fitness vectors of its members may have changed.
+     */
+    @Override
+    public void reevaluate(final List<? extends R> population) {
+        super.reevaluate(population);
+        front = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A single parent is chosen by the primary selector.
+     */
+    @Override
+    public List<R> selectParents(final List<R> population, final RandomSource random) {
+        return Collections.singletonList(getSelector(0).apply(population, random));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The offspring is mutated once, and then mutated again based on its parent's length with the probability of
+     * each further mutation decreasing, as during a generation. Unlike a generation, only a single mutant is created
+     * at each step.
+     */
+    @Override
+    public R breed(final List<R> parents, final RandomSource random) {
+        final R parent = parents.get(0);
+        R offspring = getMutator(0).apply(getChromosomeFactory().getFunctionalPrimitives(), parent, random);
+
+        for (int j = 2; j <= parent.getSize(); ++j) {
+            if ((1. / (double) j) >= random.nextDouble()) {
+                offspring = getMutator(0).apply(getChromosomeFactory().getFunctionalPrimitives(), offspring, random);
+            }
+        }
+
+        return offspring;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * An offspring that isn't dominated by any member of the population is added to it and replaces all of the
+     * members it dominates, whether or not they're its parents.
+     */
+    @Override
+    public boolean replace(final List<R> population, final List<R> parents, final R offspring) {
+        final ParetoFront<R> front = getFront(population);
+
+        if (!front.add(offspring, getParetoPoint(offspring))) {
+            return false;
+        }
+
+        population.clear();
+        population.addAll(front.getElements());
+        frontMembers = new ArrayList<>(population);
+        evaluateGoals(Collections.singletonList(offspring));
+
+        return true;
+    }
 
     /**
      * {@inheritDoc}
@@ -117,4 +193,54 @@ public class GSEMO<R extends Chromosome<T>, T extends Comparable<T>>
     public Set<R> getNonDominatedChromosomes(List<R> population) {
         return new LinkedHashSet<>(getChromosomes());
     }
+    /**
+     * Returns the Pareto front kept of the provided population. The front is rebuilt unless the population holds
+     * exactly the members the front was kept of, in the same order, so that members added, removed or replaced in
+     * place since are never missed.
+     *
+     * @param population The population whose front to return.
+     * @return The Pareto front of the population.
+     */
+    private ParetoFront<R> getFront(final List<R> population) {
+        if (front == null || !isFrontOf(population)) {
+            front = getParetoFront(population);
+            frontMembers = new ArrayList<>(population);
+        }
+
+        return front;
+    }
+
+    /**
+     * Returns true if the front was last kept of a population with the same members as the provided population.
+     *
+     * @param population The population to compare the front's members to.
+     * @return True if every member of the population is a member the front was kept of, in the same order.
+     */
+    private boolean isFrontOf(final List<R> population) {
+        if (frontMembers == null || frontMembers.size() != population.size()) {
+            return false;
+        }
+
+        // Members are compared by identity, as distinct chromosomes with the same genome are otherwise equal
+        for (int i = 0; i < population.size(); ++i) {
+            if (frontMembers.get(i) != population.get(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Makes the provided list of the front's members the algorithm's population.
+     *
+     * @param population The members of the front.
+     * @return The new population.
+     */
+    private List<R> setFront(final List<R> population) {
+        frontMembers = new ArrayList<>(population);
+        setChromosomes(population);
+
+        return population;
+    }
 }
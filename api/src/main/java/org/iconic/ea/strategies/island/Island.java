@@ -0,0 +1,141 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.island;
+
+import org.iconic.ea.chromosome.Chromosome;
+import org.iconic.ea.strategies.EvolutionaryAlgorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * <p>A single population of an {@link IslandModel island model}, evolved by its own evolutionary algorithm.
+ *
+ * <p>An island is only ever evolved by one thread at a time. Other islands only interact with it through its
+ * queue of immigrants, which is lock-free, so islands never wait on one another.
+ *
+ * @param <T> The type of chromosome used by the island
+ * @param <R> The type of data used by the chromosomes
+ */
+public class Island<T extends Chromosome<R>, R extends Comparable<R>> {
+    private final int index;
+    private final EvolutionaryAlgorithm<T, R> algorithm;
+    private final Queue<T> immigrants;
+    private List<T> population;
+    private int generation;
+
+    /**
+     * <p>Constructs a new island that evolves its population using the provided algorithm.
+     *
+     * @param index     The index of the island within its model
+     * @param algorithm The algorithm used to evolve the island's population
+     */
+    Island(final int index, final EvolutionaryAlgorithm<T, R> algorithm) {
+        this.index = index;
+        this.algorithm = algorithm;
+        this.immigrants = new ConcurrentLinkedQueue<>();
+        this.population = new ArrayList<>();
+        this.generation = 0;
+    }
+
+    /**
+     * <p>Initialises the population of the island.
+     *
+     * @param populationSize The size of the initial population
+     */
+    void initialisePopulation(final int populationSize) {
+        algorithm.initialisePopulation(populationSize);
+        immigrants.clear();
+        population = algorithm.getChromosomes();
+        generation = 0;
+    }
+
+    /**
+     * <p>Evolves the population of the island by a single generation.
+     */
+    void evolve() {
+        population = algorithm.evolve(population);
+        ++generation;
+    }
+
+    /**
+     * <p>Lets every immigrant that has arrived since the last time this method was called into the population.
+     *
+     * @return the number of immigrants that arrived
+     */
+    int admitImmigrants() {
+        final List<T> arrivals = new ArrayList<>();
+
+        for (T immigrant = immigrants.poll(); immigrant != null; immigrant = immigrants.poll()) {
+            arrivals.add(immigrant);
+        }
+
+        if (!arrivals.isEmpty()) {
+            population = algorithm.immigrate(population, arrivals);
+        }
+
+        return arrivals.size();
+    }
+
+    /**
+     * <p>Sends the provided emigrants to this island, they're let in once the island finishes its current
+     * generation.
+     *
+     * @param emigrants The chromosomes to send, these mustn't be shared with any other island
+     */
+    void receive(final List<T> emigrants) {
+        immigrants.addAll(emigrants);
+    }
+
+    /**
+     * <p>Returns the index of this island within its model.
+     *
+     * @return the index of the island
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * <p>Returns the algorithm used to evolve this island's population.
+     *
+     * @return the algorithm of the island
+     */
+    public EvolutionaryAlgorithm<T, R> getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * <p>Returns the current population of this island. The population should only be accessed by the thread
+     * evolving the island, or while the model isn't evolving.
+     *
+     * @return the population of the island
+     */
+    public List<T> getPopulation() {
+        return population;
+    }
+
+    /**
+     * <p>Returns the number of generations this island has been evolved for since it was initialised.
+     *
+     * @return the generation of the island
+     */
+    public int getGeneration() {
+        return generation;
+    }
+}
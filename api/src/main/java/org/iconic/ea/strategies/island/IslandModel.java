@@ -0,0 +1,342 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.island;
+
+import lombok.extern.log4j.Log4j2;
+import org.iconic.ea.chromosome.Chromosome;
+import org.iconic.ea.strategies.EvolutionaryAlgorithm;
+import org.iconic.ea.strategies.evaluation.EvaluationExecutor;
+import org.iconic.ea.strategies.evaluation.FixedPoolEvaluationExecutor;
+import org.iconic.ea.strategies.evaluation.SerialEvaluationExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Runs several independent instances of an evolutionary algorithm in parallel, each evolving its own population
+ * on its own thread, and periodically migrates copies of the fittest chromosomes of each island to others.
+ *
+ * <p>By default islands are never synchronised with each other while evolving. Emigrants are placed on a lock-free
+ * queue of their destination and are let in once the destination finishes its current generation, so a slow island
+ * never holds up the others. As a result, runs aren't reproducible even if each algorithm is. A
+ * {@link #setSynchronous(boolean) synchronous} model instead waits for every island to finish each generation before
+ * migrating, so that a run is repeated exactly given the same seeds.
+ *
+ * <p>Each island must have its own instance of the algorithm and objective, as they're used concurrently with those
+ * of other islands. Every random decision an island makes, including those of its operators and of its chromosome
+ * factory, is drawn from the source of its algorithm, so each algorithm should be given its own
+ * {@link org.iconic.ea.random.RandomSource#split() split} of a seeded source. Chromosome factories and operators
+ * hold no random state of their own, and can be shared as long as they're otherwise thread-safe.
+ *
+ * @param <T> The type of chromosome used by the islands
+ * @param <R> The type of data used by the chromosomes
+ */
+@Log4j2
+public class IslandModel<T extends Chromosome<R>, R extends Comparable<R>> implements AutoCloseable {
+    private final List<Island<T, R>> islands;
+    private final MigrationTopology topology;
+    private final EvaluationExecutor executor;
+    private final LongAdder migrations;
+    private int migrationInterval;
+    private int migrationSize;
+    private boolean synchronous;
+
+    /**
+     * <p>Constructs a new island model with one island for each of the provided algorithms, which migrates a
+     * single chromosome from each island every ten generations.
+     *
+     * @param algorithms The algorithms used to evolve each island, every algorithm must be a distinct instance
+     * @param topology   The topology that decides which islands emigrants are sent to
+     */
+    public IslandModel(final List<? extends EvolutionaryAlgorithm<T, R>> algorithms, final MigrationTopology topology) {
+        if (algorithms.isEmpty()) {
+            throw new IllegalArgumentException("At least one island is required.");
+        }
+
+        final List<Island<T, R>> islands = new ArrayList<>(algorithms.size());
+
+        for (EvolutionaryAlgorithm<T, R> algorithm : algorithms) {
+            islands.add(new Island<>(islands.size(), algorithm));
+        }
+
+        this.islands = Collections.unmodifiableList(islands);
+        this.topology = topology;
+        // The calling thread evolves an island of its own
+        this.executor = (islands.size() > 1)
+                ? new FixedPoolEvaluationExecutor(islands.size() - 1)
+                : new SerialEvaluationExecutor();
+        this.migrations = new LongAdder();
+        this.migrationInterval = 10;
+        this.migrationSize = 1;
+        this.synchronous = false;
+    }
+
+    /**
+     * <p>Initialises the population of every island in parallel.
+     *
+     * @param populationSize The size of each island's initial population
+     */
+    public void initialisePopulation(final int populationSize) {
+        executor.execute(islands.size(), i -> islands.get(i).initialisePopulation(populationSize));
+    }
+
+    /**
+     * <p>Evolves every island for the provided number of generations, returning once every island has finished.
+     *
+     * @param generations The number of generations to evolve each island for
+     */
+    public void evolve(final int generations) {
+        evolve(generations, (island, generation) -> {
+        });
+    }
+
+    /**
+     * <p>Evolves every island for the provided number of generations, returning once every island has finished.
+     * The listener is called by each island's thread after each of its generations, once any immigrants have been
+     * let in. If the model is synchronous, the listener is instead called by the calling thread for each island in
+     * turn.
+     *
+     * @param generations The number of generations to evolve each island for
+     * @param listener    The listener to notify after each generation
+     */
+    public void evolve(final int generations, final GenerationListener<T, R> listener) {
+        if (isSynchronous()) {
+            evolveSynchronously(generations, listener);
+            return;
+        }
+
+        executor.execute(islands.size(), i -> {
+            final Island<T, R> island = islands.get(i);
+
+            for (int g = 0; g < generations; ++g) {
+                island.evolve();
+
+                if (island.getGeneration() % getMigrationInterval() == 0) {
+                    emigrate(island);
+                }
+
+                island.admitImmigrants();
+                listener.onGeneration(island, island.getGeneration());
+            }
+        });
+    }
+
+    /**
+     * <p>Evolves every island for the provided number of generations in lockstep. Each generation of the islands is
+     * evolved in parallel, after which emigrants are sent and let in, in the order of the islands, so that the
+     * outcome doesn't depend on the timing of the threads.
+     *
+     * @param generations The number of generations to evolve each island for
+     * @param listener    The listener to notify after each generation
+     */
+    private void evolveSynchronously(final int generations, final GenerationListener<T, R> listener) {
+        for (int g = 0; g < generations; ++g) {
+            executor.execute(islands.size(), i -> islands.get(i).evolve());
+
+            for (Island<T, R> island : islands) {
+                if (island.getGeneration() % getMigrationInterval() == 0) {
+                    emigrate(island);
+                }
+            }
+
+            for (Island<T, R> island : islands) {
+                island.admitImmigrants();
+                listener.onGeneration(island, island.getGeneration());
+            }
+        }
+    }
+
+    /**
+     * <p>Sends copies of the fittest chromosomes of the provided island to each of its destinations.
+     *
+     * @param island The island to send emigrants from
+     */
+    private void emigrate(final Island<T, R> island) {
+        final EvolutionaryAlgorithm<T, R> algorithm = island.getAlgorithm();
+
+        for (int destination : topology.getDestinations(
+                island.getIndex(), islands.size(), algorithm.getRandom()
+        )) {
+            // Every destination receives its own copies, as they'll be evolved independently
+            final List<T> emigrants = algorithm.getEmigrants(island.getPopulation(), getMigrationSize());
+
+            islands.get(destination).receive(emigrants);
+            migrations.add(emigrants.size());
+        }
+    }
+
+    /**
+     * <p>Returns copies of the fittest chromosomes of every island, with up to the migration size taken from each
+     * island. This is intended for sending emigrants outside of the model, e.g. to another process, so it should
+     * only be called while the model isn't evolving.
+     *
+     * @return copies of the emigrants of every island
+     */
+    public List<T> getEmigrants() {
+        final List<T> emigrants = new ArrayList<>();
+
+        for (Island<T, R> island : islands) {
+            emigrants.addAll(island.getAlgorithm().getEmigrants(island.getPopulation(), getMigrationSize()));
+        }
+
+        return emigrants;
+    }
+
+    /**
+     * <p>Shares the provided immigrants from outside of the model between its islands, they're let into each island
+     * once it finishes its current generation. This may be called while the model is evolving.
+     *
+     * @param immigrants The chromosomes to share, these mustn't be shared with anything else
+     */
+    public void receive(final List<T> immigrants) {
+        final List<List<T>> arrivals = new ArrayList<>(islands.size());
+
+        for (int i = 0; i < islands.size(); ++i) {
+            arrivals.add(new ArrayList<>());
+        }
+
+        for (int i = 0; i < immigrants.size(); ++i) {
+            arrivals.get(i % islands.size()).add(immigrants.get(i));
+        }
+
+        for (int i = 0; i < islands.size(); ++i) {
+            islands.get(i).receive(arrivals.get(i));
+        }
+    }
+
+    /**
+     * <p>Returns the chromosomes of every island, in the order of the islands.
+     *
+     * @return the populations of every island combined
+     */
+    public List<T> getChromosomes() {
+        final List<T> chromosomes = new ArrayList<>();
+
+        for (Island<T, R> island : islands) {
+            chromosomes.addAll(island.getPopulation());
+        }
+
+        return chromosomes;
+    }
+
+    /**
+     * <p>Returns the islands of this model.
+     *
+     * @return the islands of the model
+     */
+    public List<Island<T, R>> getIslands() {
+        return islands;
+    }
+
+    /**
+     * <p>Returns the topology that decides which islands emigrants are sent to.
+     *
+     * @return the migration topology of the model
+     */
+    public MigrationTopology getTopology() {
+        return topology;
+    }
+
+    /**
+     * <p>Returns the total number of chromosomes sent between islands.
+     *
+     * @return the number of migrants
+     */
+    public long getMigrationCount() {
+        return migrations.sum();
+    }
+
+    public int getMigrationInterval() {
+        return migrationInterval;
+    }
+
+    /**
+     * <p>Sets the number of generations between each migration of an island.
+     *
+     * @param migrationInterval The number of generations between migrations
+     */
+    public void setMigrationInterval(final int migrationInterval) {
+        if (migrationInterval < 1) {
+            throw new IllegalArgumentException(
+                    "The migration interval must be at least one, but " + migrationInterval + " was given."
+            );
+        }
+
+        this.migrationInterval = migrationInterval;
+    }
+
+    public int getMigrationSize() {
+        return migrationSize;
+    }
+
+    /**
+     * <p>Sets the maximum number of chromosomes each island sends to each of its destinations when migrating.
+     *
+     * @param migrationSize The number of chromosomes to migrate
+     */
+    public void setMigrationSize(final int migrationSize) {
+        if (migrationSize < 0) {
+            throw new IllegalArgumentException(
+                    "The migration size can't be negative, but " + migrationSize + " was given."
+            );
+        }
+
+        this.migrationSize = migrationSize;
+    }
+
+    public boolean isSynchronous() {
+        return synchronous;
+    }
+
+    /**
+     * <p>Sets whether the islands wait for each other at the end of every generation, which makes runs reproducible
+     * at the cost of fast islands waiting on slow ones.
+     *
+     * @param synchronous True if every island should finish each generation before any migrate
+     */
+    public void setSynchronous(final boolean synchronous) {
+        this.synchronous = synchronous;
+    }
+
+    /**
+     * <p>Releases the threads used to evolve the islands, the model shouldn't be used afterwards. The evaluation
+     * executors of the islands' algorithms aren't closed.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    /**
+     * <p>Notified by an island model after each generation of each of its islands.
+     *
+     * @param <T> The type of chromosome used by the islands
+     * @param <R> The type of data used by the chromosomes
+     */
+    @FunctionalInterface
+    public interface GenerationListener<T extends Chromosome<R>, R extends Comparable<R>> {
+        /**
+         * <p>Called once the island has finished a generation, by the thread evolving it unless the model is
+         * synchronous.
+         *
+         * @param island     The island that finished a generation
+         * @param generation The number of generations the island has been evolved for
+         */
+        void onGeneration(final Island<T, R> island, final int generation);
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.island;
+
+import org.iconic.ea.random.RandomSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>Defines which islands of an {@link IslandModel island model} an island sends its emigrants to.
+ */
+public enum MigrationTopology {
+    /**
+     * Each island only sends emigrants to the next island, with the last island sending them to the first.
+     */
+    RING {
+        @Override
+        public List<Integer> getDestinations(final int island, final int numIslands, final RandomSource random) {
+            return (numIslands > 1)
+                    ? Collections.singletonList((island + 1) % numIslands)
+                    : Collections.emptyList();
+        }
+    },
+    /**
+     * Each island sends emigrants to every other island.
+     */
+    FULLY_CONNECTED {
+        @Override
+        public List<Integer> getDestinations(final int island, final int numIslands, final RandomSource random) {
+            final List<Integer> destinations = new ArrayList<>(numIslands);
+
+            for (int i = 0; i < numIslands; ++i) {
+                if (i != island) {
+                    destinations.add(i);
+                }
+            }
+
+            return destinations;
+        }
+    },
+    /**
+     * Each island sends emigrants to another island chosen at random every time migration occurs.
+     */
+    RANDOM {
+        @Override
+        public List<Integer> getDestinations(final int island, final int numIslands, final RandomSource random) {
+            if (numIslands < 2) {
+                return Collections.emptyList();
+            }
+
+            // Skip over the island itself
+            final int destination = random.nextInt(numIslands - 1);
+
+            return Collections.singletonList((destination < island) ? destination : destination + 1);
+        }
+    };
+
+    /**
+     * <p>Returns the islands that the provided island should send its emigrants to, drawing any random choices
+     * from the provided source.
+     *
+     * @param island     The index of the island sending emigrants
+     * @param numIslands The number of islands in the model
+     * @param random     The source of random numbers to choose destinations with
+     * @return the indices of the islands to send emigrants to, which never includes the island itself
+     */
+    public abstract List<Integer> getDestinations(final int island, final int numIslands, final RandomSource random);
+}
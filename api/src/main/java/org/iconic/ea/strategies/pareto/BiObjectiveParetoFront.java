@@ -0,0 +1,144 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.pareto;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * {@inheritDoc}
+ * <p>
+ * A front of two objectives, such as error and size. The members are kept in order of their first objective, which
+ * means that their second objective strictly decreases along the front. Whether a point is dominated can then be
+ * answered by the single member that's nearest to it along the first objective, in logarithmic time.
+ * <p>
+ * An element that's added removes the members it dominates, which form a run along the front beginning at the
+ * element's first objective, so each member is visited at most once when it's evicted.
+ *
+ * @param <E> The type of element kept by the front
+ */
+public class BiObjectiveParetoFront<E> implements ParetoFront<E> {
+    private final TreeMap<Double, Member<E>> members;
+
+    /**
+     * Constructs a new empty front of two objectives.
+     */
+    public BiObjectiveParetoFront() {
+        this.members = new TreeMap<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDominated(final double[] point) {
+        Dominance.check(point, 2);
+
+        // The member with the greatest first objective that isn't worse than the point's has the least second
+        // objective of all such members
+        final Map.Entry<Double, Member<E>> nearest = members.floorEntry(key(point[0]));
+
+        return nearest != null && nearest.getValue().y <= point[1];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final E element, final double[] point, final Consumer<? super E> evicted) {
+        if (isDominated(point)) {
+            return false;
+        }
+
+        final Iterator<Member<E>> it = members.tailMap(key(point[0]), true).values().iterator();
+
+        // Members at or beyond the point's first objective are dominated until one is better along the second
+        while (it.hasNext()) {
+            final Member<E> member = it.next();
+
+            if (member.y < point[1]) {
+                break;
+            }
+
+            it.remove();
+            evicted.accept(member.element);
+        }
+
+        members.put(key(point[0]), new Member<>(element, point[1]));
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The members are returned in ascending order of their first objective.
+     */
+    @Override
+    public List<E> getElements() {
+        final List<E> elements = new ArrayList<>(members.size());
+
+        for (Member<E> member : members.values()) {
+            elements.add(member.element);
+        }
+
+        return elements;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumObjectives() {
+        return 2;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return members.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        members.clear();
+    }
+
+    /**
+     * Returns the key of the provided value, treating negative zero the same as zero.
+     */
+    private static Double key(final double value) {
+        return value + 0.0;
+    }
+
+    /**
+     * A member of the front and its second objective.
+     */
+    private static final class Member<E> {
+        private final E element;
+        private final double y;
+
+        private Member(final E element, final double y) {
+            this.element = element;
+            this.y = y;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.pareto;
+
+import java.util.*;
+
+/**
+ * <p>Crowding distances of points in objective space, which measure how sparsely the neighbourhood of each point is
+ * populated. The crowding distance of a point is the sum, over every objective, of the distance between its two
+ * neighbours along that objective relative to the range of the objective. Points at either extreme of an objective
+ * have an infinite crowding distance.
+ *
+ * @see <a href="https://doi.org/10.1109/4235.996017">A fast and elitist multiobjective genetic algorithm:
+ * NSGA-II</a>
+ */
+public final class CrowdingDistance {
+    private CrowdingDistance() {
+    }
+
+    /**
+     * <p>Returns the crowding distance of each of the provided points.
+     *
+     * @param points The points to measure, each with the same number of objectives
+     * @return the crowding distance of each point, in the same order as the points
+     */
+    public static double[] compute(final List<double[]> points) {
+        final Neighbourhood neighbourhood = new Neighbourhood(points);
+        final double[] distances = new double[points.size()];
+
+        for (int i = 0; i < distances.length; ++i) {
+            distances[i] = neighbourhood.getDistance(i);
+        }
+
+        return distances;
+    }
+
+    /**
+     * <p>Chooses the provided number of points to keep, by repeatedly removing the point with the least crowding
+     * distance and updating the distances of its neighbours. Of points with the same distance, the one that comes
+     * last is removed first.
+     * <p>
+     * Only the neighbours of a removed point need their distances updated, so truncating n points takes
+     * O(n log n) time. The ranges of the objectives are measured once, as the extremes are removed last.
+     *
+     * @param points The points to choose from, each with the same number of objectives
+     * @param size   The number of points to keep
+     * @return the indices of the points kept, in ascending order
+     */
+    public static int[] truncate(final List<double[]> points, final int size) {
+        final Neighbourhood neighbourhood = new Neighbourhood(points);
+        final double[] distances = new double[points.size()];
+        final boolean[] removed = new boolean[points.size()];
+        final PriorityQueue<Candidate> queue = new PriorityQueue<>();
+
+        for (int i = 0; i < distances.length; ++i) {
+            distances[i] = neighbourhood.getDistance(i);
+            queue.add(new Candidate(i, distances[i]));
+        }
+
+        for (int remaining = points.size(); remaining > size; ) {
+            final Candidate candidate = queue.poll();
+
+            // Candidates are left in the queue when their distance changes, so outdated ones are skipped
+            if (removed[candidate.index] || candidate.distance != distances[candidate.index]) {
+                continue;
+            }
+
+            removed[candidate.index] = true;
+            --remaining;
+
+            for (int neighbour : neighbourhood.remove(candidate.index)) {
+                distances[neighbour] = neighbourhood.getDistance(neighbour);
+                queue.add(new Candidate(neighbour, distances[neighbour]));
+            }
+        }
+
+        final int[] kept = new int[Math.min(size, points.size())];
+
+        for (int i = 0, j = 0; i < removed.length; ++i) {
+            if (!removed[i]) {
+                kept[j++] = i;
+            }
+        }
+
+        return kept;
+    }
+
+    /**
+     * The neighbours of each point along every objective, kept as a doubly linked list per objective.
+     */
+    private static final class Neighbourhood {
+        private final List<double[]> points;
+        private final int[][] previous;
+        private final int[][] next;
+        private final double[] scales;
+
+        private Neighbourhood(final List<double[]> points) {
+            final int numObjectives = points.isEmpty() ? 0 : points.get(0).length;
+
+            this.points = points;
+            this.previous = new int[numObjectives][points.size()];
+            this.next = new int[numObjectives][points.size()];
+            this.scales = new double[numObjectives];
+
+            final Integer[] order = new Integer[points.size()];
+
+            for (int objective = 0; objective < numObjectives; ++objective) {
+                final int i = objective;
+
+                for (int j = 0; j < order.length; ++j) {
+                    order[j] = j;
+                }
+
+                Arrays.sort(order, Comparator.comparingDouble(j -> points.get(j)[i]));
+
+                for (int j = 0; j < order.length; ++j) {
+                    previous[i][order[j]] = (j > 0) ? order[j - 1] : -1;
+                    next[i][order[j]] = (j < order.length - 1) ? order[j + 1] : -1;
+                }
+
+                // Objectives without a finite range can't tell interior points apart
+                if (order.length > 0) {
+                    final double range = points.get(order[order.length - 1])[i] - points.get(order[0])[i];
+                    scales[i] = (range > 0 && !Double.isInfinite(range)) ? 1 / range : 0;
+                }
+            }
+        }
+
+        private double getDistance(final int point) {
+            double distance = 0;
+
+            for (int i = 0; i < scales.length; ++i) {
+                if (previous[i][point] < 0 || next[i][point] < 0) {
+                    return Double.POSITIVE_INFINITY;
+                } else if (scales[i] > 0) {
+                    distance += (points.get(next[i][point])[i] - points.get(previous[i][point])[i]) * scales[i];
+                }
+            }
+
+            return distance;
+        }
+
+        /**
+         * Unlinks the provided point and returns its neighbours.
+         */
+        private List<Integer> remove(final int point) {
+            final List<Integer> neighbours = new ArrayList<>(2 * scales.length);
+
+            for (int i = 0; i < scales.length; ++i) {
+                final int before = previous[i][point];
+                final int after = next[i][point];
+
+                if (before >= 0) {
+                    next[i][before] = after;
+                    neighbours.add(before);
+                }
+
+                if (after >= 0) {
+                    previous[i][after] = before;
+                    neighbours.add(after);
+                }
+            }
+
+            return neighbours;
+        }
+    }
+
+    /**
+     * A point waiting to be removed, ordered by its crowding distance at the time it was queued.
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+        private final int index;
+        private final double distance;
+
+        private Candidate(final int index, final double distance) {
+            this.index = index;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(final Candidate other) {
+            final int comparison = Double.compare(distance, other.distance);
+
+            return (comparison != 0) ? comparison : Integer.compare(other.index, index);
+        }
+    }
+}
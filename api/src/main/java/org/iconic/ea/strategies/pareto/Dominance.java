@@ -0,0 +1,104 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.pareto;
+
+/**
+ * <p>Dominance relations between points in objective space, where every objective is minimised.
+ */
+public final class Dominance {
+    private Dominance() {
+    }
+
+    /**
+     * <p>Returns true if the first point is not worse than the second point for any objective.
+     *
+     * @param p1 The point to test
+     * @param p2 The point to test against
+     * @return True if the first point weakly dominates the second point
+     */
+    public static boolean weaklyDominates(final double[] p1, final double[] p2) {
+        for (int i = 0; i < p1.length; ++i) {
+            if (p1[i] > p2[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * <p>Returns true if the first point is not worse than the second point for any objective, and is better for at
+     * least one objective.
+     *
+     * @param p1 The point to test
+     * @param p2 The point to test against
+     * @return True if the first point dominates the second point
+     */
+    public static boolean dominates(final double[] p1, final double[] p2) {
+        boolean better = false;
+
+        for (int i = 0; i < p1.length; ++i) {
+            if (p1[i] > p2[i]) {
+                return false;
+            }
+            better |= p1[i] < p2[i];
+        }
+
+        return better;
+    }
+
+    /**
+     * <p>Returns the squared Euclidean distance between two points. Objectives whose difference is undefined, such
+     * as both points being infinite in the same direction, are ignored.
+     *
+     * @param p1 The first point
+     * @param p2 The second point
+     * @return the squared distance between the points
+     */
+    static double distance(final double[] p1, final double[] p2) {
+        double distance = 0;
+
+        for (int i = 0; i < p1.length; ++i) {
+            final double difference = p1[i] - p2[i];
+
+            if (!Double.isNaN(difference)) {
+                distance += difference * difference;
+            }
+        }
+
+        return distance;
+    }
+
+    /**
+     * <p>Throws an exception if the provided point doesn't have the expected number of objectives or contains NaN.
+     *
+     * @param point         The point to check
+     * @param numObjectives The expected number of objectives
+     */
+    static void check(final double[] point, final int numObjectives) {
+        if (point.length != numObjectives) {
+            throw new IllegalArgumentException(
+                    "Expected a point with " + numObjectives + " objectives but found " + point.length
+            );
+        }
+
+        for (double value : point) {
+            if (Double.isNaN(value)) {
+                throw new IllegalArgumentException("Points can't contain NaN");
+            }
+        }
+    }
+}
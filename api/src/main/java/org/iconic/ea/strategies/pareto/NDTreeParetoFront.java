@@ -0,0 +1,381 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.pareto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@inheritDoc}
+ * <p>
+ * A front of any number of objectives, kept in an ND-tree. Each node of the tree bounds the points beneath it by
+ * an ideal point, which is not worse than any of them, and a nadir point, which is not better than any of them.
+ * Queries skip every node that can't contain a dominating or dominated point according to its bounds, and settle
+ * whole nodes at once when the bounds alone decide the query.
+ * <p>
+ * The bounds of a node aren't tightened when members are removed from beneath it. They remain valid, albeit loose,
+ * bounds, as long as empty nodes are removed from the tree.
+ *
+ * @param <E> The type of element kept by the front
+ * @see <a href="https://doi.org/10.1109/TEVC.2017.2782767">ND-Tree-based update: a fast algorithm for the dynamic
+ * non-dominance problem</a>
+ */
+public class NDTreeParetoFront<E> implements ParetoFront<E> {
+    private static final int DEFAULT_MAX_LEAF_SIZE = 20;
+
+    private final int numObjectives;
+    private final int maxLeafSize;
+    private final int numChildren;
+    private Node<E> root;
+    private int size;
+
+    /**
+     * Constructs a new empty front of the provided number of objectives.
+     *
+     * @param numObjectives The number of objectives of the front's points
+     */
+    public NDTreeParetoFront(final int numObjectives) {
+        this(numObjectives, DEFAULT_MAX_LEAF_SIZE);
+    }
+
+    /**
+     * Constructs a new empty front of the provided number of objectives, whose leaves are split once they hold more
+     * than the provided number of members.
+     *
+     * @param numObjectives The number of objectives of the front's points
+     * @param maxLeafSize   The maximum number of members of a leaf
+     */
+    public NDTreeParetoFront(final int numObjectives, final int maxLeafSize) {
+        if (numObjectives < 1 || maxLeafSize < 1) {
+            throw new IllegalArgumentException("A front requires at least one objective and one member per leaf");
+        }
+
+        this.numObjectives = numObjectives;
+        this.maxLeafSize = maxLeafSize;
+        this.numChildren = numObjectives + 1;
+        this.root = new Node<>();
+        this.size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDominated(final double[] point) {
+        Dominance.check(point, getNumObjectives());
+
+        return size > 0 && isDominated(root, point);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final E element, final double[] point, final Consumer<? super E> evicted) {
+        if (isDominated(point)) {
+            return false;
+        }
+
+        if (size > 0 && removeDominated(root, point, evicted)) {
+            root = new Node<>();
+        }
+
+        insert(root, new Member<>(element, point.clone()));
+        ++size;
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<E> getElements() {
+        final List<E> elements = new ArrayList<>(size);
+        collect(root, elements);
+
+        return elements;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumObjectives() {
+        return numObjectives;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        root = new Node<>();
+        size = 0;
+    }
+
+    /**
+     * Returns true if the provided point is dominated by any member beneath the provided node.
+     */
+    private boolean isDominated(final Node<E> node, final double[] point) {
+        // No member can dominate the point if their ideal doesn't, and every member does if their nadir does
+        if (!Dominance.weaklyDominates(node.ideal, point)) {
+            return false;
+        } else if (Dominance.weaklyDominates(node.nadir, point)) {
+            return true;
+        }
+
+        if (node.isLeaf()) {
+            for (Member<E> member : node.members) {
+                if (Dominance.weaklyDominates(member.point, point)) {
+                    return true;
+                }
+            }
+        } else {
+            for (Node<E> child : node.children) {
+                if (isDominated(child, point)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes every member beneath the provided node that's dominated by the provided point, passing each of them to
+     * the provided consumer.
+     *
+     * @return True if the node was left empty
+     */
+    private boolean removeDominated(final Node<E> node, final double[] point, final Consumer<? super E> evicted) {
+        // The point can't dominate any member if it doesn't dominate their nadir, and dominates all of them if it
+        // dominates their ideal
+        if (!Dominance.weaklyDominates(point, node.nadir)) {
+            return false;
+        } else if (Dominance.weaklyDominates(point, node.ideal)) {
+            final List<E> elements = new ArrayList<>();
+            collect(node, elements);
+            size -= elements.size();
+            elements.forEach(evicted);
+
+            return true;
+        }
+
+        if (node.isLeaf()) {
+            node.members.removeIf(member -> {
+                if (Dominance.weaklyDominates(point, member.point)) {
+                    --size;
+                    evicted.accept(member.element);
+                    return true;
+                }
+
+                return false;
+            });
+
+            return node.members.isEmpty();
+        }
+
+        node.children.removeIf(child -> removeDominated(child, point, evicted));
+
+        if (node.children.size() == 1) {
+            // Collapse a node with a single child into that child
+            final Node<E> child = node.children.get(0);
+            node.members = child.members;
+            node.children = child.children;
+        }
+
+        return node.isLeaf() ? node.members.isEmpty() : node.children.isEmpty();
+    }
+
+    /**
+     * Inserts the provided member beneath the provided node, splitting the leaf it's inserted into if it's full.
+     */
+    private void insert(final Node<E> node, final Member<E> member) {
+        node.include(member.point);
+
+        if (node.isLeaf()) {
+            node.members.add(member);
+
+            if (node.members.size() > maxLeafSize) {
+                split(node);
+            }
+        } else {
+            insert(nearest(node.children, member.point), member);
+        }
+    }
+
+    /**
+     * Turns the provided leaf into a node with children, by spreading its members between them. Each child is
+     * seeded with the member that's furthest on average from the seeds chosen before it, beginning with the member
+     * that's furthest on average from every other member, and the remaining members join the nearest child.
+     */
+    private void split(final Node<E> leaf) {
+        final List<Member<E>> members = leaf.members;
+        final List<Member<E>> seeds = new ArrayList<>(numChildren);
+
+        seeds.add(furthest(members, members));
+
+        while (seeds.size() < Math.min(numChildren, members.size())) {
+            seeds.add(furthest(members, seeds));
+        }
+
+        leaf.members = null;
+        leaf.children = new ArrayList<>(seeds.size());
+
+        for (Member<E> seed : seeds) {
+            final Node<E> child = new Node<>();
+            child.include(seed.point);
+            child.members.add(seed);
+            leaf.children.add(child);
+        }
+
+        for (Member<E> member : members) {
+            if (!seeds.contains(member)) {
+                final Node<E> child = nearest(leaf.children, member.point);
+                child.include(member.point);
+                child.members.add(member);
+            }
+        }
+    }
+
+    /**
+     * Returns the member that isn't one of the others and has the greatest average distance to them.
+     */
+    private Member<E> furthest(final List<Member<E>> members, final List<Member<E>> others) {
+        Member<E> furthest = null;
+        double furthestDistance = -1;
+
+        for (Member<E> member : members) {
+            if (others != members && others.contains(member)) {
+                continue;
+            }
+
+            double distance = 0;
+
+            for (Member<E> other : others) {
+                distance += Dominance.distance(member.point, other.point);
+            }
+
+            if (distance > furthestDistance) {
+                furthest = member;
+                furthestDistance = distance;
+            }
+        }
+
+        return furthest;
+    }
+
+    /**
+     * Returns the node whose centre, midway between its ideal and nadir, is nearest to the provided point.
+     */
+    private Node<E> nearest(final List<Node<E>> nodes, final double[] point) {
+        Node<E> nearest = null;
+        double nearestDistance = Double.POSITIVE_INFINITY;
+
+        for (Node<E> node : nodes) {
+            final double distance = Dominance.distance(node.centre(), point);
+
+            if (nearest == null || distance < nearestDistance) {
+                nearest = node;
+                nearestDistance = distance;
+            }
+        }
+
+        return nearest;
+    }
+
+    /**
+     * Adds every member beneath the provided node to the provided list.
+     */
+    private void collect(final Node<E> node, final List<E> elements) {
+        if (node.isLeaf()) {
+            for (Member<E> member : node.members) {
+                elements.add(member.element);
+            }
+        } else {
+            for (Node<E> child : node.children) {
+                collect(child, elements);
+            }
+        }
+    }
+
+    /**
+     * A node of the tree, which either holds members itself or has children.
+     */
+    private static final class Node<E> {
+        private double[] ideal;
+        private double[] nadir;
+        private List<Member<E>> members;
+        private List<Node<E>> children;
+
+        private Node() {
+            this.members = new ArrayList<>();
+        }
+
+        private boolean isLeaf() {
+            return children == null;
+        }
+
+        /**
+         * Widens the bounds of this node to include the provided point.
+         */
+        private void include(final double[] point) {
+            if (ideal == null) {
+                ideal = point.clone();
+                nadir = point.clone();
+                return;
+            }
+
+            for (int i = 0; i < point.length; ++i) {
+                ideal[i] = Math.min(ideal[i], point[i]);
+                nadir[i] = Math.max(nadir[i], point[i]);
+            }
+        }
+
+        private double[] centre() {
+            final double[] centre = new double[ideal.length];
+
+            for (int i = 0; i < centre.length; ++i) {
+                centre[i] = (ideal[i] + nadir[i]) / 2;
+            }
+
+            return centre;
+        }
+    }
+
+    /**
+     * A member of the front and its point.
+     */
+    private static final class Member<E> {
+        private final E element;
+        private final double[] point;
+
+        private Member(final E element, final double[] point) {
+            this.element = element;
+            this.point = point;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.pareto;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * <p>Sorts points in objective space into fronts of increasing rank, where every objective is minimised. The first
+ * front holds the points that aren't dominated by any other point, and every later front holds the points that are
+ * only dominated by points of earlier fronts. Equal points don't dominate each other and so share a front.
+ *
+ * <p>The points are visited in lexicographic order, so that a point can only be dominated by points visited before
+ * it, and the front of each point is found by a binary search over the fronts found so far. Points of two objectives
+ * are sorted in O(n log n) time, as each front is then summarised by its last point. Otherwise the members of each
+ * front are kept in an {@link NDTreeParetoFront ND-tree} that answers whether a point is dominated by the front.
+ *
+ * @see <a href="https://doi.org/10.1109/TEVC.2014.2308305">An Efficient Approach to Nondominated Sorting for
+ * Evolutionary Multiobjective Optimization</a>
+ */
+public final class NonDominatedSorting {
+    private NonDominatedSorting() {
+    }
+
+    /**
+     * <p>Sorts the provided elements into fronts of increasing rank, according to the point of each element.
+     * Elements keep their relative order within each front.
+     *
+     * @param elements The elements to sort
+     * @param toPoint  A function that returns the point of an element, with a value for each objective
+     * @param <E>      The type of element to sort
+     * @return the fronts of the elements, beginning with the non-dominated front
+     */
+    public static <E> List<List<E>> sort(final List<E> elements, final Function<? super E, double[]> toPoint) {
+        final List<double[]> points = new ArrayList<>(elements.size());
+
+        for (E element : elements) {
+            points.add(toPoint.apply(element));
+        }
+
+        final int[] ranks = rank(points);
+        final List<List<E>> fronts = new ArrayList<>();
+
+        for (int i = 0; i < ranks.length; ++i) {
+            while (fronts.size() <= ranks[i]) {
+                fronts.add(new ArrayList<>());
+            }
+
+            fronts.get(ranks[i]).add(elements.get(i));
+        }
+
+        return fronts;
+    }
+
+    /**
+     * <p>Returns the rank of each of the provided points, where the non-dominated points have a rank of zero.
+     *
+     * @param points The points to rank, each with the same number of objectives
+     * @return the rank of each point, in the same order as the points
+     */
+    public static int[] rank(final List<double[]> points) {
+        final int[] ranks = new int[points.size()];
+
+        if (points.isEmpty()) {
+            return ranks;
+        }
+
+        final int numObjectives = points.get(0).length;
+
+        for (double[] point : points) {
+            Dominance.check(point, numObjectives);
+        }
+
+        final Integer[] order = new Integer[points.size()];
+
+        for (int i = 0; i < order.length; ++i) {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (i, j) -> compare(points.get(i), points.get(j)));
+
+        if (numObjectives == 2) {
+            rankBiObjective(points, order, ranks);
+        } else {
+            rankMultiObjective(points, order, ranks);
+        }
+
+        return ranks;
+    }
+
+    /**
+     * Ranks points of two objectives. As the points are visited in lexicographic order, the last point added to a
+     * front has the least second objective of the front, and a later point is dominated by the front exactly when
+     * it's dominated by that point.
+     */
+    private static void rankBiObjective(final List<double[]> points, final Integer[] order, final int[] ranks) {
+        final double[][] lasts = new double[points.size()][];
+        int numFronts = 0;
+
+        for (int i : order) {
+            final double[] point = points.get(i);
+            int low = 0;
+            int high = numFronts;
+
+            // Fronts that dominate the point always precede those that don't
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+
+                if (Dominance.dominates(lasts[mid], point)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            // Keep the earlier of two last points with the same second objective, as it dominates the later one
+            if (low == numFronts || lasts[low][1] > point[1]) {
+                lasts[low] = point;
+            }
+
+            numFronts = Math.max(numFronts, low + 1);
+            ranks[i] = low;
+        }
+    }
+
+    /**
+     * Ranks points of any number of objectives, keeping the points of each front in an ND-tree. A point that's equal
+     * to the point visited before it shares its rank. Otherwise, as the points are visited in lexicographic order,
+     * a point is dominated by a front exactly when it's weakly dominated by any member of the front.
+     */
+    private static void rankMultiObjective(final List<double[]> points, final Integer[] order, final int[] ranks) {
+        final int numObjectives = points.get(0).length;
+        final List<ParetoFront<double[]>> fronts = new ArrayList<>();
+        double[] previous = null;
+        int previousRank = 0;
+
+        for (int i : order) {
+            final double[] point = points.get(i);
+
+            if (previous != null && compare(previous, point) == 0) {
+                ranks[i] = previousRank;
+                continue;
+            }
+
+            int low = 0;
+            int high = fronts.size();
+
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+
+                if (fronts.get(mid).isDominated(point)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            if (low == fronts.size()) {
+                fronts.add(new NDTreeParetoFront<>(numObjectives));
+            }
+
+            fronts.get(low).add(point, point);
+            ranks[i] = low;
+            previous = point;
+            previousRank = low;
+        }
+    }
+
+    /**
+     * Compares two points lexicographically, treating negative zero the same as zero.
+     */
+    private static int compare(final double[] p1, final double[] p2) {
+        for (int i = 0; i < p1.length; ++i) {
+            if (p1[i] < p2[i]) {
+                return -1;
+            } else if (p1[i] > p2[i]) {
+                return 1;
+            }
+        }
+
+        return 0;
+    }
+}
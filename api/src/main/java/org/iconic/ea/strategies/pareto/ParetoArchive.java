@@ -0,0 +1,327 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.pareto;
+
+import java.util.*;
+
+/**
+ * <p>A bounded archive of mutually non-dominated elements, which may be added to by several threads at once.
+ *
+ * <p>Objective space is divided into boxes, whose length along each objective is given by the archive's epsilons,
+ * and an element is only admitted if no member's box dominates its own. A box holds at most one member, which is
+ * replaced by a newcomer to the box that either dominates it or is nearer to the box's best corner. An epsilon of
+ * zero divides its objective at every distinct value, so an archive without epsilons keeps every non-dominated
+ * element.
+ *
+ * <p>Once the archive holds twice its capacity it's truncated back to its capacity, by repeatedly removing the
+ * member with the least {@link CrowdingDistance crowding distance}, so that the extremes of each objective are kept.
+ * Truncating in batches keeps the cost of each addition to an amortised O(log n) for two objectives. The archive is
+ * also truncated before it's read, so it never appears to hold more than its capacity.
+ *
+ * <p>Reads are served from a snapshot of the members that's only rebuilt after the archive has changed, which lets
+ * exporters iterate the archive while it's being added to.
+ *
+ * @param <E> The type of element kept by the archive
+ * @see <a href="https://doi.org/10.1162/106365602760234108">Combining Convergence and Diversity in Evolutionary
+ * Multiobjective Optimization</a>
+ */
+public class ParetoArchive<E> implements Iterable<E> {
+    /**
+     * The capacity of an archive when none is given.
+     */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private final int capacity;
+    private final double[] epsilons;
+    private final Map<Box, Slot<E>> slots;
+    private ParetoFront<Slot<E>> front;
+    private volatile List<E> snapshot;
+
+    /**
+     * Constructs a new empty archive with the default capacity and without epsilons.
+     */
+    public ParetoArchive() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new empty archive with the provided capacity and without epsilons.
+     *
+     * @param capacity The maximum number of members of the archive
+     */
+    public ParetoArchive(final int capacity) {
+        this(capacity, new double[0]);
+    }
+
+    /**
+     * Constructs a new empty archive with the provided capacity and epsilons.
+     *
+     * @param capacity The maximum number of members of the archive
+     * @param epsilons The length of the boxes along each objective, or no epsilons to keep every non-dominated element
+     */
+    public ParetoArchive(final int capacity, final double[] epsilons) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("An archive requires a capacity of at least one member");
+        }
+
+        for (double epsilon : epsilons) {
+            if (!(epsilon >= 0) || Double.isInfinite(epsilon)) {
+                throw new IllegalArgumentException("Epsilons must be finite and can't be negative");
+            }
+        }
+
+        this.capacity = capacity;
+        this.epsilons = epsilons.clone();
+        this.slots = new HashMap<>();
+        this.front = null;
+        this.snapshot = Collections.emptyList();
+    }
+
+    /**
+     * <p>Adds the provided element to this archive, given that its box isn't dominated by the box of any member and
+     * that it's preferred to the member of its own box. Every member whose box is dominated by the element's box is
+     * removed from the archive.
+     *
+     * @param element The element to add
+     * @param point   The point of the element, with a value for each objective to minimise
+     * @return True if the element was added to the archive
+     */
+    public synchronized boolean add(final E element, final double[] point) {
+        if (front == null) {
+            if (epsilons.length > 0 && epsilons.length != point.length) {
+                throw new IllegalArgumentException(
+                        "Expected a point with " + epsilons.length + " objectives but found " + point.length
+                );
+            }
+
+            front = ParetoFront.forObjectives(point.length);
+        }
+
+        Dominance.check(point, front.getNumObjectives());
+
+        final Box box = new Box(point, epsilons);
+        final Slot<E> occupant = slots.get(box);
+
+        if (occupant != null) {
+            if (!isPreferred(point, occupant.point, box.getCorner(epsilons))) {
+                return false;
+            }
+
+            occupant.element = element;
+            occupant.point = point.clone();
+        } else {
+            final Slot<E> slot = new Slot<>(element, point.clone(), box);
+
+            if (!front.add(slot, box.values, evicted -> slots.remove(evicted.box))) {
+                return false;
+            }
+
+            slots.put(box, slot);
+
+            if (slots.size() / 2 >= capacity) {
+                truncate();
+            }
+        }
+
+        snapshot = null;
+
+        return true;
+    }
+
+    /**
+     * <p>Returns the members of this archive as they were when the archive last changed. The list returned is
+     * unmodifiable, and it's shared by every reader until the archive changes again.
+     *
+     * @return the members of the archive
+     */
+    public List<E> snapshot() {
+        List<E> snapshot = this.snapshot;
+
+        if (snapshot == null) {
+            synchronized (this) {
+                if (this.snapshot == null) {
+                    truncate();
+
+                    final List<E> elements = new ArrayList<>(slots.size());
+
+                    for (Slot<E> slot : front.getElements()) {
+                        elements.add(slot.element);
+                    }
+
+                    this.snapshot = Collections.unmodifiableList(elements);
+                }
+
+                snapshot = this.snapshot;
+            }
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The iterator walks a {@link #snapshot() snapshot} of the archive, so it's unaffected by later additions.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return snapshot().iterator();
+    }
+
+    /**
+     * <p>Returns the number of members of this archive.
+     *
+     * @return the number of members of the archive
+     */
+    public int size() {
+        return snapshot().size();
+    }
+
+    /**
+     * <p>Returns true if this archive has no members.
+     *
+     * @return True if the archive is empty
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * <p>Removes every member of this archive. The next element added may have any number of objectives, unless the
+     * archive has epsilons.
+     */
+    public synchronized void clear() {
+        slots.clear();
+        front = null;
+        snapshot = Collections.emptyList();
+    }
+
+    /**
+     * <p>Returns the maximum number of members of this archive.
+     *
+     * @return the capacity of the archive
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * <p>Returns the length of the boxes of this archive along each objective.
+     *
+     * @return the epsilons of the archive, or an empty array if it has none
+     */
+    public double[] getEpsilons() {
+        return epsilons.clone();
+    }
+
+    /**
+     * Removes the most crowded members until the archive holds no more than its capacity.
+     */
+    private void truncate() {
+        if (slots.size() <= capacity) {
+            return;
+        }
+
+        final List<Slot<E>> members = front.getElements();
+        final List<double[]> points = new ArrayList<>(members.size());
+
+        for (Slot<E> member : members) {
+            points.add(member.point);
+        }
+
+        front.clear();
+        slots.clear();
+
+        for (int i : CrowdingDistance.truncate(points, capacity)) {
+            final Slot<E> member = members.get(i);
+
+            front.add(member, member.box.values);
+            slots.put(member.box, member);
+        }
+    }
+
+    /**
+     * Returns true if the first point should replace the second point in the box with the provided corner.
+     */
+    private static boolean isPreferred(final double[] point, final double[] occupant, final double[] corner) {
+        if (Dominance.dominates(point, occupant)) {
+            return true;
+        } else if (Dominance.dominates(occupant, point)) {
+            return false;
+        }
+
+        return Dominance.distance(point, corner) < Dominance.distance(occupant, corner);
+    }
+
+    /**
+     * The box that a point falls into, given by the index of the box along each objective. Objectives without an
+     * epsilon are indexed by the point's value.
+     */
+    private static final class Box {
+        private final double[] values;
+
+        private Box(final double[] point, final double[] epsilons) {
+            this.values = new double[point.length];
+
+            for (int i = 0; i < point.length; ++i) {
+                final double epsilon = (epsilons.length > 0) ? epsilons[i] : 0;
+
+                // Negative zero is the same as zero
+                values[i] = ((epsilon > 0) ? Math.floor(point[i] / epsilon) : point[i]) + 0.0;
+            }
+        }
+
+        /**
+         * Returns the best corner of the box, which isn't worse than any point inside it.
+         */
+        private double[] getCorner(final double[] epsilons) {
+            final double[] corner = values.clone();
+
+            for (int i = 0; i < epsilons.length; ++i) {
+                if (epsilons[i] > 0) {
+                    corner[i] *= epsilons[i];
+                }
+            }
+
+            return corner;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Box && Arrays.equals(values, ((Box) other).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(values);
+        }
+    }
+
+    /**
+     * A member of the archive, which is replaced in place by a preferred newcomer to its box.
+     */
+    private static final class Slot<E> {
+        private final Box box;
+        private E element;
+        private double[] point;
+
+        private Slot(final E element, final double[] point, final Box box) {
+            this.element = element;
+            this.point = point;
+            this.box = box;
+        }
+    }
+}
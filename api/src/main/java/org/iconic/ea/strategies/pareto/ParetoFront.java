@@ -0,0 +1,111 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.pareto;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * <p>A set of mutually non-dominated elements, each of which is placed at a point in objective space.
+ *
+ * <p>Points are compared as if every objective were being minimised, and a point <i>dominates</i> another if it's
+ * not worse for any objective. Two elements at the same point dominate each other, so only the first of them is
+ * kept by a front.
+ *
+ * @param <E> The type of element kept by the front
+ */
+public interface ParetoFront<E> {
+    /**
+     * <p>Returns true if the provided point is dominated by any member of this front.
+     *
+     * @param point The point to test, with a value for each objective
+     * @return True if the point is dominated by a member of the front
+     */
+    boolean isDominated(final double[] point);
+
+    /**
+     * <p>Adds the provided element to this front, given that its point isn't dominated by any member of the front.
+     * Every member dominated by the new element is removed from the front.
+     *
+     * @param element The element to add
+     * @param point   The point of the element, with a value for each objective
+     * @return True if the element was added to the front
+     */
+    default boolean add(final E element, final double[] point) {
+        return add(element, point, evicted -> {
+        });
+    }
+
+    /**
+     * <p>Adds the provided element to this front, given that its point isn't dominated by any member of the front.
+     * Every member dominated by the new element is removed from the front and passed to the provided consumer.
+     *
+     * @param element The element to add
+     * @param point   The point of the element, with a value for each objective
+     * @param evicted The consumer to pass each member removed from the front to
+     * @return True if the element was added to the front
+     */
+    boolean add(final E element, final double[] point, final Consumer<? super E> evicted);
+
+    /**
+     * <p>Returns the members of this front. The list returned is a copy and may be modified freely.
+     *
+     * @return the members of the front
+     */
+    List<E> getElements();
+
+    /**
+     * <p>Returns the number of objectives that the points of this front have.
+     *
+     * @return the number of objectives of the front
+     */
+    int getNumObjectives();
+
+    /**
+     * <p>Returns the number of members of this front.
+     *
+     * @return the number of members of the front
+     */
+    int size();
+
+    /**
+     * <p>Removes every member of this front.
+     */
+    void clear();
+
+    /**
+     * <p>Returns true if this front has no members.
+     *
+     * @return True if the front is empty
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * <p>Returns an empty front suited to the provided number of objectives. Fronts of two objectives answer queries
+     * in logarithmic time, whereas any other number of objectives is kept in an ND-tree.
+     *
+     * @param numObjectives The number of objectives of the front's points
+     * @param <E>           The type of element kept by the front
+     * @return an empty front
+     */
+    static <E> ParetoFront<E> forObjectives(final int numObjectives) {
+        return (numObjectives == 2)
+                ? new BiObjectiveParetoFront<>()
+                : new NDTreeParetoFront<>(numObjectives);
+    }
+}
@@ -21,7 +21,6 @@ import org.iconic.ea.chromosome.ChromosomeFactory;
 import org.iconic.ea.operator.objective.MultiObjective;
 
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * {@inheritDoc}
@@ -74,27 +73,20 @@ public class ElitistSEAMO<R extends Chromosome<T>, T extends Comparable<T>>
             final R chromosome = population.get(i);
             // The likelihood of an individual surviving grows inversely with the population
             // Global bests survive automatically
-            if (isGlobalBest(chromosome) || ThreadLocalRandom.current().nextDouble() < 1. / (double) i) {
+            if (isGlobalBest(chromosome) || getRandom().nextDouble() < 1. / (double) i) {
                 newPopulation.add(chromosome);
             }
         }
 
         // Repopulate the population
         while (newPopulation.size() < population.size()) {
-            final R chromosome = getChromosomeFactory().getChromosome();
+            final R chromosome = getChromosomeFactory().getChromosome(getRandom());
             newPopulation.add(chromosome);
         }
 
-        MultiObjective<T> multiObjective = (MultiObjective<T>) getObjective();
-
         // The global bests need to be recalculated for the new population
         // (unfortunately this makes the function impure)
-        newPopulation.forEach(chromosome -> {
-                    multiObjective.getGoals().parallelStream().forEach(goal ->
-                            addGlobal(getGlobals(), chromosome, goal));
-                    multiObjective.apply(chromosome);
-                }
-        );
+        evaluateGoals(newPopulation);
 
         return newPopulation;
     }
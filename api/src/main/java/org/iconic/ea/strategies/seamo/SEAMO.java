@@ -70,7 +70,7 @@ public class SEAMO<R extends Chromosome<T>, T extends Comparable<T>>
             // For each selector insert a parent using the selector
             // A minimum of two parents are required
             for (int j = 0; j < getSelectors().size() || j < 2; ++j) {
-                final R parent = getSelector(j).apply(newPopulation);
+                final R parent = getSelector(j).apply(newPopulation, getRandom());
                 parents.add(parent);
             }
 
@@ -102,7 +102,7 @@ public class SEAMO<R extends Chromosome<T>, T extends Comparable<T>>
                     // Otherwise pick a new parent
                     else if (parents.size() <= newPopulation.size()) {
                         final Selector<R> selector = getSelector(parents.size() - 1);
-                        final R newParent = selector.apply(newPopulation);
+                        final R newParent = selector.apply(newPopulation, getRandom());
                         parents.add(newParent);
                     }
                 }
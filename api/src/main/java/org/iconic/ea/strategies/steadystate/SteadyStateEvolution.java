@@ -0,0 +1,253 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.steadystate;
+
+import lombok.extern.log4j.Log4j2;
+import org.iconic.ea.chromosome.Chromosome;
+import org.iconic.ea.random.RandomSource;
+import org.iconic.ea.strategies.EvolutionaryAlgorithm;
+import org.iconic.ea.strategies.evaluation.EvaluationExecutor;
+import org.iconic.ea.strategies.evaluation.FixedPoolEvaluationExecutor;
+import org.iconic.ea.strategies.evaluation.SerialEvaluationExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Evolves a single population with several workers that never wait on each other to finish a generation. Each
+ * worker repeatedly chooses parents from the population, breeds and evaluates an offspring, and then lets the
+ * offspring into the population according to the algorithm's replacement rule, so a slow evaluation only holds up
+ * its own worker.
+ *
+ * <p>Only choosing parents and replacing members of the population are serialised, breeding and evaluating
+ * offspring happen concurrently. The algorithm's objective and operators must therefore be thread-safe, and its
+ * evaluation executor is only used for the few chromosomes evaluated while the population is being replaced.
+ *
+ * <p>Each worker draws its random decisions from a source of its own, split off of the algorithm's source when the
+ * population is initialised, so the workers never contend for a source. A run with a single worker is reproducible
+ * from the algorithm's seed, but with several workers the order in which offspring are let into the population
+ * still depends on how long each evaluation takes.
+ *
+ * <p>Progress is measured in evaluations, i.e. the number of offspring produced, rather than in generations.
+ *
+ * @param <T> The type of chromosome used by the algorithm
+ * @param <R> The type of data used by the chromosomes
+ */
+@Log4j2
+public class SteadyStateEvolution<T extends Chromosome<R>, R extends Comparable<R>> implements AutoCloseable {
+    private final EvolutionaryAlgorithm<T, R> algorithm;
+    private final EvaluationExecutor executor;
+    private final int numWorkers;
+    private final Object lock;
+    private final AtomicLong claimed;
+    private final RandomSource[] sources;
+    private List<T> population;
+    private long evaluations;
+    private long replacements;
+
+    /**
+     * <p>Constructs a new steady-state driver for the provided algorithm.
+     *
+     * @param algorithm  The algorithm that chooses parents, breeds offspring, and decides which offspring survive
+     * @param numWorkers The number of offspring to breed and evaluate at once, the calling thread is one of them
+     */
+    public SteadyStateEvolution(final EvolutionaryAlgorithm<T, R> algorithm, final int numWorkers) {
+        if (numWorkers < 1) {
+            throw new IllegalArgumentException("At least one worker is required, but " + numWorkers + " were given.");
+        }
+
+        this.algorithm = algorithm;
+        this.numWorkers = numWorkers;
+        // The calling thread is a worker of its own
+        this.executor = (numWorkers > 1)
+                ? new FixedPoolEvaluationExecutor(numWorkers - 1)
+                : new SerialEvaluationExecutor();
+        this.lock = new Object();
+        this.claimed = new AtomicLong();
+        this.sources = new RandomSource[numWorkers];
+        this.population = new ArrayList<>();
+        this.evaluations = 0;
+        this.replacements = 0;
+    }
+
+    /**
+     * <p>Initialises the population of the algorithm and resets the number of evaluations. Each worker is given a
+     * new source of random numbers split off of the algorithm's source.
+     *
+     * @param populationSize The size of the initial population
+     */
+    public void initialisePopulation(final int populationSize) {
+        synchronized (lock) {
+            algorithm.initialisePopulation(populationSize);
+            population = new ArrayList<>(algorithm.getChromosomes());
+            algorithm.setChromosomes(population);
+
+            for (int i = 0; i < sources.length; ++i) {
+                sources[i] = algorithm.getRandom().split();
+            }
+
+            claimed.set(0);
+            evaluations = 0;
+            replacements = 0;
+        }
+    }
+
+    /**
+     * <p>Produces the provided number of offspring, returning once every one of them has been evaluated and
+     * either let into the population or discarded.
+     *
+     * @param numEvaluations The number of offspring to produce
+     */
+    public void evolve(final long numEvaluations) {
+        evolve(numEvaluations, (driver, evaluation) -> {
+        });
+    }
+
+    /**
+     * <p>Produces the provided number of offspring, returning once every one of them has been evaluated and
+     * either let into the population or discarded. The listener is called after each offspring, in order of the
+     * evaluation count.
+     *
+     * @param numEvaluations The number of offspring to produce
+     * @param listener       The listener to notify after each offspring
+     */
+    public void evolve(final long numEvaluations, final EvaluationListener<T, R> listener) {
+        final long budget = claimed.get() + numEvaluations;
+
+        executor.execute(numWorkers, worker -> {
+            final RandomSource random = getSource(worker);
+
+            try {
+                // Each worker claims an evaluation before it starts breeding, so the budget is never exceeded
+                while (claimed.getAndIncrement() < budget) {
+                    final List<T> parents;
+
+                    synchronized (lock) {
+                        parents = algorithm.selectParents(population, random);
+                    }
+
+                    final T offspring = algorithm.breed(parents, random);
+                    algorithm.evaluateOffspring(offspring, parents);
+
+                    synchronized (lock) {
+                        if (algorithm.replace(population, parents, offspring)) {
+                            ++replacements;
+                        }
+
+                        listener.onEvaluation(this, ++evaluations);
+                    }
+                }
+            } catch (RuntimeException | Error ex) {
+                // The other workers stop once they finish their current offspring
+                claimed.set(budget);
+                throw ex;
+            }
+        });
+
+        // Workers overshoot the budget by one claim each when they stop
+        claimed.set(budget);
+    }
+
+    /**
+     * <p>Returns the source of random numbers of the provided worker.
+     *
+     * @param worker The index of the worker
+     * @return the worker's source of random numbers
+     */
+    private RandomSource getSource(final int worker) {
+        synchronized (lock) {
+            if (sources[worker] == null) {
+                throw new IllegalStateException("The population must be initialised before it's evolved.");
+            }
+
+            return sources[worker];
+        }
+    }
+
+    /**
+     * <p>Returns a copy of the population, which can be taken while the population is evolving.
+     *
+     * @return the members of the population
+     */
+    public List<T> getPopulation() {
+        synchronized (lock) {
+            return new ArrayList<>(population);
+        }
+    }
+
+    /**
+     * <p>Returns the algorithm used to evolve the population.
+     *
+     * @return the algorithm of the driver
+     */
+    public EvolutionaryAlgorithm<T, R> getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * <p>Returns the number of offspring produced since the population was initialised.
+     *
+     * @return the number of evaluations
+     */
+    public long getEvaluationCount() {
+        synchronized (lock) {
+            return evaluations;
+        }
+    }
+
+    /**
+     * <p>Returns the number of offspring let into the population since it was initialised.
+     *
+     * @return the number of replacements
+     */
+    public long getReplacementCount() {
+        synchronized (lock) {
+            return replacements;
+        }
+    }
+
+    public int getNumWorkers() {
+        return numWorkers;
+    }
+
+    /**
+     * <p>Releases the threads used by the workers, the driver shouldn't be used afterwards. The evaluation executor
+     * of the algorithm isn't closed.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    /**
+     * <p>Notified by a steady-state driver after each offspring it produces.
+     *
+     * @param <T> The type of chromosome used by the algorithm
+     * @param <R> The type of data used by the chromosomes
+     */
+    @FunctionalInterface
+    public interface EvaluationListener<T extends Chromosome<R>, R extends Comparable<R>> {
+        /**
+         * <p>Called by the worker that produced an offspring once it has been let into the population or discarded.
+         * The population is locked during the call, so it can be inspected but shouldn't be held up.
+         *
+         * @param driver     The driver that produced the offspring
+         * @param evaluation The number of offspring produced since the population was initialised
+         */
+        void onEvaluation(final SteadyStateEvolution<T, R> driver, final long evaluation);
+    }
+}
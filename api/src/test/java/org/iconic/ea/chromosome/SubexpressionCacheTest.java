@@ -0,0 +1,217 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.chromosome;
+
+import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosomeFactory;
+import org.iconic.ea.chromosome.expression.ExpressionChromosome;
+import org.iconic.ea.chromosome.expression.ExpressionChromosomeFactory;
+import org.iconic.ea.data.DataManager;
+import org.iconic.ea.operator.primitive.*;
+import org.iconic.ea.random.RandomSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link org.iconic.ea.chromosome.SubexpressionCache}
+ */
+class SubexpressionCacheTest {
+    private static final String TEST_FILE = "Iris-Header.txt";
+    private static final int POPULATION = 50;
+
+    private final FunctionalPrimitive<Double, Double> addition = new Addition();
+    private final List<FunctionalPrimitive<Double, Double>> primitives = Arrays.asList(
+            addition, new Subtraction(), new Multiplication(), new Sin()
+    );
+    private static DataManager<Double> dataManager;
+
+    @BeforeAll
+    static void setUp() {
+        dataManager = new DataManager<>(TEST_FILE);
+    }
+
+    @DisplayName("Test that subexpressions with the same structure have equal keys")
+    @Test
+    void keyTest() {
+        final SubexpressionCache.Key x0 = SubexpressionCache.Key.input(0);
+        final SubexpressionCache.Key x1 = SubexpressionCache.Key.input(1);
+        final SubexpressionCache.Key key = SubexpressionCache.Key.of(addition, x0, x1);
+
+        assertAll("Keys",
+                () -> assertEquals(key, SubexpressionCache.Key.of(addition, SubexpressionCache.Key.input(0), x1)),
+                () -> assertEquals(key.hashCode(), SubexpressionCache.Key.of(addition, x0, x1).hashCode()),
+                () -> assertNotEquals(key, SubexpressionCache.Key.of(addition, x1, x0)),
+                // Primitives are compared by identity, as with phenotype keys
+                () -> assertNotEquals(key, SubexpressionCache.Key.of(new Addition(), x0, x1)),
+                () -> assertNotEquals(x0, x1),
+                () -> assertTrue(x0.isInput()),
+                () -> assertSame(x1, key.getArgument(1))
+        );
+    }
+
+    @DisplayName("Test that columns are only found for the dataset they were computed from")
+    @Test
+    void cacheTest() {
+        final SubexpressionCache cache = new SubexpressionCache();
+        final SubexpressionCache.Key key = SubexpressionCache.Key.of(addition, SubexpressionCache.Key.input(0));
+        final double[][] inputs = {{1, 2, 3}};
+        final double[] column = {4, 5, 6};
+
+        assertNull(cache.get(key, inputs, 3));
+        cache.put(key, inputs, 3, column);
+
+        assertSame(column, cache.get(key, inputs, 3));
+
+        // A different dataset with identical values still can't use the cached column
+        final double[][] other = {{1, 2, 3}};
+        assertNull(cache.get(key, other, 3));
+        assertNull(cache.get(key, inputs, 2));
+
+        // Caching a column for another dataset keeps the columns of the previous one, so datasets can take turns
+        cache.put(key, other, 3, new double[]{7, 8, 9});
+        assertSame(column, cache.get(key, inputs, 3));
+        assertArrayEquals(new double[]{7, 8, 9}, cache.get(key, other, 3));
+
+        assertAll("Cache statistics",
+                () -> assertEquals(3, cache.getHitCount()),
+                () -> assertEquals(3, cache.getMissCount()),
+                () -> assertEquals(0.5, cache.getHitRate(), 1e-9),
+                () -> assertEquals(2, cache.size())
+        );
+    }
+
+    @DisplayName("Test that the cache evicts columns once it holds too many bytes")
+    @Test
+    void evictionTest() {
+        final int numSamples = 1000;
+        final int numColumns = 100;
+        // Only enough room for some of the columns
+        final SubexpressionCache cache = new SubexpressionCache(40 * numSamples * Double.BYTES);
+        final double[][] inputs = {new double[numSamples]};
+        SubexpressionCache.Key key = SubexpressionCache.Key.input(0);
+
+        for (int i = 0; i < numColumns; ++i) {
+            key = SubexpressionCache.Key.of(addition, key);
+            cache.put(key, inputs, numSamples, new double[numSamples]);
+        }
+
+        assertTrue(cache.size() < 40);
+        assertEquals(numColumns - cache.size(), cache.getEvictionCount());
+        // The most recently used column should be the last to go
+        assertNotNull(cache.get(key, inputs, numSamples));
+    }
+
+    @DisplayName("Test that a column taking up half of the cache is kept")
+    @Test
+    void largeColumnTest() {
+        final int numSamples = 10000;
+        final SubexpressionCache cache = new SubexpressionCache(2L * numSamples * Double.BYTES);
+        final SubexpressionCache.Key key = SubexpressionCache.Key.of(addition, SubexpressionCache.Key.input(0));
+        final double[][] inputs = {new double[numSamples]};
+        final double[] column = new double[numSamples];
+
+        cache.put(key, inputs, numSamples, column);
+
+        assertSame(column, cache.get(key, inputs, numSamples));
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @DisplayName("Test that cartesian chromosomes produce the same output when sharing a cache")
+    @Test
+    void cartesianTest() {
+        final SubexpressionCache cache = new SubexpressionCache();
+        final CartesianChromosomeFactory<Double> supplier = new CartesianChromosomeFactory<>(
+                1, getInputs(4), 10, 2, 10
+        );
+
+        supplier.addFunction(primitives);
+        supplier.setSubexpressionCache(cache);
+        // Keep the chromosomes from reusing their own outputs, so that only the cache is used
+        supplier.setNodeOutputCache(null);
+
+        final List<CartesianChromosome<Double>> population = new ArrayList<>(POPULATION);
+        for (int i = 0; i < POPULATION; ++i) {
+            population.add(supplier.getChromosome(new RandomSource()));
+        }
+
+        for (int round = 0; round < 2; ++round) {
+            for (CartesianChromosome<Double> chromosome : population) {
+                final CartesianChromosome<Double> uncached = chromosome.clone();
+                uncached.setSubexpressionCache(null);
+
+                assertSame(cache, chromosome.getSubexpressionCache());
+                assertArrayEquals(
+                        uncached.evaluate(dataManager, new double[dataManager.getSampleSize()]),
+                        chromosome.evaluate(dataManager, new double[dataManager.getSampleSize()])
+                );
+            }
+        }
+
+        // Every chromosome with an active function node is evaluated twice, so each one should find its outputs the
+        // second time around
+        final long expressive = population.stream()
+                .filter(chromosome -> Arrays.stream(chromosome.getActiveNodes()).anyMatch(node -> node >= 4))
+                .count();
+
+        assertTrue(cache.getHitCount() >= expressive);
+    }
+
+    @DisplayName("Test that expression chromosomes produce the same output when sharing a cache")
+    @Test
+    void expressionTest() {
+        final SubexpressionCache cache = new SubexpressionCache();
+        final ExpressionChromosomeFactory<Double> supplier = new ExpressionChromosomeFactory<>(
+                8, getInputs(4), 4
+        );
+
+        supplier.addFunction(primitives);
+        supplier.setSubexpressionCache(cache);
+
+        for (int i = 0; i < POPULATION; ++i) {
+            final ExpressionChromosome<Double> chromosome = supplier.getChromosome(new RandomSource());
+            final ExpressionChromosome<Double> uncached = chromosome.clone();
+            uncached.setSubexpressionCache(null);
+
+            assertSame(cache, chromosome.getSubexpressionCache());
+
+            for (int round = 0; round < 2; ++round) {
+                assertArrayEquals(
+                        uncached.evaluate(dataManager, new double[dataManager.getSampleSize()]),
+                        chromosome.evaluate(dataManager, new double[dataManager.getSampleSize()])
+                );
+            }
+        }
+
+        assertTrue(cache.getHitCount() > 0);
+    }
+
+    private static List<String> getInputs(final int numInputs) {
+        final List<String> inputs = new ArrayList<>(numInputs);
+
+        for (int i = 0; i < numInputs; ++i) {
+            inputs.add(String.valueOf(i));
+        }
+
+        return inputs;
+    }
+}
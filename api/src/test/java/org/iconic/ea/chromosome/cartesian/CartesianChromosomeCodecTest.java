@@ -0,0 +1,164 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.chromosome.cartesian;
+
+import org.iconic.ea.operator.primitive.Addition;
+import org.iconic.ea.operator.primitive.Multiplication;
+import org.iconic.ea.operator.primitive.Subtraction;
+import org.iconic.ea.random.RandomSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>
+ * A test suite for the {@link CartesianChromosomeCodec} class.
+ *
+ * <p>
+ * This test suite ensures the following:
+ * - decoded chromosomes have the same genes as the chromosomes that were encoded
+ * - codecs of differently configured factories have different fingerprints
+ * - invalid or malformed input is rejected
+ *
+ */
+class CartesianChromosomeCodecTest {
+    private static final List<String> INPUTS = Arrays.asList("a", "b", "c");
+
+    private CartesianChromosomeFactory<Double> factory;
+    private CartesianChromosomeCodec<Double> codec;
+
+    private static CartesianChromosomeFactory<Double> getFactory(final int columns) {
+        final CartesianChromosomeFactory<Double> factory = new CartesianChromosomeFactory<>(2, INPUTS, columns, 2, 4);
+
+        factory.addFunction(Arrays.asList(new Addition(), new Subtraction(), new Multiplication()));
+        return factory;
+    }
+
+    @BeforeEach
+    void init() {
+        factory = getFactory(100);
+        codec = new CartesianChromosomeCodec<>(factory);
+    }
+
+    private byte[] encode(final List<CartesianChromosome<Double>> chromosomes) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        codec.writeAll(chromosomes, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private List<CartesianChromosome<Double>> decode(final byte[] bytes) throws IOException {
+        return codec.readAll(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    @RepeatedTest(10)
+    @DisplayName("Test that decoded chromosomes have the same genes as the encoded chromosomes")
+    void roundTripTest() throws IOException {
+        final List<CartesianChromosome<Double>> chromosomes = new ArrayList<>();
+
+        for (int i = 0; i < 5; ++i) {
+            chromosomes.add(factory.getChromosome(new RandomSource()));
+        }
+
+        final byte[] bytes = encode(chromosomes);
+        final List<CartesianChromosome<Double>> decoded = decode(bytes);
+
+        assertEquals(chromosomes.size(), decoded.size());
+
+        for (int i = 0; i < chromosomes.size(); ++i) {
+            final CartesianChromosome<Double> expected = chromosomes.get(i);
+            final CartesianChromosome<Double> actual = decoded.get(i);
+
+            assertAll(
+                    () -> assertEquals(expected.getOutputs(), actual.getOutputs()),
+                    () -> assertEquals(expected.getGenome(), actual.getGenome()),
+                    () -> assertEquals(expected.getPhenotypeKey(), actual.getPhenotypeKey())
+            );
+        }
+
+        // Most genes are small enough to be encoded in a single byte
+        assertTrue(bytes.length < 2 * chromosomes.size() * chromosomes.get(0).getGenome().size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE})
+    @DisplayName("Test that integers are read as they were written")
+    void varIntTest(final int value) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        CartesianChromosomeCodec.writeVarInt(value, new DataOutputStream(bytes));
+
+        assertEquals(value, CartesianChromosomeCodec.readVarInt(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))
+        ));
+    }
+
+    @Test
+    @DisplayName("Test that codecs of differently configured factories have different fingerprints")
+    void fingerprintTest() {
+        final CartesianChromosomeCodec<Double> identical = new CartesianChromosomeCodec<>(getFactory(100));
+        final CartesianChromosomeCodec<Double> different = new CartesianChromosomeCodec<>(getFactory(50));
+
+        assertAll(
+                () -> assertEquals(codec.getFingerprint(), identical.getFingerprint()),
+                () -> assertNotEquals(codec.getFingerprint(), different.getFingerprint())
+        );
+    }
+
+    @Test
+    @DisplayName("Test that invalid and malformed input is rejected")
+    void invalidTest() throws IOException {
+        final CartesianChromosome<Double> chromosome = factory.getChromosome(new RandomSource());
+        final List<Integer> cyclic = new ArrayList<>(chromosome.getGenome());
+        final int lastNode = INPUTS.size() + chromosome.getColumns() * chromosome.getRows() - 1;
+
+        // Connect the last node to itself
+        cyclic.set(CartesianChromosome.nodeToIndex(lastNode, INPUTS.size(), chromosome.getMaxArity()) + 1, lastNode);
+
+        final byte[] truncated = Arrays.copyOf(encode(Arrays.asList(chromosome, chromosome)), 20);
+        // Chromosomes with fewer columns have fewer genes than expected
+        final byte[] mismatched = encodeWith(getFactory(50));
+
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> factory.getChromosome(
+                        chromosome.getOutputs(), cyclic
+                )),
+                () -> assertThrows(IOException.class, () -> decode(truncated)),
+                () -> assertThrows(IOException.class, () -> decode(mismatched)),
+                () -> assertThrows(IOException.class, () -> decode(new byte[]{(byte) 0xFF, (byte) 0xFF,
+                        (byte) 0xFF, (byte) 0xFF, (byte) 0x7F}))
+        );
+    }
+
+    private static byte[] encodeWith(final CartesianChromosomeFactory<Double> factory) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        new CartesianChromosomeCodec<>(factory).writeAll(
+                Arrays.asList(factory.getChromosome(new RandomSource())), new DataOutputStream(bytes)
+        );
+        return bytes.toByteArray();
+    }
+}
@@ -17,6 +17,7 @@ package org.iconic.ea.chromosome.cartesian;
 
 import lombok.extern.log4j.Log4j2;
 import org.iconic.ea.operator.primitive.*;
+import org.iconic.ea.random.RandomSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
@@ -93,7 +94,7 @@ class CartesianChromosomeFactoryTest {
                 numOutputs, inputs, columns, rows, levelsBack
         );
         supplier.addFunction(primitives);
-        CartesianChromosome<Double> c = supplier.getChromosome();
+        CartesianChromosome<Double> c = supplier.getChromosome(new RandomSource());
 
         // Test that the size of the chromosome is correct
         final int numGenes = numInputs + numOutputs +
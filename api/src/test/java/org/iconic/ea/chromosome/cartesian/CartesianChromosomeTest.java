@@ -16,7 +16,9 @@
 package org.iconic.ea.chromosome.cartesian;
 
 import lombok.extern.log4j.Log4j2;
+import org.iconic.ea.data.DataManager;
 import org.iconic.ea.operator.primitive.*;
+import org.iconic.ea.random.RandomSource;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.RepeatedTest;
@@ -28,7 +30,9 @@ import org.junit.jupiter.params.provider.MethodSource;
 import java.util.*;
 import java.util.stream.Stream;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * <p>
@@ -69,29 +73,346 @@ public class CartesianChromosomeTest {
         CartesianChromosome<Double> c = getChromosome(inputs, outputs, primitives);
     }
 
-    /**
-     * <p>Test incomplete
-     *
-     * @param inputs
-     * @param genome
-     * @param outputs
-     * @param primitives
-     * @param activeNodes
-     * @param samples
-     * @param expected
-     */
     @ParameterizedTest
-    @MethodSource("generateOutputTestProvider")
+    @MethodSource("outputTestProvider")
     @DisplayName("Test that the output generated for a cartesian chromosome is correct")
+    @SuppressWarnings("unchecked")
     void outputTest(int inputs, List<Integer> genome,
                     List<Integer> outputs, List<FunctionalPrimitive<Double, Double>> primitives,
                     Map<Integer, List<Integer>> activeNodes,
                     List<Double> samples,
                     Map<Integer, Double> expected
     ) {
-        // A chromosome is only created to access the class method
-        CartesianChromosome<Double> c = getChromosome(inputs, outputs, primitives);
-        c.generateOutput(activeNodes, genome, inputs, outputs, primitives, samples);
+        final double delta = 0.001;
+        CartesianChromosome<Double> c = new CartesianChromosome<>(
+                primitives, inputs, 2, 2, 2, outputs, genome, new HashMap<>()
+        );
+        DataManager<Double> dataManager = mock(DataManager.class);
+
+        when(dataManager.getSampleSize()).thenReturn(1);
+        for (int i = 0; i < inputs; ++i) {
+            when(dataManager.getColumnAsDoubles(i)).thenReturn(new double[]{samples.get(i)});
+        }
+
+        final List<Map<Integer, Double>> results = c.evaluate(dataManager);
+
+        assertEquals(1, results.size());
+        assertEquals(expected.keySet(), results.get(0).keySet());
+        for (Map.Entry<Integer, Double> output : expected.entrySet()) {
+            assertEquals(output.getValue(), results.get(0).get(output.getKey()), delta);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("outputTestProvider")
+    @DisplayName("Test that the compiled program of a cartesian chromosome produces the correct output")
+    void programTest(int inputs, List<Integer> genome,
+                     List<Integer> outputs, List<FunctionalPrimitive<Double, Double>> primitives,
+                     Map<Integer, List<Integer>> activeNodes,
+                     List<Double> samples,
+                     Map<Integer, Double> expected
+    ) {
+        final double delta = 0.001;
+        CartesianChromosome<Double> c = new CartesianChromosome<>(
+                primitives, inputs, 2, 2, 2, outputs, genome, new HashMap<>()
+        );
+        CartesianProgram<Double> program = c.getProgram();
+
+        final double[][] columns = new double[inputs][];
+        for (int i = 0; i < inputs; ++i) {
+            columns[i] = new double[]{samples.get(i)};
+        }
+
+        final int[] programOutputs = program.getOutputs();
+        final double[][] results = new double[programOutputs.length][1];
+        program.run(columns, 1, results);
+
+        assertEquals(expected.size(), programOutputs.length);
+        for (int k = 0; k < programOutputs.length; ++k) {
+            assertEquals(expected.get(programOutputs[k]), results[k][0], delta);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("activeNodeTestProvider")
+    @DisplayName("Test that the genes of a cartesian chromosome can be read by node")
+    void geneAccessorTest(int inputs, List<Integer> genome, List<Integer> outputs,
+                          List<FunctionalPrimitive<Double, Double>> primitives) {
+        CartesianChromosome<Double> c = new CartesianChromosome<>(
+                primitives, inputs, 2, 2, 2, outputs, genome, new HashMap<>()
+        );
+
+        assertAll(
+                () -> assertEquals(genome, c.getGenome()),
+                () -> assertEquals(outputs, c.getOutputs()),
+                () -> assertEquals(4, c.getFunctionGene(4)),
+                () -> assertEquals(2, c.getConnectionGene(4, 1)),
+                () -> assertEquals(3, c.getConnectionGene(5, 2)),
+                () -> assertEquals(5, c.getOutput(2)),
+                () -> assertEquals(3, c.getNumberOfOutputs()),
+                // The genome may only be changed through the chromosome
+                () -> assertThrows(UnsupportedOperationException.class, () -> c.getGenome().set(2, 1))
+        );
+
+        c.setGene(nodeToIndexFor(c, 4), 1);
+        assertEquals(1, c.getFunctionGene(4));
+        // The chromosome should hold its own copy of the genome
+        assertEquals(4, (int) genome.get(nodeToIndexFor(c, 4)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("activeNodeTestProvider")
+    @DisplayName("Test that clones share their parent's genome until a gene is written")
+    void copyOnWriteTest(int inputs, List<Integer> genome, List<Integer> outputs,
+                         List<FunctionalPrimitive<Double, Double>> primitives) {
+        CartesianChromosome<Double> parent = new CartesianChromosome<>(
+                primitives, inputs, 2, 2, 2, outputs, genome, new HashMap<>()
+        );
+        parent.setFitness(1.0);
+        parent.setChanged(false);
+        final CartesianProgram<Double> program = parent.getProgram();
+
+        // The second connection of node 4 isn't used by its function, and rewriting a gene doesn't change it
+        final CartesianChromosome<Double> neutral = parent.clone();
+        neutral.setGene(nodeToIndexFor(neutral, 4) + 2, 0);
+        neutral.setGene(nodeToIndexFor(neutral, 5), 3);
+        neutral.setOutput(0, 4);
+
+        assertAll("Neutral mutations",
+                () -> assertFalse(neutral.isChanged()),
+                () -> assertSame(program, neutral.getProgram()),
+                () -> assertEquals(1.0, neutral.getFitness()),
+                () -> assertEquals(0, neutral.getConnectionGene(4, 2)),
+                () -> assertEquals(genome, parent.getGenome())
+        );
+
+        final CartesianChromosome<Double> mutant = parent.clone();
+        mutant.setGene(nodeToIndexFor(mutant, 2), 2);
+
+        assertAll("Active mutations",
+                () -> assertTrue(mutant.isChanged()),
+                () -> assertNotSame(program, mutant.getProgram()),
+                () -> assertEquals(2, mutant.getFunctionGene(2)),
+                () -> assertEquals(0, parent.getFunctionGene(2)),
+                () -> assertSame(program, parent.getProgram()),
+                () -> assertFalse(parent.isChanged())
+        );
+
+        // The parent doesn't own its genome either once it's been cloned
+        parent.setGene(nodeToIndexFor(parent, 2), 1);
+
+        assertAll("Parent mutations",
+                () -> assertEquals(1, parent.getFunctionGene(2)),
+                () -> assertEquals(0, neutral.getFunctionGene(2)),
+                () -> assertEquals(2, mutant.getFunctionGene(2))
+        );
+    }
+
+    @RepeatedTest(20)
+    @DisplayName("Test that the active nodes are kept up to date as a chromosome is mutated")
+    void incrementalActiveNodesTest() {
+        final List<FunctionalPrimitive<Double, Double>> primitives = Arrays.asList(
+                new Addition(), new Sin(), new IfThenElse()
+        );
+        final CartesianChromosome<Double> c = getChromosome(5, 3, 10, 10, primitives);
+        final Random random = new Random();
+        final int numInputs = c.getInputs();
+        final int numNodes = c.getNumberOfNodes();
+        final int stride = c.getMaxArity() + 1;
+
+        // Find the active nodes so that they're updated by each mutation instead of being found again
+        c.getActiveNodeSet();
+
+        for (int i = 0; i < 500; ++i) {
+            final CartesianChromosome<Double> parent = c.clone();
+
+            if (random.nextInt(10) == 0) {
+                c.setOutput(random.nextInt(c.getOutputs().size()), random.nextInt(numInputs + numNodes));
+            } else {
+                final int node = random.nextInt(numNodes);
+                final int position = random.nextInt(stride);
+                final int index = numInputs + node * stride + position;
+
+                // Connections may only be made to preceding nodes
+                c.setGene(index, (position == 0)
+                        ? random.nextInt(primitives.size())
+                        : random.nextInt(numInputs + node)
+                );
+            }
+
+            final Set<Integer> expected = new TreeSet<>();
+            for (Map.Entry<Integer, List<Integer>> output : c.getPhenome().entrySet()) {
+                expected.add(output.getKey());
+                expected.addAll(output.getValue());
+            }
+
+            final int[] actual = c.getActiveNodes();
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), actual);
+            assertArrayEquals(new ActiveNodeSet(c).order(), actual);
+            // Mutating the chromosome shouldn't affect the chromosome it was cloned from
+            assertArrayEquals(new ActiveNodeSet(parent).order(), parent.getActiveNodes());
+        }
+    }
+
+    @RepeatedTest(10)
+    @DisplayName("Test that offspring evaluated from their parent's node outputs match a full evaluation")
+    @SuppressWarnings("unchecked")
+    void incrementalEvaluationTest() {
+        final List<FunctionalPrimitive<Double, Double>> primitives = Arrays.asList(
+                new Addition(), new Multiplication(), new Sin(), new IfThenElse()
+        );
+        final int numSamples = 50;
+        final CartesianChromosome<Double> c = getChromosome(4, 2, 10, 5, primitives);
+        final DataManager<Double> dataManager = mock(DataManager.class);
+        final Random random = new Random();
+        final int numInputs = c.getInputs();
+        final int stride = c.getMaxArity() + 1;
+
+        when(dataManager.getSampleSize()).thenReturn(numSamples);
+        for (int i = 0; i < numInputs; ++i) {
+            final double[] column = random.doubles(numSamples, -10, 10).toArray();
+            when(dataManager.getColumnAsDoubles(i)).thenReturn(column);
+        }
+
+        CartesianChromosome<Double> parent = c;
+        parent.evaluate(dataManager, new double[numSamples]);
+        assertNotNull(parent.getNodeOutputs());
+
+        for (int i = 0; i < 200; ++i) {
+            final CartesianChromosome<Double> child = parent.clone();
+            final int node = random.nextInt(child.getNumberOfNodes());
+            final int position = random.nextInt(stride);
+
+            child.setGene(numInputs + node * stride + position, (position == 0)
+                    ? random.nextInt(primitives.size())
+                    : random.nextInt(numInputs + node)
+            );
+
+            final boolean changed = child.isChanged();
+            final CartesianChromosome<Double> reference = child.clone();
+            reference.setNodeOutputCache(null);
+
+            final double[] expected = reference.evaluate(dataManager, new double[numSamples]);
+            final double[] actual = child.evaluate(dataManager, new double[numSamples]);
+
+            assertArrayEquals(expected, actual);
+            assertNull(reference.getNodeOutputs());
+            // Genes that aren't expressed shouldn't cause any node to be recomputed
+            if (!changed) {
+                assertEquals(0, child.getNodeOutputs().getNumComputed());
+            }
+
+            parent = child;
+        }
+
+        // Without enough room for every node the compiled program is run instead
+        parent.setNodeOutputCache(new NodeOutputCache(1));
+        parent.evaluate(dataManager, new double[numSamples]);
+        assertNull(parent.getNodeOutputs());
+    }
+
+    @Test
+    @DisplayName("Test that the node outputs of every chromosome are bounded by the cache they share")
+    @SuppressWarnings("unchecked")
+    void nodeOutputCacheTest() {
+        final List<FunctionalPrimitive<Double, Double>> primitives = Arrays.asList(
+                new Addition(), new Multiplication(), new Sin(), new IfThenElse()
+        );
+        final int numSamples = 50;
+        final int numChromosomes = 200;
+        final NodeOutputCache nodeOutputCache = new NodeOutputCache(128 * 1024);
+        final DataManager<Double> dataManager = mock(DataManager.class);
+        final Random random = new Random();
+        final List<CartesianChromosome<Double>> chromosomes = new ArrayList<>();
+
+        when(dataManager.getSampleSize()).thenReturn(numSamples);
+        for (int i = 0; i < 4; ++i) {
+            final double[] column = random.doubles(numSamples, -10, 10).toArray();
+            when(dataManager.getColumnAsDoubles(i)).thenReturn(column);
+        }
+
+        for (int i = 0; i < numChromosomes; ++i) {
+            final CartesianChromosome<Double> chromosome = getChromosome(4, 2, 10, 5, primitives);
+            chromosome.setNodeOutputCache(nodeOutputCache);
+            chromosome.evaluate(dataManager, new double[numSamples]);
+            chromosomes.add(chromosome);
+        }
+
+        final long size = chromosomes.stream()
+                .map(CartesianChromosome::getNodeOutputs)
+                .filter(Objects::nonNull)
+                .mapToLong(NodeOutputs::getSize)
+                .sum();
+
+        assertAll("Shared node outputs",
+                () -> assertTrue(size <= nodeOutputCache.getMaximumBytes()),
+                () -> assertTrue(nodeOutputCache.size() < numChromosomes),
+                // The most recently evaluated chromosome is the last to lose its outputs
+                () -> assertNotNull(chromosomes.get(numChromosomes - 1).getNodeOutputs())
+        );
+    }
+
+    @Test
+    @DisplayName("Test that node outputs taking up half of the cache they share are kept")
+    @SuppressWarnings("unchecked")
+    void largeNodeOutputsTest() {
+        final List<FunctionalPrimitive<Double, Double>> primitives = Arrays.asList(
+                new Addition(), new Multiplication(), new Sin(), new IfThenElse()
+        );
+        final int numSamples = 10000;
+        final DataManager<Double> dataManager = mock(DataManager.class);
+        final Random random = new Random();
+
+        when(dataManager.getSampleSize()).thenReturn(numSamples);
+        for (int i = 0; i < 4; ++i) {
+            final double[] column = random.doubles(numSamples, -10, 10).toArray();
+            when(dataManager.getColumnAsDoubles(i)).thenReturn(column);
+        }
+
+        final CartesianChromosome<Double> chromosome = getChromosome(4, 2, 10, 5, primitives);
+        final long size = NodeOutputs.getSize(chromosome, numSamples);
+        final NodeOutputCache nodeOutputCache = new NodeOutputCache(2 * size);
+
+        chromosome.setNodeOutputCache(nodeOutputCache);
+        chromosome.evaluate(dataManager, new double[numSamples]);
+
+        assertAll("Large node outputs",
+                () -> assertNotNull(chromosome.getNodeOutputs()),
+                () -> assertEquals(1, nodeOutputCache.size())
+        );
+    }
+
+    @RepeatedTest(20)
+    @DisplayName("Test that chromosomes produce the same output once their phenome is compiled")
+    @SuppressWarnings("unchecked")
+    void compiledEvaluationTest() {
+        final List<FunctionalPrimitive<Double, Double>> primitives = Arrays.asList(
+                new Addition(), new Multiplication(), new Sin(), new IfThenElse()
+        );
+        final int numSamples = 50;
+        final CartesianChromosome<Double> c = getChromosome(4, 2, 10, 5, primitives);
+        final DataManager<Double> dataManager = mock(DataManager.class);
+        final Random random = new Random();
+
+        when(dataManager.getSampleSize()).thenReturn(numSamples);
+        for (int i = 0; i < c.getInputs(); ++i) {
+            final double[] column = random.doubles(numSamples, -10, 10).toArray();
+            when(dataManager.getColumnAsDoubles(i)).thenReturn(column);
+        }
+
+        final double[] expected = c.evaluate(dataManager, new double[numSamples]);
+
+        c.setCompileThreshold(2);
+        assertArrayEquals(expected, c.evaluate(dataManager, new double[numSamples]));
+
+        // The second run compiles the phenome, which is shared with clones until they change
+        final CartesianChromosome<Double> clone = c.clone();
+        assertArrayEquals(expected, clone.evaluate(dataManager, new double[numSamples]));
+        assertNotNull(c.getProgram().getCompiled(2));
+        assertArrayEquals(expected, c.evaluate(dataManager, new double[numSamples]));
+
+        clone.setChanged(true);
+        assertNull(clone.getProgram().getCompiled(2));
     }
 
     @Disabled
@@ -111,6 +432,10 @@ public class CartesianChromosomeTest {
         assertEquals(expected, result);
     }
 
+    private static int nodeToIndexFor(CartesianChromosome<?> c, int node) {
+        return CartesianChromosome.nodeToIndex(node, c.getInputs(), c.getMaxArity());
+    }
+
     /**
      * <p>Helper method for fetching a chromosome
      *
@@ -120,9 +445,22 @@ public class CartesianChromosomeTest {
      * @return
      */
     private CartesianChromosome<Double> getChromosome(int numInputs, List<Integer> outputs, List<FunctionalPrimitive<Double, Double>> primitives) {
-        final int columns = 2;
-        final int rows = 2;
-        final int levelsBack = 2;
+        return getChromosome(numInputs, outputs.size(), 2, 2, primitives);
+    }
+
+    /**
+     * <p>Helper method for fetching a chromosome with the provided dimensions
+     *
+     * @param numInputs
+     * @param numOutputs
+     * @param columns
+     * @param rows
+     * @param primitives
+     * @return
+     */
+    private CartesianChromosome<Double> getChromosome(int numInputs, int numOutputs, int columns, int rows,
+                                                      List<FunctionalPrimitive<Double, Double>> primitives) {
+        final int levelsBack = columns;
 
         List<String> inputs = new ArrayList<>(numInputs);
         for (int i = 0; i < numInputs; ++i) {
@@ -130,11 +468,11 @@ public class CartesianChromosomeTest {
         }
 
         CartesianChromosomeFactory<Double> supplier = new CartesianChromosomeFactory<>(
-                outputs.size(), inputs, columns, rows, levelsBack
+                numOutputs, inputs, columns, rows, levelsBack
         );
 
         supplier.addFunction(primitives);
-        return supplier.getChromosome();
+        return supplier.getChromosome(new RandomSource());
     }
 
     /**
@@ -175,7 +513,7 @@ public class CartesianChromosomeTest {
 
     /**
      */
-    private static Stream<Arguments> generateOutputTestProvider() {
+    private static Stream<Arguments> outputTestProvider() {
         List<Integer> genome = new ArrayList<>();
         List<Integer> outputs = new ArrayList<>();
         List<FunctionalPrimitive<Double, Double>> primitives = new ArrayList<>();
@@ -233,7 +571,7 @@ public class CartesianChromosomeTest {
         );
         supplier.addFunction(primitives);
 
-        final CartesianChromosome<Double> c = supplier.getChromosome();
+        final CartesianChromosome<Double> c = supplier.getChromosome(new RandomSource());
         c.getActiveNodes(c.getInputs(), c.getGenome(), c.getOutputs(), primitives);
     }
 }
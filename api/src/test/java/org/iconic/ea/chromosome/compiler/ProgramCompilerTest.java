@@ -0,0 +1,129 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.chromosome.compiler;
+
+import org.iconic.ea.operator.primitive.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>
+ * A test suite for the {@link ProgramCompiler} class.
+ *
+ *
+ * <p>
+ * This test suite ensures the following:
+ * - compiled programs apply their primitives in order and sum their results
+ * - programs that can't be compiled are left to the interpreter
+ *
+ */
+public class ProgramCompilerTest {
+    // Enough features and values to require wide local variables and constant pushes
+    private static final int NUM_FEATURES = 100;
+    private static final int NUM_SAMPLES = 100;
+
+    @Test
+    @DisplayName("Test that a compiled program produces the same output as applying its primitives directly")
+    void compileTest() {
+        final Random random = new Random();
+        final FunctionalPrimitive<Double, Double> addition = new Addition();
+        final FunctionalPrimitive<Double, Double> multiplication = new Multiplication();
+        final FunctionalPrimitive<Double, Double> sin = new Sin();
+        final FunctionalPrimitive<Double, Double> ifThenElse = new IfThenElse();
+        final FunctionalPrimitive<Double, Double> constant = new Constant<>(2.0);
+        final ProgramCompiler.Builder builder = ProgramCompiler.builder();
+        final double[][] columns = new double[NUM_FEATURES][];
+
+        for (int i = 0; i < NUM_FEATURES; ++i) {
+            columns[i] = random.doubles(NUM_SAMPLES, -5, 5).toArray();
+        }
+
+        // Chain every feature together, so that each value depends on the one before it
+        int value = builder.apply(constant);
+        for (int i = 0; i < NUM_FEATURES; ++i) {
+            final int product = builder.apply(multiplication, value, builder.input(i));
+            value = builder.apply(sin, builder.apply(addition, product, builder.input(NUM_FEATURES - 1 - i)));
+        }
+
+        final int condition = builder.apply(ifThenElse, builder.input(0), value, builder.input(1));
+        final CompiledProgram compiled = builder.sum(condition, value, builder.input(2)).compile();
+        final double[] actual = new double[NUM_SAMPLES];
+
+        assertNotNull(compiled);
+        compiled.eval(columns, actual, NUM_SAMPLES);
+
+        for (int s = 0; s < NUM_SAMPLES; ++s) {
+            final double[] row = new double[NUM_FEATURES];
+            double expected = constant.applyAsDouble();
+
+            for (int i = 0; i < NUM_FEATURES; ++i) {
+                row[i] = columns[i][s];
+            }
+
+            for (int i = 0; i < NUM_FEATURES; ++i) {
+                final double product = multiplication.applyAsDouble(expected, row[i]);
+                expected = sin.applyAsDouble(addition.applyAsDouble(product, row[NUM_FEATURES - 1 - i]));
+            }
+
+            expected = 0.0 + ifThenElse.applyAsDouble(row[0], expected, row[1]) + expected + row[2];
+
+            assertEquals(expected, actual[s]);
+            assertEquals(expected, compiled.eval(row));
+        }
+    }
+
+    @Test
+    @DisplayName("Test that a program may return one of its inputs")
+    void inputTest() {
+        final CompiledProgram compiled = ProgramCompiler.builder().returns(-1 - 7).compile();
+        final double[] out = new double[2];
+
+        compiled.eval(new double[][]{{}, {}, {}, {}, {}, {}, {}, {-0.0, 3}}, out, 2);
+
+        assertAll("input",
+                () -> assertEquals(-0.0, out[0]),
+                () -> assertEquals(3, out[1]),
+                () -> assertEquals(4, compiled.eval(new double[]{0, 0, 0, 0, 0, 0, 0, 4}))
+        );
+    }
+
+    @Test
+    @DisplayName("Test that programs that can't be compiled aren't")
+    void uncompilableTest() {
+        final FunctionalPrimitive<Double, Double> sum = new FunctionalPrimitive<>(
+                args -> args.stream().mapToDouble(Double::doubleValue).sum(), 4, "SUM4", "Sums four values"
+        );
+        final ProgramCompiler.Builder tooManyArguments = ProgramCompiler.builder();
+        final ProgramCompiler.Builder tooLarge = ProgramCompiler.builder();
+        final FunctionalPrimitive<Double, Double> addition = new Addition();
+
+        final int a = tooManyArguments.input(0);
+        tooManyArguments.returns(tooManyArguments.apply(sum, a, a, a, a));
+
+        int value = tooLarge.input(0);
+        for (int i = 0; i < ProgramCompiler.MAX_METHOD_SIZE; ++i) {
+            value = tooLarge.apply(addition, value, value);
+        }
+        tooLarge.returns(value);
+
+        assertNull(tooManyArguments.compile());
+        assertNull(tooLarge.compile());
+    }
+}
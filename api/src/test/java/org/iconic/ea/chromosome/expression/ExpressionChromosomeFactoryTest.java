@@ -16,6 +16,7 @@
 package org.iconic.ea.chromosome.expression;
 
 import org.iconic.ea.operator.primitive.Addition;
+import org.iconic.ea.random.RandomSource;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -60,7 +61,7 @@ public class ExpressionChromosomeFactoryTest {
                 new Addition()
         ));
 
-        ExpressionChromosome<Double> c = supplier.getChromosome();
+        ExpressionChromosome<Double> c = supplier.getChromosome(new RandomSource());
 
         // Chromosomes produced by the factory should always have the same parameters as the factory
         assertAll("parameters",
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.chromosome.expression;
+
+import org.iconic.ea.chromosome.SubexpressionCache;
+import org.iconic.ea.chromosome.compiler.CompiledProgram;
+import org.iconic.ea.chromosome.graph.FunctionNode;
+import org.iconic.ea.chromosome.graph.InputNode;
+import org.iconic.ea.chromosome.graph.Node;
+import org.iconic.ea.operator.primitive.*;
+import org.iconic.ea.random.RandomSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>
+ * A test suite for the {@link ExpressionProgram} class.
+ *
+ *
+ * <p>
+ * This test suite ensures the following:
+ * - compiled programs produce the same output as the expression tree they're compiled from, including once
+ *   they're compiled to bytecode
+ * - the expression tree is only a view, and never modifies the genes it's built from
+ *
+ */
+public class ExpressionProgramTest {
+    private static final int NUM_FEATURES = 3;
+    // More than a single block of samples
+    private static final int NUM_SAMPLES = 2500;
+
+    private final List<FunctionalPrimitive<Double, Double>> primitives = Arrays.asList(
+            new Addition(), new Subtraction(), new Multiplication(), new Sin(), new IfThenElse(), new Constant<>(2.0)
+    );
+
+    @RepeatedTest(20)
+    @DisplayName("Test that a compiled program produces the same output as its expression tree")
+    void runTest() {
+        final Random random = new Random();
+        final ExpressionChromosome<Double> chromosome = getChromosome();
+        final ExpressionProgram<Double> program = new ExpressionProgram<>(chromosome.getGenome());
+        final double[][] columns = new double[NUM_FEATURES][];
+
+        for (int i = 0; i < NUM_FEATURES; ++i) {
+            columns[i] = random.doubles(NUM_SAMPLES, -5, 5).toArray();
+        }
+
+        final double[] expected = new double[NUM_SAMPLES];
+        final Node<Double> root = chromosome.getRoot();
+
+        for (int i = 0; i < NUM_SAMPLES; ++i) {
+            final List<Double> row = new ArrayList<>(NUM_FEATURES);
+
+            for (double[] column : columns) {
+                row.add(column[i]);
+            }
+
+            expected[i] = root.apply(row);
+        }
+
+        final double[] actual = new double[NUM_SAMPLES];
+        final double[] cached = new double[NUM_SAMPLES];
+        final SubexpressionCache cache = new SubexpressionCache();
+
+        program.run(columns, NUM_SAMPLES, actual);
+        assertArrayEquals(expected, actual);
+
+        // Running the program a second time should find its outputs in the cache
+        for (int round = 0; round < 2; ++round) {
+            program.run(columns, NUM_SAMPLES, cached, cache);
+            assertArrayEquals(expected, cached);
+        }
+
+        final CompiledProgram compiled = program.getCompiled(1);
+        final double[] compiledActual = new double[NUM_SAMPLES];
+
+        assertNotNull(compiled);
+        compiled.eval(columns, compiledActual, NUM_SAMPLES);
+        assertArrayEquals(expected, compiledActual);
+        assertEquals(expected[0], compiled.eval(new double[]{columns[0][0], columns[1][0], columns[2][0]}));
+
+        assertAll("program",
+                () -> assertEquals(root.getSize(), program.getLength()),
+                () -> assertEquals(program.getKey(), ExpressionProgram.of(root).getKey()),
+                () -> assertEquals(program.getKey(), chromosome.getPhenotypeKey())
+        );
+    }
+
+    @Test
+    @DisplayName("Test that the expression tree is built from copies of the genes")
+    void treeViewTest() {
+        final Map<Integer, String> labels = new HashMap<>();
+        final ExpressionChromosome<Double> chromosome = new ExpressionChromosome<>(2, 3, 2, labels);
+
+        labels.put(0, "a");
+        labels.put(1, "b");
+        chromosome.setGenome(Arrays.asList(
+                new FunctionNode<>(primitives.get(0)), new FunctionNode<>(primitives.get(2)),
+                new InputNode<>(0, labels), new InputNode<>(1, labels), new InputNode<>(1, labels)
+        ));
+
+        final Node<Double> root = chromosome.getRoot();
+
+        assertAll("tree",
+                () -> assertEquals(5, chromosome.getSize()),
+                () -> assertSame(root, chromosome.getRoot()),
+                () -> assertEquals(2, root.getChildren().size()),
+                () -> {
+                    for (Node<Double> gene : chromosome.getGenome()) {
+                        assertTrue(gene.getChildren().isEmpty());
+                    }
+                }
+        );
+
+        // Changing an expressed gene discards the tree, while the clone keeps its own
+        final ExpressionChromosome<Double> clone = chromosome.clone();
+        chromosome.setGene(4, new InputNode<>(0, labels));
+
+        assertNotSame(root, chromosome.getRoot());
+        assertSame(root, clone.getRoot());
+        assertNotEquals(chromosome.getPhenotypeKey(), clone.getPhenotypeKey());
+    }
+
+    private ExpressionChromosome<Double> getChromosome() {
+        final List<String> inputs = new ArrayList<>(NUM_FEATURES);
+
+        for (int i = 0; i < NUM_FEATURES; ++i) {
+            inputs.add(String.valueOf(i));
+        }
+
+        final ExpressionChromosomeFactory<Double> supplier = new ExpressionChromosomeFactory<>(10, inputs, NUM_FEATURES);
+        supplier.addFunction(primitives);
+
+        return supplier.getChromosome(new RandomSource());
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.data;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+    private static CsvReader reader(final String contents, final ImportProgressListener listener) {
+        final byte[] bytes = contents.getBytes(StandardCharsets.UTF_8);
+        return new CsvReader(Channels.newChannel(new ByteArrayInputStream(bytes)), bytes.length, listener);
+    }
+
+    private static NumericFeatureClass[] features(final int size) {
+        final NumericFeatureClass[] features = new NumericFeatureClass[size];
+
+        for (int i = 0; i < size; ++i) {
+            features[i] = new NumericFeatureClass(i == size - 1);
+        }
+
+        return features;
+    }
+
+    @DisplayName("Test that fields are parsed to the same value as Double.parseDouble")
+    @MethodSource("fieldProvider")
+    @ParameterizedTest
+    void parseFieldTest(final String field) throws IOException {
+        final NumericFeatureClass[] features = features(1);
+
+        try (CsvReader reader = reader(field + "\n", null)) {
+            assertTrue(reader.readRow(features));
+        }
+
+        final double expected = Double.parseDouble(field);
+        assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(features[0].getSamples().getDouble(0)));
+        assertFalse(features[0].isMissingValues());
+    }
+
+    @DisplayName("Test that empty and malformed fields are read as missing values")
+    @MethodSource("missingFieldProvider")
+    @ParameterizedTest
+    void missingFieldTest(final String field) throws IOException {
+        final NumericFeatureClass[] features = features(2);
+
+        try (CsvReader reader = reader(field + ",1\n", null)) {
+            assertTrue(reader.readRow(features));
+        }
+
+        assertNull(features[0].getSampleValue(0));
+        assertTrue(features[0].isMissingValues());
+        assertEquals(1.0, features[1].getSampleValue(0).doubleValue());
+    }
+
+    @DisplayName("Test that comments, empty lines and every kind of line terminator are handled")
+    @Test
+    void lineTerminatorTest() throws IOException {
+        final NumericFeatureClass[] features = features(2);
+        int rows = 0;
+
+        try (CsvReader reader = reader("# comment\r\n1,2\r\n\r\n3,4\r5,6\n#,#\n7,8", null)) {
+            assertEquals("1,2", reader.nextLine());
+            reader.pushBack();
+
+            while (reader.readRow(features)) {
+                rows++;
+            }
+        }
+
+        assertEquals(4, rows);
+        assertAll(
+                () -> assertEquals(4, features[0].getSamples().size()),
+                () -> assertEquals(7.0, features[0].getSampleValue(3).doubleValue()),
+                () -> assertEquals(6.0, features[1].getSampleValue(2).doubleValue())
+        );
+    }
+
+    @DisplayName("Test that short rows are padded with missing values and long rows are truncated")
+    @Test
+    void rowLengthTest() throws IOException {
+        final NumericFeatureClass[] features = features(3);
+
+        try (CsvReader reader = reader("1\n1,2,3,4\n", null)) {
+            assertTrue(reader.readRow(features));
+            assertTrue(reader.readRow(features));
+            assertFalse(reader.readRow(features));
+        }
+
+        assertAll(
+                () -> assertNull(features[1].getSampleValue(0)),
+                () -> assertNull(features[2].getSampleValue(0)),
+                () -> assertEquals(3.0, features[2].getSampleValue(1).doubleValue()),
+                () -> assertEquals(2, features[2].getSamples().size())
+        );
+    }
+
+    @DisplayName("Test that lines spanning several reads of the input are parsed correctly")
+    @Test
+    void largeInputTest() throws IOException {
+        final StringBuilder contents = new StringBuilder();
+        final int samples = 400_000;
+
+        for (int i = 0; i < samples; ++i) {
+            contents.append(i).append(".25,").append(-i).append("e-3\n");
+        }
+
+        final NumericFeatureClass[] features = features(2);
+        final List<Long> progress = new ArrayList<>();
+        final long size = contents.length();
+
+        try (CsvReader reader = reader(contents.toString(), (bytesRead, totalBytes) -> {
+            assertEquals(size, totalBytes);
+            progress.add(bytesRead);
+        })) {
+            while (reader.readRow(features)) {
+                // Keep reading
+            }
+        }
+
+        assertAll(
+                () -> assertEquals(samples, features[0].getSamples().size()),
+                () -> assertEquals(Double.parseDouble("123456.25"), features[0].getSamples().getDouble(123456)),
+                () -> assertEquals(Double.parseDouble("-399999e-3"), features[1].getSamples().getDouble(399999)),
+                () -> assertTrue(progress.size() > 1),
+                () -> assertEquals(size, (long) progress.get(progress.size() - 1))
+        );
+    }
+
+    private static Stream<Arguments> fieldProvider() {
+        return Stream.of(
+                Arguments.of("0"),
+                Arguments.of("-0"),
+                Arguments.of("-0.0"),
+                Arguments.of("5.1"),
+                Arguments.of(" 3.5 "),
+                Arguments.of("+42"),
+                Arguments.of(".5"),
+                Arguments.of("7."),
+                Arguments.of("0.1"),
+                Arguments.of("0.000123"),
+                Arguments.of("1e10"),
+                Arguments.of("1.5E-7"),
+                Arguments.of("2.5e+22"),
+                Arguments.of("1e-300"),
+                Arguments.of("1e308"),
+                Arguments.of("1e1000"),
+                Arguments.of("123456789012345"),
+                Arguments.of("1234567890123456789"),
+                Arguments.of("3.141592653589793238"),
+                Arguments.of("9007199254740993"),
+                Arguments.of("NaN"),
+                Arguments.of("-Infinity"),
+                Arguments.of("0x1p3"),
+                Arguments.of("1.0d")
+        );
+    }
+
+    private static Stream<Arguments> missingFieldProvider() {
+        return Stream.of(
+                Arguments.of(""),
+                Arguments.of("  "),
+                Arguments.of("?"),
+                Arguments.of("abc"),
+                Arguments.of("-"),
+                Arguments.of("."),
+                Arguments.of("1e"),
+                Arguments.of("1.2.3")
+        );
+    }
+}
@@ -114,6 +114,31 @@ class DataManagerTest {
         );
     }
 
+    @DisplayName("Assert that the primitive accessors match the boxed samples")
+    @Test
+    void testPrimitiveAccessors() {
+        final double delta = 0.001;
+        final double[] row = new double[FEATURES];
+
+        assertAll("Check the columns and rows read as primitives",
+                () -> {
+                    for (int i = 0; i < FEATURES; i++) {
+                        final double[] column = dataManagerNoHeader.getColumnAsDoubles(i);
+                        assertEquals(SAMPLES, column.length);
+
+                        for (int j = 0; j < SAMPLES; j++) {
+                            assertEquals(dataManagerNoHeader.getSampleColumn(i).get(j).doubleValue(), column[j], delta);
+                        }
+                    }
+                },
+                () -> {
+                    dataManagerNoHeader.getRowInto(1, row);
+                    assertEquals(3.0, row[1], delta);
+                    assertEquals(getVariable("A", 1), row[0], delta);
+                }
+        );
+    }
+
     //---------
     // Helpers
     //---------
@@ -0,0 +1,66 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.data;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link org.iconic.ea.data.NumericColumn}
+ */
+class NumericColumnTest {
+    @DisplayName("Test that missing values are tracked separately from the values")
+    @Test
+    void testMissingValues() {
+        final NumericColumn column = new NumericColumn(Arrays.asList(1.0, null, 3.0));
+
+        assertAll("Missing values",
+                () -> assertEquals(3, column.size()),
+                () -> assertTrue(column.isMissing(1)),
+                () -> assertNull(column.get(1)),
+                () -> assertTrue(Double.isNaN(column.getDouble(1))),
+                () -> assertTrue(column.contains(null))
+        );
+
+        column.set(1, 2.0);
+
+        assertAll("Replaced missing values",
+                () -> assertFalse(column.contains(null)),
+                () -> assertEquals(2.0, column.get(1).doubleValue()),
+                () -> assertArrayEquals(new double[]{1.0, 2.0, 3.0}, column.getDoubles())
+        );
+    }
+
+    @DisplayName("Test that the column grows as values are added")
+    @Test
+    void testGrowth() {
+        final NumericColumn column = new NumericColumn(1);
+        final int size = 100;
+
+        for (int i = 0; i < size; i++) {
+            column.addDouble(i);
+        }
+
+        assertEquals(size, column.size());
+        assertEquals(size, column.getDoubles().length);
+        assertEquals(size - 1, column.getDoubles()[size - 1]);
+        assertThrows(IndexOutOfBoundsException.class, () -> column.get(size));
+    }
+}
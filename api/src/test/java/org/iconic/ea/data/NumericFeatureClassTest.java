@@ -0,0 +1,80 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.data;
+
+import org.iconic.ea.data.preprocessing.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link org.iconic.ea.data.NumericFeatureClass}
+ */
+class NumericFeatureClassTest {
+    private static NumericFeatureClass getFeature(final double... values) {
+        final NumericFeatureClass feature = new NumericFeatureClass(false);
+
+        for (double value : values) {
+            feature.addSampleValue(value);
+        }
+
+        return feature;
+    }
+
+    @DisplayName("Test that the samples are shared with the original samples until a preprocessor is applied")
+    @Test
+    void testSharedSamples() {
+        final NumericFeatureClass feature = getFeature(1, 2, 3);
+
+        assertSame(feature.getOriginalSamples(), feature.getSamples());
+
+        feature.addPreprocessor(new Offset(1));
+
+        assertAll("Preprocessed samples",
+                () -> assertNotSame(feature.getOriginalSamples(), feature.getSamples()),
+                () -> assertArrayEquals(new double[]{2, 3, 4}, feature.getSamples().getDoubles()),
+                () -> assertArrayEquals(new double[]{1, 2, 3}, feature.getOriginalSamples().getDoubles())
+        );
+
+        feature.removePreprocessor(feature.getPreprocessors().get(0).getTransformType());
+
+        assertSame(feature.getOriginalSamples(), feature.getSamples());
+    }
+
+    @DisplayName("Test that editing a sample leaves the original samples untouched")
+    @Test
+    void testEditedSamples() {
+        final NumericFeatureClass feature = getFeature(1, 2, 3);
+
+        feature.setSampleValue(1, 5.0);
+        feature.addSampleValue(4);
+        feature.addMissingValue();
+
+        assertAll("Edited samples",
+                () -> assertEquals(Arrays.asList(1.0, 5.0, 3.0, 4.0, null), feature.getSamples()),
+                () -> assertEquals(Arrays.asList(1.0, 2.0, 3.0, 4.0, null), feature.getOriginalSamples()),
+                () -> assertTrue(feature.isMissingValues())
+        );
+
+        // Re-applying the preprocessors starts again from the original samples, so the edit is lost
+        feature.addPreprocessor(new Offset(0));
+
+        assertEquals(2.0, feature.getSamples().get(1).doubleValue());
+    }
+}
@@ -24,6 +24,7 @@ import org.iconic.ea.operator.primitive.Addition;
 import org.iconic.ea.operator.primitive.FunctionalPrimitive;
 import org.iconic.ea.operator.primitive.Sin;
 import org.iconic.ea.operator.primitive.Subtraction;
+import org.iconic.ea.random.RandomSource;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.RepeatedTest;
@@ -59,7 +60,8 @@ public class CartesianSingleActiveMutatorTest {
         );
         supplier.addFunction(primitives);
 
-        final CartesianChromosome<Double> c = supplier.getChromosome();
-        CartesianChromosome<Double> m = mutator.apply(primitives, c);
+        final RandomSource random = new RandomSource();
+        final CartesianChromosome<Double> c = supplier.getChromosome(random);
+        CartesianChromosome<Double> m = mutator.apply(primitives, c, random);
     }
 }
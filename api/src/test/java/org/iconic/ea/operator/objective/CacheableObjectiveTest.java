@@ -0,0 +1,206 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.operator.objective;
+
+import org.iconic.ea.chromosome.Chromosome;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
+import org.iconic.ea.chromosome.expression.ExpressionChromosome;
+import org.iconic.ea.chromosome.graph.FunctionNode;
+import org.iconic.ea.chromosome.graph.InputNode;
+import org.iconic.ea.chromosome.graph.Node;
+import org.iconic.ea.operator.primitive.Addition;
+import org.iconic.ea.operator.primitive.FunctionalPrimitive;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test class for {@link org.iconic.ea.operator.objective.CacheableObjective}
+ */
+class CacheableObjectiveTest {
+    private final FunctionalPrimitive<Double, Double> addition = new Addition();
+    private final Map<Integer, String> labels = new HashMap<>();
+    private AtomicInteger evaluations;
+    private Objective<Double> objective;
+
+    @BeforeEach
+    void init() {
+        labels.put(0, "a");
+        labels.put(1, "b");
+        evaluations = new AtomicInteger();
+        objective = c -> {
+            final double fitness = evaluations.incrementAndGet();
+            c.setFitness(fitness);
+            return fitness;
+        };
+    }
+
+    /**
+     * Returns a chromosome with two inputs and two nodes, where the second node is only active if it's the output.
+     */
+    private CartesianChromosome<Double> getCartesianChromosome(final int output, final int... secondNode) {
+        final List<Integer> genome = new ArrayList<>(Arrays.asList(0, 1, 0, 0, 1, 0));
+
+        for (int gene : secondNode) {
+            genome.add(gene);
+        }
+
+        return new CartesianChromosome<>(
+                Collections.singletonList(addition), 2, 2, 1, 2,
+                new ArrayList<>(Collections.singletonList(output)), genome, labels
+        );
+    }
+
+    private ExpressionChromosome<Double> getExpressionChromosome(final int... features) {
+        final ExpressionChromosome<Double> chromosome = new ExpressionChromosome<>(1, features.length, 2, labels);
+        final List<Node<Double>> genome = new ArrayList<>();
+
+        genome.add(new FunctionNode<>(addition));
+
+        for (int feature : features) {
+            genome.add(new InputNode<>(feature, labels));
+        }
+
+        chromosome.setGenome(genome);
+        return chromosome;
+    }
+
+    @DisplayName("Test that chromosomes expressing the same cartesian program share a cached result")
+    @Test
+    void cartesianTest() {
+        final CacheableObjective<Double> cache = new CacheableObjective<>(objective);
+        final CartesianChromosome<Double> c1 = getCartesianChromosome(2, 0, 2, 0);
+        // Only differs in its inactive node
+        final CartesianChromosome<Double> c2 = getCartesianChromosome(2, 0, 1, 1);
+        // Expresses the second node instead
+        final CartesianChromosome<Double> c3 = getCartesianChromosome(3, 0, 2, 0);
+
+        assertEquals(c1.getPhenotypeKey(), c2.getPhenotypeKey());
+        assertNotEquals(c1.getPhenotypeKey(), c3.getPhenotypeKey());
+
+        assertEquals(1, cache.apply(c1));
+        assertEquals(1, cache.apply(c2));
+        assertEquals(2, cache.apply(c3));
+
+        assertAll("Cache statistics",
+                () -> assertEquals(2, evaluations.get()),
+                () -> assertEquals(1, cache.getHitCount()),
+                () -> assertEquals(2, cache.getMissCount()),
+                () -> assertEquals(2, cache.size()),
+                // Cache hits should still set the chromosome's fitness
+                () -> assertEquals(1, c2.getFitness())
+        );
+
+        // Changing the genome should also change the key
+        c1.setOutput(0, 3);
+        assertEquals(c3.getPhenotypeKey(), c1.getPhenotypeKey());
+    }
+
+    @DisplayName("Test that results rejected for being worse than their bound aren't cached")
+    @Test
+    void boundTest() {
+        final Objective<Double> bounded = new Objective<Double>() {
+            @Override
+            public double apply(final Chromosome<Double> c) {
+                return objective.apply(c);
+            }
+
+            @Override
+            public double apply(final Chromosome<Double> c, final double bound) {
+                final double fitness = apply(c);
+                return (fitness > bound) ? getWorstValue() : fitness;
+            }
+        };
+        final CacheableObjective<Double> cache = new CacheableObjective<>(bounded);
+        final CartesianChromosome<Double> c1 = getCartesianChromosome(2, 0, 2, 0);
+
+        assertEquals(Double.POSITIVE_INFINITY, cache.apply(c1, 0.5));
+        assertEquals(0, cache.size());
+
+        assertEquals(2, cache.apply(c1, 2.0));
+        // A cached result is returned regardless of the bound
+        assertEquals(2, cache.apply(c1, 0.5));
+
+        assertAll("Cache statistics",
+                () -> assertEquals(2, evaluations.get()),
+                () -> assertEquals(1, cache.getHitCount()),
+                () -> assertEquals(1, cache.size())
+        );
+    }
+
+    @DisplayName("Test that chromosomes expressing the same tree share a cached result")
+    @Test
+    void expressionTest() {
+        final CacheableObjective<Double> cache = new CacheableObjective<>(objective);
+        final ExpressionChromosome<Double> c1 = getExpressionChromosome(0, 1, 0);
+        // Only differs in its unexpressed tail
+        final ExpressionChromosome<Double> c2 = getExpressionChromosome(0, 1, 1);
+        final ExpressionChromosome<Double> c3 = getExpressionChromosome(1, 0, 0);
+
+        assertEquals(c1.getPhenotypeKey(), c2.getPhenotypeKey());
+        assertNotEquals(c1.getPhenotypeKey(), c3.getPhenotypeKey());
+
+        cache.apply(c1);
+        cache.apply(c2);
+        cache.apply(c3);
+
+        assertEquals(2, evaluations.get());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @DisplayName("Test that the cache evicts results once it's full")
+    @Test
+    void evictionTest() {
+        final CacheableObjective<Double> bySize = new CacheableObjective<>(objective, 1);
+        final CacheableObjective<Double> byWeight = CacheableObjective.withMaximumWeight(objective, 1);
+        final CartesianChromosome<Double> c1 = getCartesianChromosome(2, 0, 2, 0);
+        final CartesianChromosome<Double> c2 = getCartesianChromosome(3, 0, 2, 0);
+
+        bySize.apply(c1);
+        bySize.apply(c2);
+        bySize.apply(c1);
+
+        assertEquals(2, bySize.getEvictionCount());
+        assertEquals(3, bySize.getMissCount());
+
+        // Every key outweighs the cache so nothing is retained
+        byWeight.apply(c1);
+        byWeight.apply(c1);
+
+        assertEquals(0, byWeight.getHitCount());
+        assertEquals(0, byWeight.size());
+    }
+
+    @DisplayName("Test that chromosomes without a phenotype key are always evaluated")
+    @Test
+    @SuppressWarnings("unchecked")
+    void uncacheableTest() {
+        final CacheableObjective<Double> cache = new CacheableObjective<>(objective);
+        final Chromosome<Double> chromosome = mock(Chromosome.class);
+
+        cache.apply(chromosome);
+        cache.apply(chromosome);
+
+        assertEquals(2, evaluations.get());
+        assertEquals(0, cache.getHitCount() + cache.getMissCount());
+    }
+}
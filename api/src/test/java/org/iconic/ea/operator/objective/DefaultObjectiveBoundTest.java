@@ -0,0 +1,191 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.operator.objective;
+
+import org.iconic.ea.chromosome.Chromosome;
+import org.iconic.ea.chromosome.SubexpressionCache;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosomeFactory;
+import org.iconic.ea.chromosome.cartesian.NodeOutputCache;
+import org.iconic.ea.data.DataManager;
+import org.iconic.ea.data.SampledDataManager;
+import org.iconic.ea.operator.objective.error.MeanSquaredError;
+import org.iconic.ea.operator.primitive.*;
+import org.iconic.ea.random.RandomSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the bounded evaluation of {@link org.iconic.ea.operator.objective.DefaultObjective}
+ *
+ * <p>
+ * This test suite ensures the following:
+ * - chromosomes within their bound are given the same fitness as without a bound
+ * - chromosomes worse than their bound are rejected before the entire dataset is evaluated
+ * - chromosomes that produce values that aren't a number are rejected
+ * - bounded evaluations of large datasets reuse the outputs of parents and shared subexpressions
+ *
+ */
+class DefaultObjectiveBoundTest {
+    private static final String TEST_FILE = "Iris-Header.txt";
+    // Small enough for the test file to be evaluated in chunks
+    private static final int CHUNKED_SIZE = 16;
+    // Large enough for a dataset to have been chunked by default
+    private static final int LARGE_SIZE = 1 << 16;
+
+    private static DataManager<Double> dataManager;
+
+    @BeforeAll
+    static void init() {
+        dataManager = new DataManager<>(TEST_FILE);
+    }
+
+    /**
+     * Returns a chromosome whose output is off by the provided error for every sample, recording the number of
+     * samples it's evaluated on each time.
+     */
+    @SuppressWarnings("unchecked")
+    private static Chromosome<Double> getChromosome(final double error, final List<Integer> evaluations) {
+        final Chromosome<Double> chromosome = mock(Chromosome.class);
+
+        when(chromosome.evaluate(any(DataManager.class), any(double[].class))).thenAnswer(invocation -> {
+            final DataManager<Double> rows = invocation.getArgument(0);
+            final double[] destination = invocation.getArgument(1);
+            final double[] expected = rows.getColumnAsDoubles(rows.getSampleHeaders().size() - 1);
+
+            for (int i = 0; i < rows.getSampleSize(); ++i) {
+                destination[i] = expected[i] + error;
+            }
+            evaluations.add(rows.getSampleSize());
+
+            return destination;
+        });
+
+        return chromosome;
+    }
+
+    @Test
+    @DisplayName("Test that chromosomes within their bound are evaluated in full")
+    void withinBoundTest() {
+        final DefaultObjective objective = new DefaultObjective(new MeanSquaredError(), dataManager, CHUNKED_SIZE);
+        final List<Integer> chunked = new ArrayList<>();
+        final List<Integer> unbounded = new ArrayList<>();
+
+        // A chromosome exactly as fit as its bound is still accepted
+        assertEquals(100.0, objective.apply(getChromosome(10.0, chunked), 100.0));
+        assertEquals(100.0, objective.apply(getChromosome(10.0, unbounded)));
+
+        assertAll(
+                () -> assertEquals(dataManager.getSampleSize(), chunked.stream().mapToInt(i -> i).sum()),
+                () -> assertTrue(chunked.size() > 1),
+                // Without a bound there's nothing to gain from chunking the dataset
+                () -> assertEquals(1, unbounded.size()),
+                () -> assertEquals(0, objective.getRejectionCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Test that chromosomes worse than their bound are rejected after the first chunk")
+    void rejectionTest() {
+        final DefaultObjective objective = new DefaultObjective(new MeanSquaredError(), dataManager, CHUNKED_SIZE);
+        final List<Integer> evaluations = new ArrayList<>();
+        final Chromosome<Double> chromosome = getChromosome(10.0, evaluations);
+
+        assertEquals(objective.getWorstValue(), objective.apply(chromosome, 1.0));
+
+        assertAll(
+                () -> assertEquals(1, evaluations.size()),
+                () -> assertTrue(evaluations.get(0) < dataManager.getSampleSize()),
+                () -> assertEquals(1, objective.getRejectionCount())
+        );
+        verify(chromosome).setFitness(objective.getWorstValue());
+    }
+
+    @Test
+    @DisplayName("Test that chromosomes that produce values that aren't a number are rejected")
+    void notANumberTest() {
+        final DefaultObjective objective = new DefaultObjective(new MeanSquaredError(), dataManager, CHUNKED_SIZE);
+        final List<Integer> chunked = new ArrayList<>();
+        final List<Integer> unbounded = new ArrayList<>();
+
+        assertAll(
+                () -> assertEquals(objective.getWorstValue(), objective.apply(getChromosome(Double.NaN, chunked), 1.0)),
+                () -> assertEquals(objective.getWorstValue(), objective.apply(getChromosome(Double.NaN, unbounded))),
+                () -> assertEquals(1, chunked.size()),
+                () -> assertEquals(2, objective.getRejectionCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Test that bounded evaluations of large datasets reuse the outputs of parents and shared subexpressions")
+    void largeDatasetCacheTest() {
+        final int[] rows = new int[LARGE_SIZE];
+
+        for (int i = 0; i < rows.length; ++i) {
+            rows[i] = i % dataManager.getSampleSize();
+        }
+
+        final DataManager<Double> large = new SampledDataManager<>(dataManager, rows);
+        final DefaultObjective objective = new DefaultObjective(new MeanSquaredError(), large);
+        final SubexpressionCache cache = new SubexpressionCache();
+        final CartesianChromosomeFactory<Double> supplier = new CartesianChromosomeFactory<>(
+                1, dataManager.getSampleHeaders().subList(0, 4), 10, 2, 10
+        );
+
+        supplier.addFunction(Arrays.asList(new Addition(), new Subtraction(), new Multiplication(), new Sin()));
+        supplier.setSubexpressionCache(cache);
+        supplier.setNodeOutputCache(new NodeOutputCache());
+
+        // Only chromosomes with an active function node make use of the caches
+        final RandomSource random = new RandomSource(0);
+        CartesianChromosome<Double> chromosome;
+        do {
+            chromosome = supplier.getChromosome(random);
+        } while (Arrays.stream(chromosome.getActiveNodes()).noneMatch(node -> node >= 4));
+
+        // Evaluating a chromosome on the entire dataset fills the subexpression cache
+        final CartesianChromosome<Double> sibling = chromosome.clone();
+        sibling.setNodeOutputCache(null);
+        final double bound = objective.apply(sibling);
+        final long misses = cache.getMissCount();
+
+        // A bounded evaluation finds every subexpression its sibling computed
+        assertEquals(bound, objective.apply(chromosome, bound));
+        final long hits = cache.getHitCount();
+
+        // The offspring starts from the outputs of its parent, so nothing is computed or looked up again
+        final CartesianChromosome<Double> offspring = chromosome.clone();
+        assertEquals(bound, objective.apply(offspring, bound));
+
+        assertAll("Large dataset caches",
+                () -> assertTrue(hits > 0),
+                () -> assertEquals(misses, cache.getMissCount()),
+                () -> assertEquals(hits, cache.getHitCount()),
+                () -> assertEquals(0, objective.getRejectionCount())
+        );
+    }
+}
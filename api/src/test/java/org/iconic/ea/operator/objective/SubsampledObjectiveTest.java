@@ -0,0 +1,178 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.operator.objective;
+
+import org.iconic.ea.chromosome.Chromosome;
+import org.iconic.ea.data.DataManager;
+import org.iconic.ea.data.SampledDataManager;
+import org.iconic.ea.operator.objective.error.MeanSquaredError;
+import org.iconic.ea.random.RandomSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for {@link org.iconic.ea.operator.objective.SubsampledObjective}
+ */
+class SubsampledObjectiveTest {
+    private static final String TEST_FILE = "Iris-Header.txt";
+
+    private static DataManager<Double> dataManager;
+
+    @BeforeAll
+    static void init() {
+        dataManager = new DataManager<>(TEST_FILE);
+    }
+
+    /**
+     * Returns an objective whose fitness is the number of rows it was created with.
+     */
+    private static Objective<Double> getSizeObjective(final DataManager<Double> sample) {
+        return c -> sample.getSampleSize();
+    }
+
+    @Test
+    @DisplayName("Test that the sample grows on schedule and the entire dataset is periodically validated against")
+    @SuppressWarnings("unchecked")
+    void scheduleTest() {
+        final int numRows = dataManager.getSampleSize();
+        final SubsampledObjective objective = new SubsampledObjective(
+                dataManager, SubsampledObjectiveTest::getSizeObjective, 0.1, 10, 4
+        );
+        final Chromosome<Double> chromosome = mock(Chromosome.class);
+
+        objective.setResampleInterval(5);
+
+        assertAll("schedule",
+                () -> assertEquals((int) Math.ceil(numRows * 0.1), objective.getSampleSize(0)),
+                () -> assertEquals((int) Math.ceil(numRows * 0.55), objective.getSampleSize(5)),
+                () -> assertEquals(numRows, objective.getSampleSize(10)),
+                () -> assertEquals(numRows, objective.getSampleSize(100))
+        );
+
+        assertEquals(objective.getSampleSize(0), objective.apply(chromosome));
+        assertFalse(objective.isFullDataset());
+
+        // Candidates are validated on the entire dataset every fourth generation without changing the sample
+        assertTrue(objective.isValidation(4));
+        assertFalse(objective.isValidation(5));
+        assertFalse(objective.resample(4));
+        assertFalse(objective.isFullDataset());
+        assertEquals(numRows, objective.validate(chromosome));
+        assertEquals(objective.getSampleSize(0), objective.apply(chromosome));
+
+        // The sample is only drawn again every fifth generation
+        assertTrue(objective.resample(5));
+        assertEquals(objective.getSampleSize(5), objective.apply(chromosome));
+        assertFalse(objective.resample(6));
+        assertThrows(IllegalArgumentException.class, () -> objective.setResampleInterval(0));
+
+        // Once the sample covers the entire dataset it no longer changes
+        assertTrue(objective.resample(10));
+        assertFalse(objective.resample(15));
+        assertFalse(objective.useFullDataset());
+        assertSame(dataManager, objective.getSample());
+    }
+
+    @ParameterizedTest
+    @EnumSource(SubsampledObjective.Sampling.class)
+    @DisplayName("Test that samples are views of distinct rows of the dataset")
+    void samplingTest(final SubsampledObjective.Sampling sampling) {
+        final SubsampledObjective objective = new SubsampledObjective(
+                dataManager, SubsampledObjectiveTest::getSizeObjective, 0.2, 0, 0, sampling, new RandomSource()
+        );
+        final SampledDataManager<Double> sample = (SampledDataManager<Double>) objective.getSample();
+        final int[] rows = sample.getRows();
+        final List<String> headers = dataManager.getSampleHeaders();
+
+        assertEquals(objective.getSampleSize(0), rows.length);
+
+        for (int i = 1; i < rows.length; ++i) {
+            assertTrue(rows[i - 1] < rows[i]);
+        }
+
+        for (int j = 0; j < headers.size(); ++j) {
+            final double[] column = dataManager.getColumnAsDoubles(j);
+            final double[] sampled = sample.getColumnAsDoubles(headers.get(j));
+
+            for (int i = 0; i < rows.length; ++i) {
+                assertEquals(column[rows[i]], sampled[i]);
+                assertEquals(column[rows[i]], sample.getSampleRow(i).get(j).doubleValue());
+            }
+        }
+
+        // A fixed sample is only drawn again when its size changes
+        assertEquals(
+                sampling != SubsampledObjective.Sampling.FIXED, objective.resample(objective.getResampleInterval())
+        );
+    }
+
+    @Test
+    @DisplayName("Test that stratified samples cover the whole range of expected outputs")
+    void stratifiedTest() {
+        final SubsampledObjective objective = new SubsampledObjective(
+                dataManager, SubsampledObjectiveTest::getSizeObjective, 0.1, 0, 0,
+                SubsampledObjective.Sampling.STRATIFIED, new RandomSource()
+        );
+        final List<Number> expected = dataManager.getExpectedOutputValues();
+        final List<Number> sampled = objective.getSample().getExpectedOutputValues();
+
+        assertEquals(objective.getSampleSize(0), sampled.size());
+        assertAll("range",
+                () -> assertEquals(
+                        expected.stream().mapToDouble(Number::doubleValue).min().getAsDouble(),
+                        sampled.stream().mapToDouble(Number::doubleValue).min().getAsDouble()
+                ),
+                () -> assertEquals(
+                        expected.stream().mapToDouble(Number::doubleValue).max().getAsDouble(),
+                        sampled.stream().mapToDouble(Number::doubleValue).max().getAsDouble()
+                )
+        );
+    }
+
+    @Test
+    @DisplayName("Test that error based objectives only compare against the sampled rows")
+    @SuppressWarnings("unchecked")
+    void errorTest() {
+        final int[] rows = {3, 1, 4, 1, 5, 9, 2, 30};
+        final SampledDataManager<Double> sample = new SampledDataManager<>(dataManager, rows);
+        final DefaultObjective objective = new DefaultObjective(new MeanSquaredError(), sample);
+        final double[] expected = dataManager.getColumnAsDoubles(dataManager.getSampleHeaders().size() - 1);
+        final Chromosome<Double> chromosome = mock(Chromosome.class);
+
+        // The chromosome predicts the expected output of every sampled row perfectly
+        when(chromosome.evaluate(any(DataManager.class), any(double[].class))).thenAnswer(invocation -> {
+            final double[] destination = invocation.getArgument(1);
+
+            for (int i = 0; i < rows.length; ++i) {
+                destination[i] = expected[rows[i]];
+            }
+
+            return destination;
+        });
+
+        assertEquals(0, objective.apply(chromosome));
+    }
+}
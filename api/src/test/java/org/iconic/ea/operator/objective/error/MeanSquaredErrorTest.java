@@ -43,6 +43,68 @@ class MeanSquaredErrorTest {
         assertEquals(result, error, delta);
     }
 
+    @DisplayName("Test mean squared error using arrays")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void testMeanSquaredErrorArrays(final double result, final List<Double> actual, final List<Double> expected) {
+        final ErrorFunction mse = new MeanSquaredError();
+        // Pad the arrays to make sure only the first n values are used
+        final double[] actualValues = new double[actual.size() + 1];
+        final double[] expectedValues = new double[expected.size() + 1];
+
+        for (int i = 0; i < actual.size(); ++i) {
+            actualValues[i] = actual.get(i);
+            expectedValues[i] = expected.get(i);
+        }
+        actualValues[actual.size()] = 100.0;
+
+        final double error = mse.apply(actualValues, expectedValues, actual.size());
+        final double delta = 0.00001;
+
+        assertEquals(result, error, delta);
+    }
+
+    @DisplayName("Test bounded mean squared error agrees with the unbounded error when within the bound")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void testBoundedMeanSquaredError(final double result, final List<Double> actual, final List<Double> expected) {
+        final ErrorFunction mse = new MeanSquaredError();
+        final double[] actualValues = actual.stream().mapToDouble(Double::doubleValue).toArray();
+        final double[] expectedValues = expected.stream().mapToDouble(Double::doubleValue).toArray();
+        final int n = actualValues.length;
+        final double error = mse.apply(actualValues, expectedValues, n);
+
+        assertAll(
+                () -> assertEquals(error, mse.apply(actualValues, expectedValues, n, error)),
+                () -> assertEquals(error, mse.apply(actualValues, expectedValues, n, Double.POSITIVE_INFINITY)),
+                () -> assertTrue(mse.getLowerBound(actualValues, expectedValues, n - 1, n) <= error)
+        );
+    }
+
+    @Test
+    @DisplayName("Test bounded mean squared error rejects errors that exceed the bound")
+    void testBoundedMeanSquaredErrorRejection() {
+        final ErrorFunction mse = new MeanSquaredError();
+        final int n = 1000;
+        final double[] actual = new double[n];
+        final double[] expected = new double[n];
+
+        // Every sample is off by one, so the error is exactly one
+        Arrays.fill(actual, 1.0);
+
+        assertAll(
+                () -> assertEquals(1.0, mse.apply(actual, expected, n, 1.0)),
+                () -> assertEquals(Double.POSITIVE_INFINITY, mse.apply(actual, expected, n, 0.5)),
+                () -> assertEquals(0.5, mse.getLowerBound(actual, expected, n / 2, n))
+        );
+
+        actual[n - 1] = Double.NaN;
+        assertTrue(Double.isNaN(mse.apply(actual, expected, n, 1.0)));
+
+        actual[n - 1] = Double.POSITIVE_INFINITY;
+        assertEquals(Double.POSITIVE_INFINITY, mse.apply(actual, expected, n, Double.POSITIVE_INFINITY));
+    }
+
     /**
      * <p>Returns a stream of two lists of doubles actual and expected, as well as the result
      * @return a stream of double n-tuples
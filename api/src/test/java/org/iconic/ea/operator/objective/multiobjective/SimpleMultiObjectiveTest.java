@@ -0,0 +1,100 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.operator.objective.multiobjective;
+
+import org.iconic.ea.chromosome.Chromosome;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosomeFactory;
+import org.iconic.ea.operator.objective.FitnessVector;
+import org.iconic.ea.operator.objective.Objective;
+import org.iconic.ea.operator.objective.SizeObjective;
+import org.iconic.ea.operator.primitive.Addition;
+import org.iconic.ea.random.RandomSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link org.iconic.ea.operator.objective.multiobjective.SimpleMultiObjective}
+ */
+class SimpleMultiObjectiveTest {
+    private AtomicInteger evaluations;
+    private SimpleMultiObjective objective;
+    private CartesianChromosome<Double> chromosome;
+
+    @BeforeEach
+    void init() {
+        evaluations = new AtomicInteger();
+
+        final Objective<Double> first = c -> evaluations.incrementAndGet();
+        final Objective<Double> second = c -> -evaluations.get();
+        objective = new SimpleMultiObjective(Arrays.asList(first, second));
+
+        final CartesianChromosomeFactory<Double> factory = new CartesianChromosomeFactory<>(
+                1, Arrays.asList("a", "b"), 3, 1, 3
+        );
+        factory.addFunction(Collections.singletonList(new Addition()));
+        chromosome = factory.getChromosome(new RandomSource(1));
+    }
+
+    @DisplayName("Test that the fitness vector is only computed once for each version of the genome")
+    @Test
+    void fitnessVectorTest() {
+        assertNull(chromosome.getFitnessVector());
+        assertEquals(1, objective.apply(chromosome));
+        assertEquals(1, objective.apply(chromosome));
+
+        final FitnessVector vector = objective.getFitnessVector(chromosome);
+
+        assertAll("Fitness vector",
+                () -> assertEquals(1, evaluations.get()),
+                () -> assertEquals(2, vector.size()),
+                () -> assertArrayEquals(new double[]{1, -1}, vector.toArray()),
+                () -> assertEquals(1, chromosome.getFitness())
+        );
+
+        // Clones share the genome and so share the vector
+        final Chromosome<Double> clone = chromosome.clone();
+        assertSame(vector, clone.getFitnessVector());
+        objective.apply(clone);
+        assertEquals(1, evaluations.get());
+
+        // Changing the genome discards the vector
+        clone.setChanged(true);
+        assertNull(clone.getFitnessVector());
+        assertEquals(2, objective.apply(clone));
+        assertSame(vector, objective.getFitnessVector(chromosome));
+    }
+
+    @DisplayName("Test that changing the goals of the objective discards previously computed vectors")
+    @Test
+    void changedGoalsTest() {
+        objective.apply(chromosome);
+        objective.addGoal(new SizeObjective());
+
+        final FitnessVector vector = objective.getFitnessVector(chromosome);
+
+        assertEquals(2, evaluations.get());
+        assertEquals(3, vector.size());
+        assertEquals(chromosome.getSize(), vector.get(2));
+    }
+}
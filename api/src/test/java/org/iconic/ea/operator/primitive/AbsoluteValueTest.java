@@ -43,6 +43,31 @@ public class AbsoluteValueTest {
         assertEquals(expected, actual, delta);
     }
 
+    @DisplayName("Test absolute value column kernel using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void columnKernelTest(final List<Double> args, final double expected) {
+        final FunctionalPrimitive<Double, Double> absoluteValue = new AbsoluteValue();
+        final double delta = 0.001d;
+        final double[][] columns = args.stream().map(arg -> new double[]{arg}).toArray(double[][]::new);
+        final double[] actual = new double[1];
+
+        absoluteValue.apply(columns, actual, 1);
+
+        assertEquals(expected, actual[0], delta);
+    }
+
+    @DisplayName("Test absolute value primitive-specialised form using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void applyAsDoubleTest(final List<Double> args, final double expected) {
+        final DoubleOperator absoluteValue = new AbsoluteValue();
+        final double delta = 0.001d;
+        final double actual = absoluteValue.applyAsDouble(args.get(0));
+
+        assertEquals(expected, actual, delta);
+    }
+
     /**
      * <p>
      * Returns a stream of double n-tuples, where the last member of the tuple is the absolute value of the proceeding
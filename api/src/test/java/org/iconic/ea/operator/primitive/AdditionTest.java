@@ -42,6 +42,31 @@ class AdditionTest {
         assertEquals(expected, actual, delta);
     }
 
+    @DisplayName("Test addition column kernel using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void columnKernelTest(final List<Double> args, final double expected) {
+        final FunctionalPrimitive<Double, Double> add = new Addition();
+        final double delta = 0.001;
+        final double[][] columns = args.stream().map(arg -> new double[]{arg}).toArray(double[][]::new);
+        final double[] actual = new double[1];
+
+        add.apply(columns, actual, 1);
+
+        assertEquals(expected, actual[0], delta);
+    }
+
+    @DisplayName("Test addition primitive-specialised form using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void applyAsDoubleTest(final List<Double> args, final double expected) {
+        final DoubleOperator add = new Addition();
+        final double delta = 0.001;
+        final double actual = add.applyAsDouble(args.get(0), args.get(1));
+
+        assertEquals(expected, actual, delta);
+    }
+
     /**
      * <p>Returns a stream of double n-tuples, where the last member of the tuple is the sum of all the preceeding
      * members
@@ -43,6 +43,31 @@ public class AndTest {
         assertEquals(expected, actual, delta);
     }
 
+    @DisplayName("Test and column kernel using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void columnKernelTest(final List<Double> args, final double expected) {
+        final FunctionalPrimitive<Double, Double> and = new And();
+        final double delta = 0.001d;
+        final double[][] columns = args.stream().map(arg -> new double[]{arg}).toArray(double[][]::new);
+        final double[] actual = new double[1];
+
+        and.apply(columns, actual, 1);
+
+        assertEquals(expected, actual[0], delta);
+    }
+
+    @DisplayName("Test and primitive-specialised form using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void applyAsDoubleTest(final List<Double> args, final double expected) {
+        final DoubleOperator and = new And();
+        final double delta = 0.001d;
+        final double actual = and.applyAsDouble(args.get(0), args.get(1));
+
+        assertEquals(expected, actual, delta);
+    }
+
     /**
      * <p>
      * Returns a stream of double n-tuples, where the last member of the tuple is 1 if both members are > 0,
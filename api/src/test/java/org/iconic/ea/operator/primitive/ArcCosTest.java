@@ -46,6 +46,31 @@ public class ArcCosTest {
         assertEquals(expected, actual, delta);
     }
 
+    @DisplayName("Test ArcCos column kernel using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void columnKernelTest(final List<Double> args, final double expected) {
+        final FunctionalPrimitive<Double, Double> arcCos = new ArcCos();
+        final double delta = 0.001d;
+        final double[][] columns = args.stream().map(arg -> new double[]{arg}).toArray(double[][]::new);
+        final double[] actual = new double[1];
+
+        arcCos.apply(columns, actual, 1);
+
+        assertEquals(expected, actual[0], delta);
+    }
+
+    @DisplayName("Test ArcCos primitive-specialised form using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void applyAsDoubleTest(final List<Double> args, final double expected) {
+        final DoubleOperator arcCos = new ArcCos();
+        final double delta = 0.001d;
+        final double actual = arcCos.applyAsDouble(args.get(0));
+
+        assertEquals(expected, actual, delta);
+    }
+
     /**
      * <p>
      * Returns a stream of double n-tuples, where the last member of the tuple is the value of ArcCos
@@ -46,6 +46,31 @@ public class ArcTanTest {
         assertEquals(expected, actual, delta);
     }
 
+    @DisplayName("Test ArcSin column kernel using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void columnKernelTest(final List<Double> args, final double expected) {
+        final FunctionalPrimitive<Double, Double> arcTan = new ArcTan();
+        final double delta = 0.001d;
+        final double[][] columns = args.stream().map(arg -> new double[]{arg}).toArray(double[][]::new);
+        final double[] actual = new double[1];
+
+        arcTan.apply(columns, actual, 1);
+
+        assertEquals(expected, actual[0], delta);
+    }
+
+    @DisplayName("Test ArcSin primitive-specialised form using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void applyAsDoubleTest(final List<Double> args, final double expected) {
+        final DoubleOperator arcTan = new ArcTan();
+        final double delta = 0.001d;
+        final double actual = arcTan.applyAsDouble(args.get(0));
+
+        assertEquals(expected, actual, delta);
+    }
+
     /**
      * <p>
      * Returns a stream of double n-tuples, where the last member of the tuple is the value of ArcTan
@@ -41,6 +41,32 @@ class ConstantTest {
         assertEquals(expected, actual, delta);
     }
 
+    @DisplayName("Test constant primitive-specialised form using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void applyAsDoubleTest(final double arg, final double expected) {
+        final DoubleOperator constant = new Constant<>(arg);
+        final double delta = 0.001;
+        final double actual = constant.applyAsDouble();
+
+        assertEquals(expected, actual, delta);
+    }
+
+    @DisplayName("Test constant column kernel using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void columnKernelTest(final double arg, final double expected) {
+        final FunctionalPrimitive<Double, Double> constant = new Constant<>(arg);
+        final double delta = 0.001;
+        final double[] actual = new double[3];
+
+        constant.apply(new double[0][], actual, actual.length);
+
+        for (double value : actual) {
+            assertEquals(expected, value, delta);
+        }
+    }
+
     /**
      * <p>Returns a stream of two identical doubles
      *
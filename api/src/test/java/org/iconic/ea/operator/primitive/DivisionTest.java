@@ -42,6 +42,31 @@ class DivisionTest {
         assertEquals(expected, actual, delta);
     }
 
+    @DisplayName("Test division column kernel using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void columnKernelTest(final List<Double> args, final double expected) {
+        final FunctionalPrimitive<Double, Double> division = new Division();
+        final double delta = 0.001;
+        final double[][] columns = args.stream().map(arg -> new double[]{arg}).toArray(double[][]::new);
+        final double[] actual = new double[1];
+
+        division.apply(columns, actual, 1);
+
+        assertEquals(expected, actual[0], delta);
+    }
+
+    @DisplayName("Test division primitive-specialised form using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void applyAsDoubleTest(final List<Double> args, final double expected) {
+        final DoubleOperator division = new Division();
+        final double delta = 0.001;
+        final double actual = division.applyAsDouble(args.get(0), args.get(1));
+
+        assertEquals(expected, actual, delta);
+    }
+
     /**
      * <p>Returns a stream of double n-tuples, where the last member is the result of dividing
      * the first by the second
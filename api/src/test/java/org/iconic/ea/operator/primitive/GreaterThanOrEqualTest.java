@@ -45,6 +45,31 @@ public class GreaterThanOrEqualTest {
         assertEquals(expected, actual, delta);
     }
 
+    @DisplayName("Test GreaterThanOrEqual column kernel using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void columnKernelTest(final List<Double> args, final double expected) {
+        final FunctionalPrimitive<Double, Double> greaterThanOrEqual = new GreaterThanOrEqual();
+        final double delta = 0.001d;
+        final double[][] columns = args.stream().map(arg -> new double[]{arg}).toArray(double[][]::new);
+        final double[] actual = new double[1];
+
+        greaterThanOrEqual.apply(columns, actual, 1);
+
+        assertEquals(expected, actual[0], delta);
+    }
+
+    @DisplayName("Test GreaterThanOrEqual primitive-specialised form using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void applyAsDoubleTest(final List<Double> args, final double expected) {
+        final DoubleOperator greaterThanOrEqual = new GreaterThanOrEqual();
+        final double delta = 0.001d;
+        final double actual = greaterThanOrEqual.applyAsDouble(args.get(0), args.get(1));
+
+        assertEquals(expected, actual, delta);
+    }
+
     /**
      * <p>
      * Returns a stream of double n-tuples, where the last member of the tuple is 1 if the first member is >= second member
@@ -45,6 +45,31 @@ public class IfThenElseTest {
         assertEquals(expected, actual, delta);
     }
 
+    @DisplayName("Test GreaterThan column kernel using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void columnKernelTest(final List<Double> args, final double expected) {
+        final FunctionalPrimitive<Double, Double> ifThenElse = new IfThenElse();
+        final double delta = 0.001d;
+        final double[][] columns = args.stream().map(arg -> new double[]{arg}).toArray(double[][]::new);
+        final double[] actual = new double[1];
+
+        ifThenElse.apply(columns, actual, 1);
+
+        assertEquals(expected, actual[0], delta);
+    }
+
+    @DisplayName("Test GreaterThan primitive-specialised form using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void applyAsDoubleTest(final List<Double> args, final double expected) {
+        final DoubleOperator ifThenElse = new IfThenElse();
+        final double delta = 0.001d;
+        final double actual = ifThenElse.applyAsDouble(args.get(0), args.get(1), args.get(2));
+
+        assertEquals(expected, actual, delta);
+    }
+
     /**
      * <p>
      * Returns a stream of double n-tuples, if the first argument is > 0, the last tuple is the second argument,
@@ -42,6 +42,31 @@ class MultiplicationTest {
         assertEquals(expected, actual, delta);
     }
 
+    @DisplayName("Test multiplication column kernel using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void columnKernelTest(final List<Double> args, final double expected) {
+        final FunctionalPrimitive<Double, Double> multiplication = new Multiplication();
+        final double delta = 0.001;
+        final double[][] columns = args.stream().map(arg -> new double[]{arg}).toArray(double[][]::new);
+        final double[] actual = new double[1];
+
+        multiplication.apply(columns, actual, 1);
+
+        assertEquals(expected, actual[0], delta);
+    }
+
+    @DisplayName("Test multiplication primitive-specialised form using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void applyAsDoubleTest(final List<Double> args, final double expected) {
+        final DoubleOperator multiplication = new Multiplication();
+        final double delta = 0.001;
+        final double actual = multiplication.applyAsDouble(args.get(0), args.get(1));
+
+        assertEquals(expected, actual, delta);
+    }
+
     /**
      * <p>Returns a stream of double n-tuples, where the last member is the multiplication
      * of the first two
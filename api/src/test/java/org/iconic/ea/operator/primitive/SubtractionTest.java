@@ -42,6 +42,31 @@ class SubtractionTest {
         assertEquals(expected, actual, delta);
     }
 
+    @DisplayName("Test subtraction column kernel using doubles")
+    @MethodSource("binaryListProvider")
+    @ParameterizedTest
+    void columnKernelTest(final List<Double> args, final double expected) {
+        final FunctionalPrimitive<Double, Double> subtract = new Subtraction();
+        final double delta = 0.001;
+        final double[][] columns = args.stream().map(arg -> new double[]{arg}).toArray(double[][]::new);
+        final double[] actual = new double[1];
+
+        subtract.apply(columns, actual, 1);
+
+        assertEquals(expected, actual[0], delta);
+    }
+
+    @DisplayName("Test subtraction primitive-specialised form using doubles")
+    @MethodSource("binaryListProvider")
+    @ParameterizedTest
+    void applyAsDoubleTest(final List<Double> args, final double expected) {
+        final DoubleOperator subtract = new Subtraction();
+        final double delta = 0.001;
+        final double actual = subtract.applyAsDouble(args.get(0), args.get(1));
+
+        assertEquals(expected, actual, delta);
+    }
+
     /**
      * <p>Returns a stream of double n-tuples, where the last member is the subraction of
      * all numbers in the list (a - b - c - d - ...)
@@ -58,4 +83,13 @@ class SubtractionTest {
                 Arguments.of(Arrays.asList(10.0, 1.0, 2.0, 3.0, 4.0), 0.0)
         );
     }
+
+    /**
+     * <p>Returns the binary tuples of {@link #doubleListProvider()}
+     *
+     * @return a stream of double triples
+     */
+    private static Stream<Arguments> binaryListProvider() {
+        return doubleListProvider().filter(arguments -> ((List<?>) arguments.get()[0]).size() == 2);
+    }
 }
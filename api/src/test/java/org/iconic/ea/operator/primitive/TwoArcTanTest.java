@@ -47,6 +47,31 @@ public class TwoArcTanTest {
         assertEquals(expected, actual, delta);
     }
 
+    @DisplayName("Test TWoArcTan column kernel using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void columnKernelTest(final List<Double> args, final double expected) {
+        final FunctionalPrimitive<Double, Double> twoArcTan = new TwoArcTan();
+        final double delta = 0.001d;
+        final double[][] columns = args.stream().map(arg -> new double[]{arg}).toArray(double[][]::new);
+        final double[] actual = new double[1];
+
+        twoArcTan.apply(columns, actual, 1);
+
+        assertEquals(expected, actual[0], delta);
+    }
+
+    @DisplayName("Test TWoArcTan primitive-specialised form using doubles")
+    @MethodSource("doubleListProvider")
+    @ParameterizedTest
+    void applyAsDoubleTest(final List<Double> args, final double expected) {
+        final DoubleOperator twoArcTan = new TwoArcTan();
+        final double delta = 0.001d;
+        final double actual = twoArcTan.applyAsDouble(args.get(0), args.get(1));
+
+        assertEquals(expected, actual, delta);
+    }
+
     /**
      * <p>
      * Returns a stream of double n-tuples, returns arctan2(x,y), atan but with the angle from the vector made by x,y
@@ -0,0 +1,223 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.random;
+
+import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosomeFactory;
+import org.iconic.ea.data.DataManager;
+import org.iconic.ea.operator.evolutionary.mutation.cgp.CartesianSingleActiveMutator;
+import org.iconic.ea.operator.evolutionary.selection.RandomUniformSelector;
+import org.iconic.ea.operator.objective.DefaultObjective;
+import org.iconic.ea.operator.objective.SizeObjective;
+import org.iconic.ea.operator.objective.error.MeanSquaredError;
+import org.iconic.ea.operator.objective.multiobjective.SimpleMultiObjective;
+import org.iconic.ea.operator.primitive.Addition;
+import org.iconic.ea.operator.primitive.Multiplication;
+import org.iconic.ea.operator.primitive.Subtraction;
+import org.iconic.ea.strategies.evaluation.EvaluationExecutor;
+import org.iconic.ea.strategies.evaluation.FixedPoolEvaluationExecutor;
+import org.iconic.ea.strategies.evaluation.SerialEvaluationExecutor;
+import org.iconic.ea.strategies.gsemo.GSEMO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link org.iconic.ea.random.RandomSource}
+ *
+ * <p>
+ * This test suite ensures the following:
+ * - sources with the same seed, and sources split off of them, produce the same numbers
+ * - bounded numbers stay within their bounds
+ * - threads sharing a source never receive the same number
+ * - a seeded search is repeated exactly, regardless of how many threads evaluate its candidates
+ *
+ */
+class RandomSourceTest {
+    private static final int NUM_SAMPLES = 10000;
+
+    @Test
+    @DisplayName("Test that sources with the same seed produce the same numbers")
+    void seedTest() {
+        final RandomSource first = new RandomSource(42);
+        final RandomSource second = new RandomSource(42);
+        final RandomSource other = new RandomSource(43);
+
+        assertEquals(42, first.getSeed());
+
+        boolean different = false;
+
+        for (int i = 0; i < NUM_SAMPLES; ++i) {
+            final long value = first.nextLong();
+
+            assertEquals(value, second.nextLong());
+            different |= value != other.nextLong();
+        }
+
+        assertTrue(different);
+
+        // Splitting is determined by the numbers drawn so far, and a split source doesn't mirror its parent
+        final RandomSource firstSplit = first.split();
+        final RandomSource secondSplit = second.split();
+
+        for (int i = 0; i < NUM_SAMPLES; ++i) {
+            assertEquals(firstSplit.nextInt(100), secondSplit.nextInt(100));
+        }
+
+        assertNotEquals(first.nextLong(), firstSplit.nextLong());
+    }
+
+    @DisplayName("Test that bounded numbers stay within their bounds and every value is drawn")
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 10, 64, 100})
+    void boundTest(final int bound) {
+        final RandomSource random = new RandomSource(bound);
+        final int[] counts = new int[bound];
+
+        for (int i = 0; i < NUM_SAMPLES; ++i) {
+            final int value = random.nextInt(bound);
+            final int offset = random.nextInt(-bound, bound);
+            final double fraction = random.nextDouble();
+
+            assertAll(
+                    () -> assertTrue(value >= 0 && value < bound),
+                    () -> assertTrue(offset >= -bound && offset < bound),
+                    () -> assertTrue(fraction >= 0 && fraction < 1)
+            );
+            ++counts[value];
+        }
+
+        for (int count : counts) {
+            assertTrue(count > 0);
+        }
+
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> random.nextInt(0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> random.nextInt(bound, bound)),
+                () -> assertTrue(random.nextInt(Integer.MIN_VALUE, Integer.MAX_VALUE) < Integer.MAX_VALUE)
+        );
+    }
+
+    @Test
+    @DisplayName("Test that shuffling a list permutes it")
+    void shuffleTest() {
+        final List<Integer> list = new ArrayList<>();
+
+        for (int i = 0; i < 100; ++i) {
+            list.add(i);
+        }
+
+        final List<Integer> shuffled = new ArrayList<>(list);
+        new RandomSource(1).shuffle(shuffled);
+
+        assertAll(
+                () -> assertNotEquals(list, shuffled),
+                () -> assertEquals(new HashSet<>(list), new HashSet<>(shuffled))
+        );
+    }
+
+    @Test
+    @DisplayName("Test that threads sharing a source receive every number of its sequence exactly once")
+    void concurrencyTest() throws InterruptedException {
+        final int numThreads = 4;
+        final RandomSource shared = new RandomSource(7);
+        final RandomSource sequential = new RandomSource(7);
+        final Set<Long> drawn = ConcurrentHashMap.newKeySet();
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < numThreads; ++i) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < NUM_SAMPLES; ++j) {
+                    drawn.add(shared.nextLong());
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        final Set<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < numThreads * NUM_SAMPLES; ++i) {
+            expected.add(sequential.nextLong());
+        }
+
+        assertEquals(expected, drawn);
+    }
+
+    @Test
+    @DisplayName("Test that a seeded search is repeated exactly regardless of the number of evaluation threads")
+    void reproducibilityTest() {
+        try (EvaluationExecutor serial = new SerialEvaluationExecutor();
+             EvaluationExecutor parallel = new FixedPoolEvaluationExecutor(4)) {
+            final List<String> first = search(serial);
+            final List<String> second = search(parallel);
+
+            assertFalse(first.isEmpty());
+            assertEquals(first, second);
+        }
+    }
+
+    /**
+     * Runs a short search where every random decision is drawn from the same seed, and returns the final
+     * population.
+     */
+    private static List<String> search(final EvaluationExecutor executor) {
+        final RandomSource random = new RandomSource(1234);
+        final DataManager<Double> dataManager = new DataManager<>("Iris-Header.txt");
+        final List<String> inputs = new ArrayList<>();
+
+        for (int i = 0; i < dataManager.getFeatureSize() - 1; ++i) {
+            inputs.add(String.valueOf(i));
+        }
+
+        final CartesianChromosomeFactory<Double> factory = new CartesianChromosomeFactory<>(1, inputs, 10, 1, 10);
+        factory.addFunction(Arrays.asList(new Addition(), new Subtraction(), new Multiplication()));
+
+        final GSEMO<CartesianChromosome<Double>, Double> ea = new GSEMO<>(factory, 4);
+        ea.setRandom(random.split());
+        ea.setEvaluationExecutor(executor);
+        ea.addMutator(new CartesianSingleActiveMutator<>());
+        ea.addSelector(new RandomUniformSelector<>());
+        ea.setObjective(new SimpleMultiObjective(Arrays.asList(
+                new DefaultObjective(new MeanSquaredError(), dataManager),
+                new SizeObjective()
+        )));
+
+        ea.initialisePopulation(4);
+        List<CartesianChromosome<Double>> population = ea.getChromosomes();
+
+        for (int i = 0; i < 50; ++i) {
+            population = ea.evolve(population);
+        }
+
+        final List<String> genomes = new ArrayList<>();
+        population.forEach(chromosome -> genomes.add(chromosome.getGenome() + " " + chromosome.getFitness()));
+
+        return genomes;
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.evaluation;
+
+import org.iconic.ea.chromosome.Chromosome;
+import org.iconic.ea.operator.objective.Objective;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test class for the implementations of {@link org.iconic.ea.strategies.evaluation.EvaluationExecutor}
+ */
+class EvaluationExecutorTest {
+    private static Stream<Supplier<EvaluationExecutor>> executorProvider() {
+        return Stream.of(
+                SerialEvaluationExecutor::new,
+                ForkJoinEvaluationExecutor::new,
+                () -> new ForkJoinEvaluationExecutor(3),
+                () -> new FixedPoolEvaluationExecutor(1),
+                () -> new FixedPoolEvaluationExecutor(4)
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Chromosome<Double>> getChromosomes(final int size) {
+        final List<Chromosome<Double>> chromosomes = new ArrayList<>(size);
+
+        for (int i = 0; i < size; ++i) {
+            chromosomes.add(mock(Chromosome.class));
+        }
+
+        return chromosomes;
+    }
+
+    @DisplayName("Test that every task is executed exactly once")
+    @ParameterizedTest
+    @MethodSource("executorProvider")
+    void executeTest(final Supplier<EvaluationExecutor> supplier) {
+        final int numTasks = 1000;
+        final AtomicInteger[] counts = new AtomicInteger[numTasks];
+
+        for (int i = 0; i < numTasks; ++i) {
+            counts[i] = new AtomicInteger();
+        }
+
+        try (EvaluationExecutor executor = supplier.get()) {
+            executor.execute(numTasks, i -> counts[i].incrementAndGet());
+            executor.execute(0, i -> fail("No tasks should be executed"));
+        }
+
+        for (int i = 0; i < numTasks; ++i) {
+            assertEquals(1, counts[i].get());
+        }
+    }
+
+    @DisplayName("Test that fitnesses are returned in order and duplicates are only evaluated once")
+    @ParameterizedTest
+    @MethodSource("executorProvider")
+    void evaluateTest(final Supplier<EvaluationExecutor> supplier) {
+        final List<Chromosome<Double>> distinct = getChromosomes(100);
+        final List<Chromosome<Double>> chromosomes = new ArrayList<>(distinct);
+        final Map<Chromosome<Double>, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+        // Repeat a few of the chromosomes to ensure they're not evaluated concurrently
+        chromosomes.add(distinct.get(0));
+        chromosomes.add(distinct.get(50));
+        chromosomes.add(distinct.get(50));
+
+        final Objective<Double> objective = c -> {
+            counts.computeIfAbsent(c, k -> new AtomicInteger()).incrementAndGet();
+            return distinct.indexOf(c);
+        };
+
+        final double[] fitnesses;
+
+        try (EvaluationExecutor executor = supplier.get()) {
+            fitnesses = executor.evaluate(objective, chromosomes);
+        }
+
+        assertEquals(chromosomes.size(), fitnesses.length);
+
+        for (int i = 0; i < chromosomes.size(); ++i) {
+            assertEquals(distinct.indexOf(chromosomes.get(i)), fitnesses[i]);
+        }
+
+        assertEquals(distinct.size(), counts.size());
+        counts.values().forEach(count -> assertEquals(1, count.get()));
+    }
+
+    @DisplayName("Test that an exception thrown by a task is propagated to the caller")
+    @ParameterizedTest
+    @MethodSource("executorProvider")
+    void exceptionTest(final Supplier<EvaluationExecutor> supplier) {
+        final List<Chromosome<Double>> chromosomes = getChromosomes(10);
+
+        try (EvaluationExecutor executor = supplier.get()) {
+            assertThrows(IllegalStateException.class, () -> executor.forEach(chromosomes, c -> {
+                if (c == chromosomes.get(7)) {
+                    throw new IllegalStateException();
+                }
+            }));
+
+            // The executor should remain usable after a failure
+            final Set<Chromosome<Double>> visited = Collections.newSetFromMap(new ConcurrentHashMap<>());
+            executor.forEach(chromosomes, visited::add);
+            assertEquals(chromosomes.size(), visited.size());
+        }
+    }
+}
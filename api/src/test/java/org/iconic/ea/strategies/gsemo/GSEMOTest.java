@@ -0,0 +1,135 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.gsemo;
+
+import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosomeFactory;
+import org.iconic.ea.data.DataManager;
+import org.iconic.ea.operator.evolutionary.mutation.cgp.CartesianSingleActiveMutator;
+import org.iconic.ea.operator.objective.DefaultObjective;
+import org.iconic.ea.operator.objective.SizeObjective;
+import org.iconic.ea.operator.objective.error.MeanSquaredError;
+import org.iconic.ea.operator.objective.multiobjective.SimpleMultiObjective;
+import org.iconic.ea.operator.primitive.Addition;
+import org.iconic.ea.operator.primitive.Multiplication;
+import org.iconic.ea.operator.primitive.Subtraction;
+import org.iconic.ea.random.RandomSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link org.iconic.ea.strategies.gsemo.GSEMO}
+ *
+ * <p>
+ * This test suite ensures the following:
+ * - the Pareto front kept of a population follows members replaced in place
+ * - re-evaluating a population keeps the chromosomes that were archived
+ *
+ */
+class GSEMOTest {
+    private static final String TEST_FILE = "Iris-Header.txt";
+
+    private static final int GENERATIONS = 50;
+
+    private static DataManager<Double> dataManager;
+    private static CartesianChromosomeFactory<Double> factory;
+
+    @BeforeAll
+    static void init() {
+        dataManager = new DataManager<>(TEST_FILE);
+
+        final List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < dataManager.getFeatureSize() - 1; ++i) {
+            inputs.add(String.valueOf(i));
+        }
+
+        factory = new CartesianChromosomeFactory<>(1, inputs, 10, 1, 10);
+        factory.addFunction(Arrays.asList(new Addition(), new Subtraction(), new Multiplication()));
+    }
+
+    private static GSEMO<CartesianChromosome<Double>, Double> getAlgorithm(final RandomSource random) {
+        final GSEMO<CartesianChromosome<Double>, Double> ea = new GSEMO<>(factory);
+
+        ea.addMutator(new CartesianSingleActiveMutator<>());
+        ea.setObjective(new SimpleMultiObjective(Arrays.asList(
+                new DefaultObjective(new MeanSquaredError(), dataManager),
+                new SizeObjective()
+        )));
+        ea.setRandom(random.split());
+        ea.initialisePopulation(1);
+
+        return ea;
+    }
+
+    @RepeatedTest(10)
+    @DisplayName("Test that members replaced in place without changing the population's size leave the front")
+    void replacedMemberTest() {
+        final RandomSource random = new RandomSource();
+        final GSEMO<CartesianChromosome<Double>, Double> ea = getAlgorithm(random);
+
+        // Evolving the population keeps a front of it
+        final List<CartesianChromosome<Double>> population = ea.evolve(ea.getChromosomes());
+        final int size = population.size();
+        final CartesianChromosome<Double> replaced = population.get(0);
+        final CartesianChromosome<Double> replacement = factory.getChromosome(random);
+
+        ea.evaluateOffspring(replacement, Collections.emptyList());
+        population.set(0, replacement);
+
+        final List<CartesianChromosome<Double>> next = ea.immigrate(population, new ArrayList<>());
+
+        assertAll("Replaced member",
+                () -> assertEquals(size, population.size()),
+                () -> assertFalse(next.isEmpty()),
+                () -> assertTrue(next.stream().noneMatch(member -> member == replaced)),
+                () -> assertTrue(next.stream().allMatch(member -> population.stream().anyMatch(c -> c == member)))
+        );
+    }
+
+    @Test
+    @DisplayName("Test that re-evaluating a population keeps the chromosomes that were archived")
+    void reevaluateTest() {
+        final GSEMO<CartesianChromosome<Double>, Double> ea = getAlgorithm(new RandomSource(3));
+        List<CartesianChromosome<Double>> population = ea.getChromosomes();
+
+        for (int i = 0; i < GENERATIONS; ++i) {
+            population = ea.evolve(population);
+        }
+
+        final List<CartesianChromosome<Double>> archived = ea.getArchive().snapshot();
+
+        // Only one member is re-evaluated, but the fitness of every chromosome is unchanged, so the same chromosomes
+        // should remain archived
+        ea.reevaluate(Collections.singletonList(population.get(0)));
+
+        final List<CartesianChromosome<Double>> rearchived = ea.getArchive().snapshot();
+
+        assertAll("Archive",
+                () -> assertTrue(archived.size() > 1),
+                () -> assertEquals(archived.size(), rearchived.size()),
+                () -> assertTrue(archived.stream().allMatch(c -> rearchived.stream().anyMatch(r -> r == c)))
+        );
+    }
+}
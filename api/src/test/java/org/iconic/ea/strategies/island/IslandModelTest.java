@@ -0,0 +1,265 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.island;
+
+import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosomeFactory;
+import org.iconic.ea.data.DataManager;
+import org.iconic.ea.operator.evolutionary.mutation.cgp.CartesianSingleActiveMutator;
+import org.iconic.ea.operator.objective.DefaultObjective;
+import org.iconic.ea.operator.objective.SizeObjective;
+import org.iconic.ea.operator.objective.error.MeanSquaredError;
+import org.iconic.ea.operator.objective.multiobjective.SimpleMultiObjective;
+import org.iconic.ea.operator.primitive.Addition;
+import org.iconic.ea.operator.primitive.Multiplication;
+import org.iconic.ea.operator.primitive.Subtraction;
+import org.iconic.ea.random.RandomSource;
+import org.iconic.ea.strategies.EvolutionaryAlgorithm;
+import org.iconic.ea.strategies.cgp.CartesianGeneticProgramming;
+import org.iconic.ea.strategies.gsemo.GSEMO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link org.iconic.ea.strategies.island.IslandModel}
+ *
+ * <p>
+ * This test suite ensures the following:
+ * - islands never send emigrants to themselves
+ * - every island is evolved for every generation and migrates on schedule
+ * - synchronous models are repeated exactly given the same seeds
+ * - immigrants only replace members of a population that are less fit than them
+ *
+ */
+class IslandModelTest {
+    private static final String TEST_FILE = "Iris-Header.txt";
+    private static final int NUM_ISLANDS = 4;
+
+    private static DataManager<Double> dataManager;
+    private static CartesianChromosomeFactory<Double> factory;
+
+    @BeforeAll
+    static void init() {
+        dataManager = new DataManager<>(TEST_FILE);
+
+        final List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < dataManager.getFeatureSize() - 1; ++i) {
+            inputs.add(String.valueOf(i));
+        }
+
+        factory = new CartesianChromosomeFactory<>(1, inputs, 10, 1, 10);
+        factory.addFunction(Arrays.asList(new Addition(), new Subtraction(), new Multiplication()));
+    }
+
+    private static EvolutionaryAlgorithm<CartesianChromosome<Double>, Double> getAlgorithm() {
+        final EvolutionaryAlgorithm<CartesianChromosome<Double>, Double> ea = new GSEMO<>(factory, 4);
+
+        ea.addMutator(new CartesianSingleActiveMutator<>());
+        ea.setObjective(new SimpleMultiObjective(Arrays.asList(
+                new DefaultObjective(new MeanSquaredError(), dataManager),
+                new SizeObjective()
+        )));
+
+        return ea;
+    }
+
+    @DisplayName("Test that islands only send emigrants to other islands")
+    @ParameterizedTest
+    @EnumSource(MigrationTopology.class)
+    void topologyTest(final MigrationTopology topology) {
+        final RandomSource random = new RandomSource(1);
+
+        assertTrue(topology.getDestinations(0, 1, random).isEmpty());
+
+        for (int i = 0; i < NUM_ISLANDS; ++i) {
+            final int island = i;
+            final List<Integer> destinations = topology.getDestinations(island, NUM_ISLANDS, random);
+
+            assertFalse(destinations.isEmpty());
+
+            for (int destination : destinations) {
+                assertAll(
+                        () -> assertTrue(destination >= 0 && destination < NUM_ISLANDS),
+                        () -> assertNotEquals(island, destination)
+                );
+            }
+        }
+
+        assertAll(
+                () -> assertEquals(Collections.singletonList(1), MigrationTopology.RING.getDestinations(0, 3, random)),
+                () -> assertEquals(Collections.singletonList(0), MigrationTopology.RING.getDestinations(2, 3, random)),
+                () -> assertEquals(Arrays.asList(0, 2), MigrationTopology.FULLY_CONNECTED.getDestinations(1, 3, random))
+        );
+    }
+
+    @DisplayName("Test that every island evolves for every generation and migrates on schedule")
+    @ParameterizedTest
+    @EnumSource(MigrationTopology.class)
+    void evolveTest(final MigrationTopology topology) {
+        final int generations = 20;
+        final int interval = 5;
+        final List<EvolutionaryAlgorithm<CartesianChromosome<Double>, Double>> algorithms = new ArrayList<>();
+        final AtomicInteger notifications = new AtomicInteger();
+
+        for (int i = 0; i < NUM_ISLANDS; ++i) {
+            algorithms.add(getAlgorithm());
+        }
+
+        try (IslandModel<CartesianChromosome<Double>, Double> model = new IslandModel<>(algorithms, topology)) {
+            model.setMigrationInterval(interval);
+            model.initialisePopulation(1);
+            model.evolve(generations, (island, generation) -> notifications.incrementAndGet());
+
+            final int numDestinations = topology.getDestinations(0, NUM_ISLANDS, new RandomSource(1)).size();
+
+            assertAll(
+                    () -> assertEquals(NUM_ISLANDS * generations, notifications.get()),
+                    () -> assertEquals(
+                            NUM_ISLANDS * (generations / interval) * numDestinations, model.getMigrationCount()
+                    ),
+                    () -> model.getIslands().forEach(island -> {
+                        assertEquals(generations, island.getGeneration());
+                        assertFalse(island.getPopulation().isEmpty());
+                    })
+            );
+
+            // Islands should remain usable after they've finished evolving
+            model.evolve(1);
+            model.getIslands().forEach(island -> assertEquals(generations + 1, island.getGeneration()));
+        }
+    }
+
+    @DisplayName("Test that synchronous models are repeated exactly given the same seeds")
+    @ParameterizedTest
+    @EnumSource(MigrationTopology.class)
+    void synchronousTest(final MigrationTopology topology) {
+        final List<List<String>> runs = new ArrayList<>();
+
+        for (int run = 0; run < 2; ++run) {
+            final RandomSource random = new RandomSource(7);
+            final List<EvolutionaryAlgorithm<CartesianChromosome<Double>, Double>> algorithms = new ArrayList<>();
+
+            for (int i = 0; i < NUM_ISLANDS; ++i) {
+                final EvolutionaryAlgorithm<CartesianChromosome<Double>, Double> ea = getAlgorithm();
+
+                ea.setRandom(random.split());
+                algorithms.add(ea);
+            }
+
+            try (IslandModel<CartesianChromosome<Double>, Double> model = new IslandModel<>(algorithms, topology)) {
+                final List<String> generations = Collections.synchronizedList(new ArrayList<>());
+
+                model.setSynchronous(true);
+                model.setMigrationInterval(2);
+                model.initialisePopulation(4);
+                model.evolve(20, (island, generation) -> generations.add(island.getIndex() + ":" + generation));
+
+                final List<String> chromosomes = new ArrayList<>(generations);
+                model.getChromosomes().forEach(chromosome -> chromosomes.add(
+                        chromosome.toString() + "=" + chromosome.getFitness()
+                ));
+                runs.add(chromosomes);
+                assertTrue(model.getMigrationCount() > 0);
+            }
+        }
+
+        assertEquals(runs.get(0), runs.get(1));
+    }
+
+    @Test
+    @DisplayName("Test that chromosomes from outside of the model are shared between its islands")
+    void receiveTest() {
+        final List<EvolutionaryAlgorithm<CartesianChromosome<Double>, Double>> algorithms = new ArrayList<>();
+
+        for (int i = 0; i < NUM_ISLANDS; ++i) {
+            algorithms.add(getAlgorithm());
+        }
+
+        try (IslandModel<CartesianChromosome<Double>, Double> model = new IslandModel<>(
+                algorithms, MigrationTopology.RING
+        )) {
+            model.setMigrationSize(2);
+            model.initialisePopulation(1);
+
+            final List<CartesianChromosome<Double>> emigrants = model.getEmigrants();
+
+            // Each island has a single member, so it can only send a single emigrant
+            assertEquals(NUM_ISLANDS, emigrants.size());
+
+            model.receive(emigrants);
+            model.evolve(1);
+
+            // Immigrants are let in after the next generation, and none of them are shared between islands
+            final Set<CartesianChromosome<Double>> members = Collections.newSetFromMap(new IdentityHashMap<>());
+            model.getIslands().forEach(island -> island.getPopulation().forEach(chromosome -> {
+                assertTrue(members.add(chromosome));
+            }));
+            assertFalse(members.isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Test that immigrants only replace the least fit members of a population")
+    void immigrateTest() {
+        final CartesianGeneticProgramming<Double> ea = new CartesianGeneticProgramming<>(factory);
+        final Map<CartesianChromosome<Double>, Double> fitnesses = new IdentityHashMap<>();
+        final List<CartesianChromosome<Double>> population = new ArrayList<>();
+
+        ea.setObjective(fitnesses::get);
+
+        for (int i = 0; i < 4; ++i) {
+            final CartesianChromosome<Double> chromosome = factory.getChromosome(ea.getRandom());
+            fitnesses.put(chromosome, (double) i);
+            chromosome.setFitness(i);
+            population.add(chromosome);
+        }
+
+        final CartesianChromosome<Double> fit = factory.getChromosome(ea.getRandom());
+        final CartesianChromosome<Double> unfit = factory.getChromosome(ea.getRandom());
+        fitnesses.put(fit, 0.5);
+        fitnesses.put(unfit, 10.0);
+
+        final List<CartesianChromosome<Double>> result = ea.immigrate(population, Arrays.asList(fit, unfit));
+
+        assertAll(
+                () -> assertEquals(4, result.size()),
+                // Random chromosomes may express the same program, so members are compared by identity
+                () -> assertTrue(result.stream().anyMatch(chromosome -> chromosome == fit)),
+                () -> assertTrue(result.stream().noneMatch(chromosome -> chromosome == unfit)),
+                () -> assertEquals(0.5, fit.getFitness()),
+                // The least fit member was replaced
+                () -> assertEquals(2, result.stream().mapToDouble(CartesianChromosome::getFitness).max().getAsDouble())
+        );
+
+        // Emigrants are copies of the fittest members
+        final List<CartesianChromosome<Double>> emigrants = ea.getEmigrants(result, 2);
+
+        assertAll(
+                () -> assertEquals(2, emigrants.size()),
+                () -> assertEquals(0, emigrants.get(0).getFitness()),
+                () -> assertEquals(0.5, emigrants.get(1).getFitness()),
+                () -> assertTrue(result.stream().noneMatch(chromosome -> chromosome == emigrants.get(0)))
+        );
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.pareto;
+
+import org.iconic.ea.random.RandomSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link org.iconic.ea.strategies.pareto.CrowdingDistance}
+ *
+ * <p>
+ * This test suite ensures the following:
+ * - the extremes of each objective have an infinite crowding distance
+ * - interior points are measured relative to the range of each objective
+ * - truncating removes the same points as recomputing every distance after each removal
+ *
+ */
+class CrowdingDistanceTest {
+    @Test
+    @DisplayName("Test that crowding distances are relative to the range of each objective")
+    void computeTest() {
+        final List<double[]> points = Arrays.asList(
+                new double[]{0, 10},
+                new double[]{1, 6},
+                new double[]{3, 2},
+                new double[]{4, 0}
+        );
+        final double[] distances = CrowdingDistance.compute(points);
+
+        assertAll(
+                () -> assertEquals(Double.POSITIVE_INFINITY, distances[0]),
+                () -> assertEquals(3 / 4.0 + 8 / 10.0, distances[1], 1E-12),
+                () -> assertEquals(3 / 4.0 + 6 / 10.0, distances[2], 1E-12),
+                () -> assertEquals(Double.POSITIVE_INFINITY, distances[3]),
+                () -> assertEquals(0, CrowdingDistance.compute(new ArrayList<>()).length)
+        );
+    }
+
+    @DisplayName("Test that truncating removes the same points as recomputing every distance after each removal")
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4})
+    void truncateTest(final int numObjectives) {
+        final RandomSource random = new RandomSource(numObjectives);
+        final List<double[]> points = new ArrayList<>();
+
+        for (int i = 0; i < 200; ++i) {
+            points.add(ParetoFrontTest.getPoint(random, numObjectives));
+        }
+
+        for (int size : new int[]{150, 50, 10, 1}) {
+            assertArrayEquals(getKept(points, size), CrowdingDistance.truncate(points, size));
+        }
+
+        assertEquals(points.size(), CrowdingDistance.truncate(points, points.size() + 1).length);
+    }
+
+    /**
+     * Removes the most crowded point one at a time, measuring the distances of the points that remain from scratch
+     * but against the ranges of every point, until the provided number of points remain.
+     */
+    private static int[] getKept(final List<double[]> points, final int size) {
+        final int numObjectives = points.get(0).length;
+        final double[] ranges = new double[numObjectives];
+        final List<Integer> remaining = new ArrayList<>();
+
+        for (int i = 0; i < numObjectives; ++i) {
+            final int objective = i;
+            final DoubleSummaryStatistics statistics = points.stream()
+                    .mapToDouble(point -> point[objective])
+                    .summaryStatistics();
+
+            ranges[i] = statistics.getMax() - statistics.getMin();
+        }
+
+        for (int i = 0; i < points.size(); ++i) {
+            remaining.add(i);
+        }
+
+        while (remaining.size() > size) {
+            int mostCrowded = -1;
+            double leastDistance = Double.POSITIVE_INFINITY;
+
+            for (int i : remaining) {
+                final double distance = getDistance(points, remaining, ranges, i);
+
+                // Ties are broken in favour of removing the later point
+                if (mostCrowded < 0 || distance <= leastDistance) {
+                    mostCrowded = i;
+                    leastDistance = distance;
+                }
+            }
+
+            remaining.remove(Integer.valueOf(mostCrowded));
+        }
+
+        return remaining.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static double getDistance(
+            final List<double[]> points, final List<Integer> remaining, final double[] ranges, final int point
+    ) {
+        double distance = 0;
+
+        for (int i = 0; i < ranges.length; ++i) {
+            final int objective = i;
+            final List<Integer> order = new ArrayList<>(remaining);
+            order.sort(Comparator.comparingDouble(j -> points.get(j)[objective]));
+
+            final int position = order.indexOf(point);
+
+            if (position == 0 || position == order.size() - 1) {
+                return Double.POSITIVE_INFINITY;
+            } else if (ranges[i] > 0) {
+                distance += (points.get(order.get(position + 1))[i] - points.get(order.get(position - 1))[i])
+                        / ranges[i];
+            }
+        }
+
+        return distance;
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.pareto;
+
+import org.iconic.ea.random.RandomSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link org.iconic.ea.strategies.pareto.NonDominatedSorting}
+ *
+ * <p>
+ * This test suite ensures the following:
+ * - points are ranked the same as by repeatedly peeling off the non-dominated points
+ * - equal points share a front
+ * - elements keep their relative order within each front
+ *
+ */
+class NonDominatedSortingTest {
+    private static final int NUM_POINTS = 1000;
+
+    @DisplayName("Test that points are ranked the same as by peeling off fronts one at a time")
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 5})
+    void rankTest(final int numObjectives) {
+        final RandomSource random = new RandomSource(numObjectives);
+        final List<double[]> points = new ArrayList<>();
+
+        for (int i = 0; i < NUM_POINTS; ++i) {
+            points.add(ParetoFrontTest.getPoint(random, numObjectives));
+        }
+
+        assertArrayEquals(getRanks(points), NonDominatedSorting.rank(points));
+    }
+
+    @Test
+    @DisplayName("Test that equal points share a front and elements keep their order")
+    void sortTest() {
+        final Map<String, double[]> points = new LinkedHashMap<>();
+        points.put("a", new double[]{2, 2});
+        points.put("b", new double[]{1, 3});
+        points.put("c", new double[]{2, 2});
+        points.put("d", new double[]{3, 3});
+        points.put("e", new double[]{3, 1});
+        points.put("f", new double[]{4, 4});
+        points.put("g", new double[]{0, 5});
+
+        final List<List<String>> fronts = NonDominatedSorting.sort(new ArrayList<>(points.keySet()), points::get);
+
+        assertAll(
+                () -> assertEquals(Arrays.asList("a", "b", "c", "e", "g"), fronts.get(0)),
+                () -> assertEquals(Collections.singletonList("d"), fronts.get(1)),
+                () -> assertEquals(Collections.singletonList("f"), fronts.get(2)),
+                () -> assertEquals(3, fronts.size()),
+                () -> assertTrue(NonDominatedSorting.sort(new ArrayList<String>(), points::get).isEmpty())
+        );
+    }
+
+    /**
+     * Ranks the provided points by comparing every pair of points that remain, one front at a time.
+     */
+    private static int[] getRanks(final List<double[]> points) {
+        final int[] ranks = new int[points.size()];
+        final Set<Integer> remaining = new HashSet<>();
+
+        for (int i = 0; i < points.size(); ++i) {
+            remaining.add(i);
+        }
+
+        for (int rank = 0; !remaining.isEmpty(); ++rank) {
+            final List<Integer> front = new ArrayList<>();
+
+            for (int i : remaining) {
+                if (remaining.stream().noneMatch(j -> Dominance.dominates(points.get(j), points.get(i)))) {
+                    front.add(i);
+                }
+            }
+
+            for (int i : front) {
+                ranks[i] = rank;
+                remaining.remove(i);
+            }
+        }
+
+        return ranks;
+    }
+}
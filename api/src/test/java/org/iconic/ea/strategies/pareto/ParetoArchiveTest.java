@@ -0,0 +1,186 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.pareto;
+
+import org.iconic.ea.random.RandomSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link org.iconic.ea.strategies.pareto.ParetoArchive}
+ *
+ * <p>
+ * This test suite ensures the following:
+ * - the archive never appears to hold more than its capacity, and keeps the extremes of each objective
+ * - an archive with room for every element keeps the same elements as a Pareto front
+ * - each epsilon box holds a single member
+ * - snapshots are unaffected by later additions
+ * - elements can be added by several threads at once
+ *
+ */
+class ParetoArchiveTest {
+    private static final int NUM_POINTS = 5000;
+
+    @DisplayName("Test that the archive is bounded by its capacity and keeps the extremes of each objective")
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3})
+    void capacityTest(final int numObjectives) {
+        final int capacity = 20;
+        final ParetoArchive<double[]> archive = new ParetoArchive<>(capacity);
+        final ParetoFront<double[]> front = ParetoFront.forObjectives(numObjectives);
+        final RandomSource random = new RandomSource(numObjectives);
+
+        for (int i = 0; i < NUM_POINTS; ++i) {
+            final double[] point = ParetoFrontTest.getPoint(random, numObjectives);
+
+            archive.add(point, point);
+            front.add(point, point);
+            assertTrue(archive.size() <= capacity);
+        }
+
+        assertEquals(capacity, archive.size());
+
+        for (double[] member : archive) {
+            assertFalse(archive.snapshot().stream().anyMatch(other -> Dominance.dominates(other, member)));
+        }
+
+        // The extremes of the front may only be lost to a point that was later dominated
+        for (int i = 0; i < numObjectives; ++i) {
+            final int objective = i;
+            final double best = front.getElements().stream().mapToDouble(point -> point[objective]).min().getAsDouble();
+
+            assertTrue(archive.snapshot().stream().anyMatch(point -> point[objective] == best));
+        }
+    }
+
+    @Test
+    @DisplayName("Test that an archive with room for every element keeps the same elements as a Pareto front")
+    void unboundedTest() {
+        final ParetoArchive<Integer> archive = new ParetoArchive<>(NUM_POINTS);
+        final ParetoFront<Integer> front = ParetoFront.forObjectives(3);
+        final RandomSource random = new RandomSource(1);
+
+        for (int i = 0; i < NUM_POINTS; ++i) {
+            final double[] point = ParetoFrontTest.getPoint(random, 3);
+
+            assertEquals(front.add(i, point), archive.add(i, point));
+        }
+
+        assertEquals(new HashSet<>(front.getElements()), new HashSet<>(archive.snapshot()));
+    }
+
+    @Test
+    @DisplayName("Test that each epsilon box holds the best member that's been added to it")
+    void epsilonTest() {
+        final ParetoArchive<String> archive = new ParetoArchive<>(10, new double[]{0.1, 1});
+
+        assertAll(
+                () -> assertTrue(archive.add("a", new double[]{0.15, 3})),
+                // Neither dominates the other, but b is nearer to the corner of their box
+                () -> assertTrue(archive.add("b", new double[]{0.12, 3.01})),
+                () -> assertFalse(archive.add("c", new double[]{0.19, 3.2})),
+                () -> assertEquals(Collections.singletonList("b"), archive.snapshot()),
+                // The box of d dominates the box of b
+                () -> assertTrue(archive.add("d", new double[]{0.19, 2.9})),
+                () -> assertFalse(archive.add("e", new double[]{0.25, 3})),
+                () -> assertTrue(archive.add("f", new double[]{0.05, 4})),
+                () -> assertEquals(Arrays.asList("f", "d"), archive.snapshot()),
+                () -> assertThrows(IllegalArgumentException.class, () -> archive.add("g", new double[]{1, 2, 3})),
+                () -> assertThrows(IllegalArgumentException.class, () -> new ParetoArchive<>(10, new double[]{-1})),
+                () -> assertThrows(IllegalArgumentException.class, () -> new ParetoArchive<>(0))
+        );
+    }
+
+    @Test
+    @DisplayName("Test that snapshots are unaffected by later additions and shared until the archive changes")
+    void snapshotTest() {
+        final ParetoArchive<String> archive = new ParetoArchive<>();
+
+        archive.add("a", new double[]{1, 3});
+        archive.add("b", new double[]{3, 1});
+
+        final List<String> snapshot = archive.snapshot();
+        final Iterator<String> it = archive.iterator();
+
+        assertFalse(archive.add("c", new double[]{3, 3}));
+        assertTrue(archive.add("d", new double[]{0, 0}));
+
+        assertAll(
+                () -> assertEquals(Arrays.asList("a", "b"), snapshot),
+                () -> assertEquals("a", it.next()),
+                () -> assertEquals("b", it.next()),
+                () -> assertThrows(UnsupportedOperationException.class, () -> snapshot.add("e")),
+                () -> assertEquals(Collections.singletonList("d"), archive.snapshot()),
+                () -> assertSame(archive.snapshot(), archive.snapshot())
+        );
+
+        archive.clear();
+        assertTrue(archive.isEmpty());
+        // A cleared archive may be reused for a different number of objectives
+        assertTrue(archive.add("e", new double[]{1, 2, 3}));
+    }
+
+    @Test
+    @DisplayName("Test that elements can be added by several threads at once")
+    void concurrencyTest() throws InterruptedException {
+        final int numThreads = 4;
+        final ParetoArchive<double[]> archive = new ParetoArchive<>(NUM_POINTS * numThreads);
+        final ParetoFront<double[]> front = ParetoFront.forObjectives(2);
+        final List<Thread> threads = new ArrayList<>();
+        final List<List<double[]>> batches = new ArrayList<>();
+        final RandomSource random = new RandomSource(2);
+
+        for (int i = 0; i < numThreads; ++i) {
+            final List<double[]> batch = new ArrayList<>();
+
+            for (int j = 0; j < NUM_POINTS; ++j) {
+                final double[] point = ParetoFrontTest.getPoint(random, 2);
+
+                batch.add(point);
+                front.add(point, point);
+            }
+
+            batches.add(batch);
+            threads.add(new Thread(() -> batch.forEach(point -> {
+                archive.add(point, point);
+                archive.snapshot();
+            })));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Equal points may be kept in either order, so only the points themselves are compared
+        final Set<List<Double>> expected = new HashSet<>();
+        final Set<List<Double>> actual = new HashSet<>();
+
+        front.getElements().forEach(point -> expected.add(Arrays.asList(point[0], point[1])));
+        archive.forEach(point -> actual.add(Arrays.asList(point[0], point[1])));
+
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.pareto;
+
+import org.iconic.ea.random.RandomSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link org.iconic.ea.strategies.pareto.ParetoFront}
+ *
+ * <p>
+ * This test suite ensures the following:
+ * - fronts of any number of objectives agree with a pairwise comparison of every point
+ * - dominated points are rejected and dominated members are evicted, and reported as such
+ * - points with the wrong number of objectives are rejected
+ *
+ */
+class ParetoFrontTest {
+    private static final int NUM_POINTS = 2000;
+
+    @DisplayName("Test that a front keeps exactly the points that aren't dominated by any point added before them")
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 6})
+    void frontTest(final int numObjectives) {
+        // Leaves are kept small so that the ND-tree is split many times over
+        final List<ParetoFront<Integer>> fronts = Arrays.asList(
+                ParetoFront.forObjectives(numObjectives),
+                new NDTreeParetoFront<>(numObjectives, 2)
+        );
+        final RandomSource random = new RandomSource(numObjectives);
+        final Map<Integer, double[]> expected = new HashMap<>();
+        final List<double[]> points = new ArrayList<>();
+
+        for (int i = 0; i < NUM_POINTS; ++i) {
+            points.add(getPoint(random, numObjectives));
+        }
+
+        for (int i = 0; i < NUM_POINTS; ++i) {
+            final double[] point = points.get(i);
+            final boolean dominated = expected.values().stream()
+                    .anyMatch(member -> Dominance.weaklyDominates(member, point));
+
+            final Set<Integer> expectedEvictions = new HashSet<>();
+
+            if (!dominated) {
+                expected.forEach((member, memberPoint) -> {
+                    if (Dominance.weaklyDominates(point, memberPoint)) {
+                        expectedEvictions.add(member);
+                    }
+                });
+                expected.keySet().removeAll(expectedEvictions);
+                expected.put(i, point);
+            }
+
+            for (ParetoFront<Integer> front : fronts) {
+                final Set<Integer> evictions = new HashSet<>();
+
+                assertEquals(dominated, front.isDominated(point));
+                assertEquals(!dominated, front.add(i, point, evictions::add));
+                assertEquals(expectedEvictions, evictions);
+                assertEquals(expected.size(), front.size());
+            }
+        }
+
+        for (ParetoFront<Integer> front : fronts) {
+            assertEquals(expected.keySet(), new HashSet<>(front.getElements()));
+
+            front.clear();
+            assertTrue(front.isEmpty());
+            assertFalse(front.isDominated(points.get(0)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test that a front of two objectives is ordered along its first objective")
+    void biObjectiveTest() {
+        final ParetoFront<String> front = ParetoFront.forObjectives(2);
+
+        assertAll(
+                () -> assertTrue(front.add("b", new double[]{2, 2})),
+                () -> assertTrue(front.add("a", new double[]{1, 3})),
+                () -> assertTrue(front.add("c", new double[]{3, 1})),
+                () -> assertFalse(front.add("d", new double[]{2, 2})),
+                () -> assertFalse(front.add("e", new double[]{3, 3})),
+                () -> assertEquals(Arrays.asList("a", "b", "c"), front.getElements()),
+                // Negative zero is the same as zero
+                () -> assertTrue(front.add("f", new double[]{-0.0, 3})),
+                () -> assertFalse(front.add("g", new double[]{0.0, 3})),
+                () -> assertTrue(front.add("h", new double[]{0, 0})),
+                () -> assertEquals(Collections.singletonList("h"), front.getElements())
+        );
+    }
+
+    @Test
+    @DisplayName("Test that invalid points are rejected")
+    void invalidTest() {
+        final ParetoFront<String> biObjective = ParetoFront.forObjectives(2);
+        final ParetoFront<String> multiObjective = ParetoFront.forObjectives(3);
+
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> biObjective.add("a", new double[]{1})),
+                () -> assertThrows(IllegalArgumentException.class, () -> multiObjective.add("a", new double[]{1, 2})),
+                () -> assertThrows(IllegalArgumentException.class, () -> biObjective.add("a", new double[]{1, Double.NaN})),
+                () -> assertThrows(IllegalArgumentException.class, () -> new NDTreeParetoFront<>(0)),
+                () -> assertTrue(multiObjective.add("a", new double[]{Double.POSITIVE_INFINITY, 1, 2})),
+                () -> assertTrue(multiObjective.add("b", new double[]{Double.POSITIVE_INFINITY, 2, 1})),
+                () -> assertEquals(2, multiObjective.size())
+        );
+    }
+
+    /**
+     * Returns a point near the unit simplex, so that many points are mutually non-dominated. The values are rounded
+     * so that ties are common.
+     */
+    static double[] getPoint(final RandomSource random, final int numObjectives) {
+        final double[] point = new double[numObjectives];
+        double sum = 0;
+
+        for (int i = 0; i < numObjectives; ++i) {
+            point[i] = random.nextDouble();
+            sum += point[i];
+        }
+
+        final double scale = (1 + random.nextDouble() / 2) / sum;
+
+        for (int i = 0; i < numObjectives; ++i) {
+            point[i] = Math.round(point[i] * scale * 20) / 20.0;
+        }
+
+        return point;
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.ea.strategies.steadystate;
+
+import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosomeFactory;
+import org.iconic.ea.data.DataManager;
+import org.iconic.ea.operator.evolutionary.mutation.cgp.CartesianSingleActiveMutator;
+import org.iconic.ea.operator.objective.DefaultObjective;
+import org.iconic.ea.operator.objective.FitnessVector;
+import org.iconic.ea.operator.objective.MultiObjective;
+import org.iconic.ea.operator.objective.SizeObjective;
+import org.iconic.ea.operator.objective.error.MeanSquaredError;
+import org.iconic.ea.operator.objective.multiobjective.SimpleMultiObjective;
+import org.iconic.ea.operator.primitive.Addition;
+import org.iconic.ea.operator.primitive.Multiplication;
+import org.iconic.ea.operator.primitive.Subtraction;
+import org.iconic.ea.strategies.EvolutionaryAlgorithm;
+import org.iconic.ea.strategies.cgp.CartesianGeneticProgramming;
+import org.iconic.ea.strategies.gsemo.GSEMO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link org.iconic.ea.strategies.steadystate.SteadyStateEvolution}
+ *
+ * <p>
+ * This test suite ensures the following:
+ * - exactly the requested number of offspring are produced, no matter how many workers there are
+ * - a GSEMO population only ever holds non-dominated chromosomes
+ * - offspring only replace their parents if they're not worse
+ *
+ */
+class SteadyStateEvolutionTest {
+    private static final String TEST_FILE = "Iris-Header.txt";
+    private static final int NUM_EVALUATIONS = 200;
+
+    private static DataManager<Double> dataManager;
+    private static CartesianChromosomeFactory<Double> factory;
+
+    @BeforeAll
+    static void init() {
+        dataManager = new DataManager<>(TEST_FILE);
+
+        final List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < dataManager.getFeatureSize() - 1; ++i) {
+            inputs.add(String.valueOf(i));
+        }
+
+        factory = new CartesianChromosomeFactory<>(1, inputs, 10, 1, 10);
+        factory.addFunction(Arrays.asList(new Addition(), new Subtraction(), new Multiplication()));
+    }
+
+    @DisplayName("Test that every offspring is counted exactly once and the population stays non-dominated")
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void evolveTest(final int numWorkers) {
+        final GSEMO<CartesianChromosome<Double>, Double> ea = new GSEMO<>(factory);
+        final MultiObjective<Double> objective = new SimpleMultiObjective(Arrays.asList(
+                new DefaultObjective(new MeanSquaredError(), dataManager),
+                new SizeObjective()
+        ));
+        final List<Long> notifications = new ArrayList<>();
+
+        ea.addMutator(new CartesianSingleActiveMutator<>());
+        ea.setObjective(objective);
+
+        try (SteadyStateEvolution<CartesianChromosome<Double>, Double> driver =
+                     new SteadyStateEvolution<>(ea, numWorkers)) {
+            driver.initialisePopulation(1);
+            // The listener is always called with the population locked, so it needn't be thread-safe
+            driver.evolve(NUM_EVALUATIONS, (d, evaluation) -> notifications.add(evaluation));
+
+            final List<CartesianChromosome<Double>> population = driver.getPopulation();
+
+            assertAll(
+                    () -> assertEquals(NUM_EVALUATIONS, driver.getEvaluationCount()),
+                    () -> assertEquals(NUM_EVALUATIONS, notifications.size()),
+                    () -> assertTrue(driver.getReplacementCount() <= NUM_EVALUATIONS),
+                    () -> assertFalse(population.isEmpty()),
+                    () -> assertEquals(population, ea.getChromosomes())
+            );
+
+            for (int i = 0; i < notifications.size(); ++i) {
+                assertEquals(i + 1, (long) notifications.get(i));
+            }
+
+            for (CartesianChromosome<Double> c1 : population) {
+                for (CartesianChromosome<Double> c2 : population) {
+                    final FitnessVector v1 = objective.getFitnessVector(c1);
+                    final FitnessVector v2 = objective.getFitnessVector(c2);
+
+                    // Neither member may be at least as good as the other for every goal
+                    assertTrue(c1 == c2 || v1.get(0) < v2.get(0) || v1.get(1) < v2.get(1));
+                }
+            }
+
+            // The driver can keep evolving the same population
+            driver.evolve(NUM_EVALUATIONS);
+            assertEquals(2 * NUM_EVALUATIONS, driver.getEvaluationCount());
+        }
+    }
+
+    @DisplayName("Test that offspring only replace their parents if they're not worse")
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void replaceTest(final int numWorkers) {
+        final EvolutionaryAlgorithm<CartesianChromosome<Double>, Double> ea = new CartesianGeneticProgramming<>(factory);
+        final int populationSize = 5;
+
+        ea.addMutator(new CartesianSingleActiveMutator<>());
+        ea.setObjective(new DefaultObjective(new MeanSquaredError(), dataManager));
+
+        try (SteadyStateEvolution<CartesianChromosome<Double>, Double> driver =
+                     new SteadyStateEvolution<>(ea, numWorkers)) {
+            driver.initialisePopulation(populationSize);
+
+            final List<CartesianChromosome<Double>> before = driver.getPopulation();
+            driver.evolve(NUM_EVALUATIONS);
+            final List<CartesianChromosome<Double>> after = driver.getPopulation();
+
+            assertEquals(populationSize, after.size());
+
+            for (int i = 0; i < populationSize; ++i) {
+                final CartesianChromosome<Double> original = before.get(i);
+                final CartesianChromosome<Double> survivor = after.get(i);
+
+                assertAll(
+                        () -> assertTrue(survivor.getFitness() <= original.getFitness()),
+                        () -> assertTrue(survivor == original || survivor.getFitness() < Double.POSITIVE_INFINITY)
+                );
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test that at least one worker is required")
+    void invalidTest() {
+        assertThrows(IllegalArgumentException.class, () -> new SteadyStateEvolution<>(new GSEMO<>(factory), 0));
+    }
+}
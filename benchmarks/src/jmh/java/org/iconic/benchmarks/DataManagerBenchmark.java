@@ -0,0 +1,49 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.benchmarks;
+
+import org.iconic.ea.data.DataManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures importing a CSV dataset, including inferring its header row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class DataManagerBenchmark {
+    @Param({"1000", "100000"})
+    private int samples;
+
+    @Param({"4", "16"})
+    private int features;
+
+    private String fileName;
+
+    @Setup
+    public void setUp() {
+        final Path path = Datasets.writeCsv(samples, features);
+        fileName = path.toString();
+    }
+
+    @Benchmark
+    public DataManager<Double> importCsv() {
+        return new DataManager<>(fileName);
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.benchmarks;
+
+import org.iconic.ea.chromosome.cartesian.CartesianChromosomeFactory;
+import org.iconic.ea.chromosome.expression.ExpressionChromosomeFactory;
+import org.iconic.ea.data.DataManager;
+import org.iconic.ea.operator.primitive.*;
+import org.iconic.ea.random.RandomSource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * <p>Shared fixtures for the benchmark suites.
+ *
+ * <p>Datasets are generated rather than read from the repository so that their size can be parameterised. Every
+ * dataset is generated from a fixed seed, which keeps the work done by each benchmark identical between runs.
+ */
+final class Datasets {
+    private static final long SEED = 0x1C0171CL;
+
+    private Datasets() {
+    }
+
+    /**
+     * <p>Returns a source of random numbers with the fixed seed, so that each benchmark builds the same chromosomes
+     * between runs.
+     *
+     * @return a new source of random numbers
+     */
+    static RandomSource random() {
+        return new RandomSource(SEED);
+    }
+
+    /**
+     * <p>Writes a CSV file with a header row, the specified number of input features, and a target feature.
+     *
+     * @param samples  The number of samples to write
+     * @param features The number of input features to write
+     * @return the path of the written file, which is deleted when the JVM exits
+     */
+    static Path writeCsv(final int samples, final int features) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+
+        try {
+            final Path path = Files.createTempFile("iconic-benchmark-", ".csv");
+            path.toFile().deleteOnExit();
+
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                for (int j = 0; j < features; ++j) {
+                    writer.write("x" + j + ",");
+                }
+                writer.write("y");
+                writer.newLine();
+
+                final double[] row = new double[features];
+
+                for (int i = 0; i < samples; ++i) {
+                    double target = 0;
+
+                    for (int j = 0; j < features; ++j) {
+                        row[j] = random.nextDouble(-10, 10);
+                        target += (j % 2 == 0) ? row[j] * row[j] : Math.sin(row[j]);
+                        writer.write(Double.toString(row[j]));
+                        writer.write(',');
+                    }
+
+                    writer.write(Double.toString(target));
+                    writer.newLine();
+                }
+            }
+
+            return path;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * <p>Generates and imports a dataset with the specified dimensions.
+     *
+     * @param samples  The number of samples in the dataset
+     * @param features The number of input features in the dataset
+     * @return a data manager containing the dataset
+     */
+    static DataManager<Double> load(final int samples, final int features) {
+        return new DataManager<>(writeCsv(samples, features).toString());
+    }
+
+    /**
+     * <p>Returns the labels of the input features of the provided dataset, in the same form as the CLI.
+     *
+     * @param dm The dataset
+     * @return the labels of the input features
+     */
+    static List<String> inputs(final DataManager<Double> dm) {
+        final List<String> inputs = new ArrayList<>(dm.getFeatureSize() - 1);
+
+        for (int i = 0; i < dm.getFeatureSize() - 1; ++i) {
+            inputs.add(String.valueOf(i));
+        }
+
+        return inputs;
+    }
+
+    /**
+     * <p>Returns a fresh set of the primitives commonly used in a search.
+     *
+     * @return the primitives to construct chromosomes from
+     */
+    static List<FunctionalPrimitive<Double, Double>> primitives() {
+        return Arrays.asList(
+                new Addition(), new Subtraction(), new Multiplication(), new Division(),
+                new Sin(), new Cos(), new Exponential(), new SquareRoot()
+        );
+    }
+
+    /**
+     * <p>Returns a cartesian chromosome factory with a single row of the specified number of columns.
+     *
+     * @param dm      The dataset the chromosomes will be evaluated against
+     * @param columns The number of columns in each chromosome
+     * @return the chromosome factory
+     */
+    static CartesianChromosomeFactory<Double> cartesianFactory(final DataManager<Double> dm, final int columns) {
+        final CartesianChromosomeFactory<Double> factory = new CartesianChromosomeFactory<>(
+                1, inputs(dm), columns, 1, columns
+        );
+        factory.addFunction(primitives());
+
+        return factory;
+    }
+
+    /**
+     * <p>Returns an expression chromosome factory with the specified head length.
+     *
+     * @param dm         The dataset the chromosomes will be evaluated against
+     * @param headLength The head length of each chromosome
+     * @return the chromosome factory
+     */
+    static ExpressionChromosomeFactory<Double> expressionFactory(final DataManager<Double> dm, final int headLength) {
+        final ExpressionChromosomeFactory<Double> factory = new ExpressionChromosomeFactory<>(
+                headLength, inputs(dm), dm.getFeatureSize() - 1
+        );
+        factory.addFunction(primitives());
+
+        return factory;
+    }
+}
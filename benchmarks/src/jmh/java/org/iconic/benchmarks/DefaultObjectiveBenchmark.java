@@ -0,0 +1,70 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.benchmarks;
+
+import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosomeFactory;
+import org.iconic.ea.data.DataManager;
+import org.iconic.ea.operator.objective.DefaultObjective;
+import org.iconic.ea.operator.objective.error.MeanSquaredError;
+import org.iconic.ea.random.RandomSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures the default objective, i.e. evaluating a chromosome and computing its mean squared error.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class DefaultObjectiveBenchmark {
+    private static final int POOL_SIZE = 16;
+
+    @Param({"1000", "100000"})
+    private int samples;
+
+    @Param({"4"})
+    private int features;
+
+    @Param({"100"})
+    private int columns;
+
+    private DefaultObjective objective;
+    private CartesianChromosome<Double>[] pool;
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        final DataManager<Double> dm = Datasets.load(samples, features);
+        final CartesianChromosomeFactory<Double> factory = Datasets.cartesianFactory(dm, columns);
+
+        objective = new DefaultObjective(new MeanSquaredError(), dm);
+        pool = new CartesianChromosome[POOL_SIZE];
+
+        final RandomSource random = Datasets.random();
+
+        for (int i = 0; i < POOL_SIZE; ++i) {
+            pool[i] = factory.getChromosome(random);
+        }
+    }
+
+    @Benchmark
+    public double apply() {
+        return objective.apply(pool[next++ % POOL_SIZE]);
+    }
+}
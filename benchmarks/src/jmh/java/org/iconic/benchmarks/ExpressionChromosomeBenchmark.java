@@ -0,0 +1,89 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.benchmarks;
+
+import org.iconic.ea.chromosome.expression.ExpressionChromosome;
+import org.iconic.ea.chromosome.expression.ExpressionChromosomeFactory;
+import org.iconic.ea.data.DataManager;
+import org.iconic.ea.random.RandomSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures the evaluation of expression chromosomes over an entire dataset.
+ *
+ * <p>Each invocation evaluates the next chromosome from a fixed pool, so that the result isn't dominated by a single
+ * randomly generated expression.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class ExpressionChromosomeBenchmark {
+    private static final int POOL_SIZE = 16;
+
+    @Param({"1000", "100000"})
+    private int samples;
+
+    @Param({"4"})
+    private int features;
+
+    @Param({"10", "50"})
+    private int headLength;
+
+    private DataManager<Double> dm;
+    private ExpressionChromosome<Double>[] pool;
+    private double[] destination;
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        dm = Datasets.load(samples, features);
+        destination = new double[dm.getSampleSize()];
+        pool = new ExpressionChromosome[POOL_SIZE];
+
+        final ExpressionChromosomeFactory<Double> factory = Datasets.expressionFactory(dm, headLength);
+
+        final RandomSource random = Datasets.random();
+
+        for (int i = 0; i < POOL_SIZE; ++i) {
+            pool[i] = factory.getChromosome(random);
+        }
+    }
+
+    private ExpressionChromosome<Double> nextChromosome() {
+        return pool[next++ % POOL_SIZE];
+    }
+
+    /**
+     * <p>Evaluates a chromosome into a reused array.
+     */
+    @Benchmark
+    public double[] evaluate() {
+        return nextChromosome().evaluate(dm, destination);
+    }
+
+    /**
+     * <p>Evaluates a chromosome through the boxed interface, which returns a map of outputs for every sample.
+     */
+    @Benchmark
+    public List<Map<Integer, Double>> evaluateBoxed() {
+        return nextChromosome().evaluate(dm);
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.benchmarks;
+
+import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosomeFactory;
+import org.iconic.ea.data.DataManager;
+import org.iconic.ea.operator.evolutionary.mutation.cgp.CartesianSingleActiveMutator;
+import org.iconic.ea.operator.objective.DefaultObjective;
+import org.iconic.ea.operator.objective.SizeObjective;
+import org.iconic.ea.operator.objective.error.MeanSquaredError;
+import org.iconic.ea.operator.objective.multiobjective.SimpleMultiObjective;
+import org.iconic.ea.strategies.gsemo.GSEMO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures a single generation of GSEMO, configured the same way as the CLI.
+ *
+ * <p>The population is reinitialised before each iteration, so every iteration measures the same stretch of the
+ * search rather than an ever-growing archive.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class GsemoBenchmark {
+    @Param({"1000"})
+    private int samples;
+
+    @Param({"4"})
+    private int features;
+
+    @Param({"100"})
+    private int columns;
+
+    @Param({"10", "100"})
+    private int population;
+
+    private GSEMO<CartesianChromosome<Double>, Double> ea;
+    private List<CartesianChromosome<Double>> chromosomes;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        final DataManager<Double> dm = Datasets.load(samples, features);
+        final CartesianChromosomeFactory<Double> factory = Datasets.cartesianFactory(dm, columns);
+
+        ea = new GSEMO<>(factory, 4);
+        ea.addMutator(new CartesianSingleActiveMutator<>());
+        ea.setObjective(new SimpleMultiObjective(Arrays.asList(
+                new DefaultObjective(new MeanSquaredError(), dm),
+                new SizeObjective()
+        )));
+    }
+
+    @Setup(Level.Iteration)
+    public void initialisePopulation() {
+        ea.initialisePopulation(population);
+        chromosomes = ea.getChromosomes();
+    }
+
+    @Benchmark
+    public List<CartesianChromosome<Double>> evolve() {
+        chromosomes = ea.evolve(chromosomes);
+        return chromosomes;
+    }
+}
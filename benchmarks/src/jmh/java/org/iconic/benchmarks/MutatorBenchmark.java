@@ -0,0 +1,87 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.benchmarks;
+
+import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosomeFactory;
+import org.iconic.ea.chromosome.expression.ExpressionChromosome;
+import org.iconic.ea.chromosome.expression.ExpressionChromosomeFactory;
+import org.iconic.ea.data.DataManager;
+import org.iconic.ea.operator.evolutionary.mutation.cgp.CartesianSingleActiveMutator;
+import org.iconic.ea.operator.evolutionary.mutation.gep.ExpressionMutator;
+import org.iconic.ea.operator.primitive.FunctionalPrimitive;
+import org.iconic.ea.random.RandomSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures the mutation operators. Mutants are discarded, so every invocation mutates the same parent.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MutatorBenchmark {
+    @State(Scope.Thread)
+    public static class CartesianState {
+        @Param({"100", "1000"})
+        private int columns;
+
+        private final CartesianSingleActiveMutator<Double> mutator = new CartesianSingleActiveMutator<>();
+        private final RandomSource random = Datasets.random();
+        private List<FunctionalPrimitive<Double, Double>> primitives;
+        private CartesianChromosome<Double> parent;
+
+        @Setup
+        public void setUp() {
+            final DataManager<Double> dm = Datasets.load(100, 4);
+            final CartesianChromosomeFactory<Double> factory = Datasets.cartesianFactory(dm, columns);
+
+            primitives = factory.getFunctionalPrimitives();
+            parent = factory.getChromosome(random);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ExpressionState {
+        @Param({"10", "50"})
+        private int headLength;
+
+        private final ExpressionMutator<Double> mutator = new ExpressionMutator<>();
+        private final RandomSource random = Datasets.random();
+        private List<FunctionalPrimitive<Double, Double>> primitives;
+        private ExpressionChromosome<Double> parent;
+
+        @Setup
+        public void setUp() {
+            final DataManager<Double> dm = Datasets.load(100, 4);
+            final ExpressionChromosomeFactory<Double> factory = Datasets.expressionFactory(dm, headLength);
+
+            primitives = factory.getFunctionalPrimitives();
+            parent = factory.getChromosome(random);
+        }
+    }
+
+    @Benchmark
+    public CartesianChromosome<Double> cartesianSingleActive(final CartesianState state) {
+        return state.mutator.apply(state.primitives, state.parent, state.random);
+    }
+
+    @Benchmark
+    public ExpressionChromosome<Double> expression(final ExpressionState state) {
+        return state.mutator.apply(state.primitives, state.parent, state.random);
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.benchmarks;
+
+import org.iconic.ea.random.RandomSource;
+import org.iconic.ea.strategies.pareto.NonDominatedSorting;
+import org.iconic.ea.strategies.pareto.ParetoArchive;
+import org.iconic.ea.strategies.pareto.ParetoFront;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures building a Pareto front and a bounded Pareto archive from a batch of points, and sorting the same batch
+ * into fronts.
+ *
+ * <p>The points are scattered near the unit simplex, so that a large share of them are mutually non-dominated as
+ * in a front of error against size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class ParetoFrontBenchmark {
+    @Param({"2", "3"})
+    private int objectives;
+
+    @Param({"1000", "10000"})
+    private int points;
+
+    private List<double[]> batch;
+
+    @Setup
+    public void setUp() {
+        final RandomSource random = new RandomSource(points);
+        batch = new ArrayList<>(points);
+
+        for (int i = 0; i < points; ++i) {
+            final double[] point = new double[objectives];
+            double sum = 0;
+
+            for (int j = 0; j < objectives; ++j) {
+                point[j] = random.nextDouble();
+                sum += point[j];
+            }
+
+            final double scale = (1 + random.nextDouble() / 10) / sum;
+
+            for (int j = 0; j < objectives; ++j) {
+                point[j] *= scale;
+            }
+
+            batch.add(point);
+        }
+    }
+
+    @Benchmark
+    public ParetoFront<double[]> front() {
+        final ParetoFront<double[]> front = ParetoFront.forObjectives(objectives);
+
+        for (double[] point : batch) {
+            front.add(point, point);
+        }
+
+        return front;
+    }
+
+    @Benchmark
+    public ParetoArchive<double[]> archive() {
+        final ParetoArchive<double[]> archive = new ParetoArchive<>(points / 10);
+
+        for (double[] point : batch) {
+            archive.add(point, point);
+        }
+
+        return archive;
+    }
+
+    @Benchmark
+    public int[] sort() {
+        return NonDominatedSorting.rank(batch);
+    }
+}
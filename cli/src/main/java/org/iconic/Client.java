@@ -23,19 +23,36 @@ import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
 import org.iconic.ea.strategies.EvolutionaryAlgorithm;
 import org.iconic.ea.chromosome.Chromosome;
 import org.iconic.ea.chromosome.ChromosomeFactory;
+import org.iconic.ea.chromosome.SubexpressionCache;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosomeCodec;
 import org.iconic.ea.chromosome.cartesian.CartesianChromosomeFactory;
+import org.iconic.ea.chromosome.cartesian.NodeOutputCache;
 import org.iconic.ea.data.DataManager;
 import org.iconic.ea.data.FeatureClass;
 import org.iconic.ea.data.preprocessing.HandleMissingValues;
 import org.iconic.ea.operator.evolutionary.mutation.cgp.CartesianSingleActiveMutator;
+import org.iconic.ea.operator.evolutionary.selection.RandomUniformSelector;
 import org.iconic.ea.operator.objective.*;
 import org.iconic.ea.operator.objective.error.MeanSquaredError;
 import org.iconic.ea.operator.objective.multiobjective.SimpleMultiObjective;
 import org.iconic.ea.operator.primitive.*;
+import org.iconic.ea.random.RandomSource;
 import org.iconic.ea.strategies.MultiObjectiveEvolutionaryAlgorithm;
+import org.iconic.ea.strategies.evaluation.EvaluationExecutor;
+import org.iconic.ea.strategies.evaluation.FixedPoolEvaluationExecutor;
+import org.iconic.ea.strategies.evaluation.ForkJoinEvaluationExecutor;
+import org.iconic.ea.strategies.evaluation.SerialEvaluationExecutor;
 import org.iconic.ea.strategies.gsemo.GSEMO;
+import org.iconic.ea.strategies.island.Island;
+import org.iconic.ea.strategies.island.IslandModel;
+import org.iconic.ea.strategies.pareto.ParetoArchive;
+import org.iconic.ea.strategies.steadystate.SteadyStateEvolution;
 import org.iconic.io.cli.ArgsConverterFactory;
 import org.iconic.io.cli.PrimitiveTypeConverter;
+import org.iconic.io.remote.Connection;
+import org.iconic.io.remote.Coordinator;
+import org.iconic.io.remote.Message;
+import org.iconic.io.remote.MessageType;
 import org.iconic.utils.GraphWriter;
 import org.iconic.utils.SeriesWriter;
 import org.iconic.utils.XYGraphWriter;
@@ -64,6 +81,8 @@ public class Client {
     private final JCommander argParser;
     private final ArgsConverterFactory args;
     private static final long NOW = Instant.now().getEpochSecond();
+    // The most generations graphed, as every graphed generation is drawn as a series of its own
+    private static final int MAX_GRAPHED_GENERATIONS = 100;
 
     public static void main(String[] args) {
         // Create a new client and parse the arguments passed in to the program
@@ -97,7 +116,9 @@ public class Client {
 
         // Don't do anything if they didn't pass in an input file
         if (!inputFile.isEmpty()) {
-            final DataManager<Double> dm = new DataManager<>(inputFile);
+            final DataManager<Double> dm = new DataManager<>(inputFile, (bytesRead, totalBytes) ->
+                    log.debug("Imported {} of {} bytes", () -> bytesRead, () -> totalBytes)
+            );
 
             // Sanitise the dataset for any missing values
             handleMissingValues(dm);
@@ -130,75 +151,212 @@ public class Client {
                 inputs.set(i, inputs.get(i).replaceAll("[^A-Za-z0-9]", ""));
             }
 
-            ChromosomeFactory<CartesianChromosome<Double>, Double> supplier = new CartesianChromosomeFactory<>(
+            CartesianChromosomeFactory<Double> supplier = new CartesianChromosomeFactory<>(
                     outputs, inputs, columns, rows, levelsBack
             );
 
+            // Offspring only recompute the nodes changed by mutation while their parent's node outputs are kept
+            supplier.setNodeOutputCache((client.getArgs().getNodeOutputBudget() > 0)
+                    ? new NodeOutputCache(client.getArgs().getNodeOutputBudget() * 1024 * 1024)
+                    : null
+            );
+
+            // Subexpressions common to many candidates are only computed once while their outputs are cached
+            if (client.getArgs().getSubexpressionCacheSize() > 0) {
+                supplier.setSubexpressionCache(new SubexpressionCache(
+                        client.getArgs().getSubexpressionCacheSize() * 1024 * 1024
+                ));
+            }
+
+            // Programs that are run many times, such as those of elites, are compiled to bytecode
+            supplier.setCompileThreshold(client.getArgs().getCompileThreshold());
+
             // Add all of the functions the chromosomes can use
             supplier.addFunction(blocks);
 
+            // Every random decision is drawn from a source split off of the run's seed, so that runs can be repeated
+            final RandomSource random = (client.getArgs().getSeed() != null)
+                    ? new RandomSource(client.getArgs().getSeed())
+                    : new RandomSource();
+            log.info("Seed: {}", random::getSeed);
+
+            // Steady-state workers and coordinated workers race each other, so their runs depend on thread timing
+            if (client.getArgs().getSeed() != null && client.getArgs().getCoordinator() > 0) {
+                log.warn("The seed doesn't make coordinated runs repeatable, as workers migrate whenever they finish");
+            } else if (client.getArgs().getSeed() != null && client.getArgs().isSteadyState()
+                    && client.getArgs().getThreads() != 1) {
+                log.warn("The seed doesn't make steady-state runs with more than one thread repeatable");
+            }
+
             final int generations = client.getArgs().getGenerations();
             final Set<Chromosome<Double>> nonDominatedFinal = new LinkedHashSet<>();
-            final List<Set<Chromosome<Double>>> nonDominatedAll = new ArrayList<>(generations);
+            // The candidates of every generation are kept in a bounded archive, islands may add to it concurrently
+            final ParetoArchive<Chromosome<Double>> archive = new ParetoArchive<>(
+                    client.getArgs().getArchiveSize(),
+                    client.getArgs().getArchiveEpsilon().stream().mapToDouble(Double::doubleValue).toArray()
+            );
+            final NavigableMap<Integer, List<double[]>> plots = new TreeMap<>();
 
-            // Pre-initialise the generations that are going to be tracked
-            for (int i = 0; i < generations; ++i) {
-                nonDominatedAll.add(new LinkedHashSet<>());
+            // Only the fitness and size of the non-dominated candidates of evenly spaced generations, always
+            // including the last, are kept for graphing
+            if (client.getArgs().isGraph()) {
+                final int step = (generations + MAX_GRAPHED_GENERATIONS - 1) / MAX_GRAPHED_GENERATIONS;
+
+                for (int generation = generations; generation > 0; generation -= step) {
+                    plots.put(generation, Collections.synchronizedList(new ArrayList<>()));
+                }
             }
 
-            EvolutionaryAlgorithm<CartesianChromosome<Double>, Double> ea = getEvolutionaryAlgorithm(
-                    client.getArgs(), dm, supplier
-            );
+            // Each island has its own algorithm and objective, including its own sample of the dataset
+            final List<SubsampledObjective> samplers = new ArrayList<>();
+            final CartesianChromosomeCodec<Double> codec = new CartesianChromosomeCodec<>(supplier);
+
+            // A worker evolves its islands on behalf of a coordinator, which exports the results
+            if (!client.getArgs().getWorker().isEmpty()) {
+                try (IslandModel<CartesianChromosome<Double>, Double> islands = getIslandModel(
+                        client.getArgs(), dm, supplier, samplers, random
+                )) {
+                    runWorker(client.getArgs(), islands, samplers, codec);
+                } catch (IOException ex) {
+                    log.error("Lost the connection to the coordinator: {}", ex::getMessage);
+                }
+                return;
+            }
 
-            // Start the evolutionary loop
             final Instant start = Instant.now();
-            for (int trial = 0; trial < client.getArgs().getRepetitions(); ++trial) {
-                // Initialise the population
-                ea.initialisePopulation(client.getArgs().getPopulation());
-                List<CartesianChromosome<Double>> population = ea.getChromosomes();
-
-                for (int i = 0; i < generations; ++i) {
-                    population = ea.evolve(population);
-                    // Pretty-print a summarised progress indicator
-                    printOutput(ea, generations, start, i, trial + 1);
-
-                    // Store the current global best values
-                    nonDominatedAll.get(i).addAll(population);
+            final List<EvolutionaryAlgorithm<CartesianChromosome<Double>, Double>> algorithms = new ArrayList<>();
+            final EvolutionaryAlgorithm<CartesianChromosome<Double>, Double> ea;
+            final SubsampledObjective sampler;
+            Set<Chromosome<Double>> paretoArchive = null;
+
+            if (client.getArgs().getCoordinator() > 0) {
+                // The coordinator scores the candidates of every worker on the entire dataset
+                ea = getEvolutionaryAlgorithm(client.getArgs(), dm, supplier, null, random);
+                sampler = null;
+                algorithms.add(ea);
+
+                try {
+                    paretoArchive = coordinate(
+                            client.getArgs(), ea, codec, start, nonDominatedFinal, archive, plots, random.split()
+                    );
+                } catch (IOException ex) {
+                    log.error("Lost the connection to a worker: {}", ex::getMessage);
+                    return;
+                } finally {
+                    ea.getEvaluationExecutor().close();
                 }
+            } else if (client.getArgs().isSteadyState()) {
+                // Offspring are evaluated as soon as they're bred, so every offspring is scored on the entire dataset
+                ea = getEvolutionaryAlgorithm(client.getArgs(), dm, supplier, null, random);
+                sampler = null;
+                algorithms.add(ea);
 
-                // Add all non-dominated chromosomes of the last generation
-                nonDominatedFinal.addAll(
-                        ((MultiObjectiveEvolutionaryAlgorithm<CartesianChromosome<Double>, Double>) ea)
-                                .getNonDominatedChromosomes(population)
+                evolveSteadyState(client.getArgs(), ea, start, nonDominatedFinal, archive, plots);
+            } else {
+                final IslandModel<CartesianChromosome<Double>, Double> islands = getIslandModel(
+                        client.getArgs(), dm, supplier, samplers, random
+                );
+
+                islands.getIslands().forEach(island -> algorithms.add(island.getAlgorithm()));
+                ea = algorithms.get(0);
+                sampler = samplers.get(0);
+
+                // Start the evolutionary loop
+                for (int trial = 0; trial < client.getArgs().getRepetitions(); ++trial) {
+                    final int currentTrial = trial + 1;
+
+                    initialiseTrial(client.getArgs(), islands, samplers);
+                    islands.evolve(generations, (island, generation) -> {
+                        // Pretty-print a summarised progress indicator of the first island
+                        if (island.getIndex() == 0) {
+                            printOutput(ea, generations, start, generation - 1, currentTrial);
+                        }
+
+                        // Store the current global best values
+                        record(island.getAlgorithm(), island.getPopulation(), generation, archive, plots);
+                        refreshSample(island, samplers, generation);
+                    });
+
+                    // Add all non-dominated chromosomes of the last generation
+                    nonDominatedFinal.addAll(finishTrial(islands, samplers));
+                }
+
+                // Release any threads held by the islands, the evaluation executors are still needed for exporting
+                islands.close();
+
+                if (islands.getIslands().size() > 1) {
+                    log.info(
+                            "Migrated {} candidates between {} islands",
+                            islands::getMigrationCount, () -> islands.getIslands().size()
+                    );
+                }
+            }
+
+            // Report how effective the fitness cache was
+            algorithms.stream()
+                    .flatMap(algorithm -> ((MultiObjective<Double>) algorithm.getObjective()).getGoals().stream())
+                    .filter(goal -> goal instanceof CacheableObjective)
+                    .map(goal -> (CacheableObjective<Double>) goal)
+                    .forEach(cache -> log.info(
+                            "Fitness cache: {} hits, {} misses, {} evictions ({}% hit rate)",
+                            cache::getHitCount, cache::getMissCount, cache::getEvictionCount,
+                            () -> String.format("%.2f", cache.getHitRate() * 100)
+                    ));
+
+            final SubexpressionCache subexpressionCache = supplier.getSubexpressionCache();
+            if (subexpressionCache != null) {
+                log.info(
+                        "Subexpression cache: {} hits, {} misses, {} evictions ({}% hit rate)",
+                        subexpressionCache::getHitCount, subexpressionCache::getMissCount,
+                        subexpressionCache::getEvictionCount,
+                        () -> String.format("%.2f", subexpressionCache.getHitRate() * 100)
                 );
             }
 
             final List<FunctionalPrimitive<?, ?>> primitives = new ArrayList<>(supplier.getFunctionalPrimitives());
-            final Set<Chromosome<Double>> archive = new HashSet<>();
             final String directory = fileName + "//" + NOW;
-            nonDominatedAll.forEach(archive::addAll);
+
+            // Candidates from earlier generations were scored on samples, so they're scored again before exporting
+            if (sampler != null) {
+                final List<CartesianChromosome<Double>> sampled = new ArrayList<>();
+
+                archive.forEach(chromosome -> sampled.add((CartesianChromosome<Double>) chromosome));
+                refreshSample(ea, true, sampled);
+
+                // The archive compared the candidates by their scores on samples, so it's rebuilt from their new scores
+                archive.clear();
+                record(ea, sampled, generations, archive, Collections.emptyNavigableMap());
+            }
+
+            final Set<Chromosome<Double>> archived = new LinkedHashSet<>(archive.snapshot());
+
+            algorithms.forEach(algorithm -> algorithm.getEvaluationExecutor().close());
 
             // Make sure the output directory exists
             try {
                 Files.createDirectories(Paths.get(directory));
                 // Export the CLI arguments to a README file
-                writeReadme(client.getArgs(), directory, Duration.between(start, Instant.now()));
+                writeReadme(client.getArgs(), directory, Duration.between(start, Instant.now()), random.getSeed());
                 // Export the results to a CSV file
                 if (client.getArgs().isCsv()) {
                     exportCsv(directory, "results-last-gen", nonDominatedFinal, primitives);
-                    exportCsv(directory, "results-all-gen", archive, primitives);
+                    exportCsv(directory, "results-all-gen", archived, primitives);
+
+                    if (paretoArchive != null) {
+                        exportCsv(directory, "results-archive", paretoArchive, primitives);
+                    }
                 }
                 // Print and export a graph of the solutions plotted by their dimensions
                 if (client.getArgs().isGraph()) {
                     GraphWriter<XYSeries> graphWriter = new XYGraphWriter("Mean Squared Error", "Size");
 
-                    for (int i = 0; i < nonDominatedAll.size(); ++i) {
+                    for (Map.Entry<Integer, List<double[]>> plot : plots.entrySet()) {
                         SeriesWriter<XYSeries> series = new XYSeriesWriter(
-                                "Plot of Generation " + (i + 1),
+                                "Plot of Generation " + plot.getKey(),
                                 XYSeries.XYSeriesRenderStyle.Scatter, SeriesMarkers.CROSS,
                                 Chromosome::getFitness, Chromosome::getSize
                         );
-                        nonDominatedAll.get(i).forEach(series::write);
+                        plot.getValue().forEach(point -> series.write(point[0], point[1]));
                         graphWriter.write(series.draw());
                     }
 
@@ -222,18 +380,22 @@ public class Client {
                     final MultiObjective<Double> multiObjective = (MultiObjective<Double>) ea.getObjective();
 
                     // A global best is unbeaten by all other chromosomes in the population for at least one goal
-                    multiObjective.getGoals().forEach(goal ->
-                            nonDominatedFinal.forEach(chromosome -> {
-                                if (!globals.containsKey(goal)) {
-                                    globals.put(goal, chromosome);
-                                } else if (goal.isNotWorse(
-                                        goal.apply(chromosome),
-                                        goal.apply(globals.get(goal))
-                                )) {
-                                    globals.put(goal, chromosome);
-                                }
-                            })
-                    );
+                    final List<Objective<Double>> goals = multiObjective.getGoals();
+
+                    for (int i = 0; i < goals.size(); ++i) {
+                        final Objective<Double> goal = goals.get(i);
+
+                        for (final Chromosome<Double> chromosome : nonDominatedFinal) {
+                            if (!globals.containsKey(goal)) {
+                                globals.put(goal, chromosome);
+                            } else if (goal.isNotWorse(
+                                    multiObjective.getFitnessVector(chromosome).get(i),
+                                    multiObjective.getFitnessVector(globals.get(goal)).get(i)
+                            )) {
+                                globals.put(goal, chromosome);
+                            }
+                        }
+                    }
 
                     // Graph the solution-fit plots
                     graphSolutionFitPlot(
@@ -315,9 +477,11 @@ public class Client {
      * @param args      The argument factory whose values are to be include in the README.
      * @param directory The directory to write the README to.
      * @param time      The time to record.
+     * @param seed      The seed the run was given.
      */
-    private static void writeReadme(final ArgsConverterFactory args, final String directory, final Duration time)
-            throws IOException {
+    private static void writeReadme(
+            final ArgsConverterFactory args, final String directory, final Duration time, final long seed
+    ) throws IOException {
         try (FileWriter printer = new FileWriter(new File(directory + "//" + "README"))) {
             printer.write(String.format("Input File:\t\t%s\n", args.getInput()));
             printer.write(String.format("Eval. Time:\t\t%s\n", time.toString()));
@@ -328,6 +492,9 @@ public class Client {
             printer.write(String.format("Rows:\t\t\t\t\t%s\n", args.getRows()));
             printer.write(String.format("Columns:\t\t\t%s\n", args.getColumns()));
             printer.write(String.format("Levels Back:\t%s\n", args.getLevelsBack()));
+            printer.write(String.format("Subsample:\t\t%s\n", args.getSubsample()));
+            printer.write(String.format("Islands:\t\t\t%s\n", args.getIslands()));
+            printer.write(String.format("Seed:\t\t\t\t\t%s\n", seed));
         }
     }
 
@@ -365,12 +532,16 @@ public class Client {
      * @param args     The argument factory whose values will be used in constructing the evolutionary algorithm.
      * @param dm       The data manager.
      * @param supplier The chromosome supplier.
+     * @param sampler  The objective used to evaluate candidates on samples of the dataset, or null to use every row.
+     * @param random   The source of random numbers to split the algorithm's and its operators' sources off of.
      * @return An evolutionary algorithm constructed according to the provided parameters.
      */
     private static EvolutionaryAlgorithm<CartesianChromosome<Double>, Double> getEvolutionaryAlgorithm(
             final ArgsConverterFactory args,
             final DataManager<Double> dm,
-            final ChromosomeFactory<CartesianChromosome<Double>, Double> supplier
+            final ChromosomeFactory<CartesianChromosome<Double>, Double> supplier,
+            final SubsampledObjective sampler,
+            final RandomSource random
     ) {
         // Create the evolutionary algorithm
         EvolutionaryAlgorithm<CartesianChromosome<Double>, Double> ea =
@@ -378,15 +549,28 @@ public class Client {
                 new GSEMO<>(supplier, 4);
         ea.setCrossoverProbability(args.getCrossoverProbability());
         ea.setMutationProbability(args.getMutationProbability());
+        ea.setEvaluationExecutor(getEvaluationExecutor(args.getThreads()));
+        ea.setRandom(random.split());
 
-        // Add in the evolutionary operators the algorithm can use
+        // Add in the evolutionary operators the algorithm can use, they draw from the algorithm's random source
         ea.addMutator(new CartesianSingleActiveMutator<>());
+        ea.addSelector(new RandomUniformSelector<>());
+        ea.addSelector(new RandomUniformSelector<>());
 
         // Add in the objectives the algorithm should aim for
+        Objective<Double> error = (sampler != null)
+                ? sampler
+                : new DefaultObjective(new MeanSquaredError(), dm);
+
+        // Programs that are expressed identically share the same error
+        if (args.getCacheSize() > 0) {
+            error = new CacheableObjective<>(error, args.getCacheSize());
+        }
+
         ea.setObjective(
                 new SimpleMultiObjective(
                         Arrays.asList(
-                                new DefaultObjective(new MeanSquaredError(), dm),
+                                error,
                                 new SizeObjective()
                         )
                 )
@@ -394,6 +578,407 @@ public class Client {
         return ea;
     }
 
+    /**
+     * Re-evaluates the provided population after the sample of the dataset used by the objective has changed,
+     * discarding any cached errors as they were computed on a different sample.
+     *
+     * @param ea         The evolutionary algorithm being used.
+     * @param changed    True if the sample has changed.
+     * @param population The chromosomes to re-evaluate.
+     */
+    @SuppressWarnings("unchecked")
+    private static void refreshSample(
+            final EvolutionaryAlgorithm<CartesianChromosome<Double>, Double> ea,
+            final boolean changed,
+            final List<CartesianChromosome<Double>> population
+    ) {
+        if (!changed) {
+            return;
+        }
+
+        ((MultiObjective<Double>) ea.getObjective()).getGoals().stream()
+                .filter(goal -> goal instanceof CacheableObjective)
+                .forEach(goal -> ((CacheableObjective<Double>) goal).invalidateAll());
+        ea.reevaluate(population);
+    }
+
+    /**
+     * Returns an island model with the number of islands requested, where each island has its own evolutionary
+     * algorithm and objective.
+     *
+     * @param args     The argument factory whose values will be used in constructing the island model.
+     * @param dm       The data manager.
+     * @param supplier The chromosome supplier, which is shared by every island.
+     * @param samplers The list to add the sampler of each island to, in the order of the islands. The sampler of an
+     *                 island is null if it evaluates candidates on every row.
+     * @param random   The source of random numbers to split each island's sources off of.
+     * @return An island model constructed according to the provided parameters.
+     */
+    private static IslandModel<CartesianChromosome<Double>, Double> getIslandModel(
+            final ArgsConverterFactory args,
+            final DataManager<Double> dm,
+            final ChromosomeFactory<CartesianChromosome<Double>, Double> supplier,
+            final List<SubsampledObjective> samplers,
+            final RandomSource random
+    ) {
+        final int numIslands = Math.max(1, args.getIslands());
+        final List<EvolutionaryAlgorithm<CartesianChromosome<Double>, Double>> algorithms =
+                new ArrayList<>(numIslands);
+
+        for (int i = 0; i < numIslands; ++i) {
+            // Candidates are evaluated on a growing sample of the dataset, rather than every row, while subsampling
+            final SubsampledObjective sampler = (args.getSubsample() < 1)
+                    ? new SubsampledObjective(
+                            dm, sample -> new DefaultObjective(new MeanSquaredError(), sample),
+                            args.getSubsample(), args.getSubsampleGrowth(),
+                            args.getValidationInterval(), args.getSampling(), random.split()
+                    )
+                    : null;
+
+            if (sampler != null) {
+                sampler.setResampleInterval(args.getResampleInterval());
+            }
+
+            samplers.add(sampler);
+            algorithms.add(getEvolutionaryAlgorithm(args, dm, supplier, sampler, random));
+        }
+
+        final IslandModel<CartesianChromosome<Double>, Double> islands = new IslandModel<>(
+                algorithms, args.getTopology()
+        );
+
+        islands.setMigrationInterval(args.getMigrationInterval());
+        islands.setMigrationSize(args.getMigrationSize());
+        // A seeded run has its islands migrate in lockstep, so that it's repeated exactly
+        islands.setSynchronous(args.getSeed() != null);
+
+        return islands;
+    }
+
+    /**
+     * Draws the first sample of each island and initialises their populations.
+     *
+     * @param args     The argument factory whose values were used in constructing the island model.
+     * @param islands  The islands to initialise.
+     * @param samplers The sampler of each island.
+     */
+    private static void initialiseTrial(
+            final ArgsConverterFactory args,
+            final IslandModel<CartesianChromosome<Double>, Double> islands,
+            final List<SubsampledObjective> samplers
+    ) {
+        for (Island<CartesianChromosome<Double>, Double> island : islands.getIslands()) {
+            if (samplers.get(island.getIndex()) != null) {
+                refreshSample(
+                        island.getAlgorithm(), samplers.get(island.getIndex()).resample(0), Collections.emptyList()
+                );
+            }
+        }
+
+        islands.initialisePopulation(args.getPopulation());
+    }
+
+    /**
+     * Scores the population of each island on the entire dataset and returns their non-dominated chromosomes.
+     *
+     * @param islands  The islands that finished evolving.
+     * @param samplers The sampler of each island.
+     * @return The non-dominated chromosomes of every island.
+     */
+    private static List<CartesianChromosome<Double>> finishTrial(
+            final IslandModel<CartesianChromosome<Double>, Double> islands,
+            final List<SubsampledObjective> samplers
+    ) {
+        final List<CartesianChromosome<Double>> nonDominated = new ArrayList<>();
+
+        for (Island<CartesianChromosome<Double>, Double> island : islands.getIslands()) {
+            // The final population is always scored on the entire dataset
+            if (samplers.get(island.getIndex()) != null) {
+                refreshSample(
+                        island.getAlgorithm(), samplers.get(island.getIndex()).useFullDataset(),
+                        island.getPopulation()
+                );
+            }
+
+            nonDominated.addAll(
+                    ((MultiObjectiveEvolutionaryAlgorithm<CartesianChromosome<Double>, Double>) island
+                            .getAlgorithm()).getNonDominatedChromosomes(island.getPopulation())
+            );
+        }
+
+        return nonDominated;
+    }
+
+    /**
+     * Draws the sample of the provided island for its next generation, re-evaluating its population if the
+     * sample has changed. On validation generations the island's non-dominated chromosomes are first scored on the
+     * entire dataset, while the rest of its population is left on the sample.
+     *
+     * @param island     The island that finished a generation.
+     * @param samplers   The sampler of each island.
+     * @param generation The number of generations the island has been evolved for.
+     */
+    private static void refreshSample(
+            final Island<CartesianChromosome<Double>, Double> island,
+            final List<SubsampledObjective> samplers,
+            final int generation
+    ) {
+        final SubsampledObjective sampler = samplers.get(island.getIndex());
+
+        if (sampler == null) {
+            return;
+        }
+
+        if (sampler.isValidation(generation)) {
+            final double error = ((MultiObjectiveEvolutionaryAlgorithm<CartesianChromosome<Double>, Double>) island
+                    .getAlgorithm()).getNonDominatedChromosomes(island.getPopulation()).stream()
+                    .mapToDouble(sampler::validate)
+                    .min()
+                    .orElse(sampler.getWorstValue());
+
+            log.info(
+                    "Island {}, generation {}: best error on the entire dataset {}",
+                    island::getIndex, () -> generation, () -> error
+            );
+        }
+
+        refreshSample(island.getAlgorithm(), sampler.resample(generation), island.getPopulation());
+    }
+
+    /**
+     * Connects to the coordinator and evolves the provided islands whenever it says to, until it shuts down.
+     *
+     * @param args     The argument factory whose values were used in constructing the island model.
+     * @param islands  The islands to evolve.
+     * @param samplers The sampler of each island.
+     * @param codec    The codec used to exchange chromosomes with the coordinator.
+     * @throws IOException If the connection to the coordinator is lost.
+     */
+    private static void runWorker(
+            final ArgsConverterFactory args,
+            final IslandModel<CartesianChromosome<Double>, Double> islands,
+            final List<SubsampledObjective> samplers,
+            final CartesianChromosomeCodec<Double> codec
+    ) throws IOException {
+        final EvolutionaryAlgorithm<CartesianChromosome<Double>, Double> ea = islands.getIslands().get(0)
+                .getAlgorithm();
+        final Instant start = Instant.now();
+        int trial = 0;
+
+        try (Connection coordinator = Connection.connect(args.getWorker(), codec)) {
+            coordinator.send(MessageType.HELLO, codec.getFingerprint());
+            log.info("Connected to the coordinator at {}", coordinator::getAddress);
+
+            while (true) {
+                final Message message = coordinator.receive();
+
+                switch (message.getType()) {
+                    case INITIALISE:
+                        trial = (int) message.getValue();
+                        initialiseTrial(args, islands, samplers);
+                        break;
+                    case EVOLVE:
+                        final int currentTrial = trial;
+
+                        islands.evolve((int) message.getValue(), (island, generation) -> {
+                            // Pretty-print a summarised progress indicator of the first island
+                            if (island.getIndex() == 0) {
+                                printOutput(ea, args.getGenerations(), start, generation - 1, currentTrial);
+                            }
+
+                            refreshSample(island, samplers, generation);
+                        });
+                        coordinator.send(
+                                MessageType.EMIGRANTS, islands.getIslands().get(0).getGeneration(),
+                                islands.getEmigrants()
+                        );
+                        break;
+                    case IMMIGRANTS:
+                        islands.receive(message.getChromosomes());
+                        break;
+                    case FINISH:
+                        coordinator.send(MessageType.RESULTS, 0, finishTrial(islands, samplers));
+                        break;
+                    case SHUTDOWN:
+                        return;
+                    default:
+                        throw new IOException("Received an unexpected " + message.getType() + " message.");
+                }
+            }
+        } finally {
+            islands.getIslands().forEach(island -> island.getAlgorithm().getEvaluationExecutor().close());
+        }
+    }
+
+    /**
+     * Waits for the requested number of workers to connect and coordinates their search. The emigrants of every
+     * worker are added to a Pareto archive, which is kept by the coordinator, before they're forwarded to other
+     * workers.
+     *
+     * @param args              The argument factory whose values will be used in coordinating the workers.
+     * @param ea                The evolutionary algorithm used to score and archive the candidates of the workers.
+     * @param codec             The codec used to exchange chromosomes with the workers.
+     * @param start             The time at which the search started.
+     * @param nonDominatedFinal The set to add the non-dominated chromosomes of each trial's last generation to.
+     * @param archive           The archive to add the emigrants of each generation to.
+     * @param plots             The fitness and size of the graphed generations' non-dominated candidates.
+     * @param random            The source of randomness used to choose the destinations of emigrants.
+     * @return The Pareto archive of every candidate the workers sent.
+     * @throws IOException If the connection to a worker is lost.
+     */
+    private static Set<Chromosome<Double>> coordinate(
+            final ArgsConverterFactory args,
+            final EvolutionaryAlgorithm<CartesianChromosome<Double>, Double> ea,
+            final CartesianChromosomeCodec<Double> codec,
+            final Instant start,
+            final Set<Chromosome<Double>> nonDominatedFinal,
+            final ParetoArchive<Chromosome<Double>> archive,
+            final NavigableMap<Integer, List<double[]>> plots,
+            final RandomSource random
+    ) throws IOException {
+        final int generations = args.getGenerations();
+        final int interval = Math.max(1, args.getMigrationInterval());
+        List<CartesianChromosome<Double>> population = new ArrayList<>();
+
+        try (Coordinator coordinator = new Coordinator(args.getCoordinator(), args.getWorkers(), codec)) {
+            for (int trial = 0; trial < args.getRepetitions(); ++trial) {
+                coordinator.initialise(trial + 1);
+
+                for (int generation = 0; generation < generations; generation += interval) {
+                    final int epoch = Math.min(interval, generations - generation);
+                    final List<List<CartesianChromosome<Double>>> emigrants = coordinator.evolve(epoch);
+                    final List<CartesianChromosome<Double>> arrivals = new ArrayList<>();
+
+                    emigrants.forEach(arrivals::addAll);
+                    population = ea.immigrate(population, arrivals);
+                    record(ea, arrivals, generation + epoch, archive, plots);
+                    printOutput(ea, generations, start, generation + epoch - 1, trial + 1);
+
+                    // The workers are about to finish, so there's no point in migrating
+                    if (generation + epoch < generations) {
+                        coordinator.migrate(args.getTopology(), emigrants, random);
+                    }
+                }
+
+                // The results of the workers are only scored on the entire dataset once they reach the coordinator
+                nonDominatedFinal.addAll(ea.immigrate(new ArrayList<>(), coordinator.finish()));
+            }
+        }
+
+        log.info("The Pareto archive holds {} candidates", population.size());
+
+        return new LinkedHashSet<>(population);
+    }
+
+    /**
+     * Evolves a single population with a steady-state driver, where each thread breeds and evaluates offspring
+     * without waiting on the others. The population is recorded at evenly spaced evaluations, once for each
+     * generation a generational run would have tracked.
+     *
+     * @param args              The argument factory whose values will be used in evolving the population.
+     * @param ea                The evolutionary algorithm used to breed offspring and decide which survive.
+     * @param start             The time at which the search started.
+     * @param nonDominatedFinal The set to add the non-dominated chromosomes of each trial's final population to.
+     * @param archive           The archive to add the population to whenever it's recorded.
+     * @param plots             The fitness and size of the graphed generations' non-dominated candidates.
+     */
+    private static void evolveSteadyState(
+            final ArgsConverterFactory args,
+            final EvolutionaryAlgorithm<CartesianChromosome<Double>, Double> ea,
+            final Instant start,
+            final Set<Chromosome<Double>> nonDominatedFinal,
+            final ParetoArchive<Chromosome<Double>> archive,
+            final NavigableMap<Integer, List<double[]>> plots
+    ) {
+        final int generations = args.getGenerations();
+        final long evaluations = (args.getEvaluations() > 0)
+                ? args.getEvaluations()
+                : (long) generations * args.getPopulation();
+        final long interval = Math.max(1, evaluations / generations);
+        final int workers = (args.getThreads() > 0) ? args.getThreads() : Runtime.getRuntime().availableProcessors();
+
+        // The workers evaluate offspring themselves, the algorithm only evaluates while letting offspring in
+        ea.getEvaluationExecutor().close();
+        ea.setEvaluationExecutor(new SerialEvaluationExecutor());
+
+        try (SteadyStateEvolution<CartesianChromosome<Double>, Double> driver =
+                     new SteadyStateEvolution<>(ea, workers)) {
+            for (int trial = 0; trial < args.getRepetitions(); ++trial) {
+                final int currentTrial = trial + 1;
+
+                driver.initialisePopulation(args.getPopulation());
+                driver.evolve(evaluations, (d, evaluation) -> {
+                    if (evaluation % interval != 0 && evaluation != evaluations) {
+                        return;
+                    }
+
+                    // The population is locked while the listener is called, so it can be recorded as is
+                    final int generation = (int) Math.min(generations, (evaluation + interval - 1) / interval);
+                    record(ea, ea.getChromosomes(), generation, archive, plots);
+                    printOutput(ea, "Evaluation", evaluation, evaluations, start, currentTrial);
+                });
+
+                nonDominatedFinal.addAll(
+                        ((MultiObjectiveEvolutionaryAlgorithm<CartesianChromosome<Double>, Double>) ea)
+                                .getNonDominatedChromosomes(driver.getPopulation())
+                );
+            }
+
+            log.info(
+                    "{} of {} offspring were let into the population",
+                    driver::getReplacementCount, driver::getEvaluationCount
+            );
+        }
+    }
+
+    /**
+     * Adds the provided population to the archive of every generation, according to the fitness it was given by the
+     * provided algorithm. If the generation is graphed, the fitness and size of the algorithm's non-dominated
+     * candidates are also kept.
+     *
+     * @param algorithm  The algorithm that evaluated the population.
+     * @param population The population to record.
+     * @param generation The generation of the population, starting from one.
+     * @param archive    The archive of every generation.
+     * @param plots      The fitness and size of the graphed generations' non-dominated candidates.
+     */
+    private static void record(
+            final EvolutionaryAlgorithm<CartesianChromosome<Double>, Double> algorithm,
+            final List<CartesianChromosome<Double>> population,
+            final int generation,
+            final ParetoArchive<Chromosome<Double>> archive,
+            final NavigableMap<Integer, List<double[]>> plots
+    ) {
+        final MultiObjectiveEvolutionaryAlgorithm<CartesianChromosome<Double>, Double> multiObjective =
+                (MultiObjectiveEvolutionaryAlgorithm<CartesianChromosome<Double>, Double>) algorithm;
+
+        final List<double[]> plot = plots.get(generation);
+
+        for (final CartesianChromosome<Double> chromosome : population) {
+            archive.add(chromosome, multiObjective.getParetoPoint(chromosome));
+        }
+
+        if (plot != null) {
+            for (final CartesianChromosome<Double> chromosome : multiObjective.getNonDominatedChromosomes(population)) {
+                plot.add(new double[]{chromosome.getFitness(), chromosome.getSize()});
+            }
+        }
+    }
+
+    /**
+     * @param threads The number of threads to evaluate candidates with, or 0 to use every available processor.
+     * @return An evaluation executor that uses the provided number of threads.
+     */
+    private static EvaluationExecutor getEvaluationExecutor(final int threads) {
+        if (threads == 0) {
+            return new ForkJoinEvaluationExecutor();
+        } else if (threads > 1) {
+            return new FixedPoolEvaluationExecutor(threads);
+        }
+
+        return new SerialEvaluationExecutor();
+    }
+
     /**
      * Pretty-prints a formatted progress indicator to the standard output stream.
      *
@@ -410,7 +995,28 @@ public class Client {
             int currentGeneration,
             int trial
     ) {
-        int percent = intToPercent(currentGeneration, generations);
+        printOutput(ea, "Generation", currentGeneration + 1, generations, start, trial);
+    }
+
+    /**
+     * Pretty-prints a formatted progress indicator to the standard output stream.
+     *
+     * @param ea       The evolutionary algorithm being used.
+     * @param unit     The unit progress is measured in.
+     * @param progress The number of units completed.
+     * @param total    The total number of units.
+     * @param start    The start time.
+     * @param trial    The current trial.
+     */
+    private static void printOutput(
+            final EvolutionaryAlgorithm<CartesianChromosome<Double>, Double> ea,
+            final String unit,
+            final long progress,
+            final long total,
+            final Instant start,
+            final int trial
+    ) {
+        int percent = intToPercent(progress, total);
         final StringBuilder out = new StringBuilder();
 
         // Ensure the algorithm used is GSEMO when including global bests
@@ -425,7 +1031,7 @@ public class Client {
                 .append(" > Progress: ").append(percent).append("%")
                 // And include the current best fitness
                 .append("\t|\tGlobal Bests: ").append(global)
-                .append("\t|\tGeneration: ").append(currentGeneration + 1)
+                .append("\t|\t").append(unit).append(": ").append(progress)
                 .append("\t|\tTime: ").append(Duration.between(start, Instant.now()))
                 .append("           ");
         System.out.print(out);
@@ -476,8 +1082,8 @@ public class Client {
      * @param total    The total.
      * @return The current progress as a percentage of the total.
      */
-    private static int intToPercent(final int progress, final int total) {
-        return (progress * 100) / total;
+    private static int intToPercent(final long progress, final long total) {
+        return (int) ((progress * 100) / total);
     }
 
     /**
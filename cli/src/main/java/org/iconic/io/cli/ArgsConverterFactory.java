@@ -18,8 +18,14 @@ package org.iconic.io.cli;
 import com.beust.jcommander.Parameter;
 import lombok.Getter;
 import org.iconic.ea.EvolutionaryAlgorithmType;
+import org.iconic.ea.chromosome.cartesian.NodeOutputCache;
+import org.iconic.ea.operator.objective.CacheableObjective;
+import org.iconic.ea.operator.objective.SubsampledObjective;
 import org.iconic.ea.operator.primitive.FunctionalPrimitive;
+import org.iconic.ea.strategies.island.MigrationTopology;
+import org.iconic.ea.strategies.pareto.ParetoArchive;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class ArgsConverterFactory {
@@ -67,6 +73,94 @@ public class ArgsConverterFactory {
     @Parameter(names= {"--repeat", "-r"}, description = "The number of times to repeat the experiment. The results will be collated")
     private int repetitions = 1;
 
+    @Getter
+    @Parameter(names= {"--threads", "-t"}, description = "The number of threads to evaluate candidates with, 0 uses every available processor")
+    private int threads = 1;
+
+    @Getter
+    @Parameter(names= {"--cacheSize"}, description = "The number of distinct programs to cache the error of, 0 disables the cache")
+    private long cacheSize = CacheableObjective.DEFAULT_MAXIMUM_SIZE;
+
+    @Getter
+    @Parameter(names= {"--nodeOutputBudget"}, description = "The number of megabytes all candidates may use together to keep the output of their nodes between evaluations, 0 disables it")
+    private long nodeOutputBudget = NodeOutputCache.DEFAULT_MAXIMUM_BYTES / (1024 * 1024);
+
+    @Getter
+    @Parameter(names= {"--subexpressionCache"}, description = "The number of megabytes of node outputs shared between candidates, 0 disables the cache")
+    private long subexpressionCacheSize = 0;
+
+    @Getter
+    @Parameter(names= {"--compileThreshold"}, description = "The number of times a candidate's program is run before it's compiled to bytecode, 0 disables compilation")
+    private int compileThreshold = 0;
+
+    @Getter
+    @Parameter(names= {"--subsample"}, description = "The fraction of the dataset candidates are evaluated on in the first generation, 1 evaluates every row")
+    private double subsample = 1;
+
+    @Getter
+    @Parameter(names= {"--subsampleGrowth"}, description = "The number of generations until candidates are evaluated on the entire dataset, 0 never grows the sample")
+    private int subsampleGrowth = 0;
+
+    @Getter
+    @Parameter(names= {"--resampleInterval"}, description = "The number of generations each subsample is kept for, as every candidate is evaluated again when it changes")
+    private int resampleInterval = SubsampledObjective.DEFAULT_RESAMPLE_INTERVAL;
+
+    @Getter
+    @Parameter(names= {"--validationInterval"}, description = "The number of generations between evaluating the non-dominated candidates on the entire dataset while subsampling, 0 disables it")
+    private int validationInterval = 0;
+
+    @Getter
+    @Parameter(names= {"--sampling"}, description = "How the rows of each subsample are drawn")
+    private SubsampledObjective.Sampling sampling = SubsampledObjective.Sampling.RANDOM;
+
+    @Getter
+    @Parameter(names= {"--islands"}, description = "The number of populations to evolve in parallel, each on its own thread and with its own evaluation threads")
+    private int islands = 1;
+
+    @Getter
+    @Parameter(names= {"--migrationInterval"}, description = "The number of generations between each island sending its emigrants to others")
+    private int migrationInterval = 10;
+
+    @Getter
+    @Parameter(names= {"--migrationSize"}, description = "The number of candidates each island sends to each of its destinations when migrating")
+    private int migrationSize = 1;
+
+    @Getter
+    @Parameter(names= {"--topology"}, description = "Which islands each island sends its emigrants to")
+    private MigrationTopology topology = MigrationTopology.RING;
+
+    @Getter
+    @Parameter(names= {"--archiveSize"}, description = "The maximum number of candidates kept of all generations, the most crowded candidates are discarded beyond it")
+    private int archiveSize = ParetoArchive.DEFAULT_CAPACITY;
+
+    @Getter
+    @Parameter(names= {"--archiveEpsilon"}, description = "The precision that candidates of all generations are kept at for each objective, separated by commas, where only the best candidate within each epsilon is kept. 0 keeps every non-dominated candidate")
+    private List<Double> archiveEpsilon = new ArrayList<>();
+
+    @Getter
+    @Parameter(names= {"--seed"}, description = "The seed of every random decision, a run given the same seed and arguments is repeated exactly. Seeded islands wait for each other at the end of every generation to do so. Steady-state runs with more than one thread and coordinated runs aren't repeatable, as thread and network timing decides when offspring and immigrants arrive. Each worker process should be given its own seed")
+    private Long seed = null;
+
+    @Getter
+    @Parameter(names= {"--steadyState"}, description = "Evolve a single population with a worker per thread, where each worker breeds and evaluates offspring without waiting on the others")
+    private boolean steadyState = false;
+
+    @Getter
+    @Parameter(names= {"--evaluations"}, description = "The number of offspring to produce when evolving a steady-state population, 0 produces one per generation for each member of the initial population")
+    private long evaluations = 0;
+
+    @Getter
+    @Parameter(names= {"--coordinator"}, description = "The port to coordinate worker processes on, 0 runs the search in this process instead")
+    private int coordinator = 0;
+
+    @Getter
+    @Parameter(names= {"--workers"}, description = "The number of worker processes the coordinator waits for")
+    private int workers = 1;
+
+    @Getter
+    @Parameter(names= {"--worker"}, description = "The host:port of the coordinator to evolve islands for, the worker must be given the same arguments as the coordinator")
+    private String worker = "";
+
     @Getter
     @Parameter(names = {"--help", "-h"}, help = true)
     private boolean help;
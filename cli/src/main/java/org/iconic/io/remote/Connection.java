@@ -0,0 +1,176 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.io.remote;
+
+import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosomeCodec;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+
+/**
+ * <p>A connection between a {@link Coordinator coordinator} and one of its workers.
+ *
+ * <p>Messages are written as the code of their type, followed by their value and their chromosomes encoded by a
+ * {@link CartesianChromosomeCodec codec}. A connection isn't thread-safe, so it should only be used by one thread.
+ */
+public class Connection implements Closeable {
+    private final Socket socket;
+    private final CartesianChromosomeCodec<Double> codec;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    /**
+     * <p>Constructs a new connection over the provided socket.
+     *
+     * @param socket The connected socket to exchange messages over
+     * @param codec  The codec used to encode and decode chromosomes
+     * @throws IOException if the socket's streams couldn't be opened
+     */
+    public Connection(final Socket socket, final CartesianChromosomeCodec<Double> codec) throws IOException {
+        this.socket = socket;
+        this.codec = codec;
+        // Messages are exchanged in lock step, so they shouldn't be held back waiting for more to send
+        socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    /**
+     * <p>Returns a new connection to the coordinator at the provided address, which is given as a host and port
+     * separated by a colon.
+     *
+     * @param address The address of the coordinator
+     * @param codec   The codec used to encode and decode chromosomes
+     * @return a connection to the coordinator
+     * @throws IOException if the coordinator couldn't be connected to
+     */
+    public static Connection connect(final String address, final CartesianChromosomeCodec<Double> codec)
+            throws IOException {
+        final int separator = address.lastIndexOf(':');
+
+        if (separator < 0) {
+            throw new IllegalArgumentException("Expected an address of the form host:port, but " + address
+                    + " was given.");
+        }
+
+        final Socket socket = new Socket();
+
+        try {
+            socket.connect(new InetSocketAddress(
+                    address.substring(0, separator), Integer.parseInt(address.substring(separator + 1))
+            ));
+            return new Connection(socket, codec);
+        } catch (IOException | RuntimeException ex) {
+            socket.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * <p>Sends a message without any chromosomes.
+     *
+     * @param type  The type of the message
+     * @param value The value of the message
+     * @throws IOException if the message couldn't be sent
+     */
+    public void send(final MessageType type, final long value) throws IOException {
+        send(new Message(type, value));
+    }
+
+    /**
+     * <p>Sends a message.
+     *
+     * @param type        The type of the message
+     * @param value       The value of the message
+     * @param chromosomes The chromosomes to send with the message
+     * @throws IOException if the message couldn't be sent
+     */
+    public void send(final MessageType type, final long value, final List<CartesianChromosome<Double>> chromosomes)
+            throws IOException {
+        send(new Message(type, value, chromosomes));
+    }
+
+    /**
+     * <p>Sends the provided message.
+     *
+     * @param message The message to send
+     * @throws IOException if the message couldn't be sent
+     */
+    public void send(final Message message) throws IOException {
+        out.writeByte(message.getType().getCode());
+        out.writeLong(message.getValue());
+        codec.writeAll(message.getChromosomes(), out);
+        out.flush();
+    }
+
+    /**
+     * <p>Waits for the next message, the chromosomes of the message are decoded by the connection's codec.
+     *
+     * @return the message that was received
+     * @throws IOException if a message couldn't be received
+     */
+    public Message receive() throws IOException {
+        final MessageType type;
+
+        try {
+            type = MessageType.of(in.readUnsignedByte());
+        } catch (IllegalArgumentException ex) {
+            throw new IOException(ex.getMessage(), ex);
+        }
+
+        final long value = in.readLong();
+
+        return new Message(type, value, codec.readAll(in));
+    }
+
+    /**
+     * <p>Waits for the next message and checks that it's of the expected type.
+     *
+     * @param type The type of message expected
+     * @return the message that was received
+     * @throws IOException if a message couldn't be received, or was of a different type
+     */
+    public Message receive(final MessageType type) throws IOException {
+        final Message message = receive();
+
+        if (message.getType() != type) {
+            throw new IOException("Expected a " + type + " message from " + getAddress() + ", but received a "
+                    + message.getType() + " message.");
+        }
+
+        return message;
+    }
+
+    /**
+     * <p>Returns the address of the other end of the connection.
+     *
+     * @return the remote address
+     */
+    public String getAddress() {
+        return String.valueOf(socket.getRemoteSocketAddress());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
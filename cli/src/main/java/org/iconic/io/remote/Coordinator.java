@@ -0,0 +1,207 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.io.remote;
+
+import lombok.extern.log4j.Log4j2;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosomeCodec;
+import org.iconic.ea.random.RandomSource;
+import org.iconic.ea.strategies.island.MigrationTopology;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>Coordinates a search spread across several worker processes, each of which evolves its own islands.
+ *
+ * <p>The coordinator owns the migration schedule. Workers only evolve when they're told to, after which they send
+ * copies of their fittest chromosomes to the coordinator, who forwards them to other workers according to a
+ * {@link MigrationTopology topology}. Workers are identified by the order in which they connected.
+ */
+@Log4j2
+public class Coordinator implements Closeable {
+    private final ServerSocket server;
+    private final List<Connection> workers;
+
+    /**
+     * <p>Constructs a new coordinator that listens on the provided port and waits for the provided number of
+     * workers to connect.
+     *
+     * @param port       The port to listen on
+     * @param numWorkers The number of workers to wait for
+     * @param codec      The codec used to encode and decode chromosomes
+     * @throws IOException if the workers couldn't be connected to, or weren't configured identically to the
+     *                     coordinator
+     */
+    public Coordinator(final int port, final int numWorkers, final CartesianChromosomeCodec<Double> codec)
+            throws IOException {
+        if (numWorkers < 1) {
+            throw new IllegalArgumentException("At least one worker is required, but " + numWorkers + " were given.");
+        }
+
+        this.server = new ServerSocket(port);
+        this.workers = new ArrayList<>(numWorkers);
+
+        final long fingerprint = codec.getFingerprint();
+
+        try {
+            log.info("Waiting for {} workers on port {}", numWorkers, server.getLocalPort());
+
+            while (workers.size() < numWorkers) {
+                final Socket socket = server.accept();
+                final Connection worker = new Connection(socket, codec);
+
+                workers.add(worker);
+
+                // Chromosomes can only be exchanged by workers with the same primitives, features, and dimensions
+                if (worker.receive(MessageType.HELLO).getValue() != fingerprint) {
+                    throw new IOException("The worker at " + worker.getAddress()
+                            + " isn't configured identically to the coordinator.");
+                }
+
+                log.info("Worker {} connected from {}", workers.size(), worker.getAddress());
+            }
+        } catch (IOException | RuntimeException ex) {
+            close();
+            throw ex;
+        }
+    }
+
+    /**
+     * <p>Tells every worker to initialise the populations of its islands.
+     *
+     * @param trial The trial being started
+     * @throws IOException if a worker couldn't be told
+     */
+    public void initialise(final int trial) throws IOException {
+        for (Connection worker : workers) {
+            worker.send(MessageType.INITIALISE, trial);
+        }
+    }
+
+    /**
+     * <p>Tells every worker to evolve its islands and waits for them to finish.
+     *
+     * @param generations The number of generations to evolve each worker's islands for
+     * @return the emigrants sent by each worker, in the order of the workers
+     * @throws IOException if a worker couldn't be told, or its emigrants couldn't be received
+     */
+    public List<List<CartesianChromosome<Double>>> evolve(final int generations) throws IOException {
+        // Every worker is told to evolve before waiting on any of them, so that they evolve in parallel
+        for (Connection worker : workers) {
+            worker.send(MessageType.EVOLVE, generations);
+        }
+
+        final List<List<CartesianChromosome<Double>>> emigrants = new ArrayList<>(workers.size());
+
+        for (Connection worker : workers) {
+            emigrants.add(worker.receive(MessageType.EMIGRANTS).getChromosomes());
+        }
+
+        return emigrants;
+    }
+
+    /**
+     * <p>Forwards the emigrants of each worker to the workers chosen by the provided topology.
+     *
+     * @param topology  The topology that decides which workers emigrants are sent to
+     * @param emigrants The emigrants of each worker, in the order of the workers
+     * @param random    The source of randomness used by topologies that choose their destinations at random
+     * @throws IOException if the emigrants couldn't be forwarded
+     */
+    public void migrate(
+            final MigrationTopology topology, final List<List<CartesianChromosome<Double>>> emigrants,
+            final RandomSource random
+    ) throws IOException {
+        final List<List<CartesianChromosome<Double>>> immigrants = new ArrayList<>(workers.size());
+
+        for (int i = 0; i < workers.size(); ++i) {
+            immigrants.add(new ArrayList<>());
+        }
+
+        for (int i = 0; i < workers.size(); ++i) {
+            for (int destination : topology.getDestinations(i, workers.size(), random)) {
+                immigrants.get(destination).addAll(emigrants.get(i));
+            }
+        }
+
+        for (int i = 0; i < workers.size(); ++i) {
+            if (!immigrants.get(i).isEmpty()) {
+                workers.get(i).send(MessageType.IMMIGRANTS, 0, immigrants.get(i));
+            }
+        }
+    }
+
+    /**
+     * <p>Tells every worker to finish the current trial and waits for their results.
+     *
+     * @return the non-dominated chromosomes of every worker
+     * @throws IOException if a worker couldn't be told, or its results couldn't be received
+     */
+    public List<CartesianChromosome<Double>> finish() throws IOException {
+        for (Connection worker : workers) {
+            worker.send(MessageType.FINISH, 0);
+        }
+
+        final List<CartesianChromosome<Double>> results = new ArrayList<>();
+
+        for (Connection worker : workers) {
+            results.addAll(worker.receive(MessageType.RESULTS).getChromosomes());
+        }
+
+        return results;
+    }
+
+    /**
+     * <p>Returns the connections to the workers, in the order they connected.
+     *
+     * @return the connections to the workers
+     */
+    public List<Connection> getWorkers() {
+        return Collections.unmodifiableList(workers);
+    }
+
+    /**
+     * <p>Tells every worker to shut down and closes the connections to them.
+     */
+    @Override
+    public void close() {
+        for (Connection worker : workers) {
+            try {
+                worker.send(MessageType.SHUTDOWN, 0);
+            } catch (IOException ex) {
+                log.warn("Failed to shut down the worker at {}: {}", worker::getAddress, ex::getMessage);
+            }
+
+            try {
+                worker.close();
+            } catch (IOException ex) {
+                log.warn("Failed to close the connection to {}: {}", worker::getAddress, ex::getMessage);
+            }
+        }
+
+        try {
+            server.close();
+        } catch (IOException ex) {
+            log.warn("Failed to stop listening for workers: {}", ex::getMessage);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.io.remote;
+
+import lombok.Getter;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>A message exchanged between a {@link Coordinator coordinator} and one of its workers.
+ */
+public class Message {
+    @Getter
+    private final MessageType type;
+    @Getter
+    private final long value;
+    @Getter
+    private final List<CartesianChromosome<Double>> chromosomes;
+
+    /**
+     * <p>Constructs a new message without any chromosomes.
+     *
+     * @param type  The type of the message
+     * @param value The value of the message
+     */
+    public Message(final MessageType type, final long value) {
+        this(type, value, Collections.emptyList());
+    }
+
+    /**
+     * <p>Constructs a new message.
+     *
+     * @param type        The type of the message
+     * @param value       The value of the message
+     * @param chromosomes The chromosomes carried by the message
+     */
+    public Message(final MessageType type, final long value, final List<CartesianChromosome<Double>> chromosomes) {
+        this.type = type;
+        this.value = value;
+        this.chromosomes = chromosomes;
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.io.remote;
+
+/**
+ * <p>The types of message exchanged between a {@link Coordinator coordinator} and its workers.
+ *
+ * <p>Every message consists of its type, a single value, and a list of chromosomes that may be empty.
+ */
+public enum MessageType {
+    /**
+     * Sent by a worker once it connects, the value is the fingerprint of its chromosome codec.
+     */
+    HELLO(0),
+    /**
+     * Tells a worker to initialise the populations of its islands, the value is the trial being started.
+     */
+    INITIALISE(1),
+    /**
+     * Tells a worker to evolve its islands, the value is the number of generations to evolve them for.
+     */
+    EVOLVE(2),
+    /**
+     * Sent by a worker once it has evolved its islands, containing copies of their fittest chromosomes. The value
+     * is the number of generations the islands have been evolved for in the current trial.
+     */
+    EMIGRANTS(3),
+    /**
+     * Gives a worker chromosomes from other workers to share between its islands.
+     */
+    IMMIGRANTS(4),
+    /**
+     * Tells a worker to finish the current trial.
+     */
+    FINISH(5),
+    /**
+     * Sent by a worker once it has finished a trial, containing the non-dominated chromosomes of its islands.
+     */
+    RESULTS(6),
+    /**
+     * Tells a worker that there's no more work, after which the connection is closed.
+     */
+    SHUTDOWN(7);
+
+    private final int code;
+
+    MessageType(final int code) {
+        this.code = code;
+    }
+
+    /**
+     * <p>Returns the code used to identify this type of message on the wire.
+     *
+     * @return the code of the message type
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * <p>Returns the type of message identified by the provided code.
+     *
+     * @param code The code of the message type
+     * @return the message type with the provided code
+     * @throws IllegalArgumentException if no message type has the provided code
+     */
+    public static MessageType of(final int code) {
+        for (MessageType type : values()) {
+            if (type.getCode() == code) {
+                return type;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown message type " + code + ".");
+    }
+}
@@ -0,0 +1,238 @@
+/**
+ * Copyright 2018 Iconic
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iconic.io.remote;
+
+import org.iconic.ea.chromosome.cartesian.CartesianChromosome;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosomeCodec;
+import org.iconic.ea.chromosome.cartesian.CartesianChromosomeFactory;
+import org.iconic.ea.operator.primitive.Addition;
+import org.iconic.ea.operator.primitive.Multiplication;
+import org.iconic.ea.operator.primitive.Subtraction;
+import org.iconic.ea.random.RandomSource;
+import org.iconic.ea.strategies.island.MigrationTopology;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <p>
+ * A test suite for the {@link Coordinator} class, where the coordinator and its workers talk over loopback.
+ *
+ * <p>
+ * This test suite ensures the following:
+ * - workers configured identically to the coordinator are connected to
+ * - workers configured differently to the coordinator are rejected
+ * - the emigrants of each worker are forwarded to the workers chosen by the topology
+ * - the results of every worker are collected and every worker is shut down
+ *
+ */
+class CoordinatorTest {
+    private static final List<String> INPUTS = Arrays.asList("a", "b", "c");
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private ExecutorService executor;
+
+    private static CartesianChromosomeFactory<Double> getFactory(final int columns) {
+        final CartesianChromosomeFactory<Double> factory = new CartesianChromosomeFactory<>(2, INPUTS, columns, 2, 4);
+
+        factory.addFunction(Arrays.asList(new Addition(), new Subtraction(), new Multiplication()));
+        return factory;
+    }
+
+    private static int getFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static List<List<Integer>> getGenomes(final List<CartesianChromosome<Double>> chromosomes) {
+        return chromosomes.stream().map(CartesianChromosome::getGenome).collect(Collectors.toList());
+    }
+
+    @BeforeEach
+    void init() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Test that two workers are connected to, migrated between, and shut down")
+    void migrationTest() throws Exception {
+        final CartesianChromosomeFactory<Double> factory = getFactory(20);
+        final CartesianChromosomeCodec<Double> codec = new CartesianChromosomeCodec<>(factory);
+        final RandomSource random = new RandomSource(7);
+        final int port = getFreePort();
+        final List<Worker> workers = new ArrayList<>();
+        final List<Future<?>> running = new ArrayList<>();
+
+        for (int i = 0; i < 2; ++i) {
+            final Worker worker = new Worker(port, codec, Arrays.asList(
+                    factory.getChromosome(random), factory.getChromosome(random)
+            ));
+
+            workers.add(worker);
+            running.add(executor.submit(worker));
+        }
+
+        final List<List<CartesianChromosome<Double>>> emigrants;
+        final List<CartesianChromosome<Double>> results;
+
+        try (Coordinator coordinator = new Coordinator(port, workers.size(), codec)) {
+            assertEquals(workers.size(), coordinator.getWorkers().size());
+
+            coordinator.initialise(1);
+            emigrants = coordinator.evolve(5);
+            coordinator.migrate(MigrationTopology.RING, emigrants, random.split());
+            results = coordinator.finish();
+        }
+
+        for (Future<?> worker : running) {
+            worker.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        // Workers are identified by the order in which they connected, which isn't necessarily the order above
+        final List<List<List<Integer>>> sent = workers.stream()
+                .map(worker -> getGenomes(worker.getEmigrants()))
+                .collect(Collectors.toList());
+        final int first = sent.indexOf(getGenomes(emigrants.get(0)));
+        final int second = sent.indexOf(getGenomes(emigrants.get(1)));
+
+        assertAll(
+                () -> assertEquals(1, Math.abs(first - second)),
+                () -> assertTrue(first >= 0 && second >= 0),
+                // In a ring of two, each worker's emigrants are sent to the other worker
+                () -> assertEquals(getGenomes(emigrants.get(1)), getGenomes(workers.get(first).getImmigrants())),
+                () -> assertEquals(getGenomes(emigrants.get(0)), getGenomes(workers.get(second).getImmigrants())),
+                () -> assertEquals(4, results.size()),
+                () -> assertEquals(Arrays.asList(
+                        MessageType.INITIALISE, MessageType.EVOLVE, MessageType.IMMIGRANTS, MessageType.FINISH,
+                        MessageType.SHUTDOWN
+                ), workers.get(0).getReceived()),
+                () -> assertEquals(workers.get(0).getReceived(), workers.get(1).getReceived())
+        );
+    }
+
+    @Test
+    @DisplayName("Test that a worker configured differently to the coordinator is rejected and shut down")
+    void fingerprintTest() throws Exception {
+        final CartesianChromosomeCodec<Double> codec = new CartesianChromosomeCodec<>(getFactory(20));
+        final CartesianChromosomeCodec<Double> mismatched = new CartesianChromosomeCodec<>(getFactory(10));
+        final int port = getFreePort();
+        final Worker worker = new Worker(port, mismatched, new ArrayList<>());
+        final Future<?> running = executor.submit(worker);
+
+        assertThrows(IOException.class, () -> new Coordinator(port, 1, codec));
+        running.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(Arrays.asList(MessageType.SHUTDOWN), worker.getReceived());
+    }
+
+    /**
+     * A worker that answers the coordinator with a fixed set of emigrants instead of evolving any islands.
+     */
+    private static class Worker implements Callable<Void> {
+        private final int port;
+        private final CartesianChromosomeCodec<Double> codec;
+        private final List<CartesianChromosome<Double>> emigrants;
+        private final List<CartesianChromosome<Double>> immigrants;
+        private final List<MessageType> received;
+
+        private Worker(
+                final int port, final CartesianChromosomeCodec<Double> codec,
+                final List<CartesianChromosome<Double>> emigrants
+        ) {
+            this.port = port;
+            this.codec = codec;
+            this.emigrants = emigrants;
+            this.immigrants = new CopyOnWriteArrayList<>();
+            this.received = new CopyOnWriteArrayList<>();
+        }
+
+        @Override
+        public Void call() throws Exception {
+            try (Connection coordinator = connect()) {
+                coordinator.send(MessageType.HELLO, codec.getFingerprint());
+
+                while (true) {
+                    final Message message = coordinator.receive();
+                    received.add(message.getType());
+
+                    switch (message.getType()) {
+                        case EVOLVE:
+                            coordinator.send(MessageType.EMIGRANTS, message.getValue(), emigrants);
+                            break;
+                        case IMMIGRANTS:
+                            immigrants.addAll(message.getChromosomes());
+                            break;
+                        case FINISH:
+                            coordinator.send(MessageType.RESULTS, 0, emigrants);
+                            break;
+                        case SHUTDOWN:
+                            return null;
+                        default:
+                            break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * The coordinator only starts listening once it's constructed, so connecting is retried until it is.
+         */
+        private Connection connect() throws IOException, InterruptedException {
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+
+            while (true) {
+                try {
+                    return Connection.connect("localhost:" + port, codec);
+                } catch (IOException ex) {
+                    if (System.nanoTime() > deadline) {
+                        throw ex;
+                    }
+
+                    Thread.sleep(10);
+                }
+            }
+        }
+
+        private List<CartesianChromosome<Double>> getEmigrants() {
+            return emigrants;
+        }
+
+        private List<CartesianChromosome<Double>> getImmigrants() {
+            return immigrants;
+        }
+
+        private List<MessageType> getReceived() {
+            return received;
+        }
+    }
+}
@@ -863,7 +863,7 @@ public class InputDataController implements Initializable {
 
     private void updateProjectDataset(int row, int column, Number newValue){
         Optional<DataManager<Double>> dataManager = getDataManager();
-        dataManager.get().getSampleColumn(column).set(row,newValue);
+        dataManager.get().setSampleValue(column, row, newValue);
     }
 
     private void updateProjectHeaders(int column, String newValue){